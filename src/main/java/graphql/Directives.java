@@ -7,6 +7,7 @@ import graphql.language.StringValue;
 import graphql.schema.GraphQLDirective;
 
 import static graphql.Scalars.GraphQLBoolean;
+import static graphql.Scalars.GraphQLInt;
 import static graphql.Scalars.GraphQLString;
 import static graphql.introspection.Introspection.DirectiveLocation.ARGUMENT_DEFINITION;
 import static graphql.introspection.Introspection.DirectiveLocation.ENUM_VALUE;
@@ -88,6 +89,50 @@ public class Directives {
             .build();
 
 
+    /**
+     * The "defer" directive asks for the fields of a fragment to be delivered after the rest of the result.  It is not in a
+     * schema by default, it has to be added to the schema and needs an execution strategy that supports it, such as
+     * {@link graphql.execution.IncrementalExecutionStrategy}.
+     */
+    public static final GraphQLDirective DeferDirective = GraphQLDirective.newDirective()
+            .name("defer")
+            .description("Directs the executor to deliver this fragment after the rest of the result when the `if` argument is true.")
+            .argument(newArgument()
+                    .name("if")
+                    .type(nonNull(GraphQLBoolean))
+                    .defaultValueProgrammatic(true)
+                    .description("Deferred when true."))
+            .argument(newArgument()
+                    .name("label")
+                    .type(GraphQLString)
+                    .description("A label that identifies the deferred fragment in the delivered results."))
+            .validLocations(FRAGMENT_SPREAD, INLINE_FRAGMENT)
+            .build();
+
+    /**
+     * The "stream" directive asks for the items of a list field after the first ones to be delivered after the rest of the
+     * result.  Like {@link #DeferDirective} it is not in a schema by default.
+     */
+    public static final GraphQLDirective StreamDirective = GraphQLDirective.newDirective()
+            .name("stream")
+            .description("Directs the executor to deliver the items of this list field after the initial ones when the `if` argument is true.")
+            .argument(newArgument()
+                    .name("if")
+                    .type(nonNull(GraphQLBoolean))
+                    .defaultValueProgrammatic(true)
+                    .description("Streamed when true."))
+            .argument(newArgument()
+                    .name("label")
+                    .type(GraphQLString)
+                    .description("A label that identifies the streamed field in the delivered results."))
+            .argument(newArgument()
+                    .name("initialCount")
+                    .type(nonNull(GraphQLInt))
+                    .defaultValueProgrammatic(0)
+                    .description("The number of items delivered with the rest of the result."))
+            .validLocations(FIELD)
+            .build();
+
     /**
      * The "deprecated" directive is special and is always available in a graphql schema
      * <p>
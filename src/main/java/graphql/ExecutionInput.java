@@ -5,6 +5,7 @@ import graphql.execution.ExecutionId;
 import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentationState;
 import org.dataloader.DataLoaderRegistry;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.Locale;
 import java.util.Map;
@@ -29,6 +30,7 @@ public class ExecutionInput {
     private final CacheControl cacheControl;
     private final ExecutionId executionId;
     private final Locale locale;
+    private final Instant deadline;
 
 
     @Internal
@@ -44,6 +46,7 @@ public class ExecutionInput {
         this.locale = builder.locale;
         this.localContext = builder.localContext;
         this.extensions = builder.extensions;
+        this.deadline = builder.deadline;
     }
 
     /**
@@ -125,6 +128,13 @@ public class ExecutionInput {
         return extensions;
     }
 
+    /**
+     * @return the time by which the data fetchers of this operation have to complete or null if there is none
+     */
+    public Instant getDeadline() {
+        return deadline;
+    }
+
     /**
      * This helps you transform the current ExecutionInput object into another one by starting a builder with all
      * the current values and allows you to transform it how you want.
@@ -144,7 +154,8 @@ public class ExecutionInput {
                 .variables(this.variables)
                 .extensions(this.extensions)
                 .executionId(this.executionId)
-                .locale(this.locale);
+                .locale(this.locale)
+                .deadline(this.deadline);
 
         builderConsumer.accept(builder);
 
@@ -162,6 +173,7 @@ public class ExecutionInput {
                 ", dataLoaderRegistry=" + dataLoaderRegistry +
                 ", executionId= " + executionId +
                 ", locale= " + locale +
+                ", deadline= " + deadline +
                 '}';
     }
 
@@ -199,6 +211,7 @@ public class ExecutionInput {
         private CacheControl cacheControl = CacheControl.newCacheControl();
         private Locale locale;
         private ExecutionId executionId;
+        private Instant deadline;
 
         public Builder query(String query) {
             this.query = assertNotNull(query, () -> "query can't be null");
@@ -299,6 +312,18 @@ public class ExecutionInput {
             return this;
         }
 
+        /**
+         * Sets the time by which the data fetchers of this operation have to complete.  A data fetcher whose value is not
+         * there by then has its field completed with an error, see {@link graphql.execution.FieldTimeoutException}.
+         *
+         * @param deadline the deadline of the operation, null for none
+         * @return this builder
+         */
+        public Builder deadline(Instant deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
         public ExecutionInput build() {
             return new ExecutionInput(this);
         }
@@ -1,13 +1,17 @@
 package graphql;
 
 import graphql.execution.AbortExecutionException;
+import graphql.execution.Async;
 import graphql.execution.AsyncExecutionStrategy;
 import graphql.execution.AsyncSerialExecutionStrategy;
 import graphql.execution.DataFetcherExceptionHandler;
 import graphql.execution.Execution;
 import graphql.execution.ExecutionId;
 import graphql.execution.ExecutionIdProvider;
+import graphql.execution.ExecutionPlan;
 import graphql.execution.ExecutionStrategy;
+import graphql.execution.IncrementalExecutionResultImpl;
+import graphql.execution.PlannedExecutionStrategy;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
 import graphql.execution.SubscriptionExecutionStrategy;
 import graphql.execution.ValueUnboxer;
@@ -25,9 +29,12 @@ import graphql.execution.preparsed.NoOpPreparsedDocumentProvider;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
 import graphql.execution.preparsed.PreparsedDocumentProvider;
 import graphql.language.Document;
+import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
 import graphql.util.LogKit;
+import graphql.validation.ValidationCache;
 import graphql.validation.ValidationError;
+import graphql.validation.ValidationOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -97,6 +104,10 @@ public class GraphQL {
     private final Instrumentation instrumentation;
     private final PreparsedDocumentProvider preparsedDocumentProvider;
     private final ValueUnboxer valueUnboxer;
+    private final ParserOptions parserOptions;
+    private final ValidationOptions validationOptions;
+    private final ValidationCache validationCache;
+    private final boolean usesExecutionPlans;
 
 
     private GraphQL(Builder builder) {
@@ -108,6 +119,14 @@ public class GraphQL {
         this.instrumentation = assertNotNull(builder.instrumentation, () -> "instrumentation must not be null");
         this.preparsedDocumentProvider = assertNotNull(builder.preparsedDocumentProvider, () -> "preparsedDocumentProvider must be non null");
         this.valueUnboxer = assertNotNull(builder.valueUnboxer, () -> "valueUnboxer must not be null");
+        this.parserOptions = assertNotNull(builder.parserOptions, () -> "parserOptions must not be null");
+        this.validationOptions = assertNotNull(builder.validationOptions, () -> "validationOptions must not be null");
+        this.validationCache = builder.validationCache;
+        // a plan is only worth making if a strategy uses it and the provider keeps it, with the document, for later executions
+        this.usesExecutionPlans = !(preparsedDocumentProvider instanceof NoOpPreparsedDocumentProvider)
+                && (queryStrategy instanceof PlannedExecutionStrategy
+                || mutationStrategy instanceof PlannedExecutionStrategy
+                || subscriptionStrategy instanceof PlannedExecutionStrategy);
     }
 
     /**
@@ -135,7 +154,10 @@ public class GraphQL {
                 .subscriptionExecutionStrategy(this.subscriptionStrategy)
                 .executionIdProvider(Optional.ofNullable(this.idProvider).orElse(builder.idProvider))
                 .instrumentation(Optional.ofNullable(this.instrumentation).orElse(builder.instrumentation))
-                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider));
+                .preparsedDocumentProvider(Optional.ofNullable(this.preparsedDocumentProvider).orElse(builder.preparsedDocumentProvider))
+                .parserOptions(this.parserOptions)
+                .validationOptions(this.validationOptions)
+                .validationCache(this.validationCache);
 
         builderConsumer.accept(builder);
 
@@ -154,6 +176,9 @@ public class GraphQL {
         private PreparsedDocumentProvider preparsedDocumentProvider = NoOpPreparsedDocumentProvider.INSTANCE;
         private boolean doNotAddDefaultInstrumentations = false;
         private ValueUnboxer valueUnboxer = ValueUnboxer.DEFAULT;
+        private ParserOptions parserOptions = ParserOptions.defaultOptions();
+        private ValidationOptions validationOptions = ValidationOptions.defaultOptions();
+        private ValidationCache validationCache = null; // no caching by default
 
 
         public Builder(GraphQLSchema graphQLSchema) {
@@ -229,6 +254,42 @@ public class GraphQL {
             return this;
         }
 
+        /**
+         * This controls what the parser captures on the nodes of parsed queries.  Queries are parsed with
+         * {@link ParserOptions#defaultOptions()} unless this is set.
+         *
+         * @param parserOptions the options to parse queries with
+         * @return this builder
+         */
+        public Builder parserOptions(ParserOptions parserOptions) {
+            this.parserOptions = assertNotNull(parserOptions, () -> "ParserOptions must be non null");
+            return this;
+        }
+
+        /**
+         * This controls which validation rules are run on queries and how many errors are reported.  Queries are
+         * validated with {@link ValidationOptions#defaultOptions()} unless this is set.
+         *
+         * @param validationOptions the options to validate queries with
+         * @return this builder
+         */
+        public Builder validationOptions(ValidationOptions validationOptions) {
+            this.validationOptions = assertNotNull(validationOptions, () -> "ValidationOptions must be non null");
+            return this;
+        }
+
+        /**
+         * Queries that the cache knows to be valid against the schema are not validated again.  Queries are
+         * validated every time unless this is set.
+         *
+         * @param validationCache the cache of valid queries, or null for none
+         * @return this builder
+         */
+        public Builder validationCache(ValidationCache validationCache) {
+            this.validationCache = validationCache;
+            return this;
+        }
+
         public GraphQL build() {
             // we use the data fetcher exception handler unless they set their own strategy in which case bets are off
             if (queryExecutionStrategy == null) {
@@ -449,7 +510,8 @@ public class GraphQL {
             executionResult = executionResult.whenComplete(executionInstrumentation::onCompleted);
             //
             // allow instrumentation to tweak the result
-            executionResult = executionResult.thenCompose(result -> instrumentation.instrumentExecutionResult(result, instrumentationParameters));
+            executionResult = executionResult.thenCompose(result -> instrumentation.instrumentExecutionResult(result, instrumentationParameters)
+                    .thenApply(instrumentedResult -> IncrementalExecutionResultImpl.keepIncrementalPayloads(result, instrumentedResult)));
             return executionResult;
         } catch (AbortExecutionException abortException) {
             return CompletableFuture.completedFuture(abortException.toExecutionResult());
@@ -474,12 +536,38 @@ public class GraphQL {
             executionInputRef.set(transformedInput);
             return parseAndValidate(executionInputRef, graphQLSchema, instrumentationState);
         };
-        PreparsedDocumentEntry preparsedDoc = preparsedDocumentProvider.getDocument(executionInput, computeFunction);
+        CompletableFuture<PreparsedDocumentEntry> preparsedDocCF = preparsedDocumentProvider.getDocumentAsync(executionInput, graphQLSchema, computeFunction);
+        if (preparsedDocCF.isDone() && !preparsedDocCF.isCompletedExceptionally()) {
+            // a document that is there straight away is executed straight away, which throws just like executing without a provider
+            return executePreparsedDocument(executionInputRef.get(), preparsedDocCF.join(), graphQLSchema, instrumentationState);
+        }
+        return preparsedDocCF.handle((preparsedDoc, exception) -> {
+            if (exception != null) {
+                return handlePreparsedDocumentException(exception);
+            }
+            return executePreparsedDocument(executionInputRef.get(), preparsedDoc, graphQLSchema, instrumentationState);
+        }).thenCompose(Function.identity());
+    }
+
+    private CompletableFuture<ExecutionResult> executePreparsedDocument(ExecutionInput executionInput, PreparsedDocumentEntry preparsedDoc, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
         if (preparsedDoc.hasErrors()) {
             return CompletableFuture.completedFuture(new ExecutionResultImpl(preparsedDoc.getErrors()));
         }
+        try {
+            ExecutionPlan executionPlan = usesExecutionPlans ? preparsedDoc.getExecutionPlan(graphQLSchema, executionInput.getOperationName()) : null;
+            return execute(executionInput, preparsedDoc.getDocument(), graphQLSchema, instrumentationState, executionPlan);
+        } catch (AbortExecutionException abortException) {
+            return CompletableFuture.completedFuture(abortException.toExecutionResult());
+        }
+    }
 
-        return execute(executionInputRef.get(), preparsedDoc.getDocument(), graphQLSchema, instrumentationState);
+    private CompletableFuture<ExecutionResult> handlePreparsedDocumentException(Throwable exception) {
+        // the provider may have aborted the execution asynchronously, which is a result just like a synchronous abort
+        Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+        if (cause instanceof AbortExecutionException) {
+            return CompletableFuture.completedFuture(((AbortExecutionException) cause).toExecutionResult());
+        }
+        return Async.exceptionallyCompletedFuture(exception);
     }
 
     private PreparsedDocumentEntry parseAndValidate(AtomicReference<ExecutionInput> executionInputRef, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
@@ -506,20 +594,25 @@ public class GraphQL {
             final List<ValidationError> errors = validate(executionInput, document, graphQLSchema, instrumentationState);
             if (!errors.isEmpty()) {
                 logNotSafe.warn("Query failed to validate : '{}'", query);
-                return new PreparsedDocumentEntry(errors);
+                return validatedEntry(new PreparsedDocumentEntry(errors));
             }
 
-            return new PreparsedDocumentEntry(document);
+            return validatedEntry(new PreparsedDocumentEntry(document));
         }
     }
 
+    private PreparsedDocumentEntry validatedEntry(PreparsedDocumentEntry entry) {
+        // the document caches must not hand a document that was checked by only some rules to a fully validating instance
+        return validationOptions.isEveryRuleEnabled() ? entry : entry.partiallyValidated();
+    }
+
     private ParseAndValidateResult parse(ExecutionInput executionInput, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
         InstrumentationExecutionParameters parameters = new InstrumentationExecutionParameters(executionInput, graphQLSchema, instrumentationState);
         InstrumentationContext<Document> parseInstrumentation = instrumentation.beginParse(parameters);
         CompletableFuture<Document> documentCF = new CompletableFuture<>();
         parseInstrumentation.onDispatched(documentCF);
 
-        ParseAndValidateResult parseResult = ParseAndValidate.parse(executionInput);
+        ParseAndValidateResult parseResult = ParseAndValidate.parse(executionInput, parserOptions);
         if (parseResult.isFailure()) {
             parseInstrumentation.onCompleted(null, parseResult.getSyntaxException());
             return parseResult;
@@ -539,14 +632,16 @@ public class GraphQL {
         CompletableFuture<List<ValidationError>> cf = new CompletableFuture<>();
         validationCtx.onDispatched(cf);
 
-        List<ValidationError> validationErrors = ParseAndValidate.validate(graphQLSchema, document);
+        List<ValidationError> validationErrors = validationCache != null
+                ? ParseAndValidate.validate(graphQLSchema, document, validationOptions, validationCache)
+                : ParseAndValidate.validate(graphQLSchema, document, validationOptions);
 
         validationCtx.onCompleted(validationErrors, null);
         cf.complete(validationErrors);
         return validationErrors;
     }
 
-    private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, Document document, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState) {
+    private CompletableFuture<ExecutionResult> execute(ExecutionInput executionInput, Document document, GraphQLSchema graphQLSchema, InstrumentationState instrumentationState, ExecutionPlan executionPlan) {
 
         Execution execution = new Execution(queryStrategy, mutationStrategy, subscriptionStrategy, instrumentation, valueUnboxer);
         ExecutionId executionId = executionInput.getExecutionId();
@@ -554,7 +649,7 @@ public class GraphQL {
         if (logNotSafe.isDebugEnabled()) {
             logNotSafe.debug("Executing '{}'. operation name: '{}'. query: '{}'. variables '{}'", executionId, executionInput.getOperationName(), executionInput.getQuery(), executionInput.getVariables());
         }
-        CompletableFuture<ExecutionResult> future = execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState);
+        CompletableFuture<ExecutionResult> future = execution.execute(document, graphQLSchema, executionId, executionInput, instrumentationState, executionPlan);
         future = future.whenComplete((result, throwable) -> {
             if (throwable != null) {
                 logNotSafe.error(String.format("Execution '%s' threw exception when executing : query : '%s'. variables '%s'", executionId, executionInput.getQuery(), executionInput.getVariables()), throwable);
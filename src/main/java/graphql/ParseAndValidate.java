@@ -2,12 +2,17 @@ package graphql;
 
 import graphql.language.Document;
 import graphql.parser.InvalidSyntaxException;
+import graphql.parser.ExecutableDocumentParser;
 import graphql.parser.Parser;
+import graphql.parser.ParserOptions;
 import graphql.schema.GraphQLSchema;
+import graphql.validation.ValidationCache;
 import graphql.validation.ValidationError;
+import graphql.validation.ValidationOptions;
 import graphql.validation.Validator;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * This class allows you to parse and validate a graphql query without executing it.  It will tell you
@@ -26,9 +31,22 @@ public class ParseAndValidate {
      * @return a result object that indicates how this operation went
      */
     public static ParseAndValidateResult parseAndValidate(GraphQLSchema graphQLSchema, ExecutionInput executionInput) {
+        return parseAndValidate(graphQLSchema, executionInput, ValidationOptions.defaultOptions());
+    }
+
+    /**
+     * This can be called to parse and validate a graphql query against a schema with the rules and up to the number of errors that
+     * the options allow.
+     *
+     * @param graphQLSchema     the schema to validate against
+     * @param executionInput    the execution input containing the query
+     * @param validationOptions the options that control the validation
+     * @return a result object that indicates how this operation went
+     */
+    public static ParseAndValidateResult parseAndValidate(GraphQLSchema graphQLSchema, ExecutionInput executionInput, ValidationOptions validationOptions) {
         ParseAndValidateResult result = parse(executionInput);
         if (!result.isFailure()) {
-            List<ValidationError> errors = validate(graphQLSchema, result.getDocument());
+            List<ValidationError> errors = validate(graphQLSchema, result.getDocument(), validationOptions);
             return result.transform(builder -> builder.validationErrors(errors));
         }
         return result;
@@ -41,9 +59,20 @@ public class ParseAndValidate {
      * @return a result object that indicates how this operation went
      */
     public static ParseAndValidateResult parse(ExecutionInput executionInput) {
+        return parse(executionInput, ParserOptions.defaultOptions());
+    }
+
+    /**
+     * This can be called to parse (but not validate) a graphql query.
+     *
+     * @param executionInput the input containing the query
+     * @param parserOptions  the options that control what the parser captures on the nodes
+     * @return a result object that indicates how this operation went
+     */
+    public static ParseAndValidateResult parse(ExecutionInput executionInput, ParserOptions parserOptions) {
         try {
-            Parser parser = new Parser();
-            Document document = parser.parseDocument(executionInput.getQuery());
+            Parser parser = parserOptions.isUseExecutableDocumentParser() ? new ExecutableDocumentParser() : new Parser();
+            Document document = parser.parseDocument(executionInput.getQuery(), null, parserOptions);
             return ParseAndValidateResult.newResult().document(document).variables(executionInput.getVariables()).build();
         } catch (InvalidSyntaxException e) {
             return ParseAndValidateResult.newResult().syntaxException(e).variables(executionInput.getVariables()).build();
@@ -58,7 +87,75 @@ public class ParseAndValidate {
      * @return a result object that indicates how this operation went
      */
     public static List<ValidationError> validate(GraphQLSchema graphQLSchema, Document parsedDocument) {
+        return validate(graphQLSchema, parsedDocument, ValidationOptions.defaultOptions());
+    }
+
+    /**
+     * This can be called to validate a parsed graphql query with the rules and up to the number of errors that the options allow.
+     *
+     * @param graphQLSchema     the graphql schema to validate against
+     * @param parsedDocument    the previously parsed document
+     * @param validationOptions the options that control the validation
+     * @return a result object that indicates how this operation went
+     */
+    public static List<ValidationError> validate(GraphQLSchema graphQLSchema, Document parsedDocument, ValidationOptions validationOptions) {
         Validator validator = new Validator();
-        return validator.validateDocument(graphQLSchema, parsedDocument);
+        return validator.validateDocument(graphQLSchema, parsedDocument, validationOptions);
+    }
+
+    /**
+     * This can be called to validate a parsed graphql query with its operations and fragments validated in parallel, which is useful
+     * for large documents holding many operations and fragments.  The errors are always in the same order, the errors of each
+     * definition in document order followed by the errors found across the whole document.
+     *
+     * @param graphQLSchema  the graphql schema to validate against
+     * @param parsedDocument the previously parsed document
+     * @param executor       the executor to validate the operations and fragments on
+     * @return a result object that indicates how this operation went
+     */
+    public static List<ValidationError> validate(GraphQLSchema graphQLSchema, Document parsedDocument, Executor executor) {
+        return validate(graphQLSchema, parsedDocument, ValidationOptions.defaultOptions(), executor);
+    }
+
+    /**
+     * This can be called to validate a parsed graphql query in parallel, like {@link #validate(GraphQLSchema, Document, Executor)}, with
+     * the rules and up to the number of errors that the options allow.
+     *
+     * @param graphQLSchema     the graphql schema to validate against
+     * @param parsedDocument    the previously parsed document
+     * @param validationOptions the options that control the validation
+     * @param executor          the executor to validate the operations and fragments on
+     * @return a result object that indicates how this operation went
+     */
+    public static List<ValidationError> validate(GraphQLSchema graphQLSchema, Document parsedDocument, ValidationOptions validationOptions, Executor executor) {
+        Validator validator = new Validator();
+        return validator.validateDocument(graphQLSchema, parsedDocument, validationOptions, executor);
+    }
+
+    /**
+     * This can be called to validate a parsed graphql query, skipping validation if the cache already knows the query
+     * to be valid against the schema.
+     *
+     * @param graphQLSchema   the graphql schema to validate against
+     * @param parsedDocument  the previously parsed document
+     * @param validationCache the cache of documents known to be valid
+     * @return a result object that indicates how this operation went
+     */
+    public static List<ValidationError> validate(GraphQLSchema graphQLSchema, Document parsedDocument, ValidationCache validationCache) {
+        return validate(graphQLSchema, parsedDocument, ValidationOptions.defaultOptions(), validationCache);
+    }
+
+    /**
+     * This can be called to validate a parsed graphql query with the rules and up to the number of errors that the options allow,
+     * skipping validation if the cache already knows the query to be valid against the schema with those rules.
+     *
+     * @param graphQLSchema     the graphql schema to validate against
+     * @param parsedDocument    the previously parsed document
+     * @param validationOptions the options that control the validation
+     * @param validationCache   the cache of documents known to be valid
+     * @return a result object that indicates how this operation went
+     */
+    public static List<ValidationError> validate(GraphQLSchema graphQLSchema, Document parsedDocument, ValidationOptions validationOptions, ValidationCache validationCache) {
+        return validationCache.validate(graphQLSchema, parsedDocument, validationOptions, () -> validate(graphQLSchema, parsedDocument, validationOptions));
     }
 }
@@ -0,0 +1,172 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.Value;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLInputObjectField;
+import graphql.schema.GraphQLInputObjectType;
+import graphql.schema.GraphQLInputType;
+import graphql.schema.GraphQLList;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The argument values of a field worked out as far as they can be without the variables, made by
+ * {@link ValuesResolver#createArgumentCoercionPlan(GraphQLCodeRegistry, List, List)}.
+ * <p>
+ * The values of arguments that are not given, or whose literals do not use variables, are coerced once when the plan is made and
+ * only the arguments that use variables are coerced each time.  Every call hands out its own map of argument values, with its
+ * own copies of the input object maps and lists of the values coerced up front, so that data fetchers can change them just like
+ * the values of variables.  Scalar and enum values, including the maps and lists that custom scalars may coerce to, are shared.
+ * <p>
+ * A plan is safe to share between threads.
+ */
+@Internal
+public class ArgumentCoercionPlan {
+
+    private static final Map<String, Object> NO_VALUES = Collections.emptyMap();
+
+    private final ValuesResolver valuesResolver;
+    private final GraphQLCodeRegistry codeRegistry;
+    // the arguments in definition order, each either with its value coerced up front or to be coerced each time
+    private final List<ArgumentStep> steps;
+    private final boolean constant;
+
+    ArgumentCoercionPlan(ValuesResolver valuesResolver, GraphQLCodeRegistry codeRegistry, List<GraphQLArgument> argumentTypes, Map<String, Argument> argumentMap) {
+        this.valuesResolver = valuesResolver;
+        this.codeRegistry = codeRegistry;
+        List<ArgumentStep> steps = new ArrayList<>(argumentTypes.size());
+        boolean allConstant = true;
+        for (GraphQLArgument argumentDefinition : argumentTypes) {
+            Argument argument = argumentMap.get(argumentDefinition.getName());
+            ArgumentStep step = null;
+            if (argument == null || !usesVariables(argument.getValue())) {
+                step = constantStep(argumentDefinition, argument);
+            }
+            if (step == null) {
+                step = new ArgumentStep(argumentDefinition, argument);
+                allConstant = false;
+            }
+            steps.add(step);
+        }
+        this.steps = steps;
+        this.constant = allConstant;
+    }
+
+    private ArgumentStep constantStep(GraphQLArgument argumentDefinition, Argument argument) {
+        Map<String, Object> value = new LinkedHashMap<>(1);
+        try {
+            valuesResolver.coerceArgumentValue(codeRegistry, argumentDefinition, argument, NO_VALUES, value);
+        } catch (RuntimeException e) {
+            // coerced each time so that the failure happens where it always did
+            return null;
+        }
+        return new ArgumentStep(argumentDefinition, value.containsKey(argumentDefinition.getName()), value.get(argumentDefinition.getName()));
+    }
+
+    // the input objects and lists of a value are copied by following its type, so that the values of scalars are left alone
+    private static Object copyValue(GraphQLInputType type, Object value) {
+        GraphQLType unwrappedType = GraphQLTypeUtil.unwrapNonNull(type);
+        if (value instanceof Map && unwrappedType instanceof GraphQLInputObjectType) {
+            GraphQLInputObjectType inputObjectType = (GraphQLInputObjectType) unwrappedType;
+            Map<?, ?> fieldValues = (Map<?, ?>) value;
+            Map<String, Object> copy = new LinkedHashMap<>(fieldValues.size() * 4 / 3 + 1);
+            for (Map.Entry<?, ?> entry : fieldValues.entrySet()) {
+                String fieldName = String.valueOf(entry.getKey());
+                GraphQLInputObjectField field = inputObjectType.getField(fieldName);
+                copy.put(fieldName, field != null ? copyValue(field.getType(), entry.getValue()) : entry.getValue());
+            }
+            return copy;
+        }
+        if (value instanceof List && unwrappedType instanceof GraphQLList) {
+            GraphQLInputType itemType = (GraphQLInputType) ((GraphQLList) unwrappedType).getWrappedType();
+            List<?> items = (List<?>) value;
+            List<Object> copy = new ArrayList<>(items.size());
+            for (Object item : items) {
+                copy.add(copyValue(itemType, item));
+            }
+            return copy;
+        }
+        return value;
+    }
+
+    /**
+     * @return true if no argument uses variables, in which case the argument values are the same every time
+     */
+    public boolean isConstant() {
+        return constant;
+    }
+
+    /**
+     * @param coercedVariables the coerced variables
+     *
+     * @return the coerced argument values
+     */
+    public Map<String, Object> getArgumentValues(Map<String, Object> coercedVariables) {
+        Map<String, Object> coercedValues = new LinkedHashMap<>();
+        for (ArgumentStep step : steps) {
+            if (!step.constant) {
+                valuesResolver.coerceArgumentValue(codeRegistry, step.argumentDefinition, step.argument, coercedVariables, coercedValues);
+            } else if (step.hasValue) {
+                coercedValues.put(step.argumentDefinition.getName(), copyValue(step.argumentDefinition.getType(), step.value));
+            }
+        }
+        return coercedValues;
+    }
+
+    private static boolean usesVariables(Value<?> value) {
+        if (value instanceof VariableReference) {
+            return true;
+        }
+        if (value instanceof ArrayValue) {
+            for (Value<?> item : ((ArrayValue) value).getValues()) {
+                if (usesVariables(item)) {
+                    return true;
+                }
+            }
+        } else if (value instanceof ObjectValue) {
+            for (ObjectField objectField : ((ObjectValue) value).getObjectFields()) {
+                if (usesVariables(objectField.getValue())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static class ArgumentStep {
+        private final GraphQLArgument argumentDefinition;
+        private final Argument argument;
+        private final boolean constant;
+        private final boolean hasValue;
+        private final Object value;
+
+        private ArgumentStep(GraphQLArgument argumentDefinition, Argument argument) {
+            this.argumentDefinition = argumentDefinition;
+            this.argument = argument;
+            this.constant = false;
+            this.hasValue = false;
+            this.value = null;
+        }
+
+        private ArgumentStep(GraphQLArgument argumentDefinition, boolean hasValue, Object value) {
+            this.argumentDefinition = argumentDefinition;
+            this.argument = null;
+            this.constant = true;
+            this.hasValue = hasValue;
+            this.value = value;
+        }
+    }
+}
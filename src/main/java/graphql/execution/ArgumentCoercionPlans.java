@@ -0,0 +1,75 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.language.Field;
+import graphql.schema.GraphQLCodeRegistry;
+import graphql.schema.GraphQLFieldDefinition;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link ArgumentCoercionPlan}s of the fields of a document, by field definition and field, so that the argument values of a
+ * field that is executed many times, such as a field of the values of a list, are planned once.
+ * <p>
+ * The plans are made for one code registry, so a set of plans must only be used with one schema.
+ */
+@Internal
+public class ArgumentCoercionPlans {
+
+    private final ValuesResolver valuesResolver = new ValuesResolver();
+    private final Map<Key, ArgumentCoercionPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * @param codeRegistry     the code registry of the schema
+     * @param fieldDefinition  the field definition
+     * @param field            the field
+     * @param coercedVariables the coerced variables
+     *
+     * @return the argument values of the field
+     */
+    public Map<String, Object> getArgumentValues(GraphQLCodeRegistry codeRegistry, GraphQLFieldDefinition fieldDefinition, MergedField field, Map<String, Object> coercedVariables) {
+        if (fieldDefinition.getArguments().isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Key key = new Key(fieldDefinition, field.getSingleField());
+        ArgumentCoercionPlan plan = plans.get(key);
+        if (plan == null) {
+            plan = valuesResolver.createArgumentCoercionPlan(codeRegistry, fieldDefinition.getArguments(), field.getArguments());
+            ArgumentCoercionPlan existing = plans.putIfAbsent(key, plan);
+            if (existing != null) {
+                plan = existing;
+            }
+        }
+        return plan.getArgumentValues(coercedVariables);
+    }
+
+    // the same field can be on many types, each with its own definition of the arguments
+    private static final class Key {
+        private final GraphQLFieldDefinition fieldDefinition;
+        private final Field field;
+
+        private Key(GraphQLFieldDefinition fieldDefinition, Field field) {
+            this.fieldDefinition = fieldDefinition;
+            this.field = field;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return fieldDefinition == other.fieldDefinition && field == other.field;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(fieldDefinition) + System.identityHashCode(field);
+        }
+    }
+}
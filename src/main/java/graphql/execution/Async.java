@@ -25,6 +25,11 @@ public class Async {
     }
 
     public static <U> CompletableFuture<List<U>> each(List<CompletableFuture<U>> futures) {
+        List<U> completedValues = completedValues(futures);
+        if (completedValues != null) {
+            // every value is already known, which is the case for synchronous data fetchers, so there is nothing to wait for
+            return CompletableFuture.completedFuture(completedValues);
+        }
         CompletableFuture<List<U>> overallResult = new CompletableFuture<>();
 
         @SuppressWarnings("unchecked")
@@ -45,6 +50,29 @@ public class Async {
         return overallResult;
     }
 
+    private static <U> List<U> completedValues(List<CompletableFuture<U>> futures) {
+        List<U> values = new ArrayList<>(futures.size());
+        for (CompletableFuture<U> future : futures) {
+            if (!isCompletedNormally(future)) {
+                return null;
+            }
+            values.add(future.join());
+        }
+        return values;
+    }
+
+    /**
+     * A future that has completed normally holds a value that can be used straight away, so code that is given one
+     * can carry on synchronously rather than chaining more stages onto it.
+     *
+     * @param future the future to check
+     *
+     * @return true if the future has completed with a value rather than an exception
+     */
+    public static boolean isCompletedNormally(CompletableFuture<?> future) {
+        return future.isDone() && !future.isCompletedExceptionally();
+    }
+
     public static <T, U> CompletableFuture<List<U>> each(Collection<T> list, BiFunction<T, Integer, CompletableFuture<U>> cfFactory) {
         List<CompletableFuture<U>> futures = new ArrayList<>(list.size());
         int index = 0;
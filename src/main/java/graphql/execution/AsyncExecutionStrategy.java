@@ -1,6 +1,7 @@
 package graphql.execution;
 
 import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
 import graphql.PublicApi;
 import graphql.execution.instrumentation.ExecutionStrategyInstrumentationContext;
 import graphql.execution.instrumentation.Instrumentation;
@@ -20,6 +21,9 @@ import static graphql.collect.ImmutableKit.map;
 @PublicApi
 public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
 
+    // the values of the fields are gathered without an ExecutionResult per field unless a sub class handles the results itself
+    private final boolean handleResultsOverridden = isHandleResultsOverridden(getClass());
+
     /**
      * The standard graphql execution strategy that runs fields asynchronously
      */
@@ -69,8 +73,18 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
                 handleResultsConsumer.accept(null, throwable.getCause());
                 return;
             }
-            List<CompletableFuture<ExecutionResult>> executionResultFuture = map(completeValueInfos, FieldValueInfo::getFieldValue);
             executionStrategyCtx.onFieldValuesInfo(completeValueInfos);
+            if (!handleResultsOverridden) {
+                FieldValueInfo.getFieldValues(completeValueInfos).whenComplete((values, exception) -> {
+                    if (exception != null) {
+                        handleNonNullException(executionContext, overallResult, exception);
+                        return;
+                    }
+                    overallResult.complete(new ExecutionResultImpl(new FlatResultMap(resolvedFields, values), executionContext.getErrors()));
+                });
+                return;
+            }
+            List<CompletableFuture<ExecutionResult>> executionResultFuture = map(completeValueInfos, FieldValueInfo::getFieldValue);
             Async.each(executionResultFuture).whenComplete(handleResultsConsumer);
         }).exceptionally((ex) -> {
             // if there are any issues with combining/handling the field results,
@@ -83,4 +97,16 @@ public class AsyncExecutionStrategy extends AbstractAsyncExecutionStrategy {
         overallResult.whenComplete(executionStrategyCtx::onCompleted);
         return overallResult;
     }
+
+    private static boolean isHandleResultsOverridden(Class<?> strategyClass) {
+        for (Class<?> type = strategyClass; type != AbstractAsyncExecutionStrategy.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("handleResults", ExecutionContext.class, List.class, CompletableFuture.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the super class
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,30 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.language.SelectionSet;
+
+/**
+ * A fragment with an active {@code @defer} directive that the {@link FieldCollector} left out of the fields it collected
+ */
+@Internal
+public class DeferredFragment {
+
+    private final String label;
+    private final SelectionSet selectionSet;
+
+    public DeferredFragment(String label, SelectionSet selectionSet) {
+        this.label = label;
+        this.selectionSet = selectionSet;
+    }
+
+    /**
+     * @return the label of the {@code @defer} directive or null if it has none
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public SelectionSet getSelectionSet() {
+        return selectionSet;
+    }
+}
@@ -56,6 +56,10 @@ public class Execution {
     }
 
     public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState) {
+        return execute(document, graphQLSchema, executionId, executionInput, instrumentationState, null);
+    }
+
+    public CompletableFuture<ExecutionResult> execute(Document document, GraphQLSchema graphQLSchema, ExecutionId executionId, ExecutionInput executionInput, InstrumentationState instrumentationState, ExecutionPlan executionPlan) {
 
         NodeUtil.GetOperationResult getOperationResult = NodeUtil.getOperation(document, executionInput.getOperationName());
         Map<String, FragmentDefinition> fragmentsByName = getOperationResult.fragmentsByName;
@@ -94,6 +98,7 @@ public class Execution {
                 .locale(executionInput.getLocale())
                 .valueUnboxer(valueUnboxer)
                 .executionInput(executionInput)
+                .executionPlan(executionPlan)
                 .build();
 
 
@@ -127,14 +132,30 @@ public class Execution {
             throw rte;
         }
 
-        FieldCollectorParameters collectorParameters = FieldCollectorParameters.newParameters()
-                .schema(executionContext.getGraphQLSchema())
-                .objectType(operationRootType)
-                .fragments(executionContext.getFragmentsByName())
-                .variables(executionContext.getVariables())
-                .build();
+        ExecutionStrategy executionStrategy;
+        if (operation == OperationDefinition.Operation.MUTATION) {
+            executionStrategy = executionContext.getMutationStrategy();
+        } else if (operation == SUBSCRIPTION) {
+            executionStrategy = executionContext.getSubscriptionStrategy();
+        } else {
+            executionStrategy = executionContext.getQueryStrategy();
+        }
 
-        MergedSelectionSet fields = fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet());
+        MergedSelectionSet fields;
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        // only the planned strategy uses the plan for the rest of the operation, so only then is it worth planning the root fields
+        if (executionStrategy instanceof PlannedExecutionStrategy && executionPlan != null && executionPlan.isPlanFor(executionContext)) {
+            fields = executionPlan.getRootFields(executionContext, operationRootType, operationDefinition.getSelectionSet());
+        } else {
+            FieldCollectorParameters collectorParameters = FieldCollectorParameters.newParameters()
+                    .schema(executionContext.getGraphQLSchema())
+                    .objectType(operationRootType)
+                    .fragments(executionContext.getFragmentsByName())
+                    .variables(executionContext.getVariables())
+                    .build();
+
+            fields = fieldCollector.collectFields(collectorParameters, operationDefinition.getSelectionSet());
+        }
 
         ResultPath path = ResultPath.rootPath();
         ExecutionStepInfo executionStepInfo = newExecutionStepInfo().type(operationRootType).path(path).build();
@@ -151,14 +172,6 @@ public class Execution {
 
         CompletableFuture<ExecutionResult> result;
         try {
-            ExecutionStrategy executionStrategy;
-            if (operation == OperationDefinition.Operation.MUTATION) {
-                executionStrategy = executionContext.getMutationStrategy();
-            } else if (operation == SUBSCRIPTION) {
-                executionStrategy = executionContext.getSubscriptionStrategy();
-            } else {
-                executionStrategy = executionContext.getQueryStrategy();
-            }
             if (logNotSafe.isDebugEnabled()) {
                 logNotSafe.debug("Executing '{}' query operation: '{}' using '{}' execution strategy", executionContext.getExecutionId(), operation, executionStrategy.getClass().getName());
             }
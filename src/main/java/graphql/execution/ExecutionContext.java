@@ -5,6 +5,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import graphql.ExecutionInput;
 import graphql.GraphQLError;
+import graphql.Internal;
 import graphql.PublicApi;
 import graphql.cachecontrol.CacheControl;
 import graphql.collect.ImmutableMapWithNullValues;
@@ -49,11 +50,17 @@ public class ExecutionContext {
     private final Instrumentation instrumentation;
     private final List<GraphQLError> errors = Collections.synchronizedList(new ArrayList<>());
     private final Set<ResultPath> errorPaths = new HashSet<>();
+    // the errors as returned by getErrors, shared until another error is added
+    private List<GraphQLError> errorsSnapshot;
     private final DataLoaderRegistry dataLoaderRegistry;
     private final CacheControl cacheControl;
     private final Locale locale;
     private final ValueUnboxer valueUnboxer;
     private final ExecutionInput executionInput;
+    private final ExecutionPlan executionPlan;
+    private final MergedSelectionSetCache mergedSelectionSetCache;
+    private final ArgumentCoercionPlans argumentCoercionPlans;
+    private final IncrementalCalls incrementalCalls;
     private final Supplier<NormalizedQuery> queryTree;
 
     ExecutionContext(ExecutionContextBuilder builder) {
@@ -77,6 +84,11 @@ public class ExecutionContext {
         this.errors.addAll(builder.errors);
         this.localContext = builder.localContext;
         this.executionInput = builder.executionInput;
+        this.executionPlan = builder.executionPlan;
+        this.incrementalCalls = builder.incrementalCalls != null ? builder.incrementalCalls : new IncrementalCalls();
+        // transformed contexts, such as the ones deferred calls run with, keep the caches of the context they came from
+        this.mergedSelectionSetCache = builder.mergedSelectionSetCache != null ? builder.mergedSelectionSetCache : new MergedSelectionSetCache();
+        this.argumentCoercionPlans = builder.argumentCoercionPlans != null ? builder.argumentCoercionPlans : new ArgumentCoercionPlans();
         queryTree = FpKit.interThreadMemoize(() -> NormalizedQueryFactory.createNormalizedQuery(graphQLSchema, operationDefinition, fragmentsByName, variables));
     }
 
@@ -152,6 +164,38 @@ public class ExecutionContext {
         return valueUnboxer;
     }
 
+    /**
+     * @return the plan shared by the executions of this operation, or null if there is none
+     */
+    @Internal
+    public ExecutionPlan getExecutionPlan() {
+        return executionPlan;
+    }
+
+    /**
+     * @return the sub fields collected so far in this execution
+     */
+    @Internal
+    public MergedSelectionSetCache getMergedSelectionSetCache() {
+        return mergedSelectionSetCache;
+    }
+
+    /**
+     * @return the argument coercion plans made so far in this execution
+     */
+    @Internal
+    public ArgumentCoercionPlans getArgumentCoercionPlans() {
+        return argumentCoercionPlans;
+    }
+
+    /**
+     * @return the deferred calls of this execution, shared with the execution contexts the calls run with
+     */
+    @Internal
+    public IncrementalCalls getIncrementalCalls() {
+        return incrementalCalls;
+    }
+
     /**
      * This method will only put one error per field path.
      *
@@ -167,7 +211,7 @@ public class ExecutionContext {
         if (!errorPaths.add(fieldPath)) {
             return;
         }
-        this.errors.add(error);
+        addToErrors(error);
     }
 
     /**
@@ -183,14 +227,26 @@ public class ExecutionContext {
         if (error.getPath() != null) {
             this.errorPaths.add(ResultPath.fromList(error.getPath()));
         }
-        this.errors.add(error);
+        addToErrors(error);
+    }
+
+    private void addToErrors(GraphQLError error) {
+        synchronized (errors) {
+            errors.add(error);
+            errorsSnapshot = null;
+        }
     }
 
     /**
      * @return the total list of errors for this execution context
      */
     public List<GraphQLError> getErrors() {
-        return ImmutableList.copyOf(errors);
+        synchronized (errors) {
+            if (errorsSnapshot == null) {
+                errorsSnapshot = ImmutableList.copyOf(errors);
+            }
+            return errorsSnapshot;
+        }
     }
 
     public ExecutionStrategy getQueryStrategy() {
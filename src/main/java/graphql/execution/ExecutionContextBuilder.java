@@ -46,6 +46,11 @@ public class ExecutionContextBuilder {
     ValueUnboxer valueUnboxer;
     Object localContext;
     ExecutionInput executionInput;
+    ExecutionPlan executionPlan;
+    IncrementalCalls incrementalCalls;
+    // the caches of the execution that is transformed, dropped when something they depend on is changed
+    MergedSelectionSetCache mergedSelectionSetCache;
+    ArgumentCoercionPlans argumentCoercionPlans;
 
     /**
      * @return a new builder of {@link graphql.execution.ExecutionContext}s
@@ -91,6 +96,10 @@ public class ExecutionContextBuilder {
         errors = ImmutableList.copyOf(other.getErrors());
         valueUnboxer = other.getValueUnboxer();
         executionInput = other.getExecutionInput();
+        executionPlan = other.getExecutionPlan();
+        incrementalCalls = other.getIncrementalCalls();
+        mergedSelectionSetCache = other.getMergedSelectionSetCache();
+        argumentCoercionPlans = other.getArgumentCoercionPlans();
     }
 
     public ExecutionContextBuilder instrumentation(Instrumentation instrumentation) {
@@ -110,6 +119,8 @@ public class ExecutionContextBuilder {
 
     public ExecutionContextBuilder graphQLSchema(GraphQLSchema graphQLSchema) {
         this.graphQLSchema = graphQLSchema;
+        this.mergedSelectionSetCache = null;
+        this.argumentCoercionPlans = null;
         return this;
     }
 
@@ -145,21 +156,26 @@ public class ExecutionContextBuilder {
 
     public ExecutionContextBuilder variables(Map<String, Object> variables) {
         this.variables = ImmutableMapWithNullValues.copyOf(variables);
+        this.mergedSelectionSetCache = null;
         return this;
     }
 
     public ExecutionContextBuilder fragmentsByName(Map<String, FragmentDefinition> fragmentsByName) {
         this.fragmentsByName = ImmutableMap.copyOf(fragmentsByName);
+        this.mergedSelectionSetCache = null;
         return this;
     }
 
     public ExecutionContextBuilder document(Document document) {
         this.document = document;
+        this.mergedSelectionSetCache = null;
+        this.argumentCoercionPlans = null;
         return this;
     }
 
     public ExecutionContextBuilder operationDefinition(OperationDefinition operationDefinition) {
         this.operationDefinition = operationDefinition;
+        this.mergedSelectionSetCache = null;
         return this;
     }
 
@@ -188,6 +204,12 @@ public class ExecutionContextBuilder {
         return this;
     }
 
+    @Internal
+    public ExecutionContextBuilder executionPlan(ExecutionPlan executionPlan) {
+        this.executionPlan = executionPlan;
+        return this;
+    }
+
     public ExecutionContextBuilder resetErrors() {
         this.errors = emptyList();
         return this;
@@ -0,0 +1,309 @@
+package graphql.execution;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.VariableReference;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static graphql.Directives.IncludeDirective;
+import static graphql.Directives.SkipDirective;
+import static graphql.execution.FieldCollectorParameters.newParameters;
+
+/**
+ * The parts of executing an operation that depend only on the document, the operation and the schema, worked out once and then
+ * shared by every execution of that operation.
+ * <p>
+ * A plan holds the merged selection set of every object type and field that is executed, the data fetcher of every field and the
+ * {@link ArgumentCoercionPlan} of every field, so the argument values of fields whose arguments do not use variables are shared.
+ * The selection sets that have fields or fragments with {@code @skip} or {@code @include} directives that use variables are
+ * held for each combination of the values of those variables, up to {@link #MAX_CONDITION_COMBINATIONS} combinations per
+ * selection set.  The fields of any further combinations are collected each time, so a plan can't grow with the number of
+ * executions.
+ * <p>
+ * The plan is filled in as the operation is executed, so the types and fields that are never reached are never planned. Everything
+ * is keyed on the nodes of the document, so a plan must only be used with the document and schema it was made for, see
+ * {@link #isPlanFor(ExecutionContext)}.  Plans are usually made by and cached with a
+ * {@link graphql.execution.preparsed.PreparsedDocumentEntry}.
+ * <p>
+ * A plan is safe to share between threads.
+ */
+@Internal
+public class ExecutionPlan {
+
+    /**
+     * The most combinations of {@code @skip} and {@code @include} variable values that the fields of a selection set are held for
+     */
+    public static final int MAX_CONDITION_COMBINATIONS = 16;
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private final FieldCollector fieldCollector = new FieldCollector();
+
+    private final GraphQLSchema schema;
+    private final Document document;
+    private final Map<PlanKey, Conditions> conditionsBySelections = new ConcurrentHashMap<>();
+    private final Map<PlanKey, MergedSelectionSet> selectionSets = new ConcurrentHashMap<>();
+    private final Map<PlanKey, DataFetcher<?>> dataFetchers = new ConcurrentHashMap<>();
+    private final ArgumentCoercionPlans argumentCoercionPlans = new ArgumentCoercionPlans();
+
+    public ExecutionPlan(GraphQLSchema schema, Document document) {
+        this.schema = schema;
+        this.document = document;
+    }
+
+    public GraphQLSchema getSchema() {
+        return schema;
+    }
+
+    public Document getDocument() {
+        return document;
+    }
+
+    /**
+     * @param executionContext the execution context in play
+     *
+     * @return true if this plan was made for the document and schema of the execution
+     */
+    public boolean isPlanFor(ExecutionContext executionContext) {
+        return executionContext.getGraphQLSchema() == schema && executionContext.getDocument() == document;
+    }
+
+    /**
+     * @param executionContext the execution context in play
+     * @param rootType         the root type of the operation
+     * @param selectionSet     the selection set of the operation
+     *
+     * @return the fields of the operation
+     */
+    public MergedSelectionSet getRootFields(ExecutionContext executionContext, GraphQLObjectType rootType, SelectionSet selectionSet) {
+        Conditions conditions = conditions(executionContext, ImmutableList.of(selectionSet));
+        PlanKey key = new PlanKey(new Object[]{rootType, selectionSet}, conditions.values(executionContext));
+        MergedSelectionSet fields = this.selectionSets.get(key);
+        if (fields == null) {
+            fields = fieldCollector.collectFields(collectorParameters(executionContext, rootType), selectionSet);
+            if (conditions.isNewCombinationKept()) {
+                MergedSelectionSet existing = this.selectionSets.putIfAbsent(key, fields);
+                if (existing != null) {
+                    fields = existing;
+                }
+            }
+        }
+        return fields;
+    }
+
+    /**
+     * @param executionContext the execution context in play
+     * @param objectType       the object type the field was resolved to
+     * @param field            the field
+     *
+     * @return the sub fields of the field for the object type
+     */
+    public MergedSelectionSet getSubFields(ExecutionContext executionContext, GraphQLObjectType objectType, MergedField field) {
+        List<Field> fields = field.getFields();
+        Object[] nodes = new Object[fields.size() + 1];
+        nodes[0] = objectType;
+        for (int i = 0; i < fields.size(); i++) {
+            nodes[i + 1] = fields.get(i);
+        }
+        Conditions conditions = conditions(executionContext, fields);
+        PlanKey key = new PlanKey(nodes, conditions.values(executionContext));
+        MergedSelectionSet subFields = selectionSets.get(key);
+        if (subFields == null) {
+            subFields = fieldCollector.collectFields(collectorParameters(executionContext, objectType), field);
+            if (conditions.isNewCombinationKept()) {
+                MergedSelectionSet existing = selectionSets.putIfAbsent(key, subFields);
+                if (existing != null) {
+                    subFields = existing;
+                }
+            }
+        }
+        return subFields;
+    }
+
+    /**
+     * @param parentType      the object type the field is on
+     * @param fieldDefinition the field definition
+     *
+     * @return the data fetcher of the field
+     */
+    public DataFetcher<?> getDataFetcher(GraphQLObjectType parentType, GraphQLFieldDefinition fieldDefinition) {
+        PlanKey key = new PlanKey(new Object[]{parentType, fieldDefinition}, NO_VALUES);
+        DataFetcher<?> dataFetcher = dataFetchers.get(key);
+        if (dataFetcher == null) {
+            dataFetcher = schema.getCodeRegistry().getDataFetcher(parentType, fieldDefinition);
+            DataFetcher<?> existing = dataFetchers.putIfAbsent(key, dataFetcher);
+            if (existing != null) {
+                dataFetcher = existing;
+            }
+        }
+        return dataFetcher;
+    }
+
+    /**
+     * @param executionContext the execution context in play
+     * @param fieldDefinition  the field definition
+     * @param field            the field
+     *
+     * @return the argument values of the field
+     */
+    public Map<String, Object> getArgumentValues(ExecutionContext executionContext, GraphQLFieldDefinition fieldDefinition, MergedField field) {
+        return argumentCoercionPlans.getArgumentValues(schema.getCodeRegistry(), fieldDefinition, field, executionContext.getVariables());
+    }
+
+    private FieldCollectorParameters collectorParameters(ExecutionContext executionContext, GraphQLObjectType objectType) {
+        return newParameters()
+                .schema(schema)
+                .objectType(objectType)
+                .fragments(executionContext.getFragmentsByName())
+                .variables(executionContext.getVariables())
+                .build();
+    }
+
+    private Conditions conditions(ExecutionContext executionContext, List<?> selections) {
+        PlanKey key = new PlanKey(selections.toArray(), NO_VALUES);
+        Conditions conditions = conditionsBySelections.get(key);
+        if (conditions == null) {
+            Set<String> names = new LinkedHashSet<>();
+            Set<String> visitedFragments = new HashSet<>();
+            for (Object selection : selections) {
+                SelectionSet selectionSet = selection instanceof Field ? ((Field) selection).getSelectionSet() : (SelectionSet) selection;
+                addConditionVariables(executionContext, selectionSet, visitedFragments, names);
+            }
+            conditions = new Conditions(ImmutableList.copyOf(names));
+            Conditions existing = conditionsBySelections.putIfAbsent(key, conditions);
+            if (existing != null) {
+                conditions = existing;
+            }
+        }
+        return conditions;
+    }
+
+    private void addConditionVariables(ExecutionContext executionContext, SelectionSet selectionSet, Set<String> visitedFragments, Set<String> names) {
+        if (selectionSet == null) {
+            return;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                addConditionVariables(((Field) selection).getDirectives(), names);
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                addConditionVariables(inlineFragment.getDirectives(), names);
+                addConditionVariables(executionContext, inlineFragment.getSelectionSet(), visitedFragments, names);
+            } else if (selection instanceof FragmentSpread) {
+                FragmentSpread fragmentSpread = (FragmentSpread) selection;
+                addConditionVariables(fragmentSpread.getDirectives(), names);
+                FragmentDefinition fragmentDefinition = executionContext.getFragment(fragmentSpread.getName());
+                if (fragmentDefinition != null && visitedFragments.add(fragmentSpread.getName())) {
+                    addConditionVariables(fragmentDefinition.getDirectives(), names);
+                    addConditionVariables(executionContext, fragmentDefinition.getSelectionSet(), visitedFragments, names);
+                }
+            }
+        }
+    }
+
+    private void addConditionVariables(List<Directive> directives, Set<String> names) {
+        for (Directive directive : directives) {
+            if (directive.getName().equals(SkipDirective.getName()) || directive.getName().equals(IncludeDirective.getName())) {
+                for (Argument argument : directive.getArguments()) {
+                    if (argument.getValue() instanceof VariableReference) {
+                        names.add(((VariableReference) argument.getValue()).getName());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The variables of the {@code @skip} and {@code @include} directives of some selections, and how many combinations of their
+     * values the fields of the selections have been kept for
+     */
+    private static final class Conditions {
+        private final List<String> variableNames;
+        private final AtomicInteger combinations = new AtomicInteger();
+
+        private Conditions(List<String> variableNames) {
+            this.variableNames = variableNames;
+        }
+
+        private Object[] values(ExecutionContext executionContext) {
+            if (variableNames.isEmpty()) {
+                return NO_VALUES;
+            }
+            Object[] values = new Object[variableNames.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = executionContext.getVariables().get(variableNames.get(i));
+            }
+            return values;
+        }
+
+        private boolean isNewCombinationKept() {
+            return variableNames.isEmpty() || combinations.incrementAndGet() <= MAX_CONDITION_COMBINATIONS;
+        }
+    }
+
+    /**
+     * A key made of nodes of the document and types of the schema, which are compared by identity, and of variable values,
+     * which are compared by equality.
+     */
+    private static final class PlanKey {
+        private final Object[] nodes;
+        private final Object[] values;
+        private final int hashCode;
+
+        private PlanKey(Object[] nodes, Object[] values) {
+            this.nodes = nodes;
+            this.values = values;
+            int result = 1;
+            for (Object node : nodes) {
+                result = 31 * result + System.identityHashCode(node);
+            }
+            this.hashCode = 31 * result + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof PlanKey)) {
+                return false;
+            }
+            PlanKey other = (PlanKey) o;
+            if (hashCode != other.hashCode || nodes.length != other.nodes.length) {
+                return false;
+            }
+            for (int i = 0; i < nodes.length; i++) {
+                if (nodes[i] != other.nodes[i]) {
+                    return false;
+                }
+            }
+            return Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package graphql.execution;
 
 import com.google.common.collect.ImmutableList;
+import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.ExecutionResultImpl;
 import graphql.GraphQLError;
@@ -14,11 +15,11 @@ import graphql.execution.directives.QueryDirectives;
 import graphql.execution.directives.QueryDirectivesImpl;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldCompleteParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
 import graphql.execution.instrumentation.parameters.InstrumentationFieldParameters;
 import graphql.introspection.Introspection;
-import graphql.language.Argument;
 import graphql.language.Field;
 import graphql.normalized.NormalizedField;
 import graphql.normalized.NormalizedQuery;
@@ -27,7 +28,6 @@ import graphql.schema.DataFetcher;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.DataFetchingFieldSelectionSet;
 import graphql.schema.DataFetchingFieldSelectionSetImpl;
-import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
@@ -41,13 +41,17 @@ import graphql.util.LogKit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Supplier;
 
 import static graphql.execution.Async.exceptionallyCompletedFuture;
@@ -123,6 +127,8 @@ public abstract class ExecutionStrategy {
 
     private static final Logger log = LoggerFactory.getLogger(ExecutionStrategy.class);
     private static final Logger logNotSafe = LogKit.getNotPrivacySafeLogger(ExecutionStrategy.class);
+    // results are immutable so the result of every null value can be the same one
+    private static final ExecutionResult NULL_RESULT = new ExecutionResultImpl(null, null);
 
     protected final ValuesResolver valuesResolver = new ValuesResolver();
     protected final FieldCollector fieldCollector = new FieldCollector();
@@ -130,6 +136,8 @@ public abstract class ExecutionStrategy {
     private final ResolveType resolvedType = new ResolveType();
 
     protected final DataFetcherExceptionHandler dataFetcherExceptionHandler;
+    // scalars and enums are completed without a future around each value unless a sub class changes how that is done
+    private final boolean leafCompletionOverridden = isLeafCompletionOverridden(getClass());
 
     /**
      * The default execution strategy constructor uses the {@link SimpleDataFetcherExceptionHandler}
@@ -178,7 +186,11 @@ public abstract class ExecutionStrategy {
      * @throws NonNullableFieldWasNullException in the future if a non null field resolves to a null value
      */
     protected CompletableFuture<ExecutionResult> resolveField(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
-        return resolveFieldWithInfo(executionContext, parameters).thenCompose(FieldValueInfo::getFieldValue);
+        CompletableFuture<FieldValueInfo> fieldValueInfo = resolveFieldWithInfo(executionContext, parameters);
+        if (Async.isCompletedNormally(fieldValueInfo)) {
+            return fieldValueInfo.join().getFieldValue();
+        }
+        return fieldValueInfo.thenCompose(FieldValueInfo::getFieldValue);
     }
 
     /**
@@ -187,6 +199,9 @@ public abstract class ExecutionStrategy {
      * <p>
      * An execution strategy can iterate the fields to be executed and call this method for each one
      * <p>
+     * If the value of the field is fetched synchronously then it is completed straight away and the returned promise
+     * is already completed, so fields backed by plain objects do not pay for chaining futures.
+     * <p>
      * Graphql fragments mean that for any give logical field can have one or more {@link Field} values associated with it
      * in the query, hence the fieldList.  However the first entry is representative of the field for most purposes.
      *
@@ -207,10 +222,18 @@ public abstract class ExecutionStrategy {
         );
 
         CompletableFuture<FetchedValue> fetchFieldFuture = fetchField(executionContext, parameters);
-        CompletableFuture<FieldValueInfo> result = fetchFieldFuture.thenApply((fetchedValue) ->
-                completeField(executionContext, parameters, fetchedValue));
+        CompletableFuture<FieldValueInfo> result;
+        if (Async.isCompletedNormally(fetchFieldFuture)) {
+            // the value is already fetched so it is completed straight away rather than in a stage chained onto the fetch
+            result = Async.tryCatch(() -> completedFuture(completeField(executionContext, parameters, fetchFieldFuture.join())));
+        } else {
+            result = fetchFieldFuture.thenApply((fetchedValue) ->
+                    completeField(executionContext, parameters, fetchedValue));
+        }
 
-        CompletableFuture<ExecutionResult> executionResultFuture = result.thenCompose(FieldValueInfo::getFieldValue);
+        CompletableFuture<ExecutionResult> executionResultFuture = Async.isCompletedNormally(result)
+                ? result.join().getFieldValue()
+                : result.thenCompose(FieldValueInfo::getFieldValue);
 
         fieldCtx.onDispatched(executionResultFuture);
         executionResultFuture.whenComplete(fieldCtx::onCompleted);
@@ -221,6 +244,9 @@ public abstract class ExecutionStrategy {
      * Called to fetch a value for a field from the {@link DataFetcher} associated with the field
      * {@link GraphQLFieldDefinition}.
      * <p>
+     * A value that the data fetcher returns directly, rather than as a {@link CompletionStage}, is handled synchronously
+     * and the returned promise is already completed.
+     * <p>
      * Graphql fragments mean that for any give logical field can have one or more {@link Field} values associated with it
      * in the query, hence the fieldList.  However the first entry is representative of the field for most purposes.
      *
@@ -236,7 +262,6 @@ public abstract class ExecutionStrategy {
         GraphQLObjectType parentType = (GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType();
         GraphQLFieldDefinition fieldDef = getFieldDef(executionContext.getGraphQLSchema(), parentType, field.getSingleField());
 
-        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
         GraphQLOutputType fieldType = fieldDef.getType();
 
         // if the DF (like PropertyDataFetcher) does not use the arguments of execution step info then dont build any
@@ -250,6 +275,7 @@ public abstract class ExecutionStrategy {
         DataFetchingFieldSelectionSet fieldCollector = DataFetchingFieldSelectionSetImpl.newCollector(executionContext.getGraphQLSchema(), fieldType, normalizedFieldSupplier);
         QueryDirectives queryDirectives = new QueryDirectivesImpl(field, executionContext.getGraphQLSchema(), executionContext.getVariables());
 
+        Instant deadline = getFieldDeadline(executionContext, parentType, fieldDef);
 
         DataFetchingEnvironment environment = newDataFetchingEnvironment(executionContext)
                 .source(parameters.getSource())
@@ -262,41 +288,91 @@ public abstract class ExecutionStrategy {
                 .parentType(parentType)
                 .selectionSet(fieldCollector)
                 .queryDirectives(queryDirectives)
+                .deadline(deadline)
                 .build();
 
-        DataFetcher<?> dataFetcher = codeRegistry.getDataFetcher(parentType, fieldDef);
+        DataFetcher<?> dataFetcher = getDataFetcher(executionContext, parentType, fieldDef);
 
         Instrumentation instrumentation = executionContext.getInstrumentation();
 
         InstrumentationFieldFetchParameters instrumentationFieldFetchParams = new InstrumentationFieldFetchParameters(executionContext, fieldDef, environment, parameters, dataFetcher instanceof TrivialDataFetcher);
         InstrumentationContext<Object> fetchCtx = instrumentation.beginFieldFetch(instrumentationFieldFetchParams);
 
-        CompletableFuture<Object> fetchedValue;
+        Object fetchedValueRaw;
+        Throwable fetchException = null;
         dataFetcher = instrumentation.instrumentDataFetcher(dataFetcher, instrumentationFieldFetchParams);
         ExecutionId executionId = executionContext.getExecutionId();
         try {
-            Object fetchedValueRaw = dataFetcher.get(environment);
-            fetchedValue = Async.toCompletableFuture(fetchedValueRaw);
+            if (FieldDeadlines.hasPassed(deadline)) {
+                // the value would only be thrown away so the data fetcher is not called at all
+                throw new FieldTimeoutException(deadline);
+            }
+            fetchedValueRaw = dataFetcher.get(environment);
         } catch (Exception e) {
             if (logNotSafe.isDebugEnabled()) {
                 logNotSafe.debug(String.format("'%s', field '%s' fetch threw exception", executionId, executionStepInfo.get().getPath()), e);
             }
+            fetchedValueRaw = null;
+            fetchException = e;
+        }
 
-            fetchedValue = new CompletableFuture<>();
-            fetchedValue.completeExceptionally(e);
+        if (fetchedValueRaw instanceof CompletionStage) {
+            @SuppressWarnings("unchecked")
+            CompletableFuture<Object> fetchedValue = ((CompletionStage<Object>) fetchedValueRaw).toCompletableFuture();
+            if (deadline != null) {
+                fetchedValue = FieldDeadlines.within(fetchedValue, deadline);
+            }
+            fetchCtx.onDispatched(fetchedValue);
+            return fetchedValue.handle((result, exception) ->
+                    handleFetchedValue(executionContext, parameters, environment, fetchCtx, result, exception));
         }
-        fetchCtx.onDispatched(fetchedValue);
-        return fetchedValue
-                .handle((result, exception) -> {
-                    fetchCtx.onCompleted(result, exception);
-                    if (exception != null) {
-                        handleFetchingException(executionContext, environment, exception);
-                        return null;
-                    } else {
-                        return result;
-                    }
-                })
-                .thenApply(result -> unboxPossibleDataFetcherResult(executionContext, parameters, result));
+
+        // the data fetcher returned its value, or failed, synchronously so there is no need to wait on a future for it
+        fetchCtx.onDispatched(fetchException == null ? completedFuture(fetchedValueRaw) : exceptionallyCompletedFuture(fetchException));
+        Object syncValue = fetchedValueRaw;
+        Throwable syncException = fetchException;
+        return Async.tryCatch(() -> completedFuture(
+                handleFetchedValue(executionContext, parameters, environment, fetchCtx, syncValue, syncException)));
+    }
+
+    private Instant getFieldDeadline(ExecutionContext executionContext, GraphQLObjectType parentType, GraphQLFieldDefinition fieldDef) {
+        ExecutionInput executionInput = executionContext.getExecutionInput();
+        Instant deadline = executionInput != null ? executionInput.getDeadline() : null;
+        Duration timeout = executionContext.getGraphQLSchema().getCodeRegistry().getFieldTimeout(parentType, fieldDef);
+        if (timeout != null) {
+            Instant fieldDeadline = Instant.now().plus(timeout);
+            if (deadline == null || fieldDeadline.isBefore(deadline)) {
+                deadline = fieldDeadline;
+            }
+        }
+        return deadline;
+    }
+
+    private FetchedValue handleFetchedValue(ExecutionContext executionContext,
+                                            ExecutionStrategyParameters parameters,
+                                            DataFetchingEnvironment environment,
+                                            InstrumentationContext<Object> fetchCtx,
+                                            Object result,
+                                            Throwable exception) {
+        fetchCtx.onCompleted(result, exception);
+        if (exception != null) {
+            handleFetchingException(executionContext, environment, exception);
+            result = null;
+        }
+        return unboxPossibleDataFetcherResult(executionContext, parameters, result);
+    }
+
+    /**
+     * Called to get the {@link DataFetcher} of a field
+     *
+     * @param executionContext contains the top level execution parameters
+     * @param parentType       the object type the field is on
+     * @param fieldDef         the field definition
+     *
+     * @return the data fetcher of the field
+     */
+    protected DataFetcher<?> getDataFetcher(ExecutionContext executionContext, GraphQLObjectType parentType, GraphQLFieldDefinition fieldDef) {
+        return executionContext.getGraphQLSchema().getCodeRegistry().getDataFetcher(parentType, fieldDef);
     }
 
     protected Supplier<NormalizedField> getNormalizedField(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Supplier<ExecutionStepInfo> executionStepInfo) {
@@ -398,6 +474,10 @@ public abstract class ExecutionStrategy {
         }
 
         FieldValueInfo fieldValueInfo = completeValue(executionContext, newParameters);
+        if (fieldValueInfo.hasCompletedValue() && ctxCompleteField == SimpleInstrumentationContext.<ExecutionResult>noOp()) {
+            // nothing wants to hear about the completion of the field, so there is no need for a future around its value
+            return fieldValueInfo;
+        }
 
         CompletableFuture<ExecutionResult> executionResultFuture = fieldValueInfo.getFieldValue();
         ctxCompleteField.onDispatched(executionResultFuture);
@@ -434,9 +514,15 @@ public abstract class ExecutionStrategy {
         } else if (isList(fieldType)) {
             return completeValueForList(executionContext, parameters, result);
         } else if (isScalar(fieldType)) {
+            if (!leafCompletionOverridden) {
+                return completeLeafValue(SCALAR, parameters, serializeScalar(executionContext, parameters, (GraphQLScalarType) fieldType, result));
+            }
             fieldValue = completeValueForScalar(executionContext, parameters, (GraphQLScalarType) fieldType, result);
             return FieldValueInfo.newFieldValueInfo(SCALAR).fieldValue(fieldValue).build();
         } else if (isEnum(fieldType)) {
+            if (!leafCompletionOverridden) {
+                return completeLeafValue(ENUM, parameters, serializeEnum(executionContext, parameters, (GraphQLEnumType) fieldType, result));
+            }
             fieldValue = completeValueForEnum(executionContext, parameters, (GraphQLEnumType) fieldType, result);
             return FieldValueInfo.newFieldValueInfo(ENUM).fieldValue(fieldValue).build();
         }
@@ -454,7 +540,7 @@ public abstract class ExecutionStrategy {
             // and validate the field is nullable, if non-nullable throw exception
             parameters.getNonNullFieldValidator().validate(parameters.getPath(), null);
             // complete the field as null
-            fieldValue = completedFuture(new ExecutionResultImpl(null, null));
+            fieldValue = completedFuture(NULL_RESULT);
         }
         return FieldValueInfo.newFieldValueInfo(OBJECT).fieldValue(fieldValue).build();
     }
@@ -468,8 +554,8 @@ public abstract class ExecutionStrategy {
 
     protected CompletableFuture<ExecutionResult> completeValueForNull(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
         return Async.tryCatch(() -> {
-            Object nullValue = parameters.getNonNullFieldValidator().validate(parameters.getPath(), null);
-            return completedFuture(new ExecutionResultImpl(nullValue, null));
+            parameters.getNonNullFieldValidator().validate(parameters.getPath(), null);
+            return completedFuture(NULL_RESULT);
         });
     }
 
@@ -491,7 +577,7 @@ public abstract class ExecutionStrategy {
             return FieldValueInfo.newFieldValueInfo(LIST).fieldValue(exceptionallyCompletedFuture(e)).build();
         }
         if (resultIterable == null) {
-            return FieldValueInfo.newFieldValueInfo(LIST).fieldValue(completedFuture(new ExecutionResultImpl(null, null))).build();
+            return FieldValueInfo.newFieldValueInfo(LIST).fieldValue(completedFuture(NULL_RESULT)).build();
         }
         return completeValueForList(executionContext, parameters, resultIterable);
     }
@@ -521,44 +607,29 @@ public abstract class ExecutionStrategy {
         List<FieldValueInfo> fieldValueInfos = new ArrayList<>(size.orElse(1));
         int index = 0;
         for (Object item : iterableValues) {
-            ResultPath indexedPath = parameters.getPath().segment(index);
-
-            ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(executionStepInfo, index);
-
-            NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
-
-            int finalIndex = index;
-            FetchedValue value = unboxPossibleDataFetcherResult(executionContext, parameters, item);
-
-            ExecutionStrategyParameters newParameters = parameters.transform(builder ->
-                    builder.executionStepInfo(stepInfoForListElement)
-                            .nonNullFieldValidator(nonNullableFieldValidator)
-                            .listSize(size.orElse(-1)) // -1 signals that we don't know the size
-                            .localContext(value.getLocalContext())
-                            .currentListIndex(finalIndex)
-                            .path(indexedPath)
-                            .source(value.getFetchedValue())
-            );
-            fieldValueInfos.add(completeValue(executionContext, newParameters));
+            // -1 signals that we don't know the size
+            fieldValueInfos.add(completeValueForListItem(executionContext, parameters, item, index, size.orElse(-1)));
             index++;
         }
 
-        CompletableFuture<List<ExecutionResult>> resultsFuture = Async.each(fieldValueInfos, (item, i) -> item.getFieldValue());
+        CompletableFuture<Object[]> valuesFuture = FieldValueInfo.getFieldValues(fieldValueInfos);
+        if (Async.isCompletedNormally(valuesFuture) && completeListCtx == SimpleInstrumentationContext.<ExecutionResult>noOp()) {
+            return FieldValueInfo.newFieldValueInfo(LIST)
+                    .completedValue(new ArrayList<>(Arrays.asList(valuesFuture.join())))
+                    .fieldValueInfos(fieldValueInfos)
+                    .build();
+        }
 
         CompletableFuture<ExecutionResult> overallResult = new CompletableFuture<>();
         completeListCtx.onDispatched(overallResult);
 
-        resultsFuture.whenComplete((results, exception) -> {
+        valuesFuture.whenComplete((values, exception) -> {
             if (exception != null) {
                 ExecutionResult executionResult = handleNonNullException(executionContext, overallResult, exception);
                 completeListCtx.onCompleted(executionResult, exception);
                 return;
             }
-            List<Object> completedResults = new ArrayList<>(results.size());
-            for (ExecutionResult completedValue : results) {
-                completedResults.add(completedValue.getData());
-            }
-            ExecutionResultImpl executionResult = new ExecutionResultImpl(completedResults, null);
+            ExecutionResultImpl executionResult = new ExecutionResultImpl(new ArrayList<>(Arrays.asList(values)), null);
             overallResult.complete(executionResult);
         });
         overallResult.whenComplete(completeListCtx::onCompleted);
@@ -569,6 +640,39 @@ public abstract class ExecutionStrategy {
                 .build();
     }
 
+    /**
+     * Called to complete one value of a list by calling {@link #completeValue(ExecutionContext, ExecutionStrategyParameters)}
+     * with the parameters of the value at that index
+     *
+     * @param executionContext contains the top level execution parameters
+     * @param parameters       contains the parameters of the list
+     * @param item             the value to complete
+     * @param index            the index of the value in the list
+     * @param listSize         the size of the list or -1 if it is not known
+     *
+     * @return a {@link FieldValueInfo}
+     */
+    protected FieldValueInfo completeValueForListItem(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Object item, int index, int listSize) {
+        ResultPath indexedPath = parameters.getPath().segment(index);
+
+        ExecutionStepInfo stepInfoForListElement = executionStepInfoFactory.newExecutionStepInfoForListElement(parameters.getExecutionStepInfo(), index);
+
+        NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, stepInfoForListElement);
+
+        FetchedValue value = unboxPossibleDataFetcherResult(executionContext, parameters, item);
+
+        ExecutionStrategyParameters newParameters = parameters.transform(builder ->
+                builder.executionStepInfo(stepInfoForListElement)
+                        .nonNullFieldValidator(nonNullableFieldValidator)
+                        .listSize(listSize)
+                        .localContext(value.getLocalContext())
+                        .currentListIndex(index)
+                        .path(indexedPath)
+                        .source(value.getFetchedValue())
+        );
+        return completeValue(executionContext, newParameters);
+    }
+
     /**
      * Called to turn an object into a scalar value according to the {@link GraphQLScalarType} by asking that scalar type to coerce the object
      * into a valid value
@@ -581,18 +685,7 @@ public abstract class ExecutionStrategy {
      * @return a promise to an {@link ExecutionResult}
      */
     protected CompletableFuture<ExecutionResult> completeValueForScalar(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLScalarType scalarType, Object result) {
-        Object serialized;
-        try {
-            serialized = scalarType.getCoercing().serialize(result);
-        } catch (CoercingSerializeException e) {
-            serialized = handleCoercionProblem(executionContext, parameters, e);
-        }
-
-        // TODO: fix that: this should not be handled here
-        //6.6.1 http://facebook.github.io/graphql/#sec-Field-entries
-        if (serialized instanceof Double && ((Double) serialized).isNaN()) {
-            serialized = null;
-        }
+        Object serialized = serializeScalar(executionContext, parameters, scalarType, result);
         try {
             serialized = parameters.getNonNullFieldValidator().validate(parameters.getPath(), serialized);
         } catch (NonNullableFieldWasNullException e) {
@@ -612,18 +705,64 @@ public abstract class ExecutionStrategy {
      * @return a promise to an {@link ExecutionResult}
      */
     protected CompletableFuture<ExecutionResult> completeValueForEnum(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLEnumType enumType, Object result) {
+        Object serialized = serializeEnum(executionContext, parameters, enumType, result);
+        try {
+            serialized = parameters.getNonNullFieldValidator().validate(parameters.getPath(), serialized);
+        } catch (NonNullableFieldWasNullException e) {
+            return exceptionallyCompletedFuture(e);
+        }
+        return completedFuture(new ExecutionResultImpl(serialized, null));
+    }
+
+    private Object serializeScalar(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLScalarType scalarType, Object result) {
         Object serialized;
         try {
-            serialized = enumType.serialize(result);
+            serialized = scalarType.getCoercing().serialize(result);
         } catch (CoercingSerializeException e) {
             serialized = handleCoercionProblem(executionContext, parameters, e);
         }
+
+        // TODO: fix that: this should not be handled here
+        //6.6.1 http://facebook.github.io/graphql/#sec-Field-entries
+        if (serialized instanceof Double && ((Double) serialized).isNaN()) {
+            serialized = null;
+        }
+        return serialized;
+    }
+
+    private Object serializeEnum(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLEnumType enumType, Object result) {
+        try {
+            return enumType.serialize(result);
+        } catch (CoercingSerializeException e) {
+            return handleCoercionProblem(executionContext, parameters, e);
+        }
+    }
+
+    private FieldValueInfo completeLeafValue(FieldValueInfo.CompleteValueType completeValueType, ExecutionStrategyParameters parameters, Object serialized) {
         try {
             serialized = parameters.getNonNullFieldValidator().validate(parameters.getPath(), serialized);
         } catch (NonNullableFieldWasNullException e) {
-            return exceptionallyCompletedFuture(e);
+            return FieldValueInfo.newFieldValueInfo(completeValueType).fieldValue(exceptionallyCompletedFuture(e)).build();
         }
-        return completedFuture(new ExecutionResultImpl(serialized, null));
+        return FieldValueInfo.newFieldValueInfo(completeValueType).completedValue(serialized).build();
+    }
+
+    private static boolean isLeafCompletionOverridden(Class<?> strategyClass) {
+        for (Class<?> type = strategyClass; type != ExecutionStrategy.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("completeValueForScalar", ExecutionContext.class, ExecutionStrategyParameters.class, GraphQLScalarType.class, Object.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // keep looking
+            }
+            try {
+                type.getDeclaredMethod("completeValueForEnum", ExecutionContext.class, ExecutionStrategyParameters.class, GraphQLEnumType.class, Object.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the super class
+            }
+        }
+        return false;
     }
 
     /**
@@ -639,14 +778,7 @@ public abstract class ExecutionStrategy {
     protected CompletableFuture<ExecutionResult> completeValueForObject(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLObjectType resolvedObjectType, Object result) {
         ExecutionStepInfo executionStepInfo = parameters.getExecutionStepInfo();
 
-        FieldCollectorParameters collectorParameters = newParameters()
-                .schema(executionContext.getGraphQLSchema())
-                .objectType(resolvedObjectType)
-                .fragments(executionContext.getFragmentsByName())
-                .variables(executionContext.getVariables())
-                .build();
-
-        MergedSelectionSet subFields = fieldCollector.collectFields(collectorParameters, parameters.getField());
+        MergedSelectionSet subFields = collectSubFields(executionContext, resolvedObjectType, parameters.getField());
 
         ExecutionStepInfo newExecutionStepInfo = executionStepInfo.changeTypeWithPreservedNonNull(resolvedObjectType);
         NonNullableFieldValidator nonNullableFieldValidator = new NonNullableFieldValidator(executionContext, newExecutionStepInfo);
@@ -663,6 +795,29 @@ public abstract class ExecutionStrategy {
         return executionContext.getQueryStrategy().execute(executionContext, newParameters);
     }
 
+    /**
+     * Called to collect the sub fields of a field for the object type its value was resolved to.  The sub fields are only
+     * collected once per object type and field in an execution, see {@link MergedSelectionSetCache}.
+     *
+     * @param executionContext   contains the top level execution parameters
+     * @param resolvedObjectType the resolved object type
+     * @param field              the field to collect the sub fields of
+     *
+     * @return the sub fields
+     */
+    protected MergedSelectionSet collectSubFields(ExecutionContext executionContext, GraphQLObjectType resolvedObjectType, MergedField field) {
+        return executionContext.getMergedSelectionSetCache().get(resolvedObjectType, field, () -> {
+            FieldCollectorParameters collectorParameters = newParameters()
+                    .schema(executionContext.getGraphQLSchema())
+                    .objectType(resolvedObjectType)
+                    .fragments(executionContext.getFragmentsByName())
+                    .variables(executionContext.getVariables())
+                    .build();
+
+            return fieldCollector.collectFields(collectorParameters, field);
+        });
+    }
+
     @SuppressWarnings("SameReturnValue")
     private Object handleCoercionProblem(ExecutionContext context, ExecutionStrategyParameters parameters, CoercingSerializeException e) {
         SerializationError error = new SerializationError(parameters.getPath(), e);
@@ -806,17 +961,7 @@ public abstract class ExecutionStrategy {
         MergedField field = parameters.getField();
         ExecutionStepInfo parentStepInfo = parameters.getExecutionStepInfo();
         GraphQLOutputType fieldType = fieldDefinition.getType();
-        List<GraphQLArgument> fieldArgDefs = fieldDefinition.getArguments();
-        Map<String, Object> argumentValues = Collections.emptyMap();
-        //
-        // no need to create args at all if there are none on the field def
-        //
-        if (!fieldArgDefs.isEmpty()) {
-            List<Argument> fieldArgs = field.getArguments();
-            GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
-            argumentValues = valuesResolver.getArgumentValues(codeRegistry, fieldArgDefs, fieldArgs, executionContext.getVariables());
-        }
-
+        Map<String, Object> argumentValues = getArgumentValues(executionContext, fieldDefinition, field);
 
         return newExecutionStepInfo()
                 .type(fieldType)
@@ -829,6 +974,20 @@ public abstract class ExecutionStrategy {
                 .build();
     }
 
+    /**
+     * Called to work out the argument values of a field.  The arguments of a field are planned once per execution, see
+     * {@link ArgumentCoercionPlan}, so a field of the values of a list only coerces the arguments that use variables for each value.
+     *
+     * @param executionContext the execution context in play
+     * @param fieldDefinition  the field definition
+     * @param field            the field
+     *
+     * @return the argument values of the field
+     */
+    protected Map<String, Object> getArgumentValues(ExecutionContext executionContext, GraphQLFieldDefinition fieldDefinition, MergedField field) {
+        GraphQLCodeRegistry codeRegistry = executionContext.getGraphQLSchema().getCodeRegistry();
+        return executionContext.getArgumentCoercionPlans().getArgumentValues(codeRegistry, fieldDefinition, field, executionContext.getVariables());
+    }
 
     @Internal
     public static String mkNameForPath(Field currentField) {
@@ -2,12 +2,14 @@ package graphql.execution;
 
 
 import graphql.Internal;
+import graphql.language.Directive;
 import graphql.language.Field;
 import graphql.language.FragmentDefinition;
 import graphql.language.FragmentSpread;
 import graphql.language.InlineFragment;
 import graphql.language.Selection;
 import graphql.language.SelectionSet;
+import graphql.schema.GraphQLCompositeType;
 import graphql.schema.GraphQLInterfaceType;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLType;
@@ -30,6 +32,7 @@ import static graphql.execution.TypeFromAST.getTypeFromAST;
 public class FieldCollector {
 
     private final ConditionalNodes conditionalNodes = new ConditionalNodes();
+    private final IncrementalNodes incrementalNodes = new IncrementalNodes();
 
     public MergedSelectionSet collectFields(FieldCollectorParameters parameters, MergedField mergedField) {
         Map<String, MergedField> subFields = new LinkedHashMap<>();
@@ -38,7 +41,27 @@ public class FieldCollector {
             if (field.getSelectionSet() == null) {
                 continue;
             }
-            this.collectFields(parameters, field.getSelectionSet(), visitedFragments, subFields);
+            this.collectFields(parameters, field.getSelectionSet(), visitedFragments, subFields, null);
+        }
+        return newMergedSelectionSet().subFields(subFields).build();
+    }
+
+    /**
+     * Collects the sub-field selections of the selection sets like {@link #collectFields(FieldCollectorParameters, SelectionSet)}
+     * except that fragments with an active {@code @defer} directive are not expanded.  They are added to the deferred fragments
+     * instead, so that their fields can be collected and executed later.
+     *
+     * @param parameters        the parameters to this method
+     * @param selectionSets     the selection sets to collect on
+     * @param deferredFragments the list the deferred fragments are added to
+     *
+     * @return the sub field selections that are not deferred
+     */
+    public MergedSelectionSet collectFields(FieldCollectorParameters parameters, List<SelectionSet> selectionSets, List<DeferredFragment> deferredFragments) {
+        Map<String, MergedField> subFields = new LinkedHashMap<>();
+        Set<String> visitedFragments = new LinkedHashSet<>();
+        for (SelectionSet selectionSet : selectionSets) {
+            this.collectFields(parameters, selectionSet, visitedFragments, subFields, deferredFragments);
         }
         return newMergedSelectionSet().subFields(subFields).build();
     }
@@ -54,25 +77,25 @@ public class FieldCollector {
     public MergedSelectionSet collectFields(FieldCollectorParameters parameters, SelectionSet selectionSet) {
         Map<String, MergedField> subFields = new LinkedHashMap<>();
         Set<String> visitedFragments = new LinkedHashSet<>();
-        this.collectFields(parameters, selectionSet, visitedFragments, subFields);
+        this.collectFields(parameters, selectionSet, visitedFragments, subFields, null);
         return newMergedSelectionSet().subFields(subFields).build();
     }
 
 
-    private void collectFields(FieldCollectorParameters parameters, SelectionSet selectionSet, Set<String> visitedFragments, Map<String, MergedField> fields) {
+    private void collectFields(FieldCollectorParameters parameters, SelectionSet selectionSet, Set<String> visitedFragments, Map<String, MergedField> fields, List<DeferredFragment> deferredFragments) {
 
         for (Selection selection : selectionSet.getSelections()) {
             if (selection instanceof Field) {
                 collectField(parameters, fields, (Field) selection);
             } else if (selection instanceof InlineFragment) {
-                collectInlineFragment(parameters, visitedFragments, fields, (InlineFragment) selection);
+                collectInlineFragment(parameters, visitedFragments, fields, (InlineFragment) selection, deferredFragments);
             } else if (selection instanceof FragmentSpread) {
-                collectFragmentSpread(parameters, visitedFragments, fields, (FragmentSpread) selection);
+                collectFragmentSpread(parameters, visitedFragments, fields, (FragmentSpread) selection, deferredFragments);
             }
         }
     }
 
-    private void collectFragmentSpread(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, FragmentSpread fragmentSpread) {
+    private void collectFragmentSpread(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, FragmentSpread fragmentSpread, List<DeferredFragment> deferredFragments) {
         if (visitedFragments.contains(fragmentSpread.getName())) {
             return;
         }
@@ -88,15 +111,33 @@ public class FieldCollector {
         if (!doesFragmentConditionMatch(parameters, fragmentDefinition)) {
             return;
         }
-        collectFields(parameters, fragmentDefinition.getSelectionSet(), visitedFragments, fields);
+        if (isDeferred(parameters, fragmentSpread.getDirectives(), fragmentDefinition.getSelectionSet(), deferredFragments)) {
+            return;
+        }
+        collectFields(parameters, fragmentDefinition.getSelectionSet(), visitedFragments, fields, deferredFragments);
     }
 
-    private void collectInlineFragment(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, InlineFragment inlineFragment) {
+    private void collectInlineFragment(FieldCollectorParameters parameters, Set<String> visitedFragments, Map<String, MergedField> fields, InlineFragment inlineFragment, List<DeferredFragment> deferredFragments) {
         if (!conditionalNodes.shouldInclude(parameters.getVariables(), inlineFragment.getDirectives()) ||
                 !doesFragmentConditionMatch(parameters, inlineFragment)) {
             return;
         }
-        collectFields(parameters, inlineFragment.getSelectionSet(), visitedFragments, fields);
+        if (isDeferred(parameters, inlineFragment.getDirectives(), inlineFragment.getSelectionSet(), deferredFragments)) {
+            return;
+        }
+        collectFields(parameters, inlineFragment.getSelectionSet(), visitedFragments, fields, deferredFragments);
+    }
+
+    private boolean isDeferred(FieldCollectorParameters parameters, List<Directive> directives, SelectionSet selectionSet, List<DeferredFragment> deferredFragments) {
+        if (deferredFragments == null) {
+            return false;
+        }
+        Map<String, Object> deferArguments = incrementalNodes.getDeferArguments(parameters.getGraphQLSchema(), parameters.getVariables(), directives);
+        if (deferArguments == null) {
+            return false;
+        }
+        deferredFragments.add(new DeferredFragment((String) deferArguments.get("label"), selectionSet));
+        return true;
     }
 
     private void collectField(FieldCollectorParameters parameters, Map<String, MergedField> fields, Field field) {
@@ -133,11 +174,8 @@ public class FieldCollector {
             return true;
         }
 
-        if (conditionType instanceof GraphQLInterfaceType) {
-            List<GraphQLObjectType> implementations = parameters.getGraphQLSchema().getImplementations((GraphQLInterfaceType) conditionType);
-            return implementations.contains(type);
-        } else if (conditionType instanceof GraphQLUnionType) {
-            return ((GraphQLUnionType) conditionType).getTypes().contains(type);
+        if (conditionType instanceof GraphQLInterfaceType || conditionType instanceof GraphQLUnionType) {
+            return parameters.getGraphQLSchema().getSchemaIndex().isPossibleType((GraphQLCompositeType) conditionType, type);
         }
         return false;
     }
@@ -0,0 +1,81 @@
+package graphql.execution;
+
+import graphql.Internal;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the time that is waited on the values of data fetchers.  The deadlines are watched by a single shared daemon thread,
+ * so that no thread is blocked while waiting.  The fields whose values are late are completed on the common pool, since whatever
+ * depends on them must not hold up the deadlines of other fields.  The futures of the data fetchers are left alone, since they
+ * are often shared, say by a data loader or a memoized value, and cancelling them would fail their other users too.
+ */
+@Internal
+public class FieldDeadlines {
+
+    private static final Duration MAX_DELAY = Duration.ofNanos(Long.MAX_VALUE);
+
+    private static class TimerHolder {
+        private static final ScheduledThreadPoolExecutor TIMER = newTimer();
+
+        private static ScheduledThreadPoolExecutor newTimer() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "graphql-java-field-deadlines");
+                thread.setDaemon(true);
+                return thread;
+            });
+            // most values are there in time, so their timeouts are cancelled and should not linger in the queue
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+
+    /**
+     * @param deadline the deadline or null for none
+     *
+     * @return true if there is a deadline and it has passed
+     */
+    public static boolean hasPassed(Instant deadline) {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
+
+    /**
+     * Returns a future of the value of a data fetcher that is completed with a {@link FieldTimeoutException} if the value is
+     * not there by the deadline.  The future of the data fetcher itself is never completed or cancelled.
+     *
+     * @param future   the future value of the data fetcher
+     * @param deadline the deadline of the field
+     * @param <T>      the type of the value
+     *
+     * @return a future that is completed with the value or by the deadline
+     */
+    public static <T> CompletableFuture<T> within(CompletableFuture<T> future, Instant deadline) {
+        if (future.isDone()) {
+            return future;
+        }
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        if (remaining.isNegative() || remaining.isZero()) {
+            return Async.exceptionallyCompletedFuture(new FieldTimeoutException(deadline));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long delay = remaining.compareTo(MAX_DELAY) > 0 ? Long.MAX_VALUE : remaining.toNanos();
+        ScheduledFuture<?> timeout = TimerHolder.TIMER.schedule(
+                () -> CompletableFuture.runAsync(() -> result.completeExceptionally(new FieldTimeoutException(deadline))),
+                delay, TimeUnit.NANOSECONDS);
+        future.whenComplete((value, exception) -> {
+            // a value that comes after the timeout is ignored, since the result is completed already
+            timeout.cancel(false);
+            if (exception != null) {
+                result.completeExceptionally(exception);
+            } else {
+                result.complete(value);
+            }
+        });
+        return result;
+    }
+}
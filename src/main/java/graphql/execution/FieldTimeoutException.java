@@ -0,0 +1,32 @@
+package graphql.execution;
+
+import graphql.GraphQLException;
+import graphql.PublicApi;
+
+import java.time.Instant;
+
+/**
+ * This exception is what a field is completed with if its data fetcher has not completed by the deadline of the field.  It is
+ * passed to the {@link DataFetcherExceptionHandler} like any other exception of a data fetcher, which by default turns it into
+ * a {@link graphql.ExceptionWhileDataFetching} error.
+ *
+ * @see graphql.ExecutionInput#getDeadline()
+ * @see graphql.schema.GraphQLCodeRegistry#getFieldTimeout(graphql.schema.GraphQLFieldsContainer, graphql.schema.GraphQLFieldDefinition)
+ */
+@PublicApi
+public class FieldTimeoutException extends GraphQLException {
+
+    private final Instant deadline;
+
+    public FieldTimeoutException(Instant deadline) {
+        super("The data fetcher did not complete by its deadline of " + deadline);
+        this.deadline = deadline;
+    }
+
+    /**
+     * @return the deadline the data fetcher did not complete by
+     */
+    public Instant getDeadline() {
+        return deadline;
+    }
+}
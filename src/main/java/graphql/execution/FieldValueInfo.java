@@ -1,6 +1,8 @@
 package graphql.execution;
 
 import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.Internal;
 import graphql.PublicApi;
 
 import java.util.ArrayList;
@@ -8,6 +10,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import static graphql.Assert.assertNotNull;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 
 @PublicApi
 public class FieldValueInfo {
@@ -22,13 +25,18 @@ public class FieldValueInfo {
     }
 
     private final CompleteValueType completeValueType;
-    private final CompletableFuture<ExecutionResult> fieldValue;
+    private final boolean completed;
+    private final Object completedValue;
+    // made on first use when the value was completed straight away
+    private volatile CompletableFuture<ExecutionResult> fieldValue;
     private final List<FieldValueInfo> fieldValueInfos;
 
-    private FieldValueInfo(CompleteValueType completeValueType, CompletableFuture<ExecutionResult> fieldValue, List<FieldValueInfo> fieldValueInfos) {
+    private FieldValueInfo(CompleteValueType completeValueType, CompletableFuture<ExecutionResult> fieldValue, boolean completed, Object completedValue, List<FieldValueInfo> fieldValueInfos) {
         assertNotNull(fieldValueInfos, () -> "fieldValueInfos can't be null");
         this.completeValueType = completeValueType;
         this.fieldValue = fieldValue;
+        this.completed = completed;
+        this.completedValue = completedValue;
         this.fieldValueInfos = fieldValueInfos;
     }
 
@@ -37,9 +45,31 @@ public class FieldValueInfo {
     }
 
     public CompletableFuture<ExecutionResult> getFieldValue() {
+        CompletableFuture<ExecutionResult> fieldValue = this.fieldValue;
+        if (fieldValue == null && completed) {
+            fieldValue = completedFuture(new ExecutionResultImpl(completedValue, null));
+            this.fieldValue = fieldValue;
+        }
         return fieldValue;
     }
 
+    /**
+     * @return true if the value of the field was completed straight away, in which case it can be read with {@link #getCompletedValue()}
+     * without going through {@link #getFieldValue()}
+     */
+    @Internal
+    public boolean hasCompletedValue() {
+        return completed;
+    }
+
+    /**
+     * @return the value of the field if it was completed straight away, otherwise null
+     */
+    @Internal
+    public Object getCompletedValue() {
+        return completedValue;
+    }
+
     public List<FieldValueInfo> getFieldValueInfos() {
         return fieldValueInfos;
     }
@@ -48,11 +78,60 @@ public class FieldValueInfo {
         return new Builder(completeValueType);
     }
 
+    /**
+     * Waits for the values of the given fields, reading the values that are already known straight away so that
+     * only the fields still being completed are waited for.
+     *
+     * @param fieldValueInfos the fields to get the values of
+     *
+     * @return a promise to the values of the fields, in the same order
+     */
+    @Internal
+    public static CompletableFuture<Object[]> getFieldValues(List<FieldValueInfo> fieldValueInfos) {
+        Object[] values = new Object[fieldValueInfos.size()];
+        List<CompletableFuture<ExecutionResult>> pendingFutures = null;
+        List<Integer> pendingIndexes = null;
+        for (int i = 0; i < values.length; i++) {
+            FieldValueInfo fieldValueInfo = fieldValueInfos.get(i);
+            if (fieldValueInfo.completed) {
+                values[i] = fieldValueInfo.completedValue;
+                continue;
+            }
+            CompletableFuture<ExecutionResult> fieldValue = fieldValueInfo.getFieldValue();
+            if (Async.isCompletedNormally(fieldValue)) {
+                values[i] = fieldValue.join().getData();
+                continue;
+            }
+            if (pendingFutures == null) {
+                pendingFutures = new ArrayList<>();
+                pendingIndexes = new ArrayList<>();
+            }
+            pendingFutures.add(fieldValue);
+            pendingIndexes.add(i);
+        }
+        if (pendingFutures == null) {
+            return completedFuture(values);
+        }
+        List<Integer> indexes = pendingIndexes;
+        CompletableFuture<Object[]> result = new CompletableFuture<>();
+        Async.each(pendingFutures).whenComplete((results, exception) -> {
+            if (exception != null) {
+                result.completeExceptionally(exception);
+                return;
+            }
+            for (int i = 0; i < results.size(); i++) {
+                values[indexes.get(i)] = results.get(i).getData();
+            }
+            result.complete(values);
+        });
+        return result;
+    }
+
     @Override
     public String toString() {
         return "FieldValueInfo{" +
                 "completeValueType=" + completeValueType +
-                ", fieldValue=" + fieldValue +
+                ", fieldValue=" + (completed ? completedValue : fieldValue) +
                 ", fieldValueInfos=" + fieldValueInfos +
                 '}';
     }
@@ -61,6 +140,8 @@ public class FieldValueInfo {
     public static class Builder {
         private CompleteValueType completeValueType;
         private CompletableFuture<ExecutionResult> executionResultFuture;
+        private boolean completed;
+        private Object completedValue;
         private List<FieldValueInfo> listInfos = new ArrayList<>();
 
         public Builder(CompleteValueType completeValueType) {
@@ -74,6 +155,24 @@ public class FieldValueInfo {
 
         public Builder fieldValue(CompletableFuture<ExecutionResult> executionResultFuture) {
             this.executionResultFuture = executionResultFuture;
+            this.completed = false;
+            this.completedValue = null;
+            return this;
+        }
+
+        /**
+         * Sets a value that was completed straight away, saving the {@link ExecutionResult} and future around it until
+         * something asks for {@link FieldValueInfo#getFieldValue()}
+         *
+         * @param completedValue the completed value of the field
+         *
+         * @return this builder
+         */
+        @Internal
+        public Builder completedValue(Object completedValue) {
+            this.executionResultFuture = null;
+            this.completed = true;
+            this.completedValue = completedValue;
             return this;
         }
 
@@ -84,7 +183,7 @@ public class FieldValueInfo {
         }
 
         public FieldValueInfo build() {
-            return new FieldValueInfo(completeValueType, executionResultFuture, listInfos);
+            return new FieldValueInfo(completeValueType, executionResultFuture, completed, completedValue, listInfos);
         }
     }
 }
\ No newline at end of file
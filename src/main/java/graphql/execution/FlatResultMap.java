@@ -0,0 +1,228 @@
+package graphql.execution;
+
+import graphql.Assert;
+import graphql.Internal;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The data of an object in an execution result, held as the list of field names of the object and an array of their values
+ * rather than as a {@link LinkedHashMap} with an entry object per field.
+ * <p>
+ * The map keeps the order of the fields and can be changed like any other map.  Setting the value of a field that is already
+ * present changes the array in place, anything else turns the map into a {@link LinkedHashMap} first.
+ * <p>
+ * Keys are looked up by scanning the names of the fields, unless the object has more than {@link #MAX_SCANNED_KEYS} fields, in
+ * which case an index of the names is made the first time a key is looked up.  The map is serialised as a {@link LinkedHashMap}.
+ */
+@Internal
+public class FlatResultMap extends AbstractMap<String, Object> implements Serializable {
+
+    /**
+     * The number of fields up to which keys are looked up by scanning the names of the fields rather than with an index
+     */
+    public static final int MAX_SCANNED_KEYS = 8;
+
+    private final List<String> keys;
+    private final Object[] values;
+    // the map once it has been changed in a way that the flat arrays can't hold, otherwise null
+    private Map<String, Object> changed;
+    // the positions of the keys of a wide object, made on first use
+    private volatile Map<String, Integer> keyIndex;
+
+    /**
+     * @param keys   the names of the fields, which must not be changed afterwards
+     * @param values the values of the fields in the same order as the names
+     */
+    public FlatResultMap(List<String> keys, Object[] values) {
+        Assert.assertTrue(keys.size() == values.length, () -> "there must be a value for every key");
+        this.keys = keys;
+        this.values = values;
+    }
+
+    @Override
+    public int size() {
+        return changed != null ? changed.size() : values.length;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return changed != null ? changed.containsKey(key) : indexOf(key) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (changed != null) {
+            return changed.get(key);
+        }
+        int index = indexOf(key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        if (changed == null) {
+            int index = indexOf(key);
+            if (index >= 0) {
+                Object previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+        }
+        return change().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (changed == null && !containsKey(key)) {
+            return null;
+        }
+        return change().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        change().clear();
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return changed != null ? changed.entrySet().iterator() : new FlatIterator();
+            }
+
+            @Override
+            public int size() {
+                return FlatResultMap.this.size();
+            }
+        };
+    }
+
+    private int indexOf(Object key) {
+        if (keys.size() <= MAX_SCANNED_KEYS) {
+            return keys.indexOf(key);
+        }
+        Map<String, Integer> index = keyIndex;
+        if (index == null) {
+            index = new HashMap<>(keys.size() * 4 / 3 + 1);
+            // the first of duplicate keys wins, just like a scan of the keys
+            for (int i = keys.size() - 1; i >= 0; i--) {
+                index.put(keys.get(i), i);
+            }
+            keyIndex = index;
+        }
+        Integer position = index.get(key);
+        return position != null ? position : -1;
+    }
+
+    private Object writeReplace() {
+        return new LinkedHashMap<>(this);
+    }
+
+    private Map<String, Object> change() {
+        if (changed == null) {
+            Map<String, Object> map = new LinkedHashMap<>(values.length * 4 / 3 + 1);
+            for (int i = 0; i < values.length; i++) {
+                map.put(keys.get(i), values[i]);
+            }
+            changed = map;
+        }
+        return changed;
+    }
+
+    private class FlatIterator implements Iterator<Entry<String, Object>> {
+        private int next;
+        private String lastKey;
+
+        @Override
+        public boolean hasNext() {
+            // entries removed through this iterator move the map to its changed form, so skip the keys that are gone
+            while (changed != null && next < values.length && !changed.containsKey(keys.get(next))) {
+                next++;
+            }
+            return next < values.length;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int index = next++;
+            lastKey = keys.get(index);
+            return new FlatEntry(lastKey, index);
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            FlatResultMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    // the entry reads the value array at its index directly, until the map is changed into its map form
+    private class FlatEntry implements Entry<String, Object> {
+        private final String key;
+        private final int index;
+
+        private FlatEntry(String key, int index) {
+            this.key = key;
+            this.index = index;
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            return changed != null ? changed.get(key) : values[index];
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            if (changed != null) {
+                return changed.put(key, value);
+            }
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry<?, ?> other = (Entry<?, ?>) o;
+            Object value = getValue();
+            return key.equals(other.getKey()) && (value == null ? other.getValue() == null : value.equals(other.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+    }
+}
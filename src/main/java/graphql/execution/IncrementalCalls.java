@@ -0,0 +1,197 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.execution.reactive.SingleSubscriberPublisher;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.NodeUtil;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import org.reactivestreams.Publisher;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static graphql.Directives.DeferDirective;
+
+/**
+ * The deferred fragments and streamed items of an execution that are still to be delivered, shared by the execution context of
+ * the operation and the execution contexts of the deferred calls made from it.
+ * <p>
+ * Every call runs with its own execution context, see {@link #startCall(ExecutionContext)}, so that its errors are delivered with
+ * its payload.  Payloads are delivered on a {@link Publisher} once the initial result and the payload of the call they were made
+ * from have been delivered, and after any payload they were ordered after.  The last payload delivered says that there is no next
+ * one and the publisher completes with it.
+ */
+@Internal
+public class IncrementalCalls {
+
+    private static final CompletableFuture<Void> DELIVERED = CompletableFuture.completedFuture(null);
+
+    private final CompletableFuture<Void> initialDelivery = new CompletableFuture<>();
+    private boolean started;
+    private Boolean usesDefer;
+    private SingleSubscriberPublisher<IncrementalPayload> publisher;
+    // the deliveries of the calls that are not yet delivered, by the execution context of the call
+    private Map<ExecutionContext, CompletableFuture<Void>> deliveries;
+    // the calls that are not yet delivered plus one for the initial result
+    private int pending = 1;
+
+    /**
+     * Called when the execution of the operation starts with an execution strategy that delivers incremental results.  Calls can
+     * only be made after that, since otherwise nothing would hand out the publisher of their payloads.
+     */
+    public synchronized void initialResultStarted() {
+        started = true;
+    }
+
+    /**
+     * @return true if the operation is executed with an execution strategy that delivers incremental results
+     */
+    public synchronized boolean isStarted() {
+        return started;
+    }
+
+    /**
+     * @param document the document of the execution
+     *
+     * @return true if calls can be made and the document has fragments with {@code @defer} directives, in which case the fields
+     * have to be collected with the deferred fragments left out
+     */
+    public synchronized boolean usesDefer(Document document) {
+        if (!started) {
+            return false;
+        }
+        if (usesDefer == null) {
+            usesDefer = hasDeferredFragments(document);
+        }
+        return usesDefer;
+    }
+
+    /**
+     * @return true if any call was made
+     */
+    public synchronized boolean hasCalls() {
+        return publisher != null;
+    }
+
+    /**
+     * @return the publisher of the payloads
+     */
+    public synchronized Publisher<IncrementalPayload> getPublisher() {
+        return publisher;
+    }
+
+    /**
+     * Starts a deferred call, which must then be delivered with {@link #deliver(ExecutionContext, ExecutionContext, CompletableFuture, CompletableFuture)}
+     *
+     * @param parentContext the execution context the call is made from
+     *
+     * @return the execution context to run the call with
+     */
+    public ExecutionContext startCall(ExecutionContext parentContext) {
+        ExecutionContext callContext = parentContext.transform(builder -> builder.resetErrors());
+        synchronized (this) {
+            if (publisher == null) {
+                publisher = new SingleSubscriberPublisher<>();
+                deliveries = new IdentityHashMap<>();
+            }
+            deliveries.put(callContext, new CompletableFuture<>());
+            pending++;
+        }
+        return callContext;
+    }
+
+    /**
+     * Delivers the payload of a call once it is completed, the initial result and the payload of the call it was made from have
+     * been delivered and the given earlier delivery is done
+     *
+     * @param parentContext the execution context the call was made from
+     * @param callContext   the execution context of the call
+     * @param after         a delivery that must happen first or null
+     * @param payload       the payload of the call
+     *
+     * @return the delivery of the payload
+     */
+    public CompletableFuture<Void> deliver(ExecutionContext parentContext, ExecutionContext callContext, CompletableFuture<Void> after, CompletableFuture<IncrementalPayload> payload) {
+        SingleSubscriberPublisher<IncrementalPayload> payloads;
+        CompletableFuture<Void> parentDelivery;
+        CompletableFuture<Void> delivery;
+        synchronized (this) {
+            payloads = publisher;
+            // the operation itself and the calls that were already delivered are no longer in the deliveries
+            parentDelivery = deliveries.getOrDefault(parentContext, initialDelivery);
+            delivery = deliveries.get(callContext);
+        }
+        CompletableFuture.allOf(parentDelivery, after != null ? after : DELIVERED, payload).whenComplete((ignored, exception) -> {
+            // offered under the lock so that the payload that has no next one is also the last one offered
+            synchronized (this) {
+                deliveries.remove(callContext);
+                pending--;
+                boolean hasNext = pending > 0;
+                if (exception != null) {
+                    payloads.offerError(exception);
+                } else {
+                    payloads.offer(payload.join().withHasNext(hasNext));
+                }
+                if (!hasNext) {
+                    payloads.noMoreData();
+                }
+            }
+            delivery.complete(null);
+        });
+        return delivery;
+    }
+
+    /**
+     * Called once the initial result is completed, after which the payloads of the calls can be delivered
+     */
+    public void initialResultCompleted() {
+        synchronized (this) {
+            pending--;
+        }
+        initialDelivery.complete(null);
+    }
+
+    private static boolean hasDeferredFragments(Document document) {
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (definition instanceof OperationDefinition && hasDeferredFragments(((OperationDefinition) definition).getSelectionSet())) {
+                return true;
+            }
+            if (definition instanceof FragmentDefinition && hasDeferredFragments(((FragmentDefinition) definition).getSelectionSet())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasDeferredFragments(SelectionSet selectionSet) {
+        if (selectionSet == null) {
+            return false;
+        }
+        for (Selection<?> selection : selectionSet.getSelections()) {
+            if (selection instanceof Field) {
+                if (hasDeferredFragments(((Field) selection).getSelectionSet())) {
+                    return true;
+                }
+            } else if (selection instanceof InlineFragment) {
+                InlineFragment inlineFragment = (InlineFragment) selection;
+                if (NodeUtil.findNodeByName(inlineFragment.getDirectives(), DeferDirective.getName()) != null
+                        || hasDeferredFragments(inlineFragment.getSelectionSet())) {
+                    return true;
+                }
+            } else if (selection instanceof FragmentSpread) {
+                if (NodeUtil.findNodeByName(((FragmentSpread) selection).getDirectives(), DeferDirective.getName()) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,26 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.PublicApi;
+import org.reactivestreams.Publisher;
+
+/**
+ * The initial result of an operation executed by the {@link IncrementalExecutionStrategy} that deferred fragments or streamed
+ * lists.  The parts left out of it are delivered later on the {@link #getIncrementalPayloads() publisher of its payloads}.
+ * <p>
+ * The publisher is not part of the {@link #toSpecification() specification} of the result, which only says that there is
+ * more to come with {@code hasNext}.
+ */
+@PublicApi
+public interface IncrementalExecutionResult extends ExecutionResult {
+
+    /**
+     * @return the publisher of the parts of the result that are delivered after the initial result
+     */
+    Publisher<IncrementalPayload> getIncrementalPayloads();
+
+    /**
+     * @return true if more parts of the result are delivered after this one, which is always the case for an initial result
+     */
+    boolean hasNext();
+}
@@ -0,0 +1,61 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.Internal;
+import org.reactivestreams.Publisher;
+
+import java.util.Map;
+
+@Internal
+public class IncrementalExecutionResultImpl extends ExecutionResultImpl implements IncrementalExecutionResult {
+
+    private final Publisher<IncrementalPayload> incrementalPayloads;
+
+    public IncrementalExecutionResultImpl(ExecutionResult initialResult, Publisher<IncrementalPayload> incrementalPayloads) {
+        super(initialResult.getData(), initialResult.getErrors(), initialResult.getExtensions());
+        this.incrementalPayloads = incrementalPayloads;
+    }
+
+    /**
+     * Instrumentation can replace the initial result with one of its own, this keeps the payloads of the initial result with it
+     *
+     * @param initialResult the initial result of the execution
+     * @param replacement   the result that replaces it
+     *
+     * @return the replacement, with the payloads of the initial result if it had any
+     */
+    public static ExecutionResult keepIncrementalPayloads(ExecutionResult initialResult, ExecutionResult replacement) {
+        if (initialResult instanceof IncrementalExecutionResult && !(replacement instanceof IncrementalExecutionResult)) {
+            return new IncrementalExecutionResultImpl(replacement, ((IncrementalExecutionResult) initialResult).getIncrementalPayloads());
+        }
+        return replacement;
+    }
+
+    @Override
+    public Publisher<IncrementalPayload> getIncrementalPayloads() {
+        return incrementalPayloads;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return true;
+    }
+
+    @Override
+    public Map<String, Object> toSpecification() {
+        Map<String, Object> result = super.toSpecification();
+        result.put("hasNext", hasNext());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalExecutionResultImpl{" +
+                "errors=" + getErrors() +
+                ", data=" + getData() +
+                ", extensions=" + getExtensions() +
+                ", hasNext=" + hasNext() +
+                '}';
+    }
+}
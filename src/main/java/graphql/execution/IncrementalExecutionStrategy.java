@@ -0,0 +1,178 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphqlErrorBuilder;
+import graphql.PublicApi;
+import graphql.language.Field;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLObjectType;
+import org.reactivestreams.Publisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static graphql.execution.FieldCollectorParameters.newParameters;
+import static graphql.execution.FieldValueInfo.CompleteValueType.LIST;
+import static java.util.Collections.singletonList;
+
+/**
+ * An execution strategy that supports the {@code @defer} and {@code @stream} directives.  The directives have to be added to
+ * the schema, see {@link graphql.Directives#DeferDirective} and {@link graphql.Directives#StreamDirective}.
+ * <p>
+ * The fields of deferred fragments and the items of streamed lists past their {@code initialCount} are left out of the
+ * initial result.  They are executed right after the fields of the initial result have been dispatched and delivered as
+ * {@link IncrementalPayload}s on a {@link Publisher}, which the initial result hands out as an {@link IncrementalExecutionResult}:
+ * <pre>
+ * {@code
+ *     ExecutionResult initialResult = graphQL.execute(query);
+ *     if (initialResult instanceof IncrementalExecutionResult) {
+ *         Publisher<IncrementalPayload> payloads = ((IncrementalExecutionResult) initialResult).getIncrementalPayloads();
+ *     }
+ * }
+ * </pre>
+ * No payload is delivered before the initial result is completed or before the payload it is nested in, streamed items are
+ * delivered in order and the publisher completes with the payload that has no next one.  If no fragment was deferred and no
+ * list was streamed the result is the same as the one of {@link AsyncExecutionStrategy}.
+ */
+@PublicApi
+public class IncrementalExecutionStrategy extends AsyncExecutionStrategy {
+
+    private final IncrementalNodes incrementalNodes = new IncrementalNodes();
+
+    public IncrementalExecutionStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a execution strategy that uses the provided exception handler
+     *
+     * @param exceptionHandler the exception handler to use
+     */
+    public IncrementalExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) throws NonNullableFieldWasNullException {
+        if (!parameters.getPath().isRootPath()) {
+            return executeDeferrable(executionContext, parameters, subSelectionSets(parameters.getField()));
+        }
+        IncrementalCalls calls = executionContext.getIncrementalCalls();
+        calls.initialResultStarted();
+        List<SelectionSet> selectionSets = singletonList(executionContext.getOperationDefinition().getSelectionSet());
+        return executeDeferrable(executionContext, parameters, selectionSets).thenApply(executionResult -> {
+            calls.initialResultCompleted();
+            if (!calls.hasCalls()) {
+                return executionResult;
+            }
+            return new IncrementalExecutionResultImpl(executionResult, calls.getPublisher());
+        });
+    }
+
+    @Override
+    protected FieldValueInfo completeValueForList(ExecutionContext executionContext, ExecutionStrategyParameters parameters, Iterable<Object> iterableValues) {
+        Map<String, Object> streamArguments = getStreamArguments(executionContext, parameters);
+        if (streamArguments == null) {
+            return super.completeValueForList(executionContext, parameters, iterableValues);
+        }
+        List<Object> values = new ArrayList<>();
+        iterableValues.forEach(values::add);
+        // a schema can declare its own @stream directive with a nullable initialCount
+        Integer initialCountArgument = (Integer) streamArguments.get("initialCount");
+        int initialCount = initialCountArgument != null ? initialCountArgument : 0;
+        if (initialCount < 0) {
+            executionContext.addError(GraphqlErrorBuilder.newError()
+                    .message("The initialCount of @stream must be zero or more but was %d", initialCount)
+                    .location(parameters.getField().getSingleField().getSourceLocation())
+                    .path(parameters.getPath())
+                    .build());
+            return FieldValueInfo.newFieldValueInfo(LIST).fieldValue(completeValueForNull(executionContext, parameters)).build();
+        }
+        if (values.size() <= initialCount) {
+            return super.completeValueForList(executionContext, parameters, values);
+        }
+
+        FieldValueInfo initialValues = super.completeValueForList(executionContext, parameters, values.subList(0, initialCount));
+
+        IncrementalCalls calls = executionContext.getIncrementalCalls();
+        String label = (String) streamArguments.get("label");
+        CompletableFuture<Void> previous = null;
+        for (int index = initialCount; index < values.size(); index++) {
+            ExecutionContext itemContext = calls.startCall(executionContext);
+            ResultPath itemPath = parameters.getPath().segment(index);
+            Object item = values.get(index);
+            int itemIndex = index;
+            CompletableFuture<ExecutionResult> itemResult = Async.tryCatch(() ->
+                    completeValueForListItem(itemContext, parameters, item, itemIndex, values.size()).getFieldValue());
+            CompletableFuture<IncrementalPayload> payload = itemResult.handle((result, exception) -> {
+                List<Object> items = exception == null ? singletonList(result.getData()) : null;
+                throwUnlessNonNullException(exception);
+                return IncrementalPayload.streamed(label, itemPath, items, itemContext.getErrors());
+            });
+            previous = calls.deliver(executionContext, itemContext, previous, payload);
+        }
+        return initialValues;
+    }
+
+    private CompletableFuture<ExecutionResult> executeDeferrable(ExecutionContext executionContext, ExecutionStrategyParameters parameters, List<SelectionSet> selectionSets) {
+        if (!executionContext.getIncrementalCalls().usesDefer(executionContext.getDocument())) {
+            return super.execute(executionContext, parameters);
+        }
+        // the fields are collected for every object since which fragments are deferred depends on the variables
+        FieldCollectorParameters collectorParameters = newParameters()
+                .schema(executionContext.getGraphQLSchema())
+                .objectType((GraphQLObjectType) parameters.getExecutionStepInfo().getUnwrappedNonNullType())
+                .fragments(executionContext.getFragmentsByName())
+                .variables(executionContext.getVariables())
+                .build();
+        List<DeferredFragment> deferredFragments = new ArrayList<>();
+        MergedSelectionSet fields = fieldCollector.collectFields(collectorParameters, selectionSets, deferredFragments);
+
+        CompletableFuture<ExecutionResult> result = super.execute(executionContext, parameters.transform(builder -> builder.fields(fields)));
+        for (DeferredFragment deferredFragment : deferredFragments) {
+            deferFragment(executionContext, parameters, deferredFragment);
+        }
+        return result;
+    }
+
+    private void deferFragment(ExecutionContext executionContext, ExecutionStrategyParameters parameters, DeferredFragment deferredFragment) {
+        IncrementalCalls calls = executionContext.getIncrementalCalls();
+        ExecutionContext callContext = calls.startCall(executionContext);
+        CompletableFuture<ExecutionResult> callResult = Async.tryCatch(() ->
+                executeDeferrable(callContext, parameters, singletonList(deferredFragment.getSelectionSet())));
+        CompletableFuture<IncrementalPayload> payload = callResult.handle((result, exception) -> {
+            Object data = exception == null ? result.getData() : null;
+            throwUnlessNonNullException(exception);
+            return IncrementalPayload.deferred(deferredFragment.getLabel(), parameters.getPath(), data, callContext.getErrors());
+        });
+        calls.deliver(executionContext, callContext, null, payload);
+    }
+
+    private Map<String, Object> getStreamArguments(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+        // only the list of the field itself is streamed, not the lists nested in it
+        if (parameters.getPath().isListSegment() || !executionContext.getIncrementalCalls().isStarted()) {
+            return null;
+        }
+        return incrementalNodes.getStreamArguments(executionContext.getGraphQLSchema(), executionContext.getVariables(), parameters.getField().getSingleField().getDirectives());
+    }
+
+    private static List<SelectionSet> subSelectionSets(MergedField mergedField) {
+        List<SelectionSet> selectionSets = new ArrayList<>(mergedField.getFields().size());
+        for (Field field : mergedField.getFields()) {
+            if (field.getSelectionSet() != null) {
+                selectionSets.add(field.getSelectionSet());
+            }
+        }
+        return selectionSets;
+    }
+
+    private static void throwUnlessNonNullException(Throwable exception) {
+        Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+        if (cause != null && !(cause instanceof NonNullableFieldWasNullException)) {
+            throw exception instanceof CompletionException ? (CompletionException) exception : new CompletionException(exception);
+        }
+    }
+}
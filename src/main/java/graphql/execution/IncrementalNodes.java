@@ -0,0 +1,62 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.language.Directive;
+import graphql.language.NodeUtil;
+import graphql.schema.GraphQLDirective;
+import graphql.schema.GraphQLSchema;
+
+import java.util.List;
+import java.util.Map;
+
+import static graphql.Directives.DeferDirective;
+import static graphql.Directives.StreamDirective;
+
+/**
+ * Works out whether nodes have active {@code @defer} or {@code @stream} directives, in the same way as {@link ConditionalNodes}
+ * does for {@code @skip} and {@code @include}
+ */
+@Internal
+public class IncrementalNodes {
+
+    private final ValuesResolver valuesResolver = new ValuesResolver();
+
+    /**
+     * @param schema     the schema whose {@code @defer} directive the arguments are coerced with
+     * @param variables  the variables of the execution
+     * @param directives the directives of a fragment spread or inline fragment
+     *
+     * @return the argument values of the {@code @defer} directive or null if the fragment is not deferred
+     */
+    public Map<String, Object> getDeferArguments(GraphQLSchema schema, Map<String, Object> variables, List<Directive> directives) {
+        return getActiveArguments(schema, DeferDirective, variables, directives);
+    }
+
+    /**
+     * @param schema     the schema whose {@code @stream} directive the arguments are coerced with
+     * @param variables  the variables of the execution
+     * @param directives the directives of a field
+     *
+     * @return the argument values of the {@code @stream} directive or null if the field is not streamed
+     */
+    public Map<String, Object> getStreamArguments(GraphQLSchema schema, Map<String, Object> variables, List<Directive> directives) {
+        return getActiveArguments(schema, StreamDirective, variables, directives);
+    }
+
+    private Map<String, Object> getActiveArguments(GraphQLSchema schema, GraphQLDirective builtInDirective, Map<String, Object> variables, List<Directive> directives) {
+        if (directives.isEmpty()) {
+            return null;
+        }
+        Directive directive = NodeUtil.findNodeByName(directives, builtInDirective.getName());
+        if (directive == null) {
+            return null;
+        }
+        // the schema may declare the directive with other defaults, the built in one is only used if it is not declared at all
+        GraphQLDirective directiveDefinition = schema.getDirective(builtInDirective.getName());
+        if (directiveDefinition == null) {
+            directiveDefinition = builtInDirective;
+        }
+        Map<String, Object> argumentValues = valuesResolver.getArgumentValues(directiveDefinition.getArguments(), directive.getArguments(), variables);
+        return Boolean.FALSE.equals(argumentValues.get("if")) ? null : argumentValues;
+    }
+}
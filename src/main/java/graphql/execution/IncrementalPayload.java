@@ -0,0 +1,157 @@
+package graphql.execution;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLError;
+import graphql.Internal;
+import graphql.PublicApi;
+import graphql.collect.ImmutableKit;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.collect.ImmutableKit.map;
+
+/**
+ * A part of a result that is delivered after the initial result by the {@link IncrementalExecutionStrategy}.  It is either the
+ * data of a fragment marked with {@code @defer} or an item of a list field marked with {@code @stream}.
+ * <p>
+ * The {@link #getPath() path} says where the part goes in the result.  For a deferred fragment it is the path of the object
+ * the fragment was on, for a streamed item it is the path of the item, that is the path of the list followed by the index of the item.
+ * Every payload but the last one says that more are to come with {@link #hasNext()}.
+ */
+@PublicApi
+public class IncrementalPayload implements ExecutionResult {
+
+    private final String label;
+    private final List<Object> path;
+    private final Object data;
+    private final List<Object> items;
+    private final List<GraphQLError> errors;
+    private final boolean stream;
+    private final boolean hasNext;
+
+    private IncrementalPayload(String label, List<Object> path, Object data, List<Object> items, List<GraphQLError> errors, boolean stream, boolean hasNext) {
+        this.label = label;
+        this.path = path;
+        this.data = data;
+        this.items = items;
+        this.errors = errors != null ? errors : ImmutableKit.emptyList();
+        this.stream = stream;
+        this.hasNext = hasNext;
+    }
+
+    @Internal
+    public static IncrementalPayload deferred(String label, ResultPath path, Object data, List<GraphQLError> errors) {
+        return new IncrementalPayload(label, path.toList(), data, null, errors, false, true);
+    }
+
+    @Internal
+    public static IncrementalPayload streamed(String label, ResultPath path, List<Object> items, List<GraphQLError> errors) {
+        return new IncrementalPayload(label, path.toList(), null, items, errors, true, true);
+    }
+
+    /**
+     * Whether more payloads follow is only known once the payload is delivered
+     *
+     * @param hasNext true if more payloads are delivered after this one
+     *
+     * @return this payload with the given hasNext
+     */
+    @Internal
+    public IncrementalPayload withHasNext(boolean hasNext) {
+        return hasNext == this.hasNext ? this : new IncrementalPayload(label, path, data, items, errors, stream, hasNext);
+    }
+
+    /**
+     * @return the label of the {@code @defer} or {@code @stream} directive or null if it has none
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * @return the path in the result that this part goes to
+     */
+    public List<Object> getPath() {
+        return path;
+    }
+
+    /**
+     * @return true if this is an item of a streamed list, false if it is the data of a deferred fragment
+     */
+    public boolean isStream() {
+        return stream;
+    }
+
+    /**
+     * @return the streamed items, or null if this is the data of a deferred fragment or the items could not be completed
+     */
+    public List<Object> getItems() {
+        return items;
+    }
+
+    /**
+     * @return true if more payloads are delivered after this one, false if this is the last one
+     */
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    @Override
+    public List<GraphQLError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * @param <T> allows type coercion
+     *
+     * @return the data of the deferred fragment, or null if this is a streamed item
+     */
+    @Override
+    @SuppressWarnings({"TypeParameterUnusedInFormals", "unchecked"})
+    public <T> T getData() {
+        return (T) data;
+    }
+
+    @Override
+    public boolean isDataPresent() {
+        return !stream;
+    }
+
+    @Override
+    public Map<Object, Object> getExtensions() {
+        return null;
+    }
+
+    @Override
+    public Map<String, Object> toSpecification() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (!errors.isEmpty()) {
+            result.put("errors", map(errors, GraphQLError::toSpecification));
+        }
+        if (stream) {
+            result.put("items", items);
+        } else {
+            result.put("data", data);
+        }
+        result.put("path", path);
+        if (label != null) {
+            result.put("label", label);
+        }
+        result.put("hasNext", hasNext);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalPayload{" +
+                "label=" + label +
+                ", path=" + path +
+                ", data=" + data +
+                ", items=" + items +
+                ", errors=" + errors +
+                ", hasNext=" + hasNext +
+                '}';
+    }
+}
@@ -0,0 +1,76 @@
+package graphql.execution;
+
+import graphql.Internal;
+import graphql.schema.GraphQLObjectType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The sub fields collected during one execution, by the object type a field was resolved to and the field.
+ * <p>
+ * The sub fields of a field only depend on the object type, the field and the variables, and the variables do not change during
+ * an execution.  The fields of the values of a list share the same {@link MergedField}, as do the fields of objects whose sub fields
+ * came from this cache, so a list of many objects has its sub fields collected once per object type rather than once per object.
+ */
+@Internal
+public class MergedSelectionSetCache {
+
+    private final Map<Key, MergedSelectionSet> selectionSets = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectType    the object type the field was resolved to
+     * @param field         the field
+     * @param collectFields the code that collects the sub fields if they are not yet known
+     *
+     * @return the sub fields of the field for the object type
+     */
+    public MergedSelectionSet get(GraphQLObjectType objectType, MergedField field, Supplier<MergedSelectionSet> collectFields) {
+        Key key = new Key(objectType, field);
+        MergedSelectionSet subFields = selectionSets.get(key);
+        if (subFields == null) {
+            subFields = collectFields.get();
+            MergedSelectionSet existing = selectionSets.putIfAbsent(key, subFields);
+            if (existing != null) {
+                subFields = existing;
+            }
+        }
+        return subFields;
+    }
+
+    /**
+     * @return the number of sub field sets held
+     */
+    public int size() {
+        return selectionSets.size();
+    }
+
+    // object types and fields are compared by identity, two equal fields in different places in a query are different fields
+    private static final class Key {
+        private final GraphQLObjectType objectType;
+        private final MergedField field;
+
+        private Key(GraphQLObjectType objectType, MergedField field) {
+            this.objectType = objectType;
+            this.field = field;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return objectType == other.objectType && field == other.field;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(objectType) + System.identityHashCode(field);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package graphql.execution;
+
+import graphql.PublicApi;
+import graphql.language.Field;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+
+import java.util.Map;
+
+/**
+ * An asynchronous execution strategy that executes an operation from its {@link ExecutionPlan}, so that the merged selection sets,
+ * data fetchers and argument values that are the same for every execution of the operation are worked out once and then
+ * shared.
+ * <p>
+ * The plan is kept with the {@link graphql.execution.preparsed.PreparsedDocumentEntry} of the document, so the work is only
+ * shared when a {@link graphql.execution.preparsed.PreparsedDocumentProvider} that caches entries is in use.  Executions
+ * without a plan, or with a plan that was made for a different document or schema, are executed as by {@link AsyncExecutionStrategy}.
+ * <p>
+ * The data fetcher of a field is fetched from the {@link graphql.schema.GraphQLCodeRegistry} once per plan, so a
+ * {@link graphql.schema.DataFetcherFactory} that makes a new data fetcher each time it is called will have its data fetchers
+ * reused across executions.
+ */
+@PublicApi
+public class PlannedExecutionStrategy extends AsyncExecutionStrategy {
+
+    /**
+     * The planned execution strategy that runs fields asynchronously
+     */
+    public PlannedExecutionStrategy() {
+        super();
+    }
+
+    /**
+     * Creates a planned execution strategy that uses the provided exception handler
+     *
+     * @param exceptionHandler the exception handler to use
+     */
+    public PlannedExecutionStrategy(DataFetcherExceptionHandler exceptionHandler) {
+        super(exceptionHandler);
+    }
+
+    @Override
+    protected MergedSelectionSet collectSubFields(ExecutionContext executionContext, GraphQLObjectType resolvedObjectType, MergedField field) {
+        ExecutionPlan executionPlan = getExecutionPlan(executionContext);
+        if (executionPlan == null) {
+            return super.collectSubFields(executionContext, resolvedObjectType, field);
+        }
+        return executionPlan.getSubFields(executionContext, resolvedObjectType, field);
+    }
+
+    @Override
+    protected DataFetcher<?> getDataFetcher(ExecutionContext executionContext, GraphQLObjectType parentType, GraphQLFieldDefinition fieldDef) {
+        ExecutionPlan executionPlan = getExecutionPlan(executionContext);
+        if (executionPlan == null) {
+            return super.getDataFetcher(executionContext, parentType, fieldDef);
+        }
+        return executionPlan.getDataFetcher(parentType, fieldDef);
+    }
+
+    @Override
+    protected Map<String, Object> getArgumentValues(ExecutionContext executionContext, GraphQLFieldDefinition fieldDefinition, MergedField field) {
+        ExecutionPlan executionPlan = getExecutionPlan(executionContext);
+        if (executionPlan == null) {
+            return super.getArgumentValues(executionContext, fieldDefinition, field);
+        }
+        return executionPlan.getArgumentValues(executionContext, fieldDefinition, field);
+    }
+
+    @Override
+    protected GraphQLFieldDefinition getFieldDef(GraphQLSchema schema, GraphQLObjectType parentType, Field field) {
+        GraphQLFieldDefinition fieldDefinition = schema.getSchemaIndex().getFieldDefinition(parentType, field.getName());
+        if (fieldDefinition == null) {
+            // let the standard lookup report the unknown field
+            return super.getFieldDef(schema, parentType, field);
+        }
+        return fieldDefinition;
+    }
+
+    private ExecutionPlan getExecutionPlan(ExecutionContext executionContext) {
+        ExecutionPlan executionPlan = executionContext.getExecutionPlan();
+        return executionPlan != null && executionPlan.isPlanFor(executionContext) ? executionPlan : null;
+    }
+}
@@ -434,45 +434,76 @@ public class ValuesResolver {
         Map<String, Object> coercedValues = new LinkedHashMap<>();
         Map<String, Argument> argumentMap = argumentMap(arguments);
         for (GraphQLArgument argumentDefinition : argumentTypes) {
-            GraphQLInputType argumentType = argumentDefinition.getType();
-            String argumentName = argumentDefinition.getName();
-            Argument argument = argumentMap.get(argumentName);
-            InputValueWithState defaultValue = argumentDefinition.getArgumentDefaultValue();
-            boolean hasValue = argument != null;
-            Object value;
-            Value argumentValue = argument != null ? argument.getValue() : null;
-            if (argumentValue instanceof VariableReference) {
-                String variableName = ((VariableReference) argumentValue).getName();
-                hasValue = coercedVariables.containsKey(variableName);
-                value = coercedVariables.get(variableName);
-            } else {
-                value = argumentValue;
-            }
-            if (!hasValue && argumentDefinition.hasSetDefaultValue()) {
-                Object coercedDefaultValue = defaultValueToInternalValue(
-                        codeRegistry.getFieldVisibility(),
-                        defaultValue,
-                        argumentType);
-                coercedValues.put(argumentName, coercedDefaultValue);
-            } else if (isNonNull(argumentType) && (!hasValue || isNullValue(value))) {
-                throw new RuntimeException();
-            } else if (hasValue) {
-                if (isNullValue(value)) {
-                    coercedValues.put(argumentName, value);
-                } else if (argumentValue instanceof VariableReference) {
-                    coercedValues.put(argumentName, value);
-                } else {
-                    value = literalToInternalValue(codeRegistry.getFieldVisibility(), argumentType, argument.getValue(), coercedVariables);
-                    coercedValues.put(argumentName, value);
-                }
+            coerceArgumentValue(codeRegistry, argumentDefinition, argumentMap.get(argumentDefinition.getName()), coercedVariables, coercedValues);
+        }
+        return coercedValues;
+
+    }
+
+    /**
+     * Coerces the value of one argument and puts it into the coerced values, if the argument has a value
+     *
+     * @param codeRegistry       the code registry to use
+     * @param argumentDefinition the argument definition
+     * @param argument           the AST argument or null if the argument is not given
+     * @param coercedVariables   the coerced variables
+     * @param coercedValues      the coerced values to put the value into
+     */
+    void coerceArgumentValue(GraphQLCodeRegistry codeRegistry,
+                             GraphQLArgument argumentDefinition,
+                             Argument argument,
+                             Map<String, Object> coercedVariables,
+                             Map<String, Object> coercedValues) {
+        GraphQLInputType argumentType = argumentDefinition.getType();
+        String argumentName = argumentDefinition.getName();
+        InputValueWithState defaultValue = argumentDefinition.getArgumentDefaultValue();
+        boolean hasValue = argument != null;
+        Object value;
+        Value argumentValue = argument != null ? argument.getValue() : null;
+        if (argumentValue instanceof VariableReference) {
+            String variableName = ((VariableReference) argumentValue).getName();
+            hasValue = coercedVariables.containsKey(variableName);
+            value = coercedVariables.get(variableName);
+        } else {
+            value = argumentValue;
+        }
+        if (!hasValue && argumentDefinition.hasSetDefaultValue()) {
+            Object coercedDefaultValue = defaultValueToInternalValue(
+                    codeRegistry.getFieldVisibility(),
+                    defaultValue,
+                    argumentType);
+            coercedValues.put(argumentName, coercedDefaultValue);
+        } else if (isNonNull(argumentType) && (!hasValue || isNullValue(value))) {
+            throw new RuntimeException();
+        } else if (hasValue) {
+            if (isNullValue(value)) {
+                coercedValues.put(argumentName, value);
+            } else if (argumentValue instanceof VariableReference) {
+                coercedValues.put(argumentName, value);
             } else {
-                // nullable type && hasValue == false && hasDefaultValue == false
-                // meaning no value was provided for argumentName
+                value = literalToInternalValue(codeRegistry.getFieldVisibility(), argumentType, argument.getValue(), coercedVariables);
+                coercedValues.put(argumentName, value);
             }
-
+        } else {
+            // nullable type && hasValue == false && hasDefaultValue == false
+            // meaning no value was provided for argumentName
         }
-        return coercedValues;
+    }
 
+    /**
+     * Works out the values of the arguments that do not use variables once, so that only the arguments that use variables
+     * have to be coerced each time the argument values are needed.
+     *
+     * @param codeRegistry  the code registry to use
+     * @param argumentTypes the list of argument types
+     * @param arguments     the AST arguments
+     *
+     * @return a plan for coercing the argument values
+     */
+    public ArgumentCoercionPlan createArgumentCoercionPlan(GraphQLCodeRegistry codeRegistry,
+                                                           List<GraphQLArgument> argumentTypes,
+                                                           List<Argument> arguments) {
+        return new ArgumentCoercionPlan(this, codeRegistry, argumentTypes, argumentMap(arguments));
     }
 
     private Map<String, Argument> argumentMap(List<Argument> arguments) {
@@ -0,0 +1,290 @@
+package graphql.execution.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+import graphql.ThreadSafe;
+import graphql.schema.GraphQLSchema;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PreparsedDocumentProvider} that keeps parsed and validated documents in a bounded, least recently used, in memory cache.
+ * <p>
+ * Entries are keyed by the query text, the operation name and the identity of the {@link graphql.schema.GraphQLSchema} the document
+ * was validated against, so a provider can safely be shared between {@link graphql.GraphQL} instances that use different schemas.
+ * <p>
+ * The cache can be bounded by entry count via {@link Builder#maximumSize(long)} or by an estimate of the memory retained by each entry via
+ * {@link Builder#maximumWeight(long)} and a {@link PreparsedDocumentWeigher}.  To reduce lock contention the cache is split into segments,
+ * each holding an equal share of the bound and each evicting its own least recently used entries, so eviction order is approximately
+ * least recently used across the whole cache.
+ * <p>
+ * Documents that fail to parse or validate are cached as well, so they will not be re-parsed and re-validated on every request.
+ * Documents that were validated with only some of the validation rules are not cached, since the provider can be shared with
+ * {@link graphql.GraphQL} instances that validate with all of them, see {@link PreparsedDocumentEntry#isPartiallyValidated()}.
+ * <p>
+ * Note that a cache hit skips the parse and validation steps entirely and hence the {@link graphql.execution.instrumentation.Instrumentation}
+ * calls for parsing and validation will not be made for that request.
+ */
+@PublicApi
+@ThreadSafe
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final long MIN_SEGMENT_WEIGHT = 64;
+    private static final long DEFAULT_MAXIMUM_SIZE = 1000;
+
+    private final Segment[] segments;
+    private final PreparsedDocumentWeigher weigher;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+    private final LongAdder totalLoadTimeNanos = new LongAdder();
+
+    private CachingPreparsedDocumentProvider(Builder builder) {
+        long maximumWeight;
+        if (builder.maximumWeight >= 0) {
+            maximumWeight = builder.maximumWeight;
+            this.weigher = builder.weigher != null ? builder.weigher : PreparsedDocumentWeigher.AST_NODE_COUNT;
+        } else {
+            assertTrue(builder.weigher == null || builder.maximumSize < 0, () -> "a weigher can't be used with maximumSize, use maximumWeight instead");
+            maximumWeight = builder.maximumSize >= 0 ? builder.maximumSize : DEFAULT_MAXIMUM_SIZE;
+            this.weigher = builder.weigher != null ? builder.weigher : PreparsedDocumentWeigher.SINGLETON;
+        }
+        int segmentCount = segmentCount(maximumWeight, builder.concurrencyLevel);
+        long segmentWeight = (maximumWeight + segmentCount - 1) / segmentCount;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentWeight);
+        }
+    }
+
+    private static int segmentCount(long maximumWeight, int concurrencyLevel) {
+        int segmentCount = 1;
+        while (segmentCount * 2 <= concurrencyLevel && maximumWeight / (segmentCount * 2) >= MIN_SEGMENT_WEIGHT) {
+            segmentCount *= 2;
+        }
+        return segmentCount;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocument(executionInput, null, parseAndValidateFunction);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        CacheKey key = new CacheKey(executionInput.getQuery(), executionInput.getOperationName(), graphQLSchema);
+        Segment segment = segmentFor(key);
+
+        PreparsedDocumentEntry entry = segment.get(key);
+        if (entry != null) {
+            hitCount.increment();
+            return entry;
+        }
+        missCount.increment();
+
+        long startNanos = System.nanoTime();
+        entry = parseAndValidateFunction.apply(executionInput);
+        totalLoadTimeNanos.add(System.nanoTime() - startNanos);
+        if (entry.isPartiallyValidated()) {
+            return entry;
+        }
+
+        int weight = weigher.weigh(key.query, entry);
+        assertTrue(weight >= 0, () -> String.format("the weigher %s must not return a negative weight but returned %d", weigher, weight));
+        evictionCount.add(segment.put(key, entry, weight));
+        return entry;
+    }
+
+    private Segment segmentFor(CacheKey key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    public PreparsedDocumentCacheStats getStats() {
+        long size = 0;
+        long weight = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+                weight += segment.weight;
+            }
+        }
+        return new PreparsedDocumentCacheStats(hitCount.sum(), missCount.sum(), evictionCount.sum(), totalLoadTimeNanos.sum(), size, weight);
+    }
+
+    /**
+     * Removes all entries from the cache.  The statistics counters are not reset.
+     */
+    public void invalidateAll() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    private static class Segment {
+        private final long maximumWeight;
+        private final Map<CacheKey, WeightedEntry> map = new LinkedHashMap<>(16, 0.75f, true);
+        private long weight;
+
+        private Segment(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+        }
+
+        synchronized PreparsedDocumentEntry get(CacheKey key) {
+            WeightedEntry weightedEntry = map.get(key);
+            return weightedEntry == null ? null : weightedEntry.entry;
+        }
+
+        synchronized int put(CacheKey key, PreparsedDocumentEntry entry, int entryWeight) {
+            if (entryWeight > maximumWeight) {
+                return 0;
+            }
+            WeightedEntry previous = map.put(key, new WeightedEntry(entry, entryWeight));
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            weight += entryWeight;
+            return evictToMaximumWeight();
+        }
+
+        private int evictToMaximumWeight() {
+            int evicted = 0;
+            Iterator<WeightedEntry> leastRecentlyUsed = map.values().iterator();
+            while (weight > maximumWeight) {
+                WeightedEntry eldest = leastRecentlyUsed.next();
+                leastRecentlyUsed.remove();
+                weight -= eldest.weight;
+                evicted++;
+            }
+            return evicted;
+        }
+
+        synchronized void clear() {
+            map.clear();
+            weight = 0;
+        }
+    }
+
+    private static class WeightedEntry {
+        private final PreparsedDocumentEntry entry;
+        private final int weight;
+
+        private WeightedEntry(PreparsedDocumentEntry entry, int weight) {
+            this.entry = entry;
+            this.weight = weight;
+        }
+    }
+
+    private static class CacheKey {
+        private final String query;
+        private final String operationName;
+        private final GraphQLSchema graphQLSchema;
+        private final int hashCode;
+
+        private CacheKey(String query, String operationName, GraphQLSchema graphQLSchema) {
+            this.query = query;
+            this.operationName = operationName;
+            this.graphQLSchema = graphQLSchema;
+            this.hashCode = Objects.hash(query, operationName, System.identityHashCode(graphQLSchema));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return graphQLSchema == that.graphQLSchema
+                    && Objects.equals(query, that.query)
+                    && Objects.equals(operationName, that.operationName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    public static Builder newCachingPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        // -1 while not set
+        private long maximumSize = -1;
+        private long maximumWeight = -1;
+        private PreparsedDocumentWeigher weigher;
+        private int concurrencyLevel = 16;
+
+        /**
+         * Bounds the cache to the specified number of entries.  This is the default with a maximum size of 1000 entries.  It can't
+         * be combined with {@link #maximumWeight(long)} or a {@link #weigher(PreparsedDocumentWeigher)}.
+         *
+         * @param maximumSize the maximum number of entries
+         * @return this builder
+         */
+        public Builder maximumSize(long maximumSize) {
+            assertTrue(maximumSize >= 0, () -> "maximumSize must be >= 0");
+            assertTrue(maximumWeight < 0, () -> "maximumSize can't be combined with maximumWeight");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Bounds the cache to the specified total weight of entries.  Unless a weigher is specified then
+         * {@link PreparsedDocumentWeigher#AST_NODE_COUNT} is used
+         *
+         * @param maximumWeight the maximum total weight of entries
+         * @return this builder
+         */
+        public Builder maximumWeight(long maximumWeight) {
+            assertTrue(maximumWeight >= 0, () -> "maximumWeight must be >= 0");
+            assertTrue(maximumSize < 0, () -> "maximumWeight can't be combined with maximumSize");
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
+        /**
+         * The weigher of the entries of a cache bounded by {@link #maximumWeight(long)}, which must not return negative weights
+         *
+         * @param weigher the weigher of the entries
+         * @return this builder
+         */
+        public Builder weigher(PreparsedDocumentWeigher weigher) {
+            this.weigher = assertNotNull(weigher, () -> "weigher must be non null");
+            return this;
+        }
+
+        /**
+         * A hint as to how many threads will use the cache concurrently, which is used to decide how many
+         * segments the cache is split into.
+         *
+         * @param concurrencyLevel the expected number of concurrent threads
+         * @return this builder
+         */
+        public Builder concurrencyLevel(int concurrencyLevel) {
+            assertTrue(concurrencyLevel > 0, () -> "concurrencyLevel must be > 0");
+            this.concurrencyLevel = concurrencyLevel;
+            return this;
+        }
+
+        public CachingPreparsedDocumentProvider build() {
+            return new CachingPreparsedDocumentProvider(this);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package graphql.execution.preparsed;
+
+import graphql.ExecutionInput;
+import graphql.PublicApi;
+import graphql.ThreadSafe;
+import graphql.language.AstBinaryDecoder;
+import graphql.language.AstBinaryEncoder;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A {@link PreparsedDocumentProvider} that keeps validated documents in a local file so that they survive restarts.
+ * <p>
+ * Documents are keyed by a hash of the schema they were validated against and a hash of the query text and operation name.
+ * On start up the store file is memory mapped and indexed, and stored documents are only decoded when they are first asked for.
+ * Documents that are parsed and validated successfully are appended to the store file, up to {@link Builder#maximumEntries(int)} of them.
+ * Documents with errors and documents validated with only some of the validation rules, see
+ * {@link PreparsedDocumentEntry#isPartiallyValidated()}, are never stored.
+ * <p>
+ * The store file is only ever appended to.  If it was written by an incompatible version or it ends in a partially written record,
+ * say because the process died mid write, then the unusable part is discarded when it is opened.
+ * <p>
+ * The provider holds an exclusive {@link FileLock} on the store file while it is open, so that only one process appends to it.
+ * If another process, or another provider in this JVM, already has the store file open, then the stored documents are still used
+ * but the store file is not changed and newly parsed documents are only kept in memory.
+ * <p>
+ * Note that a stored document skips the parse and validation steps entirely and hence the {@link graphql.execution.instrumentation.Instrumentation}
+ * calls for parsing and validation will not be made for that request.
+ */
+@PublicApi
+@ThreadSafe
+public class PersistentPreparsedDocumentProvider implements PreparsedDocumentProvider, Closeable {
+
+    private static final int MAGIC = 0x4751_4C44;
+    private static final int FORMAT_VERSION = 2;
+    private static final int HEADER_SIZE = 8;
+
+    private final AstBinaryEncoder encoder = new AstBinaryEncoder();
+    private final AstBinaryDecoder decoder = new AstBinaryDecoder();
+    private final FileChannel channel;
+    // null if another process or provider holds the lock, in which case the store file is only read
+    private final FileLock lock;
+    private final ByteBuffer mappedStore;
+    private final int maximumEntries;
+    private final Map<String, StoredDocument> storedDocuments = new ConcurrentHashMap<>();
+    private final Map<String, PreparsedDocumentEntry> decodedDocuments = new ConcurrentHashMap<>();
+    private final Map<GraphQLSchema, String> schemaHashes = Collections.synchronizedMap(new WeakHashMap<>());
+    private long writePosition;
+    private int documentCount;
+
+    private PersistentPreparsedDocumentProvider(Builder builder) {
+        this.maximumEntries = builder.maximumEntries;
+        try {
+            this.channel = FileChannel.open(builder.storePath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.lock = tryLock(channel);
+            this.mappedStore = openStore();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // another provider in this JVM has the store file open
+            return null;
+        }
+    }
+
+    private ByteBuffer openStore() throws IOException {
+        long size = channel.size();
+        assertTrue(size <= Integer.MAX_VALUE, () -> "The document store file is too large to be mapped");
+        ByteBuffer store = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        if (size < HEADER_SIZE || store.getInt(0) != MAGIC || store.getInt(4) != FORMAT_VERSION) {
+            if (lock != null) {
+                resetStore();
+            }
+            return ByteBuffer.allocate(0);
+        }
+        store.position(HEADER_SIZE);
+        this.writePosition = indexStoredDocuments(store);
+        this.documentCount = storedDocuments.size();
+        if (writePosition < size && lock != null) {
+            channel.truncate(writePosition);
+        }
+        return store;
+    }
+
+    private void resetStore() throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT_VERSION).flip();
+        writeFully(header, 0);
+        this.writePosition = HEADER_SIZE;
+    }
+
+    private long indexStoredDocuments(ByteBuffer store) {
+        long validEnd = store.position();
+        while (store.remaining() >= 4) {
+            int keyLength = store.getInt();
+            if (keyLength < 0 || keyLength > store.remaining() - 4) {
+                break;
+            }
+            byte[] keyBytes = new byte[keyLength];
+            store.get(keyBytes);
+            int documentLength = store.getInt();
+            if (documentLength < 0 || documentLength > store.remaining()) {
+                break;
+            }
+            storedDocuments.put(new String(keyBytes, StandardCharsets.UTF_8), new StoredDocument(store.position(), documentLength));
+            store.position(store.position() + documentLength);
+            validEnd = store.position();
+        }
+        return validEnd;
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocument(executionInput, null, parseAndValidateFunction);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        String key = storeKey(executionInput, graphQLSchema);
+        PreparsedDocumentEntry entry = decodedDocuments.get(key);
+        if (entry != null) {
+            return entry;
+        }
+        entry = decodeStoredDocument(key);
+        if (entry != null) {
+            return entry;
+        }
+        entry = parseAndValidateFunction.apply(executionInput);
+        if (!entry.hasErrors() && !entry.isPartiallyValidated()) {
+            storeDocument(key, entry);
+        }
+        return entry;
+    }
+
+    private PreparsedDocumentEntry decodeStoredDocument(String key) {
+        StoredDocument storedDocument = storedDocuments.get(key);
+        if (storedDocument == null) {
+            return null;
+        }
+        ByteBuffer documentBytes = mappedStore.duplicate();
+        documentBytes.position(storedDocument.position);
+        documentBytes.limit(storedDocument.position + storedDocument.length);
+        Document document = decodeDocument(documentBytes);
+        if (document == null) {
+            return null;
+        }
+        PreparsedDocumentEntry entry = new PreparsedDocumentEntry(document);
+        decodedDocuments.put(key, entry);
+        return entry;
+    }
+
+    private synchronized void storeDocument(String key, PreparsedDocumentEntry entry) {
+        if (decodedDocuments.containsKey(key)) {
+            return;
+        }
+        // a stored document that could not be decoded is kept in memory but not stored again
+        boolean alreadyStored = storedDocuments.containsKey(key);
+        if (!alreadyStored && documentCount >= maximumEntries) {
+            return;
+        }
+        decodedDocuments.put(key, entry);
+        if (alreadyStored) {
+            return;
+        }
+        documentCount++;
+        if (lock == null) {
+            return;
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] documentBytes = encodeDocument(entry.getDocument());
+        ByteBuffer record = ByteBuffer.allocate(8 + keyBytes.length + documentBytes.length);
+        record.putInt(keyBytes.length).put(keyBytes).putInt(documentBytes.length).put(documentBytes).flip();
+        try {
+            writeFully(record, writePosition);
+            writePosition += record.limit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        long writeAt = position;
+        while (buffer.hasRemaining()) {
+            writeAt += channel.write(buffer, writeAt);
+        }
+    }
+
+    private byte[] encodeDocument(Document document) {
+        return encoder.encode(document);
+    }
+
+    private Document decodeDocument(ByteBuffer documentBytes) {
+        byte[] bytes = new byte[documentBytes.remaining()];
+        documentBytes.get(bytes);
+        try {
+            return decoder.decodeDocument(bytes);
+        } catch (RuntimeException e) {
+            // the stored form is corrupt or not readable by this version of graphql-java - so we will parse it again
+            return null;
+        }
+    }
+
+    private String storeKey(ExecutionInput executionInput, GraphQLSchema graphQLSchema) {
+        String queryHash = sha256(executionInput.getQuery() + '\n' + executionInput.getOperationName());
+        return schemaHash(graphQLSchema) + ':' + queryHash;
+    }
+
+    private String schemaHash(GraphQLSchema graphQLSchema) {
+        if (graphQLSchema == null) {
+            return "";
+        }
+        return schemaHashes.computeIfAbsent(graphQLSchema, schema -> {
+            SchemaPrinter.Options options = SchemaPrinter.Options.defaultOptions()
+                    .includeSchemaDefinition(true)
+                    .includeDirectiveDefinitions(true);
+            return sha256(new SchemaPrinter(options).print(schema));
+        });
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            return assertShouldNeverHappen("SHA-256 is a required algorithm of every JVM");
+        }
+    }
+
+    /**
+     * @return the number of documents in the store
+     */
+    public synchronized int size() {
+        return documentCount;
+    }
+
+    /**
+     * Closes the underlying store file.  The provider must not be used after this.
+     */
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class StoredDocument {
+        private final int position;
+        private final int length;
+
+        private StoredDocument(int position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+    }
+
+    public static Builder newPersistentPreparsedDocumentProvider() {
+        return new Builder();
+    }
+
+    public static class Builder {
+        private Path storePath;
+        private int maximumEntries = 10_000;
+
+        /**
+         * The file the documents are kept in.  It will be created if it does not exist.
+         *
+         * @param storePath the path of the store file
+         * @return this builder
+         */
+        public Builder storePath(Path storePath) {
+            this.storePath = assertNotNull(storePath, () -> "storePath must be non null");
+            return this;
+        }
+
+        /**
+         * Once this many documents are held then newly parsed documents will no longer be stored.  This
+         * bounds both the size of the store file and the memory used.  The default is 10,000.
+         *
+         * @param maximumEntries the maximum number of documents to store
+         * @return this builder
+         */
+        public Builder maximumEntries(int maximumEntries) {
+            assertTrue(maximumEntries >= 0, () -> "maximumEntries must be >= 0");
+            this.maximumEntries = maximumEntries;
+            return this;
+        }
+
+        public PersistentPreparsedDocumentProvider build() {
+            assertNotNull(storePath, () -> "storePath must be set");
+            return new PersistentPreparsedDocumentProvider(this);
+        }
+    }
+}
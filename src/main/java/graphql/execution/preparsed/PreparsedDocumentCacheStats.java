@@ -0,0 +1,102 @@
+package graphql.execution.preparsed;
+
+import graphql.PublicApi;
+
+/**
+ * An immutable snapshot of the statistics of a {@link CachingPreparsedDocumentProvider}
+ */
+@PublicApi
+public class PreparsedDocumentCacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long totalLoadTimeNanos;
+    private final long size;
+    private final long weight;
+
+    public PreparsedDocumentCacheStats(long hitCount, long missCount, long evictionCount, long totalLoadTimeNanos, long size, long weight) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.totalLoadTimeNanos = totalLoadTimeNanos;
+        this.size = size;
+        this.weight = weight;
+    }
+
+    /**
+     * @return the number of times a document was found in the cache
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times a document was not found and hence had to be parsed and validated
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of documents requested from the cache
+     */
+    public long getRequestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return the ratio of hits to requests or 1.0 if there have been no requests
+     */
+    public double getHitRate() {
+        long requestCount = getRequestCount();
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return the number of documents that were evicted to keep the cache within its bounds
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the total time in nanoseconds spent parsing and validating documents on cache misses
+     */
+    public long getTotalLoadTimeNanos() {
+        return totalLoadTimeNanos;
+    }
+
+    /**
+     * @return the average time in nanoseconds spent parsing and validating a document on a cache miss
+     */
+    public double getAverageLoadPenaltyNanos() {
+        return missCount == 0 ? 0.0 : (double) totalLoadTimeNanos / missCount;
+    }
+
+    /**
+     * @return the number of entries in the cache at the time of the snapshot
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * @return the total weight of the entries in the cache at the time of the snapshot
+     */
+    public long getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return "PreparsedDocumentCacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", totalLoadTimeNanos=" + totalLoadTimeNanos +
+                ", size=" + size +
+                ", weight=" + weight +
+                '}';
+    }
+}
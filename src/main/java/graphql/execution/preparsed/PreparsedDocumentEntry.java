@@ -1,11 +1,16 @@
 package graphql.execution.preparsed;
 
 import graphql.GraphQLError;
+import graphql.Internal;
 import graphql.PublicApi;
+import graphql.execution.ExecutionPlan;
 import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static graphql.Assert.assertNotNull;
 import static java.util.Collections.singletonList;
@@ -18,22 +23,38 @@ import static java.util.Collections.singletonList;
  * are not aiming to provide long term compatibility and do not intend for you to place this serialised data into permanent storage,
  * with times frames that cross graphql-java versions.  While we don't change things unnecessarily,  we may inadvertently break
  * the serialised compatibility across versions.
+ *
+ * The {@link ExecutionPlan}s of the operations of the document are kept with the entry, for the last schema the entry was
+ * executed against, so that caching the entry caches its plans too.  They are not serialised.
+ *
+ * An entry that was validated with only some of the validation rules, see {@link graphql.validation.ValidationOptions#isEveryRuleEnabled()},
+ * is only valid for the {@link graphql.GraphQL} instance that made it and must not be shared with others by a cache.
  */
 @PublicApi
 public class PreparsedDocumentEntry implements Serializable {
     private final Document document;
     private final List<? extends GraphQLError> errors;
+    private final boolean partiallyValidated;
+    private transient volatile ExecutionPlans executionPlans;
 
     public PreparsedDocumentEntry(Document document) {
         assertNotNull(document);
         this.document = document;
         this.errors = null;
+        this.partiallyValidated = false;
     }
 
     public PreparsedDocumentEntry(List<? extends GraphQLError> errors) {
         assertNotNull(errors);
         this.document = null;
         this.errors = errors;
+        this.partiallyValidated = false;
+    }
+
+    private PreparsedDocumentEntry(PreparsedDocumentEntry other, boolean partiallyValidated) {
+        this.document = other.document;
+        this.errors = other.errors;
+        this.partiallyValidated = partiallyValidated;
     }
 
     public PreparsedDocumentEntry(GraphQLError error) {
@@ -51,4 +72,49 @@ public class PreparsedDocumentEntry implements Serializable {
     public boolean hasErrors() {
         return errors != null && !errors.isEmpty();
     }
+
+    /**
+     * @return true if the document was validated with only some of the validation rules, in which case the entry must not be
+     * cached where other {@link graphql.GraphQL} instances can find it
+     */
+    public boolean isPartiallyValidated() {
+        return partiallyValidated;
+    }
+
+    /**
+     * @return a copy of this entry that says it was validated with only some of the validation rules
+     */
+    @Internal
+    public PreparsedDocumentEntry partiallyValidated() {
+        return new PreparsedDocumentEntry(this, true);
+    }
+
+    /**
+     * Gets the plan for executing an operation of the document against a schema, making an empty one the first time
+     *
+     * @param schema        the schema the operation is executed against
+     * @param operationName the name of the operation, which can be null
+     *
+     * @return the execution plan
+     */
+    @Internal
+    public ExecutionPlan getExecutionPlan(GraphQLSchema schema, String operationName) {
+        ExecutionPlans plans = executionPlans;
+        if (plans == null || plans.schema != schema) {
+            // the plans for any other schema are dropped
+            plans = new ExecutionPlans(schema);
+            executionPlans = plans;
+        }
+        // operation names can't be empty so an empty name stands for no name
+        return plans.byOperationName.computeIfAbsent(operationName == null ? "" : operationName, name -> new ExecutionPlan(schema, document));
+    }
+
+    private static class ExecutionPlans {
+        private final GraphQLSchema schema;
+        private final Map<String, ExecutionPlan> byOperationName = new ConcurrentHashMap<>();
+
+        private ExecutionPlans(GraphQLSchema schema) {
+            this.schema = schema;
+        }
+    }
 }
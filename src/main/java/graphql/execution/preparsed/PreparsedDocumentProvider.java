@@ -3,7 +3,9 @@ package graphql.execution.preparsed;
 
 import graphql.ExecutionInput;
 import graphql.PublicSpi;
+import graphql.schema.GraphQLSchema;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 
 /**
@@ -24,6 +26,45 @@ public interface PreparsedDocumentProvider {
      * @return an instance of {@link PreparsedDocumentEntry}
      */
     PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction);
-}
 
+    /**
+     * This is the same as {@link #getDocument(graphql.ExecutionInput, java.util.function.Function)}
+     * but is also given the schema the document will be validated and executed against.  A validated document is only
+     * valid for the schema it was validated against, so caching implementations can use it as part of their cache key.
+     * <p>
+     * By default this delegates to {@link #getDocument(graphql.ExecutionInput, java.util.function.Function)}
+     *
+     * @param executionInput           The {@link graphql.ExecutionInput} containing the query
+     * @param graphQLSchema            the schema the document will be validated and executed against
+     * @param parseAndValidateFunction If the query has not be pre-parsed, this function MUST be called to parse and validate it
+     * @return an instance of {@link PreparsedDocumentEntry}
+     */
+    default PreparsedDocumentEntry getDocument(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocument(executionInput, parseAndValidateFunction);
+    }
 
+    /**
+     * This is the method the graphql engine calls and it allows an implementation to look up a "cached" pre-parsed query
+     * without blocking the calling thread, for example if the documents are kept in an out of process store.
+     * <p>
+     * The same rules apply as for {@link #getDocument(graphql.ExecutionInput, java.util.function.Function)}, namely that the
+     * "parseAndValidateFunction" MUST be called if you dont have a pre parsed version of the query.
+     * <p>
+     * By default this calls {@link #getDocument(graphql.ExecutionInput, graphql.schema.GraphQLSchema, java.util.function.Function)}
+     * and returns an already completed promise.
+     * <p>
+     * If the promise is already completed with a document the execution goes on straight away and any exception it throws is
+     * thrown from {@link graphql.GraphQL#executeAsync(graphql.ExecutionInput)}, just like without a provider.  Otherwise the
+     * execution goes on once the promise completes and an exception thrown by it, or the exception the promise completes with,
+     * completes the promise of the result exceptionally.  An {@link graphql.execution.AbortExecutionException} is turned into a
+     * result either way.
+     *
+     * @param executionInput           The {@link graphql.ExecutionInput} containing the query
+     * @param graphQLSchema            the schema the document will be validated and executed against
+     * @param parseAndValidateFunction If the query has not be pre-parsed, this function MUST be called to parse and validate it
+     * @return a promise to an instance of {@link PreparsedDocumentEntry}
+     */
+    default CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(getDocument(executionInput, graphQLSchema, parseAndValidateFunction));
+    }
+}
@@ -0,0 +1,52 @@
+package graphql.execution.preparsed;
+
+import graphql.PublicSpi;
+import graphql.language.Node;
+
+/**
+ * A weigher is used by {@link CachingPreparsedDocumentProvider} to work out the relative cost of keeping
+ * a {@link PreparsedDocumentEntry} in memory when the cache is bounded by weight rather than by entry count.
+ */
+@PublicSpi
+public interface PreparsedDocumentWeigher {
+
+    /**
+     * Every entry weighs one unit and hence a weight bound acts as an entry count bound
+     */
+    PreparsedDocumentWeigher SINGLETON = (query, entry) -> 1;
+
+    /**
+     * Entries weigh the number of AST nodes in their document, which is a reasonable estimate of the memory they retain.  Entries
+     * that contain errors rather than a document weigh one unit.
+     */
+    PreparsedDocumentWeigher AST_NODE_COUNT = (query, entry) -> {
+        if (entry.getDocument() == null) {
+            return 1;
+        }
+        return countNodes(entry.getDocument());
+    };
+
+    /**
+     * Returns the weight of the entry.  This MUST be a stable value for a given entry since it is called once when
+     * the entry is placed into the cache.
+     *
+     * @param query the query text the entry was parsed from
+     * @param entry the entry to weigh
+     * @return a weight that is greater than or equal to zero
+     */
+    int weigh(String query, PreparsedDocumentEntry entry);
+
+    /**
+     * Counts the nodes in the AST rooted at the specified node
+     *
+     * @param node the node to start at
+     * @return the number of nodes in the tree
+     */
+    static int countNodes(Node<?> node) {
+        int count = 1;
+        for (Node<?> child : node.getChildren()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+}
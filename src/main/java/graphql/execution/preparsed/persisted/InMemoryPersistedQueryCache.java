@@ -2,24 +2,59 @@ package graphql.execution.preparsed.persisted;
 
 import graphql.Assert;
 import graphql.ExecutionInput;
+import graphql.ParseAndValidate;
+import graphql.ParseAndValidateResult;
 import graphql.PublicApi;
 import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.schema.GraphQLSchema;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A PersistedQueryCache that is just an in memory map of known queries.
+ * <p>
+ * Cache misses are parsed and validated outside of any map lock and concurrent misses on the same
+ * persisted query id are de-duplicated, so that only one thread does the work while the others wait for its result.
+ * <p>
+ * The cache can optionally be bounded in size, in which case the least recently used entries are evicted, and it can
+ * be warmed up ahead of traffic via {@link #warmUp(GraphQLSchema)} or {@link #warmUp(PersistedQueryCacheMiss)}
  */
 @PublicApi
 public class InMemoryPersistedQueryCache implements PersistedQueryCache {
 
-    private final Map<Object, PreparsedDocumentEntry> cache = new ConcurrentHashMap<>();
+    private final Map<Object, PreparsedDocumentEntry> cache;
+    private final Map<Object, CompletableFuture<PreparsedDocumentEntry>> inFlightLoads = new ConcurrentHashMap<>();
     private final Map<Object, String> knownQueries;
 
     public InMemoryPersistedQueryCache(Map<Object, String> knownQueries) {
+        this(knownQueries, 0);
+    }
+
+    /**
+     * Creates a cache of the known queries that holds at most maximumSize parsed documents
+     *
+     * @param knownQueries the known persisted queries by id
+     * @param maximumSize  the maximum number of parsed documents to keep or zero for no bound
+     */
+    public InMemoryPersistedQueryCache(Map<Object, String> knownQueries, int maximumSize) {
         this.knownQueries = Assert.assertNotNull(knownQueries);
+        Assert.assertTrue(maximumSize >= 0, () -> "maximumSize must be >= 0");
+        this.cache = maximumSize == 0 ? new ConcurrentHashMap<>() : boundedMap(maximumSize);
+    }
+
+    private static Map<Object, PreparsedDocumentEntry> boundedMap(int maximumSize) {
+        return Collections.synchronizedMap(new LinkedHashMap<Object, PreparsedDocumentEntry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, PreparsedDocumentEntry> eldest) {
+                return size() > maximumSize;
+            }
+        });
     }
 
     public Map<Object, String> getKnownQueries() {
@@ -28,32 +63,128 @@ public class InMemoryPersistedQueryCache implements PersistedQueryCache {
 
     @Override
     public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId, ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
-        return cache.compute(persistedQueryId, (k, v) -> {
-            if (v != null) {
-                return v;
+        PreparsedDocumentEntry entry = cache.get(persistedQueryId);
+        if (entry != null) {
+            return entry;
+        }
+        CompletableFuture<PreparsedDocumentEntry> load = new CompletableFuture<>();
+        CompletableFuture<PreparsedDocumentEntry> inFlightLoad = inFlightLoads.putIfAbsent(persistedQueryId, load);
+        if (inFlightLoad != null) {
+            return awaitLoad(inFlightLoad);
+        }
+        try {
+            entry = loadIfAbsent(persistedQueryId, onCacheMiss);
+            load.complete(entry);
+            return entry;
+        } catch (Throwable e) {
+            // errors as well, since the threads waiting on the load would otherwise never be woken up
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(persistedQueryId, load);
+        }
+    }
+
+    private PreparsedDocumentEntry loadIfAbsent(Object persistedQueryId, PersistedQueryCacheMiss onCacheMiss) {
+        // another thread may have finished loading between our cache miss and our claim on the load
+        PreparsedDocumentEntry entry = cache.get(persistedQueryId);
+        if (entry != null) {
+            return entry;
+        }
+        String queryText = knownQueries.get(persistedQueryId);
+        if (queryText == null) {
+            throw new PersistedQueryNotFound(persistedQueryId);
+        }
+        entry = onCacheMiss.apply(queryText);
+        cache.put(persistedQueryId, entry);
+        return entry;
+    }
+
+    private PreparsedDocumentEntry awaitLoad(CompletableFuture<PreparsedDocumentEntry> inFlightLoad) {
+        try {
+            return inFlightLoad.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
             }
-            String queryText = knownQueries.get(persistedQueryId);
-            if (queryText == null) {
-                throw new PersistedQueryNotFound(persistedQueryId);
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
             }
-            return onCacheMiss.apply(queryText);
+            throw e;
+        }
+    }
+
+    /**
+     * This will parse and validate every known query against the schema and place the results into the cache, so that
+     * the first requests after start up do not have to pay for parsing and validation.  Note that no
+     * {@link graphql.execution.instrumentation.Instrumentation} calls are made for these documents.
+     *
+     * @param graphQLSchema the schema to validate the known queries against
+     */
+    public void warmUp(GraphQLSchema graphQLSchema) {
+        Assert.assertNotNull(graphQLSchema);
+        warmUp(queryText -> {
+            ExecutionInput executionInput = ExecutionInput.newExecutionInput(queryText).build();
+            ParseAndValidateResult result = ParseAndValidate.parseAndValidate(graphQLSchema, executionInput);
+            if (result.isFailure()) {
+                return new PreparsedDocumentEntry(result.getErrors());
+            }
+            return new PreparsedDocumentEntry(result.getDocument());
         });
     }
 
+    /**
+     * This will call back for every known query that is not already cached and place the results into the cache.
+     *
+     * @param parseAndValidateFunction the function that parses and validates a known query
+     */
+    public void warmUp(PersistedQueryCacheMiss parseAndValidateFunction) {
+        Assert.assertNotNull(parseAndValidateFunction);
+        for (Map.Entry<Object, String> knownQuery : knownQueries.entrySet()) {
+            Object persistedQueryId = knownQuery.getKey();
+            if (!cache.containsKey(persistedQueryId)) {
+                cache.put(persistedQueryId, parseAndValidateFunction.apply(knownQuery.getValue()));
+            }
+        }
+    }
+
     public static Builder newInMemoryPersistedQueryCache() {
         return new Builder();
     }
 
     public static class Builder {
         private final Map<Object, String> knownQueries = new HashMap<>();
+        private int maximumSize = 0;
 
         public Builder addQuery(Object key, String queryText) {
             knownQueries.put(key, queryText);
             return this;
         }
 
+        /**
+         * Adds all the queries from a manifest of persisted query ids to query text
+         *
+         * @param queries the persisted query manifest
+         * @return this builder
+         */
+        public Builder addQueries(Map<?, String> queries) {
+            knownQueries.putAll(queries);
+            return this;
+        }
+
+        /**
+         * Bounds the number of parsed documents kept in memory, evicting the least recently used ones.  By default the cache is unbounded.
+         *
+         * @param maximumSize the maximum number of parsed documents to keep
+         * @return this builder
+         */
+        public Builder maximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
         public InMemoryPersistedQueryCache build() {
-            return new InMemoryPersistedQueryCache(knownQueries);
+            return new InMemoryPersistedQueryCache(knownQueries, maximumSize);
         }
     }
 }
@@ -0,0 +1,530 @@
+package graphql.language;
+
+import graphql.GraphQLException;
+import graphql.PublicApi;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.collect.ImmutableKit.emptyList;
+import static graphql.language.AstBinaryFormat.ARGUMENT;
+import static graphql.language.AstBinaryFormat.ARRAY_VALUE;
+import static graphql.language.AstBinaryFormat.BOOLEAN_VALUE;
+import static graphql.language.AstBinaryFormat.DIRECTIVE;
+import static graphql.language.AstBinaryFormat.DIRECTIVE_DEFINITION;
+import static graphql.language.AstBinaryFormat.DIRECTIVE_LOCATION;
+import static graphql.language.AstBinaryFormat.DOCUMENT;
+import static graphql.language.AstBinaryFormat.ENUM_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.ENUM_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.ENUM_VALUE;
+import static graphql.language.AstBinaryFormat.ENUM_VALUE_DEFINITION;
+import static graphql.language.AstBinaryFormat.FIELD;
+import static graphql.language.AstBinaryFormat.FIELD_DEFINITION;
+import static graphql.language.AstBinaryFormat.FIRST_STRING_REFERENCE;
+import static graphql.language.AstBinaryFormat.FLAG_COMMENTS;
+import static graphql.language.AstBinaryFormat.FLAG_IGNORED_CHARS;
+import static graphql.language.AstBinaryFormat.FLAG_SOURCE_LOCATIONS;
+import static graphql.language.AstBinaryFormat.FLOAT_VALUE;
+import static graphql.language.AstBinaryFormat.FRAGMENT_DEFINITION;
+import static graphql.language.AstBinaryFormat.FRAGMENT_SPREAD;
+import static graphql.language.AstBinaryFormat.INLINE_FRAGMENT;
+import static graphql.language.AstBinaryFormat.INPUT_OBJECT_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.INPUT_OBJECT_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.INPUT_VALUE_DEFINITION;
+import static graphql.language.AstBinaryFormat.INTERFACE_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.INTERFACE_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.INT_VALUE;
+import static graphql.language.AstBinaryFormat.LIST_TYPE;
+import static graphql.language.AstBinaryFormat.MAGIC;
+import static graphql.language.AstBinaryFormat.NEW_STRING;
+import static graphql.language.AstBinaryFormat.NON_NULL_TYPE;
+import static graphql.language.AstBinaryFormat.NULL_NODE;
+import static graphql.language.AstBinaryFormat.NULL_STRING;
+import static graphql.language.AstBinaryFormat.NULL_VALUE;
+import static graphql.language.AstBinaryFormat.OBJECT_FIELD;
+import static graphql.language.AstBinaryFormat.OBJECT_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.OBJECT_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.OBJECT_VALUE;
+import static graphql.language.AstBinaryFormat.OPERATION_DEFINITION;
+import static graphql.language.AstBinaryFormat.OPERATION_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCALAR_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCALAR_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCHEMA_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCHEMA_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.SELECTION_SET;
+import static graphql.language.AstBinaryFormat.STRING_VALUE;
+import static graphql.language.AstBinaryFormat.TYPE_NAME;
+import static graphql.language.AstBinaryFormat.UNION_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.UNION_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.VARIABLE_DEFINITION;
+import static graphql.language.AstBinaryFormat.VARIABLE_REFERENCE;
+import static graphql.language.AstBinaryFormat.VERSION;
+
+/**
+ * This decodes the binary form of an AST written by {@link AstBinaryEncoder} back into AST nodes.
+ * <p>
+ * A {@link graphql.GraphQLException} is thrown if the bytes are not a binary AST written by a compatible version
+ * of the encoder, including when they are corrupt.
+ */
+@PublicApi
+public class AstBinaryDecoder {
+
+    private static final OperationDefinition.Operation[] OPERATIONS = OperationDefinition.Operation.values();
+    private static final IgnoredChar.IgnoredCharKind[] IGNORED_CHAR_KINDS = IgnoredChar.IgnoredCharKind.values();
+
+    /**
+     * Decodes a binary AST that is expected to be a {@link Document}
+     *
+     * @param bytes the binary AST
+     * @return the decoded document
+     */
+    public Document decodeDocument(byte[] bytes) {
+        Node<?> node = decode(bytes);
+        if (!(node instanceof Document)) {
+            throw new GraphQLException("The binary AST is not a document");
+        }
+        return (Document) node;
+    }
+
+    /**
+     * Decodes a binary AST
+     *
+     * @param bytes the binary AST
+     * @return the decoded root node
+     */
+    public Node<?> decode(byte[] bytes) {
+        assertNotNull(bytes);
+        BinaryInput in = new BinaryInput(bytes);
+        try {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                throw new GraphQLException("The bytes are not a binary AST of a compatible version");
+            }
+            in.flags = in.readByte();
+            Node<?> node = readNode(in, Node.class);
+            if (in.position != bytes.length) {
+                throw new GraphQLException("The binary AST has unexpected trailing bytes");
+            }
+            return node;
+        } catch (IndexOutOfBoundsException e) {
+            throw new GraphQLException("The binary AST is truncated", e);
+        } catch (GraphQLException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // such as invalid numbers or nodes that are missing required parts
+            throw new GraphQLException("The binary AST is corrupt", e);
+        }
+    }
+
+    private <T extends Node> T readNode(BinaryInput in, Class<T> nodeClass) {
+        byte kind = in.readByte();
+        if (kind == NULL_NODE) {
+            return null;
+        }
+        Node<?> node = kind <= OBJECT_FIELD ? readExecutableNode(in, kind) : readSdlNode(in, kind);
+        if (!nodeClass.isInstance(node)) {
+            throw new GraphQLException("The binary AST has a " + node.getClass().getSimpleName() + " where a " + nodeClass.getSimpleName() + " is expected");
+        }
+        return nodeClass.cast(node);
+    }
+
+    private Node<?> readExecutableNode(BinaryInput in, byte kind) {
+        switch (kind) {
+            case DOCUMENT:
+                return readData(in, Document.newDocument()
+                        .definitions(readNodes(in, Definition.class))).build();
+            case OPERATION_DEFINITION:
+                return readOperationDefinition(in);
+            case FRAGMENT_DEFINITION:
+                return readData(in, FragmentDefinition.newFragmentDefinition()
+                        .name(in.readString())
+                        .typeCondition(readNode(in, TypeName.class))
+                        .directives(readNodes(in, Directive.class))
+                        .selectionSet(readNode(in, SelectionSet.class))).build();
+            case SELECTION_SET:
+                return readData(in, SelectionSet.newSelectionSet()
+                        .selections(readNodes(in, Selection.class))).build();
+            case FIELD:
+                return readData(in, Field.newField()
+                        .name(in.readString())
+                        .alias(in.readString())
+                        .arguments(readNodes(in, Argument.class))
+                        .directives(readNodes(in, Directive.class))
+                        .selectionSet(readNode(in, SelectionSet.class))).build();
+            case FRAGMENT_SPREAD:
+                return readData(in, FragmentSpread.newFragmentSpread()
+                        .name(in.readString())
+                        .directives(readNodes(in, Directive.class))).build();
+            case INLINE_FRAGMENT:
+                return readData(in, InlineFragment.newInlineFragment()
+                        .typeCondition(readNode(in, TypeName.class))
+                        .directives(readNodes(in, Directive.class))
+                        .selectionSet(readNode(in, SelectionSet.class))).build();
+            case ARGUMENT:
+                return readData(in, Argument.newArgument()
+                        .name(in.readString())
+                        .value(readNode(in, Value.class))).build();
+            case DIRECTIVE:
+                return readData(in, Directive.newDirective()
+                        .name(in.readString())
+                        .arguments(readNodes(in, Argument.class))).build();
+            case VARIABLE_DEFINITION:
+                return readData(in, VariableDefinition.newVariableDefinition()
+                        .name(in.readString())
+                        .type(readNode(in, Type.class))
+                        .defaultValue(readNode(in, Value.class))
+                        .directives(readNodes(in, Directive.class))).build();
+            default:
+                return readTypeOrValue(in, kind);
+        }
+    }
+
+    private OperationDefinition readOperationDefinition(BinaryInput in) {
+        OperationDefinition.Builder builder = OperationDefinition.newOperationDefinition().name(in.readString());
+        int operation = in.readVarInt();
+        if (operation < 0 || operation > OPERATIONS.length) {
+            throw new GraphQLException("Unknown binary AST operation " + operation);
+        }
+        return readData(in, builder
+                .operation(operation == 0 ? null : OPERATIONS[operation - 1])
+                .variableDefinitions(readNodes(in, VariableDefinition.class))
+                .directives(readNodes(in, Directive.class))
+                .selectionSet(readNode(in, SelectionSet.class))).build();
+    }
+
+    private Node<?> readTypeOrValue(BinaryInput in, byte kind) {
+        switch (kind) {
+            case TYPE_NAME:
+                return readData(in, TypeName.newTypeName().name(in.readString())).build();
+            case LIST_TYPE:
+                return readData(in, ListType.newListType().type(readNode(in, Type.class))).build();
+            case NON_NULL_TYPE:
+                return readData(in, NonNullType.newNonNullType().type(readNode(in, Type.class))).build();
+            case VARIABLE_REFERENCE:
+                return readData(in, VariableReference.newVariableReference().name(in.readString())).build();
+            case INT_VALUE:
+                return readData(in, IntValue.newIntValue().value(new BigInteger(in.readString()))).build();
+            case FLOAT_VALUE:
+                return readData(in, FloatValue.newFloatValue().value(new BigDecimal(in.readString()))).build();
+            case STRING_VALUE:
+                return readData(in, StringValue.newStringValue().value(in.readString())).build();
+            case BOOLEAN_VALUE:
+                return readData(in, BooleanValue.newBooleanValue().value(in.readByte() != 0)).build();
+            case NULL_VALUE:
+                return readData(in, NullValue.newNullValue()).build();
+            case ENUM_VALUE:
+                return readData(in, EnumValue.newEnumValue().name(in.readString())).build();
+            case ARRAY_VALUE:
+                return readData(in, ArrayValue.newArrayValue().values(readNodes(in, Value.class))).build();
+            case OBJECT_VALUE:
+                return readData(in, ObjectValue.newObjectValue().objectFields(readNodes(in, ObjectField.class))).build();
+            case OBJECT_FIELD:
+                return readData(in, ObjectField.newObjectField()
+                        .name(in.readString())
+                        .value(readNode(in, Value.class))).build();
+            default:
+                throw new GraphQLException("Unknown binary AST node kind " + kind);
+        }
+    }
+
+    private Node<?> readSdlNode(BinaryInput in, byte kind) {
+        switch (kind) {
+            case SCHEMA_DEFINITION:
+                return readData(in, SchemaDefinition.newSchemaDefinition()
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))
+                        .operationTypeDefinitions(readNodes(in, OperationTypeDefinition.class))).build();
+            case SCHEMA_EXTENSION_DEFINITION:
+                return readData(in, SchemaExtensionDefinition.newSchemaExtensionDefinition()
+                        .directives(readNodes(in, Directive.class))
+                        .operationTypeDefinitions(readNodes(in, OperationTypeDefinition.class))).build();
+            case OPERATION_TYPE_DEFINITION:
+                return readData(in, OperationTypeDefinition.newOperationTypeDefinition()
+                        .name(in.readString())
+                        .typeName(readNode(in, TypeName.class))).build();
+            case SCALAR_TYPE_DEFINITION:
+                return readData(in, ScalarTypeDefinition.newScalarTypeDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))).build();
+            case SCALAR_TYPE_EXTENSION_DEFINITION:
+                return readData(in, ScalarTypeExtensionDefinition.newScalarTypeExtensionDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))).build();
+            case OBJECT_TYPE_DEFINITION:
+                return readData(in, ObjectTypeDefinition.newObjectTypeDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .implementz(readNodes(in, Type.class))
+                        .directives(readNodes(in, Directive.class))
+                        .fieldDefinitions(readNodes(in, FieldDefinition.class))).build();
+            case OBJECT_TYPE_EXTENSION_DEFINITION:
+                return readData(in, ObjectTypeExtensionDefinition.newObjectTypeExtensionDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .implementz(readNodes(in, Type.class))
+                        .directives(readNodes(in, Directive.class))
+                        .fieldDefinitions(readNodes(in, FieldDefinition.class))).build();
+            default:
+                return readSdlTypeNode(in, kind);
+        }
+    }
+
+    private Node<?> readSdlTypeNode(BinaryInput in, byte kind) {
+        switch (kind) {
+            case INTERFACE_TYPE_DEFINITION:
+                return readData(in, InterfaceTypeDefinition.newInterfaceTypeDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .implementz(readNodes(in, Type.class))
+                        .directives(readNodes(in, Directive.class))
+                        .definitions(readNodes(in, FieldDefinition.class))).build();
+            case INTERFACE_TYPE_EXTENSION_DEFINITION:
+                return readData(in, InterfaceTypeExtensionDefinition.newInterfaceTypeExtensionDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .implementz(readNodes(in, Type.class))
+                        .directives(readNodes(in, Directive.class))
+                        .definitions(readNodes(in, FieldDefinition.class))).build();
+            case UNION_TYPE_DEFINITION:
+                return readData(in, UnionTypeDefinition.newUnionTypeDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))
+                        .memberTypes(readNodes(in, Type.class))).build();
+            case UNION_TYPE_EXTENSION_DEFINITION:
+                return readData(in, UnionTypeExtensionDefinition.newUnionTypeExtensionDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))
+                        .memberTypes(readNodes(in, Type.class))).build();
+            case ENUM_TYPE_DEFINITION:
+                return readData(in, EnumTypeDefinition.newEnumTypeDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .enumValueDefinitions(readNodes(in, EnumValueDefinition.class))
+                        .directives(readNodes(in, Directive.class))).build();
+            case ENUM_TYPE_EXTENSION_DEFINITION:
+                return readData(in, EnumTypeExtensionDefinition.newEnumTypeExtensionDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .enumValueDefinitions(readNodes(in, EnumValueDefinition.class))
+                        .directives(readNodes(in, Directive.class))).build();
+            case INPUT_OBJECT_TYPE_DEFINITION:
+                return readData(in, InputObjectTypeDefinition.newInputObjectDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))
+                        .inputValueDefinitions(readNodes(in, InputValueDefinition.class))).build();
+            case INPUT_OBJECT_TYPE_EXTENSION_DEFINITION:
+                return readData(in, InputObjectTypeExtensionDefinition.newInputObjectTypeExtensionDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))
+                        .inputValueDefinitions(readNodes(in, InputValueDefinition.class))).build();
+            default:
+                return readSdlMemberNode(in, kind);
+        }
+    }
+
+    private Node<?> readSdlMemberNode(BinaryInput in, byte kind) {
+        switch (kind) {
+            case FIELD_DEFINITION:
+                return readData(in, FieldDefinition.newFieldDefinition()
+                        .name(in.readString())
+                        .type(readNode(in, Type.class))
+                        .description(readDescription(in))
+                        .inputValueDefinitions(readNodes(in, InputValueDefinition.class))
+                        .directives(readNodes(in, Directive.class))).build();
+            case INPUT_VALUE_DEFINITION:
+                return readData(in, InputValueDefinition.newInputValueDefinition()
+                        .name(in.readString())
+                        .type(readNode(in, Type.class))
+                        .defaultValue(readNode(in, Value.class))
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))).build();
+            case ENUM_VALUE_DEFINITION:
+                return readData(in, EnumValueDefinition.newEnumValueDefinition()
+                        .name(in.readString())
+                        .description(readDescription(in))
+                        .directives(readNodes(in, Directive.class))).build();
+            case DIRECTIVE_DEFINITION:
+                return readData(in, DirectiveDefinition.newDirectiveDefinition()
+                        .name(in.readString())
+                        .repeatable(in.readByte() != 0)
+                        .description(readDescription(in))
+                        .inputValueDefinitions(readNodes(in, InputValueDefinition.class))
+                        .directiveLocations(readNodes(in, DirectiveLocation.class))).build();
+            case DIRECTIVE_LOCATION:
+                return readData(in, DirectiveLocation.newDirectiveLocation()
+                        .name(in.readString())).build();
+            default:
+                throw new GraphQLException("Unknown binary AST node kind " + kind);
+        }
+    }
+
+    private <T extends Node> List<T> readNodes(BinaryInput in, Class<T> nodeClass) {
+        int count = in.readCount();
+        if (count == 0) {
+            return emptyList();
+        }
+        List<T> nodes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            T node = readNode(in, nodeClass);
+            if (node == null) {
+                throw new GraphQLException("The binary AST has a null " + nodeClass.getSimpleName() + " in a list");
+            }
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private Description readDescription(BinaryInput in) {
+        byte kind = in.readByte();
+        if (kind == 0) {
+            return null;
+        }
+        String content = in.readString();
+        return new Description(content, readSourceLocation(in), kind == 2);
+    }
+
+    private <B extends NodeBuilder> B readData(BinaryInput in, B builder) {
+        builder.sourceLocation(readSourceLocation(in));
+        if (in.hasFlag(FLAG_COMMENTS)) {
+            builder.comments(readComments(in));
+        }
+        if (in.hasFlag(FLAG_IGNORED_CHARS)) {
+            List<IgnoredChar> left = readIgnoredChars(in);
+            List<IgnoredChar> right = readIgnoredChars(in);
+            if (!left.isEmpty() || !right.isEmpty()) {
+                builder.ignoredChars(new IgnoredChars(left, right));
+            }
+        }
+        int additionalDataCount = in.readCount();
+        if (additionalDataCount > 0) {
+            Map<String, String> additionalData = new LinkedHashMap<>();
+            for (int i = 0; i < additionalDataCount; i++) {
+                additionalData.put(in.readString(), in.readString());
+            }
+            builder.additionalData(additionalData);
+        }
+        return builder;
+    }
+
+    private List<Comment> readComments(BinaryInput in) {
+        int count = in.readCount();
+        if (count == 0) {
+            return emptyList();
+        }
+        List<Comment> comments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String content = in.readString();
+            comments.add(new Comment(content, readSourceLocation(in)));
+        }
+        return comments;
+    }
+
+    private List<IgnoredChar> readIgnoredChars(BinaryInput in) {
+        int count = in.readCount();
+        if (count == 0) {
+            return emptyList();
+        }
+        List<IgnoredChar> ignoredChars = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String value = in.readString();
+            byte kindIndex = in.readByte();
+            if (kindIndex < 0 || kindIndex >= IGNORED_CHAR_KINDS.length) {
+                throw new GraphQLException("Unknown binary AST ignored char kind " + kindIndex);
+            }
+            IgnoredChar.IgnoredCharKind kind = IGNORED_CHAR_KINDS[kindIndex];
+            ignoredChars.add(new IgnoredChar(value, kind, readSourceLocation(in)));
+        }
+        return ignoredChars;
+    }
+
+    private SourceLocation readSourceLocation(BinaryInput in) {
+        if (!in.hasFlag(FLAG_SOURCE_LOCATIONS) || in.readByte() == 0) {
+            return null;
+        }
+        int line = in.readVarInt();
+        int column = in.readVarInt();
+        return new SourceLocation(line, column, in.readString());
+    }
+
+    private static class BinaryInput {
+        private final byte[] bytes;
+        private final List<String> strings = new ArrayList<>();
+        private int position;
+        private byte flags;
+
+        BinaryInput(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        boolean hasFlag(byte flag) {
+            return (flags & flag) != 0;
+        }
+
+        byte readByte() {
+            return bytes[position++];
+        }
+
+        int readInt() {
+            return (readByte() & 0xFF) << 24 | (readByte() & 0xFF) << 16 | (readByte() & 0xFF) << 8 | (readByte() & 0xFF);
+        }
+
+        int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (shift > 28) {
+                    throw new GraphQLException("The binary AST has a var int that is too long");
+                }
+                b = readByte();
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        /**
+         * Reads the number of elements that follow, which can't be more than the bytes that are left since every element
+         * takes at least one byte
+         */
+        int readCount() {
+            int count = readVarInt();
+            if (count < 0 || count > bytes.length - position) {
+                throw new GraphQLException("The binary AST has an invalid count " + count);
+            }
+            return count;
+        }
+
+        String readString() {
+            int tag = readVarInt();
+            if (tag == NULL_STRING) {
+                return null;
+            }
+            if (tag >= FIRST_STRING_REFERENCE) {
+                return strings.get(tag - FIRST_STRING_REFERENCE);
+            }
+            if (tag != NEW_STRING) {
+                throw new GraphQLException("Invalid binary AST string tag " + tag);
+            }
+            int length = readVarInt();
+            if (length < 0 || length > bytes.length - position) {
+                throw new IndexOutOfBoundsException("string length " + length);
+            }
+            String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            strings.add(value);
+            return value;
+        }
+    }
+}
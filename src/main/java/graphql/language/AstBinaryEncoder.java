@@ -0,0 +1,562 @@
+package graphql.language;
+
+import graphql.PublicApi;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertShouldNeverHappen;
+import static graphql.language.AstBinaryFormat.ARGUMENT;
+import static graphql.language.AstBinaryFormat.ARRAY_VALUE;
+import static graphql.language.AstBinaryFormat.BOOLEAN_VALUE;
+import static graphql.language.AstBinaryFormat.DIRECTIVE;
+import static graphql.language.AstBinaryFormat.DIRECTIVE_DEFINITION;
+import static graphql.language.AstBinaryFormat.DIRECTIVE_LOCATION;
+import static graphql.language.AstBinaryFormat.DOCUMENT;
+import static graphql.language.AstBinaryFormat.ENUM_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.ENUM_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.ENUM_VALUE;
+import static graphql.language.AstBinaryFormat.ENUM_VALUE_DEFINITION;
+import static graphql.language.AstBinaryFormat.FIELD;
+import static graphql.language.AstBinaryFormat.FIELD_DEFINITION;
+import static graphql.language.AstBinaryFormat.FIRST_STRING_REFERENCE;
+import static graphql.language.AstBinaryFormat.FLAG_COMMENTS;
+import static graphql.language.AstBinaryFormat.FLAG_IGNORED_CHARS;
+import static graphql.language.AstBinaryFormat.FLAG_SOURCE_LOCATIONS;
+import static graphql.language.AstBinaryFormat.FLOAT_VALUE;
+import static graphql.language.AstBinaryFormat.FRAGMENT_DEFINITION;
+import static graphql.language.AstBinaryFormat.FRAGMENT_SPREAD;
+import static graphql.language.AstBinaryFormat.INLINE_FRAGMENT;
+import static graphql.language.AstBinaryFormat.INPUT_OBJECT_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.INPUT_OBJECT_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.INPUT_VALUE_DEFINITION;
+import static graphql.language.AstBinaryFormat.INTERFACE_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.INTERFACE_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.INT_VALUE;
+import static graphql.language.AstBinaryFormat.LIST_TYPE;
+import static graphql.language.AstBinaryFormat.MAGIC;
+import static graphql.language.AstBinaryFormat.NEW_STRING;
+import static graphql.language.AstBinaryFormat.NON_NULL_TYPE;
+import static graphql.language.AstBinaryFormat.NULL_NODE;
+import static graphql.language.AstBinaryFormat.NULL_STRING;
+import static graphql.language.AstBinaryFormat.NULL_VALUE;
+import static graphql.language.AstBinaryFormat.OBJECT_FIELD;
+import static graphql.language.AstBinaryFormat.OBJECT_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.OBJECT_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.OBJECT_VALUE;
+import static graphql.language.AstBinaryFormat.OPERATION_DEFINITION;
+import static graphql.language.AstBinaryFormat.OPERATION_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCALAR_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCALAR_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCHEMA_DEFINITION;
+import static graphql.language.AstBinaryFormat.SCHEMA_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.SELECTION_SET;
+import static graphql.language.AstBinaryFormat.STRING_VALUE;
+import static graphql.language.AstBinaryFormat.TYPE_NAME;
+import static graphql.language.AstBinaryFormat.UNION_TYPE_DEFINITION;
+import static graphql.language.AstBinaryFormat.UNION_TYPE_EXTENSION_DEFINITION;
+import static graphql.language.AstBinaryFormat.VARIABLE_DEFINITION;
+import static graphql.language.AstBinaryFormat.VARIABLE_REFERENCE;
+import static graphql.language.AstBinaryFormat.VERSION;
+
+/**
+ * This encodes an AST into a compact binary form that can be turned back into the same AST via {@link AstBinaryDecoder}
+ * far more cheaply than parsing the equivalent query text.  This is useful for caching or sharing parsed documents.
+ * <p>
+ * Names and other strings are only written once per encoding and are referred back to after that.  Source locations,
+ * comments and ignored chars can be left out via {@link Options} to make the encoding smaller.
+ * <p>
+ * The binary form is not intended for long term storage across graphql-java versions.  A decoder will reject an encoding
+ * from an incompatible version rather than misread it.
+ */
+@PublicApi
+public class AstBinaryEncoder {
+
+    private final Options options;
+
+    public AstBinaryEncoder() {
+        this(Options.defaultOptions());
+    }
+
+    public AstBinaryEncoder(Options options) {
+        this.options = assertNotNull(options);
+    }
+
+    /**
+     * Encodes the AST rooted at the specified node
+     *
+     * @param node the node to encode
+     * @return the binary encoding of the node and all its children
+     */
+    public byte[] encode(Node<?> node) {
+        assertNotNull(node);
+        BinaryOutput out = new BinaryOutput();
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeByte(options.flags());
+        writeNode(out, node);
+        return out.toByteArray();
+    }
+
+    private void writeNode(BinaryOutput out, Node<?> node) {
+        if (node == null) {
+            out.writeByte(NULL_NODE);
+            return;
+        }
+        if (node instanceof Document) {
+            out.writeByte(DOCUMENT);
+            writeNodes(out, ((Document) node).getDefinitions());
+        } else if (node instanceof OperationDefinition) {
+            writeOperationDefinition(out, (OperationDefinition) node);
+        } else if (node instanceof FragmentDefinition) {
+            writeFragmentDefinition(out, (FragmentDefinition) node);
+        } else if (node instanceof SelectionSet) {
+            out.writeByte(SELECTION_SET);
+            writeNodes(out, ((SelectionSet) node).getSelections());
+        } else if (node instanceof Field) {
+            writeField(out, (Field) node);
+        } else if (node instanceof FragmentSpread) {
+            FragmentSpread fragmentSpread = (FragmentSpread) node;
+            out.writeByte(FRAGMENT_SPREAD);
+            out.writeString(fragmentSpread.getName());
+            writeNodes(out, fragmentSpread.getDirectives());
+        } else if (node instanceof InlineFragment) {
+            InlineFragment inlineFragment = (InlineFragment) node;
+            out.writeByte(INLINE_FRAGMENT);
+            writeNode(out, inlineFragment.getTypeCondition());
+            writeNodes(out, inlineFragment.getDirectives());
+            writeNode(out, inlineFragment.getSelectionSet());
+        } else if (node instanceof Argument) {
+            Argument argument = (Argument) node;
+            out.writeByte(ARGUMENT);
+            out.writeString(argument.getName());
+            writeNode(out, argument.getValue());
+        } else if (node instanceof Directive) {
+            Directive directive = (Directive) node;
+            out.writeByte(DIRECTIVE);
+            out.writeString(directive.getName());
+            writeNodes(out, directive.getArguments());
+        } else if (node instanceof VariableDefinition) {
+            writeVariableDefinition(out, (VariableDefinition) node);
+        } else if (node instanceof Type) {
+            writeType(out, (Type<?>) node);
+        } else if (node instanceof Value) {
+            writeValue(out, (Value<?>) node);
+        } else if (node instanceof ObjectField) {
+            ObjectField objectField = (ObjectField) node;
+            out.writeByte(OBJECT_FIELD);
+            out.writeString(objectField.getName());
+            writeNode(out, objectField.getValue());
+        } else {
+            writeSdlNode(out, node);
+        }
+        writeNodeData(out, node);
+    }
+
+    private void writeOperationDefinition(BinaryOutput out, OperationDefinition operationDefinition) {
+        out.writeByte(OPERATION_DEFINITION);
+        out.writeString(operationDefinition.getName());
+        OperationDefinition.Operation operation = operationDefinition.getOperation();
+        out.writeVarInt(operation == null ? 0 : operation.ordinal() + 1);
+        writeNodes(out, operationDefinition.getVariableDefinitions());
+        writeNodes(out, operationDefinition.getDirectives());
+        writeNode(out, operationDefinition.getSelectionSet());
+    }
+
+    private void writeFragmentDefinition(BinaryOutput out, FragmentDefinition fragmentDefinition) {
+        out.writeByte(FRAGMENT_DEFINITION);
+        out.writeString(fragmentDefinition.getName());
+        writeNode(out, fragmentDefinition.getTypeCondition());
+        writeNodes(out, fragmentDefinition.getDirectives());
+        writeNode(out, fragmentDefinition.getSelectionSet());
+    }
+
+    private void writeField(BinaryOutput out, Field field) {
+        out.writeByte(FIELD);
+        out.writeString(field.getName());
+        out.writeString(field.getAlias());
+        writeNodes(out, field.getArguments());
+        writeNodes(out, field.getDirectives());
+        writeNode(out, field.getSelectionSet());
+    }
+
+    private void writeVariableDefinition(BinaryOutput out, VariableDefinition variableDefinition) {
+        out.writeByte(VARIABLE_DEFINITION);
+        out.writeString(variableDefinition.getName());
+        writeNode(out, variableDefinition.getType());
+        writeNode(out, variableDefinition.getDefaultValue());
+        writeNodes(out, variableDefinition.getDirectives());
+    }
+
+    private void writeType(BinaryOutput out, Type<?> type) {
+        if (type instanceof TypeName) {
+            out.writeByte(TYPE_NAME);
+            out.writeString(((TypeName) type).getName());
+        } else if (type instanceof ListType) {
+            out.writeByte(LIST_TYPE);
+            writeNode(out, ((ListType) type).getType());
+        } else if (type instanceof NonNullType) {
+            out.writeByte(NON_NULL_TYPE);
+            writeNode(out, ((NonNullType) type).getType());
+        } else {
+            assertShouldNeverHappen("Unknown type node %s", type.getClass().getName());
+        }
+    }
+
+    private void writeValue(BinaryOutput out, Value<?> value) {
+        if (value instanceof VariableReference) {
+            out.writeByte(VARIABLE_REFERENCE);
+            out.writeString(((VariableReference) value).getName());
+        } else if (value instanceof IntValue) {
+            out.writeByte(INT_VALUE);
+            out.writeString(String.valueOf(((IntValue) value).getValue()));
+        } else if (value instanceof FloatValue) {
+            out.writeByte(FLOAT_VALUE);
+            out.writeString(String.valueOf(((FloatValue) value).getValue()));
+        } else if (value instanceof StringValue) {
+            out.writeByte(STRING_VALUE);
+            out.writeString(((StringValue) value).getValue());
+        } else if (value instanceof BooleanValue) {
+            out.writeByte(BOOLEAN_VALUE);
+            out.writeByte(((BooleanValue) value).isValue() ? 1 : 0);
+        } else if (value instanceof NullValue) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof EnumValue) {
+            out.writeByte(ENUM_VALUE);
+            out.writeString(((EnumValue) value).getName());
+        } else if (value instanceof ArrayValue) {
+            out.writeByte(ARRAY_VALUE);
+            writeNodes(out, ((ArrayValue) value).getValues());
+        } else if (value instanceof ObjectValue) {
+            out.writeByte(OBJECT_VALUE);
+            writeNodes(out, ((ObjectValue) value).getObjectFields());
+        } else {
+            assertShouldNeverHappen("Unknown value node %s", value.getClass().getName());
+        }
+    }
+
+    private void writeSdlNode(BinaryOutput out, Node<?> node) {
+        if (node instanceof SchemaDefinition) {
+            writeSchemaDefinition(out, (SchemaDefinition) node);
+        } else if (node instanceof OperationTypeDefinition) {
+            OperationTypeDefinition operationTypeDefinition = (OperationTypeDefinition) node;
+            out.writeByte(OPERATION_TYPE_DEFINITION);
+            out.writeString(operationTypeDefinition.getName());
+            writeNode(out, operationTypeDefinition.getTypeName());
+        } else if (node instanceof ScalarTypeDefinition) {
+            ScalarTypeDefinition scalarTypeDefinition = (ScalarTypeDefinition) node;
+            out.writeByte(node instanceof ScalarTypeExtensionDefinition ? SCALAR_TYPE_EXTENSION_DEFINITION : SCALAR_TYPE_DEFINITION);
+            out.writeString(scalarTypeDefinition.getName());
+            writeDescription(out, scalarTypeDefinition.getDescription());
+            writeNodes(out, scalarTypeDefinition.getDirectives());
+        } else if (node instanceof ObjectTypeDefinition) {
+            writeObjectTypeDefinition(out, (ObjectTypeDefinition) node);
+        } else if (node instanceof InterfaceTypeDefinition) {
+            writeInterfaceTypeDefinition(out, (InterfaceTypeDefinition) node);
+        } else if (node instanceof UnionTypeDefinition) {
+            writeUnionTypeDefinition(out, (UnionTypeDefinition) node);
+        } else if (node instanceof EnumTypeDefinition) {
+            writeEnumTypeDefinition(out, (EnumTypeDefinition) node);
+        } else if (node instanceof InputObjectTypeDefinition) {
+            writeInputObjectTypeDefinition(out, (InputObjectTypeDefinition) node);
+        } else if (node instanceof FieldDefinition) {
+            writeFieldDefinition(out, (FieldDefinition) node);
+        } else if (node instanceof InputValueDefinition) {
+            writeInputValueDefinition(out, (InputValueDefinition) node);
+        } else if (node instanceof EnumValueDefinition) {
+            EnumValueDefinition enumValueDefinition = (EnumValueDefinition) node;
+            out.writeByte(ENUM_VALUE_DEFINITION);
+            out.writeString(enumValueDefinition.getName());
+            writeDescription(out, enumValueDefinition.getDescription());
+            writeNodes(out, enumValueDefinition.getDirectives());
+        } else if (node instanceof DirectiveDefinition) {
+            writeDirectiveDefinition(out, (DirectiveDefinition) node);
+        } else if (node instanceof DirectiveLocation) {
+            out.writeByte(DIRECTIVE_LOCATION);
+            out.writeString(((DirectiveLocation) node).getName());
+        } else {
+            assertShouldNeverHappen("Unknown node %s", node.getClass().getName());
+        }
+    }
+
+    private void writeSchemaDefinition(BinaryOutput out, SchemaDefinition schemaDefinition) {
+        if (schemaDefinition instanceof SchemaExtensionDefinition) {
+            out.writeByte(SCHEMA_EXTENSION_DEFINITION);
+        } else {
+            out.writeByte(SCHEMA_DEFINITION);
+            writeDescription(out, schemaDefinition.getDescription());
+        }
+        writeNodes(out, schemaDefinition.getDirectives());
+        writeNodes(out, schemaDefinition.getOperationTypeDefinitions());
+    }
+
+    private void writeObjectTypeDefinition(BinaryOutput out, ObjectTypeDefinition objectTypeDefinition) {
+        out.writeByte(objectTypeDefinition instanceof ObjectTypeExtensionDefinition ? OBJECT_TYPE_EXTENSION_DEFINITION : OBJECT_TYPE_DEFINITION);
+        out.writeString(objectTypeDefinition.getName());
+        writeDescription(out, objectTypeDefinition.getDescription());
+        writeNodes(out, objectTypeDefinition.getImplements());
+        writeNodes(out, objectTypeDefinition.getDirectives());
+        writeNodes(out, objectTypeDefinition.getFieldDefinitions());
+    }
+
+    private void writeInterfaceTypeDefinition(BinaryOutput out, InterfaceTypeDefinition interfaceTypeDefinition) {
+        out.writeByte(interfaceTypeDefinition instanceof InterfaceTypeExtensionDefinition ? INTERFACE_TYPE_EXTENSION_DEFINITION : INTERFACE_TYPE_DEFINITION);
+        out.writeString(interfaceTypeDefinition.getName());
+        writeDescription(out, interfaceTypeDefinition.getDescription());
+        writeNodes(out, interfaceTypeDefinition.getImplements());
+        writeNodes(out, interfaceTypeDefinition.getDirectives());
+        writeNodes(out, interfaceTypeDefinition.getFieldDefinitions());
+    }
+
+    private void writeUnionTypeDefinition(BinaryOutput out, UnionTypeDefinition unionTypeDefinition) {
+        out.writeByte(unionTypeDefinition instanceof UnionTypeExtensionDefinition ? UNION_TYPE_EXTENSION_DEFINITION : UNION_TYPE_DEFINITION);
+        out.writeString(unionTypeDefinition.getName());
+        writeDescription(out, unionTypeDefinition.getDescription());
+        writeNodes(out, unionTypeDefinition.getDirectives());
+        writeNodes(out, unionTypeDefinition.getMemberTypes());
+    }
+
+    private void writeEnumTypeDefinition(BinaryOutput out, EnumTypeDefinition enumTypeDefinition) {
+        out.writeByte(enumTypeDefinition instanceof EnumTypeExtensionDefinition ? ENUM_TYPE_EXTENSION_DEFINITION : ENUM_TYPE_DEFINITION);
+        out.writeString(enumTypeDefinition.getName());
+        writeDescription(out, enumTypeDefinition.getDescription());
+        writeNodes(out, enumTypeDefinition.getEnumValueDefinitions());
+        writeNodes(out, enumTypeDefinition.getDirectives());
+    }
+
+    private void writeInputObjectTypeDefinition(BinaryOutput out, InputObjectTypeDefinition inputObjectTypeDefinition) {
+        out.writeByte(inputObjectTypeDefinition instanceof InputObjectTypeExtensionDefinition ? INPUT_OBJECT_TYPE_EXTENSION_DEFINITION : INPUT_OBJECT_TYPE_DEFINITION);
+        out.writeString(inputObjectTypeDefinition.getName());
+        writeDescription(out, inputObjectTypeDefinition.getDescription());
+        writeNodes(out, inputObjectTypeDefinition.getDirectives());
+        writeNodes(out, inputObjectTypeDefinition.getInputValueDefinitions());
+    }
+
+    private void writeFieldDefinition(BinaryOutput out, FieldDefinition fieldDefinition) {
+        out.writeByte(FIELD_DEFINITION);
+        out.writeString(fieldDefinition.getName());
+        writeNode(out, fieldDefinition.getType());
+        writeDescription(out, fieldDefinition.getDescription());
+        writeNodes(out, fieldDefinition.getInputValueDefinitions());
+        writeNodes(out, fieldDefinition.getDirectives());
+    }
+
+    private void writeInputValueDefinition(BinaryOutput out, InputValueDefinition inputValueDefinition) {
+        out.writeByte(INPUT_VALUE_DEFINITION);
+        out.writeString(inputValueDefinition.getName());
+        writeNode(out, inputValueDefinition.getType());
+        writeNode(out, inputValueDefinition.getDefaultValue());
+        writeDescription(out, inputValueDefinition.getDescription());
+        writeNodes(out, inputValueDefinition.getDirectives());
+    }
+
+    private void writeDirectiveDefinition(BinaryOutput out, DirectiveDefinition directiveDefinition) {
+        out.writeByte(DIRECTIVE_DEFINITION);
+        out.writeString(directiveDefinition.getName());
+        out.writeByte(directiveDefinition.isRepeatable() ? 1 : 0);
+        writeDescription(out, directiveDefinition.getDescription());
+        writeNodes(out, directiveDefinition.getInputValueDefinitions());
+        writeNodes(out, directiveDefinition.getDirectiveLocations());
+    }
+
+    private void writeNodes(BinaryOutput out, List<? extends Node> nodes) {
+        out.writeVarInt(nodes.size());
+        for (Node<?> node : nodes) {
+            writeNode(out, node);
+        }
+    }
+
+    private void writeDescription(BinaryOutput out, Description description) {
+        if (description == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(description.isMultiLine() ? 2 : 1);
+        out.writeString(description.getContent());
+        writeSourceLocation(out, description.getSourceLocation());
+    }
+
+    private void writeNodeData(BinaryOutput out, Node<?> node) {
+        writeSourceLocation(out, node.getSourceLocation());
+        if (options.isIncludeComments()) {
+            List<Comment> comments = node.getComments();
+            out.writeVarInt(comments.size());
+            for (Comment comment : comments) {
+                out.writeString(comment.getContent());
+                writeSourceLocation(out, comment.getSourceLocation());
+            }
+        }
+        if (options.isIncludeIgnoredChars()) {
+            IgnoredChars ignoredChars = node.getIgnoredChars();
+            writeIgnoredChars(out, ignoredChars.getLeft());
+            writeIgnoredChars(out, ignoredChars.getRight());
+        }
+        Map<String, String> additionalData = node.getAdditionalData();
+        out.writeVarInt(additionalData.size());
+        for (Map.Entry<String, String> entry : additionalData.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeString(entry.getValue());
+        }
+    }
+
+    private void writeIgnoredChars(BinaryOutput out, List<IgnoredChar> ignoredChars) {
+        out.writeVarInt(ignoredChars.size());
+        for (IgnoredChar ignoredChar : ignoredChars) {
+            out.writeString(ignoredChar.getValue());
+            out.writeByte(ignoredChar.getKind().ordinal());
+            writeSourceLocation(out, ignoredChar.getSourceLocation());
+        }
+    }
+
+    private void writeSourceLocation(BinaryOutput out, SourceLocation sourceLocation) {
+        if (!options.isIncludeSourceLocations()) {
+            return;
+        }
+        if (sourceLocation == null) {
+            out.writeByte(0);
+            return;
+        }
+        out.writeByte(1);
+        out.writeVarInt(sourceLocation.getLine());
+        out.writeVarInt(sourceLocation.getColumn());
+        out.writeString(sourceLocation.getSourceName());
+    }
+
+    private static class BinaryOutput {
+        private final Map<String, Integer> stringReferences = new HashMap<>();
+        private byte[] bytes = new byte[256];
+        private int size;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            bytes[size++] = (byte) value;
+        }
+
+        void writeInt(int value) {
+            writeByte(value >>> 24);
+            writeByte(value >>> 16);
+            writeByte(value >>> 8);
+            writeByte(value);
+        }
+
+        void writeVarInt(int value) {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            writeByte(remaining);
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarInt(NULL_STRING);
+                return;
+            }
+            Integer reference = stringReferences.get(value);
+            if (reference != null) {
+                writeVarInt(FIRST_STRING_REFERENCE + reference);
+                return;
+            }
+            stringReferences.put(value, stringReferences.size());
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(NEW_STRING);
+            writeVarInt(utf8.length);
+            ensureCapacity(utf8.length);
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Options that control what is included in the binary form
+     */
+    public static class Options {
+        private final boolean includeSourceLocations;
+        private final boolean includeComments;
+        private final boolean includeIgnoredChars;
+
+        private Options(boolean includeSourceLocations, boolean includeComments, boolean includeIgnoredChars) {
+            this.includeSourceLocations = includeSourceLocations;
+            this.includeComments = includeComments;
+            this.includeIgnoredChars = includeIgnoredChars;
+        }
+
+        /**
+         * By default everything is included so that the AST round trips without loss
+         *
+         * @return the default options
+         */
+        public static Options defaultOptions() {
+            return new Options(true, true, true);
+        }
+
+        public boolean isIncludeSourceLocations() {
+            return includeSourceLocations;
+        }
+
+        public boolean isIncludeComments() {
+            return includeComments;
+        }
+
+        public boolean isIncludeIgnoredChars() {
+            return includeIgnoredChars;
+        }
+
+        /**
+         * Source locations are used in error messages.  If they are left out then decoded nodes will have null source locations.
+         *
+         * @param flag whether to include them
+         * @return new options
+         */
+        public Options includeSourceLocations(boolean flag) {
+            return new Options(flag, includeComments, includeIgnoredChars);
+        }
+
+        /**
+         * @param flag whether to include comments
+         * @return new options
+         */
+        public Options includeComments(boolean flag) {
+            return new Options(includeSourceLocations, flag, includeIgnoredChars);
+        }
+
+        /**
+         * Ignored chars are only captured by the parser on request and are rarely needed once a document is parsed
+         *
+         * @param flag whether to include them
+         * @return new options
+         */
+        public Options includeIgnoredChars(boolean flag) {
+            return new Options(includeSourceLocations, includeComments, flag);
+        }
+
+        private int flags() {
+            int flags = 0;
+            if (includeSourceLocations) {
+                flags |= FLAG_SOURCE_LOCATIONS;
+            }
+            if (includeComments) {
+                flags |= FLAG_COMMENTS;
+            }
+            if (includeIgnoredChars) {
+                flags |= FLAG_IGNORED_CHARS;
+            }
+            return flags;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package graphql.language;
+
+import graphql.Internal;
+
+/**
+ * The constants that make up the binary AST format written by {@link AstBinaryEncoder} and read by {@link AstBinaryDecoder}
+ */
+@Internal
+public class AstBinaryFormat {
+
+    public static final int MAGIC = 0x4751_4C42;
+    public static final byte VERSION = 1;
+
+    public static final byte FLAG_SOURCE_LOCATIONS = 1;
+    public static final byte FLAG_COMMENTS = 1 << 1;
+    public static final byte FLAG_IGNORED_CHARS = 1 << 2;
+
+    public static final byte NULL_NODE = 0;
+    public static final byte DOCUMENT = 1;
+    public static final byte OPERATION_DEFINITION = 2;
+    public static final byte FRAGMENT_DEFINITION = 3;
+    public static final byte SELECTION_SET = 4;
+    public static final byte FIELD = 5;
+    public static final byte FRAGMENT_SPREAD = 6;
+    public static final byte INLINE_FRAGMENT = 7;
+    public static final byte ARGUMENT = 8;
+    public static final byte DIRECTIVE = 9;
+    public static final byte VARIABLE_DEFINITION = 10;
+    public static final byte TYPE_NAME = 11;
+    public static final byte LIST_TYPE = 12;
+    public static final byte NON_NULL_TYPE = 13;
+    public static final byte VARIABLE_REFERENCE = 14;
+    public static final byte INT_VALUE = 15;
+    public static final byte FLOAT_VALUE = 16;
+    public static final byte STRING_VALUE = 17;
+    public static final byte BOOLEAN_VALUE = 18;
+    public static final byte NULL_VALUE = 19;
+    public static final byte ENUM_VALUE = 20;
+    public static final byte ARRAY_VALUE = 21;
+    public static final byte OBJECT_VALUE = 22;
+    public static final byte OBJECT_FIELD = 23;
+    public static final byte SCHEMA_DEFINITION = 24;
+    public static final byte OPERATION_TYPE_DEFINITION = 25;
+    public static final byte SCALAR_TYPE_DEFINITION = 26;
+    public static final byte OBJECT_TYPE_DEFINITION = 27;
+    public static final byte FIELD_DEFINITION = 28;
+    public static final byte INPUT_VALUE_DEFINITION = 29;
+    public static final byte INTERFACE_TYPE_DEFINITION = 30;
+    public static final byte UNION_TYPE_DEFINITION = 31;
+    public static final byte ENUM_TYPE_DEFINITION = 32;
+    public static final byte ENUM_VALUE_DEFINITION = 33;
+    public static final byte INPUT_OBJECT_TYPE_DEFINITION = 34;
+    public static final byte DIRECTIVE_DEFINITION = 35;
+    public static final byte DIRECTIVE_LOCATION = 36;
+    public static final byte SCHEMA_EXTENSION_DEFINITION = 37;
+    public static final byte SCALAR_TYPE_EXTENSION_DEFINITION = 38;
+    public static final byte OBJECT_TYPE_EXTENSION_DEFINITION = 39;
+    public static final byte INTERFACE_TYPE_EXTENSION_DEFINITION = 40;
+    public static final byte UNION_TYPE_EXTENSION_DEFINITION = 41;
+    public static final byte ENUM_TYPE_EXTENSION_DEFINITION = 42;
+    public static final byte INPUT_OBJECT_TYPE_EXTENSION_DEFINITION = 43;
+
+    // strings are written as a varint tag - 0 is null, 1 is a new string that follows and anything else refers to an earlier string
+    public static final int NULL_STRING = 0;
+    public static final int NEW_STRING = 1;
+    public static final int FIRST_STRING_REFERENCE = 2;
+}
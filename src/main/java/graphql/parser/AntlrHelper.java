@@ -36,8 +36,10 @@ public class AntlrHelper {
         int startLine = line - 3;
         int endLine = line + 3;
         List<String> lines = multiSourceReader.getData();
+        int dataStartLine = multiSourceReader.getDataStartLine();
         for (int i = 0; i < lines.size(); i++) {
-            if (i >= startLine && i <= endLine) {
+            int overallLine = dataStartLine + i;
+            if (overallLine >= startLine && overallLine <= endLine) {
                 sb.append(lines.get(i)).append('\n');
             }
         }
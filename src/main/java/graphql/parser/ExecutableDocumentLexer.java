@@ -0,0 +1,408 @@
+package graphql.parser;
+
+import graphql.Internal;
+
+import java.util.Arrays;
+
+/**
+ * A hand written lexer for the tokens that make up graphql executable documents.  It follows the lexer rules
+ * of the ANTLR grammar so that token boundaries, lines and columns are the same as the ANTLR lexer produces.
+ * <p>
+ * All tokens, including comments and ignored characters, are kept in a set of parallel arrays rather than as token objects.
+ * If the input contains anything the grammar does not allow then {@link #tokenize()} returns false and the caller is expected
+ * to fall back to the ANTLR parser to report the error.  The same happens when the input has more than the maximum number of tokens.
+ */
+@Internal
+public class ExecutableDocumentLexer {
+
+    public static final int EOF = 0;
+    public static final int NAME = 1;
+    public static final int INT_VALUE = 2;
+    public static final int FLOAT_VALUE = 3;
+    public static final int STRING_VALUE = 4;
+    public static final int BLOCK_STRING_VALUE = 5;
+    public static final int SPREAD = 6;
+    public static final int COMMENT = 7;
+    public static final int IGNORED = 8;
+    // single character punctuators use their character as their token type
+
+    private final String input;
+    private final int length;
+    private final int maxTokens;
+
+    private int tokenCount;
+    private int[] types = new int[64];
+    private int[] starts = new int[64];
+    private int[] ends = new int[64];
+    private int[] lines = new int[64];
+    private int[] columns = new int[64];
+
+    private int significantCount;
+    private int[] significant = new int[32];
+
+    private int position;
+    private int line = 1;
+    private int columnIndex;
+    private int column;
+    private int tokenLine;
+    private int tokenColumn;
+
+    public ExecutableDocumentLexer(String input) {
+        this(input, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param input     the input to split into tokens
+     * @param maxTokens the maximum number of tokens, not counting comments and ignored chars
+     */
+    public ExecutableDocumentLexer(String input, int maxTokens) {
+        this.input = input;
+        this.length = input.length();
+        this.maxTokens = maxTokens;
+    }
+
+    /**
+     * Splits the whole input into tokens
+     *
+     * @return false if the input contains something that is not a valid token or has too many tokens
+     */
+    public boolean tokenize() {
+        while (position < length) {
+            if (!nextToken() || significantCount > maxTokens) {
+                return false;
+            }
+        }
+        startToken(length);
+        addToken(EOF, length, length);
+        return true;
+    }
+
+    private void startToken(int start) {
+        column += Character.codePointCount(input, columnIndex, start);
+        columnIndex = start;
+        tokenLine = line;
+        tokenColumn = column;
+    }
+
+    private boolean nextToken() {
+        int start = position;
+        startToken(start);
+        char c = input.charAt(position);
+        switch (c) {
+            case '!':
+            case '$':
+            case '&':
+            case '(':
+            case ')':
+            case ':':
+            case '=':
+            case '@':
+            case '[':
+            case ']':
+            case '{':
+            case '|':
+            case '}':
+                position++;
+                addToken(c, start, position);
+                return true;
+            case ' ':
+            case '\t':
+            case ',':
+            case '\r':
+            case '\uFEFF':
+            case '\u2028':
+            case '\u2029':
+                position++;
+                addToken(IGNORED, start, position);
+                return true;
+            case '\n':
+                position++;
+                addToken(IGNORED, start, position);
+                newLine(position);
+                return true;
+            case '#':
+                return comment(start);
+            case '.':
+                return spread(start);
+            case '"':
+                return string(start);
+            default:
+                if (isNameStart(c)) {
+                    return name(start);
+                }
+                if (c == '-' || isDigit(c)) {
+                    return number(start);
+                }
+                return false;
+        }
+    }
+
+    private boolean comment(int start) {
+        position++;
+        while (position < length) {
+            char c = input.charAt(position);
+            if (c != '\t' && c < ' ') {
+                break;
+            }
+            position++;
+        }
+        addToken(COMMENT, start, position);
+        return true;
+    }
+
+    private boolean spread(int start) {
+        if (!input.startsWith("...", start)) {
+            return false;
+        }
+        position += 3;
+        addToken(SPREAD, start, position);
+        return true;
+    }
+
+    private boolean name(int start) {
+        position++;
+        while (position < length && isNameContinue(input.charAt(position))) {
+            position++;
+        }
+        addToken(NAME, start, position);
+        return true;
+    }
+
+    private boolean number(int start) {
+        if (input.charAt(position) == '-') {
+            position++;
+        }
+        if (!isDigitAt(position)) {
+            return false;
+        }
+        if (input.charAt(position) == '0') {
+            position++;
+        } else {
+            skipDigits();
+        }
+        boolean isFloat = false;
+        if (position < length && input.charAt(position) == '.') {
+            position++;
+            if (!isDigitAt(position)) {
+                return false;
+            }
+            skipDigits();
+            isFloat = true;
+        }
+        if (position < length && (input.charAt(position) == 'e' || input.charAt(position) == 'E')) {
+            position++;
+            if (position < length && (input.charAt(position) == '+' || input.charAt(position) == '-')) {
+                position++;
+            }
+            if (!isDigitAt(position)) {
+                return false;
+            }
+            skipDigits();
+            isFloat = true;
+        }
+        // a number can not be directly followed by a digit, a dot or a name
+        if (position < length) {
+            char c = input.charAt(position);
+            if (isDigit(c) || c == '.' || isNameStart(c)) {
+                return false;
+            }
+        }
+        addToken(isFloat ? FLOAT_VALUE : INT_VALUE, start, position);
+        return true;
+    }
+
+    private void skipDigits() {
+        while (isDigitAt(position)) {
+            position++;
+        }
+    }
+
+    private boolean string(int start) {
+        if (input.startsWith("\"\"\"", start)) {
+            return blockString(start);
+        }
+        position++;
+        if (position < length && input.charAt(position) == '"') {
+            position++;
+            addToken(STRING_VALUE, start, position);
+            return true;
+        }
+        while (position < length) {
+            char c = input.charAt(position);
+            if (c == '"') {
+                position++;
+                addToken(STRING_VALUE, start, position);
+                return true;
+            }
+            if (c == '\\') {
+                if (!escape()) {
+                    return false;
+                }
+                continue;
+            }
+            if (c != '\t' && c < ' ') {
+                return false;
+            }
+            position++;
+        }
+        return false;
+    }
+
+    private boolean escape() {
+        position++;
+        if (position >= length) {
+            return false;
+        }
+        char c = input.charAt(position);
+        position++;
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+            case 'b':
+            case 'f':
+            case 'n':
+            case 'r':
+            case 't':
+                return true;
+            case 'u':
+                for (int i = 0; i < 4; i++, position++) {
+                    if (position >= length || Character.digit(input.charAt(position), 16) < 0) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private boolean blockString(int start) {
+        position += 3;
+        while (position < length) {
+            char c = input.charAt(position);
+            if (c == '"' && input.startsWith("\"\"\"", position)) {
+                position += 3;
+                addToken(BLOCK_STRING_VALUE, start, position);
+                return true;
+            }
+            if (c == '\\' && input.startsWith("\"\"\"", position + 1)) {
+                position += 4;
+                continue;
+            }
+            if (c != '\t' && c != '\n' && c != '\r' && c < ' ') {
+                return false;
+            }
+            position++;
+            if (c == '\n') {
+                newLine(position);
+            }
+        }
+        return false;
+    }
+
+    private void newLine(int lineStart) {
+        line++;
+        columnIndex = lineStart;
+        column = 0;
+    }
+
+    private void addToken(int type, int start, int end) {
+        if (tokenCount == types.length) {
+            int newLength = tokenCount * 2;
+            types = Arrays.copyOf(types, newLength);
+            starts = Arrays.copyOf(starts, newLength);
+            ends = Arrays.copyOf(ends, newLength);
+            lines = Arrays.copyOf(lines, newLength);
+            columns = Arrays.copyOf(columns, newLength);
+        }
+        types[tokenCount] = type;
+        starts[tokenCount] = start;
+        ends[tokenCount] = end;
+        lines[tokenCount] = tokenLine;
+        columns[tokenCount] = tokenColumn;
+        if (type != COMMENT && type != IGNORED) {
+            if (significantCount == significant.length) {
+                significant = Arrays.copyOf(significant, significantCount * 2);
+            }
+            significant[significantCount++] = tokenCount;
+        }
+        tokenCount++;
+    }
+
+    private boolean isDigitAt(int index) {
+        return index < length && isDigit(input.charAt(index));
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isNameStart(char c) {
+        return c == '_' || (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static boolean isNameContinue(char c) {
+        return isNameStart(c) || isDigit(c);
+    }
+
+    public String getInput() {
+        return input;
+    }
+
+    public int getTokenCount() {
+        return tokenCount;
+    }
+
+    public int getSignificantCount() {
+        return significantCount;
+    }
+
+    /**
+     * @param significantIndex the index amongst the tokens that are not comments or ignored chars
+     *
+     * @return the index of that token amongst all tokens
+     */
+    public int getSignificantToken(int significantIndex) {
+        return significant[significantIndex];
+    }
+
+    public int getType(int token) {
+        return types[token];
+    }
+
+    public int getStart(int token) {
+        return starts[token];
+    }
+
+    public int getEnd(int token) {
+        return ends[token];
+    }
+
+    /**
+     * @param token the token index
+     *
+     * @return the 1 based line of the token, counted the same way as ANTLR
+     */
+    public int getLine(int token) {
+        return lines[token];
+    }
+
+    /**
+     * @param token the token index
+     *
+     * @return the 0 based column of the token in code points, counted the same way as ANTLR
+     */
+    public int getColumn(int token) {
+        return columns[token];
+    }
+
+    public String getText(int token) {
+        return input.substring(starts[token], ends[token]);
+    }
+
+    public boolean textEquals(int token, String text) {
+        int start = starts[token];
+        return ends[token] - start == text.length() && input.startsWith(text, start);
+    }
+}
@@ -0,0 +1,590 @@
+package graphql.parser;
+
+import graphql.PublicApi;
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.BooleanValue;
+import graphql.language.Comment;
+import graphql.language.Definition;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.EnumValue;
+import graphql.language.Field;
+import graphql.language.FloatValue;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.IgnoredChar;
+import graphql.language.IgnoredChars;
+import graphql.language.InlineFragment;
+import graphql.language.IntValue;
+import graphql.language.ListType;
+import graphql.language.NodeBuilder;
+import graphql.language.NonNullType;
+import graphql.language.NullValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.SourceLocation;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import org.antlr.v4.runtime.CharStreams;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import static graphql.collect.ImmutableKit.emptyList;
+import static graphql.parser.ExecutableDocumentLexer.BLOCK_STRING_VALUE;
+import static graphql.parser.ExecutableDocumentLexer.COMMENT;
+import static graphql.parser.ExecutableDocumentLexer.EOF;
+import static graphql.parser.ExecutableDocumentLexer.FLOAT_VALUE;
+import static graphql.parser.ExecutableDocumentLexer.IGNORED;
+import static graphql.parser.ExecutableDocumentLexer.INT_VALUE;
+import static graphql.parser.ExecutableDocumentLexer.NAME;
+import static graphql.parser.ExecutableDocumentLexer.SPREAD;
+import static graphql.parser.ExecutableDocumentLexer.STRING_VALUE;
+import static graphql.parser.StringValueParsing.parseSingleQuotedString;
+import static graphql.parser.StringValueParsing.parseTripleQuotedString;
+
+/**
+ * A {@link Parser} that parses executable documents, that is documents made up of operations and fragments, with a
+ * hand written lexer and recursive descent parser rather than with ANTLR.  It builds the {@link graphql.language} nodes
+ * directly, without an intermediate parse tree, and so allocates far less per query.
+ * <p>
+ * The nodes produced are the same as the ANTLR based parser produces, including their source locations, comments
+ * and ignored chars.  Any document that this parser does not handle itself, such as one that contains type system
+ * definitions or one with a syntax error, is handed to the ANTLR based parser.  This means that {@link InvalidSyntaxException}s
+ * are exactly the same as those from {@link Parser}.  The same goes for documents that come close to the
+ * {@link ParserOptions#getMaxTokens()} or {@link ParserOptions#getMaxRuleDepth()} limits.
+ */
+@PublicApi
+public class ExecutableDocumentParser extends Parser {
+
+    @Override
+    public Document parseDocument(Reader reader, ParserOptions parserOptions) throws InvalidSyntaxException {
+        MultiSourceReader multiSourceReader = toMultiSourceReader(reader);
+        String input = readFully(new SafeTokenReader(multiSourceReader, parserOptions.getMaxCharacters()));
+        ExecutableDocumentLexer lexer = new ExecutableDocumentLexer(input, parserOptions.getMaxTokens());
+        if (lexer.tokenize()) {
+            Document document = new DocumentBuilder(lexer, multiSourceReader, parserOptions).parseDocument();
+            if (document != null) {
+                return document;
+            }
+        }
+        return parseDocumentImpl(CharStreams.fromString(input), multiSourceReader, parserOptions);
+    }
+
+    private static String readFully(Reader reader) {
+        StringBuilder sb = new StringBuilder();
+        char[] buffer = new char[8192];
+        try {
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                sb.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Thrown when the hand written parser can not parse the document and it should be handed to the ANTLR parser
+     */
+    private static class NotHandledException extends RuntimeException {
+        private static final NotHandledException INSTANCE = new NotHandledException();
+
+        private NotHandledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static class DocumentBuilder {
+        // the ANTLR grammar enters at most this many rules outside of the nested selection sets, values and types
+        private static final int MAX_UNNESTED_RULE_DEPTH = 16;
+        // and at most this many rules for each level of nesting
+        private static final int MAX_RULES_PER_NESTING = 3;
+
+        private final ExecutableDocumentLexer lexer;
+        private final MultiSourceReader multiSourceReader;
+        private final ParserOptions parserOptions;
+        private final SourceLocation[] sourceLocations;
+        private final IgnoredChar[] ignoredChars;
+        private final int maxNesting;
+        private int current;
+        private int nesting;
+
+        private DocumentBuilder(ExecutableDocumentLexer lexer, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+            this.lexer = lexer;
+            this.multiSourceReader = multiSourceReader;
+            this.parserOptions = parserOptions;
+            this.sourceLocations = parserOptions.isCaptureSourceLocation() ? new SourceLocation[lexer.getSignificantCount()] : null;
+            this.ignoredChars = parserOptions.isCaptureIgnoredChars() ? new IgnoredChar[lexer.getTokenCount()] : null;
+            this.maxNesting = (parserOptions.getMaxRuleDepth() - MAX_UNNESTED_RULE_DEPTH) / MAX_RULES_PER_NESTING;
+        }
+
+        private Document parseDocument() {
+            try {
+                int start = current;
+                List<Definition> definitions = new ArrayList<>();
+                do {
+                    definitions.add(parseDefinition());
+                } while (type() != EOF);
+                Document.Builder document = Document.newDocument().definitions(definitions);
+                addCommonData(document, start);
+                return document.build();
+            } catch (NotHandledException e) {
+                return null;
+            }
+        }
+
+        private Definition parseDefinition() {
+            if (type() == '{') {
+                return parseOperationDefinition(null);
+            }
+            if (type() == NAME) {
+                if (textEquals("query")) {
+                    return parseOperationDefinition(OperationDefinition.Operation.QUERY);
+                }
+                if (textEquals("mutation")) {
+                    return parseOperationDefinition(OperationDefinition.Operation.MUTATION);
+                }
+                if (textEquals("subscription")) {
+                    return parseOperationDefinition(OperationDefinition.Operation.SUBSCRIPTION);
+                }
+                if (textEquals("fragment")) {
+                    return parseFragmentDefinition();
+                }
+            }
+            // type system definitions and syntax errors are left to the ANTLR parser
+            throw NotHandledException.INSTANCE;
+        }
+
+        private OperationDefinition parseOperationDefinition(OperationDefinition.Operation operation) {
+            int start = current;
+            OperationDefinition.Builder operationDefinition = OperationDefinition.newOperationDefinition();
+            if (operation == null) {
+                operationDefinition.operation(OperationDefinition.Operation.QUERY);
+            } else {
+                operationDefinition.operation(operation);
+                current++;
+                if (type() == NAME) {
+                    operationDefinition.name(parseName());
+                }
+            }
+            operationDefinition.variableDefinitions(parseVariableDefinitions());
+            operationDefinition.directives(parseDirectives());
+            operationDefinition.selectionSet(parseSelectionSet());
+            addCommonData(operationDefinition, start);
+            return operationDefinition.build();
+        }
+
+        private FragmentDefinition parseFragmentDefinition() {
+            int start = current;
+            current++;
+            FragmentDefinition.Builder fragmentDefinition = FragmentDefinition.newFragmentDefinition();
+            fragmentDefinition.name(parseFragmentName());
+            expectKeyword("on");
+            fragmentDefinition.typeCondition(TypeName.newTypeName().name(parseName()).build());
+            fragmentDefinition.directives(parseDirectives());
+            fragmentDefinition.selectionSet(parseSelectionSet());
+            addCommonData(fragmentDefinition, start);
+            return fragmentDefinition.build();
+        }
+
+        private List<VariableDefinition> parseVariableDefinitions() {
+            if (type() != '(') {
+                return emptyList();
+            }
+            current++;
+            List<VariableDefinition> variableDefinitions = new ArrayList<>();
+            do {
+                variableDefinitions.add(parseVariableDefinition());
+            } while (type() != ')');
+            current++;
+            return variableDefinitions;
+        }
+
+        private VariableDefinition parseVariableDefinition() {
+            int start = current;
+            expect('$');
+            VariableDefinition.Builder variableDefinition = VariableDefinition.newVariableDefinition();
+            variableDefinition.name(parseName());
+            expect(':');
+            variableDefinition.type(parseType());
+            if (type() == '=') {
+                current++;
+                variableDefinition.defaultValue(parseValue(true));
+            }
+            variableDefinition.directives(parseDirectives());
+            addCommonData(variableDefinition, start);
+            return variableDefinition.build();
+        }
+
+        private SelectionSet parseSelectionSet() {
+            int start = current;
+            expect('{');
+            enterNesting();
+            List<Selection> selections = new ArrayList<>();
+            do {
+                selections.add(parseSelection());
+            } while (type() != '}');
+            current++;
+            nesting--;
+            SelectionSet.Builder selectionSet = SelectionSet.newSelectionSet().selections(selections);
+            addCommonData(selectionSet, start);
+            return selectionSet.build();
+        }
+
+        private Selection parseSelection() {
+            if (type() == SPREAD) {
+                return parseFragment();
+            }
+            return parseField();
+        }
+
+        private Field parseField() {
+            int start = current;
+            Field.Builder field = Field.newField();
+            String name = parseName();
+            if (type() == ':') {
+                current++;
+                field.alias(name);
+                name = parseName();
+            }
+            field.name(name);
+            field.arguments(parseArguments());
+            field.directives(parseDirectives());
+            if (type() == '{') {
+                field.selectionSet(parseSelectionSet());
+            }
+            addCommonData(field, start);
+            return field.build();
+        }
+
+        private Selection parseFragment() {
+            int start = current;
+            current++;
+            if (type() == NAME && !textEquals("on")) {
+                FragmentSpread.Builder fragmentSpread = FragmentSpread.newFragmentSpread().name(parseFragmentName());
+                fragmentSpread.directives(parseDirectives());
+                addCommonData(fragmentSpread, start);
+                return fragmentSpread.build();
+            }
+            InlineFragment.Builder inlineFragment = InlineFragment.newInlineFragment();
+            if (type() == NAME) {
+                current++;
+                inlineFragment.typeCondition(parseTypeName());
+            }
+            inlineFragment.directives(parseDirectives());
+            inlineFragment.selectionSet(parseSelectionSet());
+            addCommonData(inlineFragment, start);
+            return inlineFragment.build();
+        }
+
+        private List<Argument> parseArguments() {
+            if (type() != '(') {
+                return emptyList();
+            }
+            current++;
+            List<Argument> arguments = new ArrayList<>();
+            do {
+                int start = current;
+                Argument.Builder argument = Argument.newArgument().name(parseName());
+                expect(':');
+                argument.value(parseValue(false));
+                addCommonData(argument, start);
+                arguments.add(argument.build());
+            } while (type() != ')');
+            current++;
+            return arguments;
+        }
+
+        private List<Directive> parseDirectives() {
+            if (type() != '@') {
+                return emptyList();
+            }
+            List<Directive> directives = new ArrayList<>();
+            do {
+                int start = current;
+                current++;
+                Directive.Builder directive = Directive.newDirective().name(parseName());
+                directive.arguments(parseArguments());
+                addCommonData(directive, start);
+                directives.add(directive.build());
+            } while (type() == '@');
+            return directives;
+        }
+
+        private Type parseType() {
+            int start = current;
+            Type type;
+            if (type() == '[') {
+                current++;
+                enterNesting();
+                ListType.Builder listType = ListType.newListType().type(parseType());
+                expect(']');
+                nesting--;
+                addCommonData(listType, start);
+                type = listType.build();
+            } else {
+                type = parseTypeName();
+            }
+            if (type() != '!') {
+                return type;
+            }
+            current++;
+            NonNullType.Builder nonNullType = NonNullType.newNonNullType().type(type);
+            addCommonData(nonNullType, start);
+            return nonNullType.build();
+        }
+
+        private TypeName parseTypeName() {
+            int start = current;
+            TypeName.Builder typeName = TypeName.newTypeName().name(parseName());
+            addCommonData(typeName, start);
+            return typeName.build();
+        }
+
+        private Value parseValue(boolean constant) {
+            int start = current;
+            switch (type()) {
+                case '$':
+                    return parseVariableReference(constant);
+                case '[':
+                    return parseArrayValue(constant);
+                case '{':
+                    return parseObjectValue(constant);
+                case INT_VALUE:
+                    current++;
+                    return withCommonData(IntValue.newIntValue().value(new BigInteger(text(start))), start).build();
+                case FLOAT_VALUE:
+                    current++;
+                    return withCommonData(FloatValue.newFloatValue().value(new BigDecimal(text(start))), start).build();
+                case STRING_VALUE:
+                    current++;
+                    return withCommonData(StringValue.newStringValue().value(parseSingleQuotedString(text(start))), start).build();
+                case BLOCK_STRING_VALUE:
+                    current++;
+                    return withCommonData(StringValue.newStringValue().value(parseTripleQuotedString(text(start))), start).build();
+                case NAME:
+                    return parseNameValue();
+                default:
+                    throw NotHandledException.INSTANCE;
+            }
+        }
+
+        private Value parseNameValue() {
+            int start = current;
+            current++;
+            if (textEquals(start, "true") || textEquals(start, "false")) {
+                return withCommonData(BooleanValue.newBooleanValue().value(textEquals(start, "true")), start).build();
+            }
+            if (textEquals(start, "null")) {
+                return withCommonData(NullValue.newNullValue(), start).build();
+            }
+            return withCommonData(EnumValue.newEnumValue().name(text(start)), start).build();
+        }
+
+        private VariableReference parseVariableReference(boolean constant) {
+            if (constant) {
+                throw NotHandledException.INSTANCE;
+            }
+            int start = current;
+            current++;
+            VariableReference.Builder variableReference = VariableReference.newVariableReference().name(parseName());
+            return withCommonData(variableReference, start).build();
+        }
+
+        private ArrayValue parseArrayValue(boolean constant) {
+            int start = current;
+            current++;
+            enterNesting();
+            List<Value> values = new ArrayList<>();
+            while (type() != ']') {
+                values.add(parseValue(constant));
+            }
+            current++;
+            nesting--;
+            return withCommonData(ArrayValue.newArrayValue().values(values), start).build();
+        }
+
+        private ObjectValue parseObjectValue(boolean constant) {
+            int start = current;
+            current++;
+            enterNesting();
+            List<ObjectField> objectFields = new ArrayList<>();
+            while (type() != '}') {
+                String name = parseName();
+                expect(':');
+                objectFields.add(ObjectField.newObjectField().name(name).value(parseValue(constant)).build());
+            }
+            current++;
+            nesting--;
+            return withCommonData(ObjectValue.newObjectValue().objectFields(objectFields), start).build();
+        }
+
+        /**
+         * Documents that nest deep enough that the ANTLR parser may go past the maximum rule depth are handed to
+         * the ANTLR parser, so that it decides whether they are allowed
+         */
+        private void enterNesting() {
+            if (++nesting > maxNesting) {
+                throw NotHandledException.INSTANCE;
+            }
+        }
+
+        private String parseName() {
+            if (type() != NAME) {
+                throw NotHandledException.INSTANCE;
+            }
+            return text(current++);
+        }
+
+        private String parseFragmentName() {
+            if (textEquals("on")) {
+                throw NotHandledException.INSTANCE;
+            }
+            return parseName();
+        }
+
+        private void expect(int tokenType) {
+            if (type() != tokenType) {
+                throw NotHandledException.INSTANCE;
+            }
+            current++;
+        }
+
+        private void expectKeyword(String keyword) {
+            if (type() != NAME || !textEquals(keyword)) {
+                throw NotHandledException.INSTANCE;
+            }
+            current++;
+        }
+
+        private int type() {
+            return lexer.getType(lexer.getSignificantToken(current));
+        }
+
+        private boolean textEquals(String text) {
+            return textEquals(current, text);
+        }
+
+        private boolean textEquals(int significantIndex, String text) {
+            return lexer.textEquals(lexer.getSignificantToken(significantIndex), text);
+        }
+
+        private String text(int significantIndex) {
+            return lexer.getText(lexer.getSignificantToken(significantIndex));
+        }
+
+        private <B extends NodeBuilder> B withCommonData(B builder, int start) {
+            addCommonData(builder, start);
+            return builder;
+        }
+
+        /*
+         * This mirrors GraphqlAntlrToLanguage.addCommonData where the node starts at the given token and ends at
+         * the last consumed token
+         */
+        private void addCommonData(NodeBuilder builder, int start) {
+            int startToken = lexer.getSignificantToken(start);
+            int hiddenStart = start == 0 ? 0 : lexer.getSignificantToken(start - 1) + 1;
+            if (parserOptions.isCaptureLineComments()) {
+                List<Comment> comments = getComments(hiddenStart, startToken);
+                if (!comments.isEmpty()) {
+                    builder.comments(comments);
+                }
+            }
+            if (parserOptions.isCaptureSourceLocation()) {
+                builder.sourceLocation(getSourceLocation(start));
+            }
+            if (parserOptions.isCaptureIgnoredChars()) {
+                int stopToken = lexer.getSignificantToken(current - 1);
+                int hiddenEnd = lexer.getSignificantToken(current);
+                List<IgnoredChar> left = getIgnoredChars(hiddenStart, startToken);
+                List<IgnoredChar> right = getIgnoredChars(stopToken + 1, hiddenEnd);
+                builder.ignoredChars(new IgnoredChars(left, right));
+            }
+        }
+
+        private SourceLocation getSourceLocation(int significantIndex) {
+            SourceLocation sourceLocation = sourceLocations[significantIndex];
+            if (sourceLocation == null) {
+                int token = lexer.getSignificantToken(significantIndex);
+                sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, lexer.getLine(token), lexer.getColumn(token));
+                sourceLocations[significantIndex] = sourceLocation;
+            }
+            return sourceLocation;
+        }
+
+        private List<Comment> getComments(int from, int to) {
+            List<Comment> comments = null;
+            for (int token = from; token < to; token++) {
+                if (lexer.getType(token) != COMMENT) {
+                    continue;
+                }
+                if (comments == null) {
+                    comments = new ArrayList<>();
+                }
+                // the same as GraphqlAntlrToLanguage.getCommentOnChannel, including how it derives the line
+                String text = lexer.getInput().substring(lexer.getStart(token) + 1, lexer.getEnd(token));
+                MultiSourceReader.SourceAndLine sourceAndLine = multiSourceReader.getSourceAndLineFromOverallLine(lexer.getLine(token));
+                SourceLocation sourceLocation = new SourceLocation(sourceAndLine.getLine() + 1, lexer.getColumn(token), sourceAndLine.getSourceName());
+                comments.add(new Comment(text, sourceLocation));
+            }
+            return comments == null ? emptyList() : comments;
+        }
+
+        private List<IgnoredChar> getIgnoredChars(int from, int to) {
+            List<IgnoredChar> result = null;
+            for (int token = from; token < to; token++) {
+                if (lexer.getType(token) != IGNORED) {
+                    continue;
+                }
+                if (result == null) {
+                    result = new ArrayList<>();
+                }
+                result.add(getIgnoredChar(token));
+            }
+            return result == null ? emptyList() : result;
+        }
+
+        private IgnoredChar getIgnoredChar(int token) {
+            IgnoredChar ignoredChar = ignoredChars[token];
+            if (ignoredChar == null) {
+                SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, lexer.getLine(token), lexer.getColumn(token));
+                ignoredChar = new IgnoredChar(lexer.getText(token), ignoredCharKind(lexer.getInput().charAt(lexer.getStart(token))), sourceLocation);
+                ignoredChars[token] = ignoredChar;
+            }
+            return ignoredChar;
+        }
+
+        private static IgnoredChar.IgnoredCharKind ignoredCharKind(char c) {
+            switch (c) {
+                case ' ':
+                    return IgnoredChar.IgnoredCharKind.SPACE;
+                case ',':
+                    return IgnoredChar.IgnoredCharKind.COMMA;
+                case '\t':
+                    return IgnoredChar.IgnoredCharKind.TAB;
+                case '\r':
+                    return IgnoredChar.IgnoredCharKind.CR;
+                case '\n':
+                    return IgnoredChar.IgnoredCharKind.LF;
+                default:
+                    return IgnoredChar.IgnoredCharKind.OTHER;
+            }
+        }
+    }
+}
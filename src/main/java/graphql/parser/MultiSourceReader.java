@@ -17,7 +17,8 @@ import java.util.List;
  * and the relative lines numbers.
  *
  * It can also track all data in memory if you want to have all of the previous read data in
- * place at some point in time.
+ * place at some point in time.  The tracked data can be limited to the most recently read characters
+ * with {@link Builder#trackedDataLimit(int)} so that reading a large input does not hold all of it.
  */
 @PublicApi
 public class MultiSourceReader extends Reader {
@@ -27,11 +28,14 @@ public class MultiSourceReader extends Reader {
     private int currentIndex = 0;
     private int overallLineNumber = 0;
     private final boolean trackData;
+    private final int trackedDataLimit;
+    private int droppedLines = 0;
 
 
     private MultiSourceReader(Builder builder) {
         this.sourceParts = builder.sourceParts;
         this.trackData = builder.trackData;
+        this.trackedDataLimit = builder.trackedDataLimit;
     }
 
     @Override
@@ -57,9 +61,27 @@ public class MultiSourceReader extends Reader {
     private void trackData(char[] cbuf, int off, int len) {
         if (trackData) {
             data.append(cbuf, off, len);
+            // dropping only once the limit is passed twice over keeps the copying linear in the input read
+            if (data.length() > 2L * trackedDataLimit) {
+                dropTrackedData(data.length() - trackedDataLimit);
+            }
         }
     }
 
+    private void dropTrackedData(int count) {
+        // a \r\n line break is not split up, otherwise the kept \n would count as a line of its own
+        if (data.charAt(count - 1) == '\r' && data.charAt(count) == '\n') {
+            count++;
+        }
+        for (int i = 0; i < count; i++) {
+            char c = data.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == count || data.charAt(i + 1) != '\n'))) {
+                droppedLines++;
+            }
+        }
+        data.delete(0, count);
+    }
+
     private int calcLineNumber() {
         int linenumber = 0;
         for (SourcePart sourcePart : sourceParts) {
@@ -123,7 +145,9 @@ public class MultiSourceReader extends Reader {
                 int partLineNumber = currentPart.lineReader.getLineNumber();
                 previousPage = page;
                 page += partLineNumber;
-                if (page > overallLineNumber) {
+                // a part that is still being read holds the line that is being read
+                boolean stillReading = currentIndex < sourceParts.size();
+                if (page > overallLineNumber || stillReading) {
                     sourceAndLine.line = overallLineNumber - previousPage;
                 } else {
                     sourceAndLine.line = page;
@@ -180,6 +204,12 @@ public class MultiSourceReader extends Reader {
         return overallLineNumber;
     }
 
+    /**
+     * The data is made up of the lines from {@link #getDataStartLine()} onwards.  The first line can be incomplete if
+     * the data was limited with {@link Builder#trackedDataLimit(int)}.
+     *
+     * @return the tracked data as lines
+     */
     public List<String> getData() {
         LineNumberReader reader = new LineNumberReader(new StringReader(data.toString()));
         List<String> lines = new ArrayList<>();
@@ -196,6 +226,13 @@ public class MultiSourceReader extends Reader {
         }
     }
 
+    /**
+     * @return the overall line number of the first line of {@link #getData()}.  This is zeroes based like {@link java.io.LineNumberReader#getLineNumber()}
+     */
+    public int getDataStartLine() {
+        return droppedLines;
+    }
+
     @Override
     public void close() throws IOException {
         synchronized (this) {
@@ -222,6 +259,7 @@ public class MultiSourceReader extends Reader {
     public static class Builder {
         List<SourcePart> sourceParts = new ArrayList<>();
         boolean trackData = true;
+        int trackedDataLimit = Integer.MAX_VALUE / 2;
 
         private Builder() {
         }
@@ -250,6 +288,20 @@ public class MultiSourceReader extends Reader {
 
         }
 
+        /**
+         * Limits the tracked data to about the last {@code maxCharacters} characters read, which is enough for previews
+         * of errors near where the input is being read
+         *
+         * @param maxCharacters the number of characters to keep at least
+         *
+         * @return this builder
+         */
+        public Builder trackedDataLimit(int maxCharacters) {
+            Assert.assertTrue(maxCharacters > 0, () -> "The tracked data limit must be positive");
+            this.trackedDataLimit = Math.min(maxCharacters, Integer.MAX_VALUE / 2);
+            return this;
+        }
+
         public MultiSourceReader build() {
             return new MultiSourceReader(this);
         }
@@ -1,6 +1,7 @@
 package graphql.parser;
 
 import graphql.PublicApi;
+import graphql.language.Definition;
 import graphql.language.Document;
 import graphql.language.Node;
 import graphql.language.SourceLocation;
@@ -8,24 +9,46 @@ import graphql.language.Value;
 import graphql.parser.antlr.GraphqlLexer;
 import graphql.parser.antlr.GraphqlParser;
 import org.antlr.v4.runtime.BaseErrorListener;
+import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CodePointCharStream;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.CommonTokenFactory;
 import org.antlr.v4.runtime.CommonTokenStream;
 import org.antlr.v4.runtime.ParserRuleContext;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
 import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenFactory;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.TokenStream;
+import org.antlr.v4.runtime.UnbufferedCharStream;
 import org.antlr.v4.runtime.atn.PredictionMode;
+import org.antlr.v4.runtime.misc.IntervalSet;
+import org.antlr.v4.runtime.misc.Pair;
+import org.antlr.v4.runtime.tree.ErrorNode;
+import org.antlr.v4.runtime.tree.ParseTreeListener;
+import org.antlr.v4.runtime.tree.TerminalNode;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @PublicApi
 public class Parser {
 
+    /**
+     * The number of characters read last that {@link #parseDefinitions(Reader, ParserOptions, Consumer)} keeps for the
+     * previews of syntax errors
+     */
+    public static final int STREAMED_PREVIEW_CHARACTERS = 16 * 1024;
+
+    private final boolean antlrToLanguageOverridden = isAntlrToLanguageOverridden(getClass());
 
     public static Document parse(String input) {
         return new Parser().parseDocument(input);
@@ -40,20 +63,82 @@ public class Parser {
     }
 
     public Document parseDocument(String input, String sourceName) throws InvalidSyntaxException {
+        return parseDocument(input, sourceName, ParserOptions.defaultOptions());
+    }
+
+    public Document parseDocument(String input, String sourceName, ParserOptions parserOptions) throws InvalidSyntaxException {
         MultiSourceReader multiSourceReader = MultiSourceReader.newMultiSourceReader()
                 .string(input, sourceName)
                 .trackData(true)
                 .build();
-        return parseDocument(multiSourceReader);
+        return parseDocument(multiSourceReader, parserOptions);
     }
 
-    public Document parseDocument(Reader reader) {
-        BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction = (parser, toLanguage) -> {
-            GraphqlParser.DocumentContext documentContext = parser.document();
-            Document doc = toLanguage.createDocument(documentContext);
-            return new Object[]{documentContext, doc};
-        };
-        return (Document) parseImpl(reader, nodeFunction);
+    public Document parseDocument(Reader reader) throws InvalidSyntaxException {
+        return parseDocument(reader, ParserOptions.defaultOptions());
+    }
+
+    public Document parseDocument(Reader reader, ParserOptions parserOptions) throws InvalidSyntaxException {
+        return (Document) parseImpl(reader, Parser::documentNode, parserOptions);
+    }
+
+    /**
+     * Parses the definitions of a document one at a time and hands each one to the consumer as soon as it has been parsed.
+     * <p>
+     * Unlike {@link #parseDocument(Reader, ParserOptions)} the input is not read into memory in full and no {@link Document}
+     * is built, so only the definition being parsed is held in memory.  This suits very large inputs such as schema files.
+     * If the input has a syntax error then the definitions before the error will already have been handed to the consumer.
+     * <p>
+     * Only the last {@link #STREAMED_PREVIEW_CHARACTERS} characters read are kept for syntax error previews, unless a
+     * {@link MultiSourceReader} is passed in, in which case it tracks data as it was built to.
+     *
+     * @param reader             the input to parse
+     * @param parserOptions      the options to parse with
+     * @param definitionConsumer called with each definition in the order they appear in the input
+     *
+     * @throws InvalidSyntaxException if the input is not a valid document
+     */
+    public void parseDefinitions(Reader reader, ParserOptions parserOptions, Consumer<Definition> definitionConsumer) throws InvalidSyntaxException {
+        MultiSourceReader multiSourceReader = reader instanceof MultiSourceReader ? (MultiSourceReader) reader : MultiSourceReader.newMultiSourceReader()
+                .reader(reader, null)
+                .trackedDataLimit(STREAMED_PREVIEW_CHARACTERS)
+                .build();
+        UnbufferedCharStream charStream = new UnbufferedCharStream(new SafeTokenReader(multiSourceReader, parserOptions.getMaxCharacters()));
+        GraphqlLexer lexer = newLexer(charStream, multiSourceReader);
+        // the characters are not kept so the tokens need to copy their text
+        lexer.setTokenFactory(CopyTextTokenFactory.INSTANCE);
+        ReplayingTokenSource tokenSource = new ReplayingTokenSource(new SafeTokenSource(lexer, multiSourceReader, parserOptions.getMaxTokens()));
+
+        IntervalSet definitionStart = null;
+        while (true) {
+            // each definition gets its own token stream so that the tokens of the previous definitions can be let go
+            CommonTokenStream tokens = new CommonTokenStream(tokenSource);
+            GraphqlParser parser = newParser(tokens, multiSourceReader, parserOptions);
+            if (definitionStart == null) {
+                definitionStart = parser.getATN().nextTokens(parser.getATN().ruleToStartState[GraphqlParser.RULE_definition]);
+            } else if (!definitionStart.contains(tokens.LA(1))) {
+                // this is where parsing a whole document stops, so fail the same way it does
+                if (tokens.LA(1) == Token.EOF) {
+                    return;
+                }
+                throw ((ExtendedBailStrategy) parser.getErrorHandler()).mkMoreTokensException(tokens.LT(1));
+            }
+            GraphqlParser.DefinitionContext definitionContext = parser.definition();
+            // this fetches the ignored chars after the definition, which belong to it
+            tokens.LA(1);
+
+            GraphqlAntlrToLanguage toLanguage = getAntlrToLanguage(tokens, multiSourceReader, parserOptions);
+            definitionConsumer.accept(toLanguage.createDefinition(definitionContext));
+
+            List<Token> fetched = tokens.getTokens();
+            tokenSource.replay(fetched.subList(definitionContext.getStop().getTokenIndex() + 1, fetched.size()));
+        }
+    }
+
+    private static Object[] documentNode(GraphqlParser parser, GraphqlAntlrToLanguage toLanguage) {
+        GraphqlParser.DocumentContext documentContext = parser.document();
+        Document doc = toLanguage.createDocument(documentContext);
+        return new Object[]{documentContext, doc};
     }
 
     private Value<?> parseValueImpl(String input) {
@@ -66,45 +151,58 @@ public class Parser {
                 .string(input, null)
                 .trackData(true)
                 .build();
-        return (Value<?>) parseImpl(multiSourceReader, nodeFunction);
+        return (Value<?>) parseImpl(multiSourceReader, nodeFunction, ParserOptions.defaultOptions());
     }
 
-    private Node parseImpl(Reader reader, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction) throws InvalidSyntaxException {
-        MultiSourceReader multiSourceReader;
-        if (reader instanceof MultiSourceReader) {
-            multiSourceReader = (MultiSourceReader) reader;
-        } else {
-            multiSourceReader = MultiSourceReader.newMultiSourceReader()
-                    .reader(reader, null).build();
-        }
+    private Node parseImpl(Reader reader, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction, ParserOptions parserOptions) throws InvalidSyntaxException {
+        MultiSourceReader multiSourceReader = toMultiSourceReader(reader);
         CodePointCharStream charStream;
         try {
-            charStream = CharStreams.fromReader(multiSourceReader);
+            charStream = CharStreams.fromReader(new SafeTokenReader(multiSourceReader, parserOptions.getMaxCharacters()));
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
+        return parseImpl(charStream, multiSourceReader, nodeFunction, parserOptions);
+    }
 
-        GraphqlLexer lexer = new GraphqlLexer(charStream);
-        lexer.removeErrorListeners();
-        lexer.addErrorListener(new BaseErrorListener() {
-            @Override
-            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg, RecognitionException e) {
-                SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, line, charPositionInLine);
-                String preview = AntlrHelper.createPreview(multiSourceReader, line);
-                throw new InvalidSyntaxException(sourceLocation, "Invalid syntax: " + msg, preview, null, null);
-            }
-        });
+    /**
+     * Parses a document with the ANTLR parser from input that has already been read from the multi source reader
+     *
+     * @param charStream        the input that was read
+     * @param multiSourceReader the fully read source of the input, used for source locations and previews
+     * @param parserOptions     the options to parse with
+     *
+     * @return the parsed document
+     *
+     * @throws InvalidSyntaxException if the input is not a valid document
+     */
+    protected Document parseDocumentImpl(CodePointCharStream charStream, MultiSourceReader multiSourceReader, ParserOptions parserOptions) throws InvalidSyntaxException {
+        return (Document) parseImpl(charStream, multiSourceReader, Parser::documentNode, parserOptions);
+    }
+
+    /**
+     * @param reader the reader of the input
+     *
+     * @return the reader as a multi source reader, which is what source locations and previews of errors are taken from
+     */
+    protected MultiSourceReader toMultiSourceReader(Reader reader) {
+        if (reader instanceof MultiSourceReader) {
+            return (MultiSourceReader) reader;
+        }
+        return MultiSourceReader.newMultiSourceReader()
+                .reader(reader, null).build();
+    }
 
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
+    private Node parseImpl(CodePointCharStream charStream, MultiSourceReader multiSourceReader, BiFunction<GraphqlParser, GraphqlAntlrToLanguage, Object[]> nodeFunction, ParserOptions parserOptions) throws InvalidSyntaxException {
+        GraphqlLexer lexer = newLexer(charStream, multiSourceReader);
 
-        GraphqlParser parser = new GraphqlParser(tokens);
-        parser.removeErrorListeners();
-        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        // the token source and the rule depth listener stop the parse as soon as a limit is passed
+        CommonTokenStream tokens = new CommonTokenStream(new SafeTokenSource(lexer, multiSourceReader, parserOptions.getMaxTokens()));
 
-        ExtendedBailStrategy bailStrategy = new ExtendedBailStrategy(multiSourceReader);
-        parser.setErrorHandler(bailStrategy);
+        GraphqlParser parser = newParser(tokens, multiSourceReader, parserOptions);
+        ExtendedBailStrategy bailStrategy = (ExtendedBailStrategy) parser.getErrorHandler();
 
-        GraphqlAntlrToLanguage toLanguage = getAntlrToLanguage(tokens, multiSourceReader);
+        GraphqlAntlrToLanguage toLanguage = getAntlrToLanguage(tokens, multiSourceReader, parserOptions);
         Object[] contextAndNode = nodeFunction.apply(parser, toLanguage);
         ParserRuleContext parserRuleContext = (ParserRuleContext) contextAndNode[0];
         Node node = (Node) contextAndNode[1];
@@ -126,8 +224,143 @@ public class Parser {
         return node;
     }
 
+    private static GraphqlLexer newLexer(CharStream charStream, MultiSourceReader multiSourceReader) {
+        GraphqlLexer lexer = new GraphqlLexer(charStream);
+        lexer.removeErrorListeners();
+        lexer.addErrorListener(new BaseErrorListener() {
+            @Override
+            public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg, RecognitionException e) {
+                SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, line, charPositionInLine);
+                String preview = AntlrHelper.createPreview(multiSourceReader, line);
+                throw new InvalidSyntaxException(sourceLocation, "Invalid syntax: " + msg, preview, null, null);
+            }
+        });
+
+        return lexer;
+    }
+
+    private static GraphqlParser newParser(TokenStream tokens, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        GraphqlParser parser = new GraphqlParser(tokens);
+        parser.removeErrorListeners();
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new ExtendedBailStrategy(multiSourceReader));
+        parser.addParseListener(new RuleDepthListener(parser, multiSourceReader, parserOptions.getMaxRuleDepth()));
+        return parser;
+    }
+
+    /**
+     * Copies the text of tokens as they are made, except for the end of file token which keeps its usual {@code <EOF>} text
+     */
+    private static class CopyTextTokenFactory extends CommonTokenFactory {
+        private static final CopyTextTokenFactory INSTANCE = new CopyTextTokenFactory();
+
+        private CopyTextTokenFactory() {
+            super(true);
+        }
+
+        @Override
+        public CommonToken create(Pair<TokenSource, CharStream> source, int type, String text, int channel, int start, int stop, int line, int charPositionInLine) {
+            if (type == Token.EOF && text == null) {
+                text = "<EOF>";
+            }
+            return super.create(source, type, text, channel, start, stop, line, charPositionInLine);
+        }
+    }
+
+    /**
+     * Hands out the tokens that were fetched beyond the end of the previous definition before asking the lexer for more
+     */
+    private static class ReplayingTokenSource implements TokenSource {
+        private final TokenSource delegate;
+        private final Deque<Token> replay = new ArrayDeque<>();
+
+        private ReplayingTokenSource(TokenSource delegate) {
+            this.delegate = delegate;
+        }
+
+        private void replay(List<Token> tokens) {
+            replay.addAll(tokens);
+        }
+
+        @Override
+        public Token nextToken() {
+            Token token = replay.poll();
+            return token != null ? token : delegate.nextToken();
+        }
+
+        @Override
+        public int getLine() {
+            return delegate.getLine();
+        }
+
+        @Override
+        public int getCharPositionInLine() {
+            return delegate.getCharPositionInLine();
+        }
+
+        @Override
+        public CharStream getInputStream() {
+            return delegate.getInputStream();
+        }
+
+        @Override
+        public String getSourceName() {
+            return delegate.getSourceName();
+        }
+
+        @Override
+        public void setTokenFactory(TokenFactory<?> factory) {
+            delegate.setTokenFactory(factory);
+        }
+
+        @Override
+        public TokenFactory<?> getTokenFactory() {
+            return delegate.getTokenFactory();
+        }
+    }
+
+    private static class RuleDepthListener implements ParseTreeListener {
+        private final GraphqlParser parser;
+        private final MultiSourceReader multiSourceReader;
+        private final int maxRuleDepth;
+        private int depth;
+
+        private RuleDepthListener(GraphqlParser parser, MultiSourceReader multiSourceReader, int maxRuleDepth) {
+            this.parser = parser;
+            this.multiSourceReader = multiSourceReader;
+            this.maxRuleDepth = maxRuleDepth;
+        }
+
+        @Override
+        public void enterEveryRule(ParserRuleContext ctx) {
+            depth++;
+            if (depth > maxRuleDepth) {
+                Token token = parser.getCurrentToken();
+                SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, token);
+                String sourcePreview = AntlrHelper.createPreview(multiSourceReader, token.getLine());
+                throw new InvalidSyntaxException(sourceLocation,
+                        String.format("More than %d deep grammar rules have been entered. To prevent Denial Of Service attacks, parsing has been cancelled.", maxRuleDepth),
+                        sourcePreview, token.getText(), null);
+            }
+        }
+
+        @Override
+        public void exitEveryRule(ParserRuleContext ctx) {
+            depth--;
+        }
+
+        @Override
+        public void visitTerminal(TerminalNode node) {
+        }
+
+        @Override
+        public void visitErrorNode(ErrorNode node) {
+        }
+    }
+
     /**
-     * Allows you to override the ANTLR to AST code.
+     * Allows you to override the ANTLR to AST code.  The {@link #getAntlrToLanguage(CommonTokenStream, MultiSourceReader, ParserOptions)}
+     * hook delegates to this one whenever a subclass overrides it, whatever options are parsed with.
      *
      * @param tokens            the token stream
      * @param multiSourceReader the source of the query document
@@ -137,4 +370,34 @@ public class Parser {
     protected GraphqlAntlrToLanguage getAntlrToLanguage(CommonTokenStream tokens, MultiSourceReader multiSourceReader) {
         return new GraphqlAntlrToLanguage(tokens, multiSourceReader);
     }
+
+    /**
+     * Allows you to override the ANTLR to AST code.  Every parse goes through this hook.  By default it delegates to
+     * {@link #getAntlrToLanguage(CommonTokenStream, MultiSourceReader)} when that hook is overridden or the options are the
+     * {@link ParserOptions#defaultOptions()}.
+     *
+     * @param tokens            the token stream
+     * @param multiSourceReader the source of the query document
+     * @param parserOptions     the options to parse with
+     *
+     * @return a new GraphqlAntlrToLanguage instance
+     */
+    protected GraphqlAntlrToLanguage getAntlrToLanguage(CommonTokenStream tokens, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+        if (antlrToLanguageOverridden || parserOptions == ParserOptions.defaultOptions()) {
+            return getAntlrToLanguage(tokens, multiSourceReader);
+        }
+        return new GraphqlAntlrToLanguage(tokens, multiSourceReader, parserOptions);
+    }
+
+    private static boolean isAntlrToLanguageOverridden(Class<?> parserClass) {
+        for (Class<?> type = parserClass; type != Parser.class; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod("getAntlrToLanguage", CommonTokenStream.class, MultiSourceReader.class);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // keep looking in the super class
+            }
+        }
+        return false;
+    }
 }
@@ -0,0 +1,188 @@
+package graphql.parser;
+
+import graphql.PublicApi;
+
+/**
+ * Options that control how much detail the {@link Parser} captures on the nodes it creates.
+ * <p>
+ * By default everything is captured.  Code that only executes queries rarely needs the comments or ignored chars
+ * of a document, and turning off their capture means the parser allocates far less per query.  Syntax errors are
+ * always reported with their location, however if source locations are not captured then validation errors will not
+ * have a location either.
+ * <p>
+ * The options also limit how much input the parser will accept.  A query with a huge number of tokens or a deeply
+ * nested query costs memory and CPU to parse long before any instrumentation gets to see the document, so
+ * the parser stops with an {@link InvalidSyntaxException} as soon as the number of characters, the number of tokens or
+ * the depth of grammar rules goes past the configured maximum.  The {@link #defaultOptions()} have limits that suit
+ * queries while the {@link #defaultSdlOptions()} have none, since schema files can be very large and come from a trusted source.
+ * <p>
+ * Engines that parse queries, such as {@link graphql.ParseAndValidate} and hence {@link graphql.GraphQL}, can be switched to the
+ * {@link ExecutableDocumentParser} via {@link #useExecutableDocumentParser(boolean)}.
+ */
+@PublicApi
+public class ParserOptions {
+
+    /**
+     * The default maximum number of characters in a query, 1 MB
+     */
+    public static final int MAX_QUERY_CHARACTERS = 1024 * 1024;
+
+    /**
+     * The default maximum number of tokens in a query, not counting comments and ignored chars such as white space
+     */
+    public static final int MAX_QUERY_TOKENS = 15_000;
+
+    /**
+     * The default maximum depth of grammar rules in a query
+     */
+    public static final int MAX_RULE_DEPTH = 500;
+
+    private static final ParserOptions DEFAULT_OPTIONS = new ParserOptions(true, true, true,
+            MAX_QUERY_CHARACTERS, MAX_QUERY_TOKENS, MAX_RULE_DEPTH, false);
+
+    private static final ParserOptions DEFAULT_SDL_OPTIONS = new ParserOptions(true, true, true,
+            Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, false);
+
+    private final boolean captureSourceLocation;
+    private final boolean captureLineComments;
+    private final boolean captureIgnoredChars;
+    private final int maxCharacters;
+    private final int maxTokens;
+    private final int maxRuleDepth;
+    private final boolean useExecutableDocumentParser;
+
+    private ParserOptions(boolean captureSourceLocation, boolean captureLineComments, boolean captureIgnoredChars,
+                          int maxCharacters, int maxTokens, int maxRuleDepth, boolean useExecutableDocumentParser) {
+        this.captureSourceLocation = captureSourceLocation;
+        this.captureLineComments = captureLineComments;
+        this.captureIgnoredChars = captureIgnoredChars;
+        this.maxCharacters = maxCharacters;
+        this.maxTokens = maxTokens;
+        this.maxRuleDepth = maxRuleDepth;
+        this.useExecutableDocumentParser = useExecutableDocumentParser;
+    }
+
+    /**
+     * @return options that capture source locations, comments and ignored chars and that limit the size of the
+     * input to {@link #MAX_QUERY_CHARACTERS} characters, {@link #MAX_QUERY_TOKENS} tokens and {@link #MAX_RULE_DEPTH} deep
+     */
+    public static ParserOptions defaultOptions() {
+        return DEFAULT_OPTIONS;
+    }
+
+    /**
+     * @return options that capture source locations, comments and ignored chars and that do not limit the size of the input.  These
+     * are used when parsing schema definitions.
+     */
+    public static ParserOptions defaultSdlOptions() {
+        return DEFAULT_SDL_OPTIONS;
+    }
+
+    public boolean isCaptureSourceLocation() {
+        return captureSourceLocation;
+    }
+
+    public boolean isCaptureLineComments() {
+        return captureLineComments;
+    }
+
+    public boolean isCaptureIgnoredChars() {
+        return captureIgnoredChars;
+    }
+
+    public int getMaxCharacters() {
+        return maxCharacters;
+    }
+
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+
+    public int getMaxRuleDepth() {
+        return maxRuleDepth;
+    }
+
+    public boolean isUseExecutableDocumentParser() {
+        return useExecutableDocumentParser;
+    }
+
+    /**
+     * This controls whether {@link graphql.language.SourceLocation}s are captured on the nodes and descriptions
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     */
+    public ParserOptions captureSourceLocation(boolean flag) {
+        return new ParserOptions(flag, captureLineComments, captureIgnoredChars, maxCharacters, maxTokens, maxRuleDepth, useExecutableDocumentParser);
+    }
+
+    /**
+     * This controls whether # {@link graphql.language.Comment}s are captured on the nodes
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     */
+    public ParserOptions captureLineComments(boolean flag) {
+        return new ParserOptions(captureSourceLocation, flag, captureIgnoredChars, maxCharacters, maxTokens, maxRuleDepth, useExecutableDocumentParser);
+    }
+
+    /**
+     * This controls whether {@link graphql.language.IgnoredChars} such as white space and commas are captured on the nodes
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     */
+    public ParserOptions captureIgnoredChars(boolean flag) {
+        return new ParserOptions(captureSourceLocation, captureLineComments, flag, maxCharacters, maxTokens, maxRuleDepth, useExecutableDocumentParser);
+    }
+
+    /**
+     * This controls the maximum number of characters the parser will read before it gives up
+     *
+     * @param maxCharacters the maximum number of characters
+     *
+     * @return a new options object
+     */
+    public ParserOptions maxCharacters(int maxCharacters) {
+        return new ParserOptions(captureSourceLocation, captureLineComments, captureIgnoredChars, maxCharacters, maxTokens, maxRuleDepth, useExecutableDocumentParser);
+    }
+
+    /**
+     * This controls the maximum number of tokens the parser will accept before it gives up.  Comments and ignored chars
+     * such as white space are not counted, they are limited by {@link #maxCharacters(int)}
+     *
+     * @param maxTokens the maximum number of tokens
+     *
+     * @return a new options object
+     */
+    public ParserOptions maxTokens(int maxTokens) {
+        return new ParserOptions(captureSourceLocation, captureLineComments, captureIgnoredChars, maxCharacters, maxTokens, maxRuleDepth, useExecutableDocumentParser);
+    }
+
+    /**
+     * This controls how deep the grammar rules of the parser may nest before it gives up.  Each level of selection set,
+     * list or object value and list type takes a few grammar rules.
+     *
+     * @param maxRuleDepth the maximum depth of grammar rules
+     *
+     * @return a new options object
+     */
+    public ParserOptions maxRuleDepth(int maxRuleDepth) {
+        return new ParserOptions(captureSourceLocation, captureLineComments, captureIgnoredChars, maxCharacters, maxTokens, maxRuleDepth, useExecutableDocumentParser);
+    }
+
+    /**
+     * This controls whether queries are parsed with the hand written {@link ExecutableDocumentParser} rather than the ANTLR
+     * based {@link Parser} by the engine.  It produces the same documents and errors but allocates far less per query.
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     */
+    public ParserOptions useExecutableDocumentParser(boolean flag) {
+        return new ParserOptions(captureSourceLocation, captureLineComments, captureIgnoredChars, maxCharacters, maxTokens, maxRuleDepth, flag);
+    }
+}
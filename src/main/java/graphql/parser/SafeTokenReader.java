@@ -0,0 +1,42 @@
+package graphql.parser;
+
+import graphql.Internal;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A reader that stops with an {@link InvalidSyntaxException} as soon as more than a maximum number of characters
+ * have been read from it, so that a huge query is never read into memory in full.
+ */
+@Internal
+public class SafeTokenReader extends Reader {
+
+    private final Reader delegate;
+    private final int maxCharacters;
+    private int count;
+
+    public SafeTokenReader(Reader delegate, int maxCharacters) {
+        this.delegate = delegate;
+        this.maxCharacters = maxCharacters;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        int read = delegate.read(buffer, offset, length);
+        if (read > 0) {
+            count += read;
+            if (count > maxCharacters || count < 0) {
+                throw new InvalidSyntaxException(null,
+                        String.format("More than %d characters have been presented. To prevent Denial Of Service attacks, parsing has been cancelled.", maxCharacters),
+                        null, null, null);
+            }
+        }
+        return read;
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -0,0 +1,74 @@
+package graphql.parser;
+
+import graphql.Internal;
+import graphql.language.SourceLocation;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenFactory;
+import org.antlr.v4.runtime.TokenSource;
+
+/**
+ * A token source that stops with an {@link InvalidSyntaxException} as soon as the lexer has produced more than a maximum
+ * number of tokens, so that the parser never has to deal with a query that has millions of them.  Only tokens on the
+ * default channel are counted, comments and ignored chars are limited by the number of characters read.
+ */
+@Internal
+public class SafeTokenSource implements TokenSource {
+
+    private final TokenSource delegate;
+    private final MultiSourceReader multiSourceReader;
+    private final int maxTokens;
+    private int count;
+
+    public SafeTokenSource(TokenSource delegate, MultiSourceReader multiSourceReader, int maxTokens) {
+        this.delegate = delegate;
+        this.multiSourceReader = multiSourceReader;
+        this.maxTokens = maxTokens;
+    }
+
+    @Override
+    public Token nextToken() {
+        Token token = delegate.nextToken();
+        if (token.getChannel() == Token.DEFAULT_CHANNEL && token.getType() != Token.EOF) {
+            count++;
+            if (count > maxTokens) {
+                SourceLocation sourceLocation = AntlrHelper.createSourceLocation(multiSourceReader, token);
+                String sourcePreview = AntlrHelper.createPreview(multiSourceReader, token.getLine());
+                throw new InvalidSyntaxException(sourceLocation,
+                        String.format("More than %d tokens have been presented. To prevent Denial Of Service attacks, parsing has been cancelled.", maxTokens),
+                        sourcePreview, token.getText(), null);
+            }
+        }
+        return token;
+    }
+
+    @Override
+    public int getLine() {
+        return delegate.getLine();
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+        return delegate.getCharPositionInLine();
+    }
+
+    @Override
+    public CharStream getInputStream() {
+        return delegate.getInputStream();
+    }
+
+    @Override
+    public String getSourceName() {
+        return delegate.getSourceName();
+    }
+
+    @Override
+    public void setTokenFactory(TokenFactory<?> factory) {
+        delegate.setTokenFactory(factory);
+    }
+
+    @Override
+    public TokenFactory<?> getTokenFactory() {
+        return delegate.getTokenFactory();
+    }
+}
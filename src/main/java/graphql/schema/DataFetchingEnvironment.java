@@ -14,6 +14,8 @@ import graphql.language.OperationDefinition;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -244,4 +246,23 @@ public interface DataFetchingEnvironment extends IntrospectionDataFetchingEnviro
      * @return the coerced variables that have been passed to the query that is being executed
      */
     Map<String, Object> getVariables();
+
+    /**
+     * A data fetcher that calls other systems can pass its deadline on to them, so that they don't keep working on a value that
+     * is no longer waited for.
+     *
+     * @return the time by which the value of this field has to be fetched or null if there is none.  This is the deadline of
+     * the {@link graphql.ExecutionInput#getDeadline() operation} or that of the
+     * {@link GraphQLCodeRegistry#getFieldTimeout(GraphQLFieldsContainer, GraphQLFieldDefinition) field timeout}, whichever comes first.
+     */
+    default Instant getDeadline() {
+        return null;
+    }
+
+    /**
+     * @return the time left until the {@link #getDeadline() deadline}, which is negative once it has passed, or null if there is none
+     */
+    default Duration getRemainingTime() {
+        return null;
+    }
 }
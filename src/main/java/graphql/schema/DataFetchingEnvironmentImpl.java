@@ -18,6 +18,8 @@ import graphql.language.OperationDefinition;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -48,6 +50,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
     private final Document document;
     private final ImmutableMapWithNullValues<String, Object> variables;
     private final QueryDirectives queryDirectives;
+    private final Instant deadline;
 
     private DataFetchingEnvironmentImpl(Builder builder) {
         this.source = builder.source;
@@ -71,6 +74,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
         this.document = builder.document;
         this.variables = builder.variables == null ? ImmutableMapWithNullValues.emptyMap() : builder.variables;
         this.queryDirectives = builder.queryDirectives;
+        this.deadline = builder.deadline;
     }
 
     /**
@@ -234,6 +238,16 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
         return variables;
     }
 
+    @Override
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    @Override
+    public Duration getRemainingTime() {
+        return deadline == null ? null : Duration.between(Instant.now(), deadline);
+    }
+
     @Override
     public String toString() {
         return "DataFetchingEnvironmentImpl{" +
@@ -264,6 +278,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
         private ImmutableMap<String, FragmentDefinition> fragmentsByName;
         private ImmutableMapWithNullValues<String, Object> variables;
         private QueryDirectives queryDirectives;
+        private Instant deadline;
 
         public Builder(DataFetchingEnvironmentImpl env) {
             this.source = env.source;
@@ -287,6 +302,7 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
             this.document = env.document;
             this.variables = env.variables;
             this.queryDirectives = env.queryDirectives;
+            this.deadline = env.deadline;
         }
 
         public Builder() {
@@ -405,6 +421,11 @@ public class DataFetchingEnvironmentImpl implements DataFetchingEnvironment {
             return this;
         }
 
+        public Builder deadline(Instant deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
         public DataFetchingEnvironment build() {
             return new DataFetchingEnvironmentImpl(this);
         }
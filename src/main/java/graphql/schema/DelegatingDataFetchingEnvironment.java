@@ -13,6 +13,8 @@ import graphql.language.OperationDefinition;
 import org.dataloader.DataLoader;
 import org.dataloader.DataLoaderRegistry;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -148,4 +150,14 @@ public class DelegatingDataFetchingEnvironment implements DataFetchingEnvironmen
     public Map<String, Object> getVariables() {
         return delegateEnvironment.getVariables();
     }
+
+    @Override
+    public Instant getDeadline() {
+        return delegateEnvironment.getDeadline();
+    }
+
+    @Override
+    public Duration getRemainingTime() {
+        return delegateEnvironment.getRemainingTime();
+    }
 }
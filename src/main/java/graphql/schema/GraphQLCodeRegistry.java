@@ -4,6 +4,7 @@ import graphql.Assert;
 import graphql.PublicApi;
 import graphql.schema.visibility.GraphqlFieldVisibility;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -18,8 +19,8 @@ import static graphql.schema.visibility.DefaultGraphqlFieldVisibility.DEFAULT_FI
 
 /**
  * The {@link graphql.schema.GraphQLCodeRegistry} holds that execution code that is associated with graphql types, namely
- * the {@link graphql.schema.DataFetcher}s associated with fields, the {@link graphql.schema.TypeResolver}s associated with
- * abstract types and the {@link graphql.schema.visibility.GraphqlFieldVisibility}
+ * the {@link graphql.schema.DataFetcher}s associated with fields and their timeouts, the {@link graphql.schema.TypeResolver}s
+ * associated with abstract types and the {@link graphql.schema.visibility.GraphqlFieldVisibility}
  * <p>
  * For legacy reasons these code functions can still exist on the original type objects but this will be removed in a future version.  Once
  * removed the type system objects will be able have proper hashCode/equals methods and be checked for proper equality.
@@ -30,6 +31,7 @@ public class GraphQLCodeRegistry {
     private final Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap;
     private final Map<String, DataFetcherFactory<?>> systemDataFetcherMap;
     private final Map<String, TypeResolver> typeResolverMap;
+    private final Map<FieldCoordinates, Duration> fieldTimeoutMap;
     private final GraphqlFieldVisibility fieldVisibility;
     private final DataFetcherFactory<?> defaultDataFetcherFactory;
 
@@ -37,6 +39,7 @@ public class GraphQLCodeRegistry {
         this.dataFetcherMap = builder.dataFetcherMap;
         this.systemDataFetcherMap = builder.systemDataFetcherMap;
         this.typeResolverMap = builder.typeResolverMap;
+        this.fieldTimeoutMap = builder.fieldTimeoutMap;
         this.fieldVisibility = builder.fieldVisibility;
         this.defaultDataFetcherFactory = builder.defaultDataFetcherFactory;
     }
@@ -99,6 +102,21 @@ public class GraphQLCodeRegistry {
                 .build());
     }
 
+    /**
+     * Returns the time that the data fetcher of a field within a container type has to complete in
+     *
+     * @param parentType      the container type
+     * @param fieldDefinition the field definition
+     *
+     * @return the timeout of the field or null if it has none
+     */
+    public Duration getFieldTimeout(GraphQLFieldsContainer parentType, GraphQLFieldDefinition fieldDefinition) {
+        if (fieldTimeoutMap.isEmpty()) {
+            return null;
+        }
+        return fieldTimeoutMap.get(coordinates(parentType, fieldDefinition));
+    }
+
     private static boolean hasDataFetcherImpl(FieldCoordinates coords, Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap, Map<String, DataFetcherFactory<?>> systemDataFetcherMap) {
         assertNotNull(coords);
 
@@ -187,6 +205,7 @@ public class GraphQLCodeRegistry {
         private final Map<FieldCoordinates, DataFetcherFactory<?>> dataFetcherMap = new LinkedHashMap<>();
         private final Map<String, DataFetcherFactory<?>> systemDataFetcherMap = new LinkedHashMap<>();
         private final Map<String, TypeResolver> typeResolverMap = new HashMap<>();
+        private final Map<FieldCoordinates, Duration> fieldTimeoutMap = new LinkedHashMap<>();
         private GraphqlFieldVisibility fieldVisibility = DEFAULT_FIELD_VISIBILITY;
         private DataFetcherFactory<?> defaultDataFetcherFactory = env -> PropertyDataFetcher.fetching(env.getFieldDefinition().getName());
 
@@ -198,6 +217,7 @@ public class GraphQLCodeRegistry {
             this.systemDataFetcherMap.putAll(codeRegistry.systemDataFetcherMap);
             this.dataFetcherMap.putAll(codeRegistry.dataFetcherMap);
             this.typeResolverMap.putAll(codeRegistry.typeResolverMap);
+            this.fieldTimeoutMap.putAll(codeRegistry.fieldTimeoutMap);
             this.fieldVisibility = codeRegistry.fieldVisibility;
             this.defaultDataFetcherFactory = codeRegistry.defaultDataFetcherFactory;
         }
@@ -413,6 +433,23 @@ public class GraphQLCodeRegistry {
             return this;
         }
 
+        /**
+         * Sets the time that the data fetcher of the field at the specified coordinates has to complete in.  A data fetcher
+         * whose value is not there in time has its field completed with an error, see {@link graphql.execution.FieldTimeoutException}.
+         * If the operation has a deadline that comes first, that deadline is used instead.
+         *
+         * @param coordinates the field coordinates
+         * @param timeout     the timeout of the field
+         *
+         * @return this builder
+         */
+        public Builder fieldTimeout(FieldCoordinates coordinates, Duration timeout) {
+            assertNotNull(coordinates);
+            Assert.assertTrue(timeout != null && !timeout.isNegative(), () -> "the timeout of a field can't be null or negative");
+            fieldTimeoutMap.put(coordinates, timeout);
+            return this;
+        }
+
         public Builder fieldVisibility(GraphqlFieldVisibility fieldVisibility) {
             this.fieldVisibility = assertNotNull(fieldVisibility);
             return this;
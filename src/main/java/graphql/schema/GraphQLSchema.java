@@ -30,7 +30,6 @@ import static graphql.Assert.assertNotNull;
 import static graphql.Assert.assertShouldNeverHappen;
 import static graphql.Assert.assertTrue;
 import static graphql.collect.ImmutableKit.emptyList;
-import static graphql.collect.ImmutableKit.map;
 import static graphql.collect.ImmutableKit.nonNullCopyOf;
 import static graphql.schema.GraphqlTypeComparators.byNameAsc;
 import static graphql.schema.GraphqlTypeComparators.sortTypes;
@@ -64,9 +63,9 @@ public class GraphQLSchema {
 
     private final ImmutableMap<String, GraphQLNamedType> typeMap;
     private final ImmutableMap<String, ImmutableList<GraphQLObjectType>> interfaceNameToObjectTypes;
-    private final ImmutableMap<String, ImmutableList<String>> interfaceNameToObjectTypeNames;
 
     private final String description;
+    private volatile SchemaIndex schemaIndex;
 
     @Internal
     private GraphQLSchema(Builder builder, boolean afterTransform) {
@@ -92,7 +91,6 @@ public class GraphQLSchema {
         SchemaUtil schemaUtil = new SchemaUtil();
         this.typeMap = ImmutableMap.copyOf(schemaUtil.allTypes(this, additionalTypes, afterTransform));
         this.interfaceNameToObjectTypes = buildInterfacesToObjectTypes(schemaUtil.groupImplementations(this));
-        this.interfaceNameToObjectTypeNames = buildInterfacesToObjectName(interfaceNameToObjectTypes);
         this.description = builder.description;
     }
 
@@ -116,7 +114,6 @@ public class GraphQLSchema {
 
         this.typeMap = otherSchema.typeMap;
         this.interfaceNameToObjectTypes = otherSchema.interfaceNameToObjectTypes;
-        this.interfaceNameToObjectTypeNames = otherSchema.interfaceNameToObjectTypeNames;
         this.description = otherSchema.description;
     }
 
@@ -164,15 +161,6 @@ public class GraphQLSchema {
         return map.build();
     }
 
-    private ImmutableMap<String, ImmutableList<String>> buildInterfacesToObjectName(ImmutableMap<String, ImmutableList<GraphQLObjectType>> byInterface) {
-        ImmutableMap.Builder<String, ImmutableList<String>> map = ImmutableMap.builder();
-        for (Map.Entry<String, ImmutableList<GraphQLObjectType>> e : byInterface.entrySet()) {
-            ImmutableList<String> objectTypeNames = map(e.getValue(), GraphQLObjectType::getName);
-            map.put(e.getKey(), objectTypeNames);
-        }
-        return map.build();
-    }
-
     public GraphQLCodeRegistry getCodeRegistry() {
         return codeRegistry;
     }
@@ -311,15 +299,32 @@ public class GraphQLSchema {
      * @return true if possible type, false otherwise.
      */
     public boolean isPossibleType(GraphQLNamedType abstractType, GraphQLObjectType concreteType) {
-        if (abstractType instanceof GraphQLInterfaceType) {
-            ImmutableList<String> objectNames = this.interfaceNameToObjectTypeNames.getOrDefault(abstractType.getName(), emptyList());
-            return objectNames.contains(concreteType.getName());
-        } else if (abstractType instanceof GraphQLUnionType) {
-            return ((GraphQLUnionType) abstractType).isPossibleType(concreteType);
+        if (abstractType instanceof GraphQLInterfaceType || abstractType instanceof GraphQLUnionType) {
+            return getSchemaIndex().isPossibleType((GraphQLCompositeType) abstractType, concreteType);
         }
         return assertShouldNeverHappen("Unsupported abstract type %s. Abstract types supported are Union and Interface.", abstractType.getName());
     }
 
+    /**
+     * The index of this schema is built the first time it is asked for and then kept for the life of the schema
+     *
+     * @return the lookups on this schema that are worked out once
+     */
+    @Internal
+    public SchemaIndex getSchemaIndex() {
+        SchemaIndex index = schemaIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = schemaIndex;
+                if (index == null) {
+                    index = new SchemaIndex(this);
+                    schemaIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
     public GraphQLObjectType getQueryType() {
         return queryType;
     }
@@ -0,0 +1,187 @@
+package graphql.schema;
+
+import graphql.Internal;
+import graphql.schema.visibility.DefaultGraphqlFieldVisibility;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookups on a schema that are worked out once for the schema so that validating and executing queries against it
+ * does not have to walk its types again and again.
+ * <p>
+ * Each object type has a dense ordinal and the possible object types of every composite type are held as a {@link BitSet}
+ * of those ordinals, so that possible type and overlap checks are a few word operations.  The fields of every composite type,
+ * including the introspection fields that can be asked for on it, are held by type name and field name.
+ */
+@Internal
+public class SchemaIndex {
+
+    private final GraphQLSchema schema;
+    private final Map<String, Integer> objectTypeOrdinals = new HashMap<>();
+    private final Map<String, BitSet> possibleTypesByName = new HashMap<>();
+    // only present when the fields are the same for every query, which is the case with the default field visibility
+    private final Map<String, Map<String, GraphQLFieldDefinition>> fieldsByTypeName;
+
+    SchemaIndex(GraphQLSchema schema) {
+        this.schema = schema;
+        List<GraphQLNamedType> types = schema.getAllTypesAsList();
+        for (GraphQLNamedType type : types) {
+            if (type instanceof GraphQLObjectType) {
+                objectTypeOrdinals.put(type.getName(), objectTypeOrdinals.size());
+            }
+        }
+        for (GraphQLNamedType type : types) {
+            if (type instanceof GraphQLCompositeType) {
+                possibleTypesByName.put(type.getName(), buildPossibleTypes((GraphQLCompositeType) type));
+            }
+        }
+        this.fieldsByTypeName = schema.getCodeRegistry().getFieldVisibility() == DefaultGraphqlFieldVisibility.DEFAULT_FIELD_VISIBILITY
+                ? buildFields(types)
+                : null;
+    }
+
+    private BitSet buildPossibleTypes(GraphQLCompositeType type) {
+        BitSet possibleTypes = new BitSet(objectTypeOrdinals.size());
+        if (type instanceof GraphQLObjectType) {
+            setOrdinal(possibleTypes, (GraphQLObjectType) type);
+        } else if (type instanceof GraphQLInterfaceType) {
+            for (GraphQLObjectType objectType : schema.getImplementations((GraphQLInterfaceType) type)) {
+                setOrdinal(possibleTypes, objectType);
+            }
+        } else if (type instanceof GraphQLUnionType) {
+            for (GraphQLNamedOutputType memberType : ((GraphQLUnionType) type).getTypes()) {
+                if (memberType instanceof GraphQLObjectType) {
+                    setOrdinal(possibleTypes, (GraphQLObjectType) memberType);
+                }
+            }
+        }
+        return possibleTypes;
+    }
+
+    private void setOrdinal(BitSet bitSet, GraphQLObjectType objectType) {
+        Integer ordinal = objectTypeOrdinals.get(objectType.getName());
+        if (ordinal != null) {
+            bitSet.set(ordinal);
+        }
+    }
+
+    private Map<String, Map<String, GraphQLFieldDefinition>> buildFields(List<GraphQLNamedType> types) {
+        Map<String, Map<String, GraphQLFieldDefinition>> fields = new HashMap<>();
+        for (GraphQLNamedType type : types) {
+            if (!(type instanceof GraphQLCompositeType)) {
+                continue;
+            }
+            Map<String, GraphQLFieldDefinition> typeFields = new LinkedHashMap<>();
+            if (type instanceof GraphQLFieldsContainer) {
+                for (GraphQLFieldDefinition fieldDefinition : ((GraphQLFieldsContainer) type).getFieldDefinitions()) {
+                    typeFields.put(fieldDefinition.getName(), fieldDefinition);
+                }
+            }
+            // the introspection fields win over any fields of the same name, as they do when looked up one by one
+            typeFields.put(schema.getIntrospectionTypenameFieldDefinition().getName(), schema.getIntrospectionTypenameFieldDefinition());
+            if (type == schema.getQueryType()) {
+                typeFields.put(schema.getIntrospectionSchemaFieldDefinition().getName(), schema.getIntrospectionSchemaFieldDefinition());
+                typeFields.put(schema.getIntrospectionTypeFieldDefinition().getName(), schema.getIntrospectionTypeFieldDefinition());
+            }
+            fields.put(type.getName(), typeFields);
+        }
+        return fields;
+    }
+
+    /**
+     * @param objectType an object type of the schema
+     *
+     * @return the dense ordinal of the object type, or -1 if it is not a type of the schema
+     */
+    public int getOrdinal(GraphQLObjectType objectType) {
+        Integer ordinal = objectTypeOrdinals.get(objectType.getName());
+        return ordinal != null ? ordinal : -1;
+    }
+
+    /**
+     * @return the number of object types in the schema, the ordinals run from zero to one less than this
+     */
+    public int getObjectTypeCount() {
+        return objectTypeOrdinals.size();
+    }
+
+    /**
+     * @param type       a composite type
+     * @param objectType an object type
+     *
+     * @return true if an object of the object type can be of the composite type
+     */
+    public boolean isPossibleType(GraphQLCompositeType type, GraphQLObjectType objectType) {
+        int ordinal = getOrdinal(objectType);
+        if (ordinal < 0) {
+            // an object type that is not part of the schema does not implement any of its interfaces
+            if (type instanceof GraphQLUnionType) {
+                return ((GraphQLUnionType) type).isPossibleType(objectType);
+            }
+            if (type instanceof GraphQLObjectType) {
+                return type.getName().equals(objectType.getName());
+            }
+            return false;
+        }
+        return possibleTypes(type).get(ordinal);
+    }
+
+    /**
+     * @param type1 a composite type
+     * @param type2 another composite type
+     *
+     * @return true if there are objects that can be of both types
+     */
+    public boolean doTypesOverlap(GraphQLCompositeType type1, GraphQLCompositeType type2) {
+        if (type1 == type2) {
+            return true;
+        }
+        return possibleTypes(type1).intersects(possibleTypes(type2));
+    }
+
+    private BitSet possibleTypes(GraphQLCompositeType type) {
+        BitSet possibleTypes = possibleTypesByName.get(type.getName());
+        // types that are not part of the schema are worked out each time
+        return possibleTypes != null ? possibleTypes : buildPossibleTypes(type);
+    }
+
+    /**
+     * Looks up a field that can be asked for on a type, including the introspection fields, honouring the field visibility of the schema
+     *
+     * @param parentType the type the field is asked for on
+     * @param fieldName  the name of the field
+     *
+     * @return the field definition or null if there is no such field
+     */
+    public GraphQLFieldDefinition getFieldDefinition(GraphQLCompositeType parentType, String fieldName) {
+        if (fieldsByTypeName != null) {
+            Map<String, GraphQLFieldDefinition> typeFields = fieldsByTypeName.get(parentType.getName());
+            if (typeFields != null) {
+                return typeFields.get(fieldName);
+            }
+        }
+        return lookupFieldDefinition(parentType, fieldName);
+    }
+
+    private GraphQLFieldDefinition lookupFieldDefinition(GraphQLCompositeType parentType, String fieldName) {
+        if (schema.getQueryType().equals(parentType)) {
+            if (fieldName.equals(schema.getIntrospectionSchemaFieldDefinition().getName())) {
+                return schema.getIntrospectionSchemaFieldDefinition();
+            }
+            if (fieldName.equals(schema.getIntrospectionTypeFieldDefinition().getName())) {
+                return schema.getIntrospectionTypeFieldDefinition();
+            }
+        }
+        if (fieldName.equals(schema.getIntrospectionTypenameFieldDefinition().getName())) {
+            return schema.getIntrospectionTypenameFieldDefinition();
+        }
+        if (parentType instanceof GraphQLFieldsContainer) {
+            return schema.getCodeRegistry().getFieldVisibility().getFieldDefinition((GraphQLFieldsContainer) parentType, fieldName);
+        }
+        return null;
+    }
+}
@@ -7,7 +7,9 @@ import graphql.language.Definition;
 import graphql.language.Document;
 import graphql.language.SDLDefinition;
 import graphql.parser.InvalidSyntaxException;
+import graphql.parser.MultiSourceReader;
 import graphql.parser.Parser;
+import graphql.parser.ParserOptions;
 import graphql.schema.idl.errors.NonSDLDefinitionError;
 import graphql.schema.idl.errors.SchemaProblem;
 
@@ -21,7 +23,12 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
+import static graphql.collect.ImmutableKit.map;
 import static java.nio.charset.Charset.defaultCharset;
 
 /**
@@ -91,15 +98,101 @@ public class SchemaParser {
         return parseImpl(new StringReader(schemaInput));
     }
 
+    /**
+     * Parses many readers of schema definitions in parallel on the given executor and merges them into one
+     * {@link TypeDefinitionRegistry}.  The readers are merged in the order they are given, whatever order they finish
+     * parsing in, so the resulting registry and any errors are the same from run to run.
+     *
+     * @param readers  the readers to parse, each of which is closed once parsed
+     * @param executor the executor to parse the readers on
+     *
+     * @return registry of type definitions
+     *
+     * @throws SchemaProblem if there are problems compiling the schema definitions in any of the readers or in merging them
+     */
+    public TypeDefinitionRegistry parse(List<Reader> readers, Executor executor) throws SchemaProblem {
+        return parseInParallel(map(readers, reader -> () -> parse(reader)), executor);
+    }
+
+    /**
+     * Parses many files of schema definitions in parallel on the given executor and merges them into one
+     * {@link TypeDefinitionRegistry}.  The files are merged in the order they are given, whatever order they finish
+     * parsing in, so the resulting registry and any errors are the same from run to run.  The source locations of
+     * the definitions are named after the file path they came from.
+     *
+     * @param files    the files to parse
+     * @param executor the executor to parse the files on
+     *
+     * @return registry of type definitions
+     *
+     * @throws SchemaProblem if there are problems compiling the schema definitions in any of the files or in merging them
+     */
+    public TypeDefinitionRegistry parseFiles(List<File> files, Executor executor) throws SchemaProblem {
+        return parseInParallel(map(files, file -> () -> {
+            try {
+                MultiSourceReader reader = MultiSourceReader.newMultiSourceReader()
+                        .reader(Files.newBufferedReader(file.toPath(), defaultCharset()), file.getPath())
+                        .trackedDataLimit(Parser.STREAMED_PREVIEW_CHARACTERS)
+                        .build();
+                return parse(reader);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }), executor);
+    }
+
+    private TypeDefinitionRegistry parseInParallel(List<Supplier<TypeDefinitionRegistry>> parsers, Executor executor) {
+        List<CompletableFuture<TypeDefinitionRegistry>> futures = map(parsers, parser -> CompletableFuture.supplyAsync(parser, executor));
+
+        List<GraphQLError> errors = new ArrayList<>();
+        List<TypeDefinitionRegistry> registries = new ArrayList<>();
+        for (CompletableFuture<TypeDefinitionRegistry> future : futures) {
+            try {
+                registries.add(future.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof SchemaProblem) {
+                    errors.addAll(((SchemaProblem) e.getCause()).getErrors());
+                } else if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else {
+                    throw e;
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new SchemaProblem(errors);
+        }
+
+        TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
+        for (TypeDefinitionRegistry registry : registries) {
+            typeRegistry.merge(registry);
+        }
+        return typeRegistry;
+    }
+
+    /**
+     * Parses the schema definitions one at a time and adds them to the registry as they are parsed, so that
+     * the whole of a large schema input is never held in memory
+     *
+     * @param schemaInput the reader of schema definitions
+     *
+     * @return registry of type definitions
+     *
+     * @throws SchemaProblem if there are problems compiling the schema definitions
+     */
     public TypeDefinitionRegistry parseImpl(Reader schemaInput) {
+        List<GraphQLError> errors = new ArrayList<>();
+        TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
         try {
             Parser parser = new Parser();
-            Document document = parser.parseDocument(schemaInput);
-
-            return buildRegistry(document);
+            parser.parseDefinitions(schemaInput, ParserOptions.defaultSdlOptions(), definition -> addDefinition(typeRegistry, definition, errors));
         } catch (InvalidSyntaxException e) {
             throw handleParseException(e.toInvalidSyntaxError());
         }
+        if (errors.size() > 0) {
+            throw new SchemaProblem(errors);
+        }
+        return typeRegistry;
     }
 
     private SchemaProblem handleParseException(InvalidSyntaxError invalidSyntaxError) throws RuntimeException {
@@ -121,11 +214,7 @@ public class SchemaParser {
         TypeDefinitionRegistry typeRegistry = new TypeDefinitionRegistry();
         List<Definition> definitions = document.getDefinitions();
         for (Definition definition : definitions) {
-            if (definition instanceof SDLDefinition) {
-                typeRegistry.add((SDLDefinition) definition).ifPresent(errors::add);
-            } else {
-                errors.add(new NonSDLDefinitionError(definition));
-            }
+            addDefinition(typeRegistry, definition, errors);
         }
         if (errors.size() > 0) {
             throw new SchemaProblem(errors);
@@ -133,4 +222,12 @@ public class SchemaParser {
             return typeRegistry;
         }
     }
+
+    private void addDefinition(TypeDefinitionRegistry typeRegistry, Definition definition, List<GraphQLError> errors) {
+        if (definition instanceof SDLDefinition) {
+            typeRegistry.add((SDLDefinition) definition).ifPresent(errors::add);
+        } else {
+            errors.add(new NonSDLDefinitionError(definition));
+        }
+    }
 }
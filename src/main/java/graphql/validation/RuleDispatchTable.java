@@ -0,0 +1,192 @@
+package graphql.validation;
+
+
+import graphql.Internal;
+import graphql.language.Argument;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.language.SelectionSet;
+import graphql.language.TypeName;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * For each kind of node this holds the rules that have something to check on that kind of node, so that
+ * a {@link RulesVisitor} only calls the rules that are interested in a node rather than every rule for every node.
+ * <p>
+ * Whether a rule is interested in a kind of node is worked out once per rule class from which of the
+ * {@link AbstractRule} check and leave methods it overrides.
+ */
+@Internal
+public class RuleDispatchTable {
+
+    public static final int OTHER = 0;
+    public static final int DOCUMENT = 1;
+    public static final int ARGUMENT = 2;
+    public static final int TYPE_NAME = 3;
+    public static final int VARIABLE_DEFINITION = 4;
+    public static final int FIELD = 5;
+    public static final int INLINE_FRAGMENT = 6;
+    public static final int DIRECTIVE = 7;
+    public static final int FRAGMENT_SPREAD = 8;
+    public static final int FRAGMENT_DEFINITION = 9;
+    public static final int OPERATION_DEFINITION = 10;
+    public static final int VARIABLE_REFERENCE = 11;
+    public static final int SELECTION_SET = 12;
+    private static final int KIND_COUNT = 13;
+
+    private static final int ENTER = 0;
+    private static final int LEAVE = 1;
+
+    private static final Map<Class<?>, int[]> HOOKS_BY_RULE_CLASS = new ConcurrentHashMap<>();
+
+    private final List<AbstractRule> rules;
+    private final AbstractRule[][] enterRules = new AbstractRule[KIND_COUNT][];
+    private final AbstractRule[][] leaveRules = new AbstractRule[KIND_COUNT][];
+    private final int kindMask;
+
+    public RuleDispatchTable(List<AbstractRule> rules) {
+        this.rules = rules;
+        List<List<AbstractRule>> enter = new ArrayList<>();
+        List<List<AbstractRule>> leave = new ArrayList<>();
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            enter.add(new ArrayList<>());
+            leave.add(new ArrayList<>());
+        }
+        for (AbstractRule rule : rules) {
+            int[] hooks = hooksOf(rule.getClass());
+            for (int kind = 0; kind < KIND_COUNT; kind++) {
+                if ((hooks[ENTER] & (1 << kind)) != 0) {
+                    enter.get(kind).add(rule);
+                }
+                if ((hooks[LEAVE] & (1 << kind)) != 0) {
+                    leave.get(kind).add(rule);
+                }
+            }
+        }
+        int mask = 0;
+        for (int kind = 0; kind < KIND_COUNT; kind++) {
+            enterRules[kind] = enter.get(kind).toArray(new AbstractRule[0]);
+            leaveRules[kind] = leave.get(kind).toArray(new AbstractRule[0]);
+            if (enterRules[kind].length > 0 || leaveRules[kind].length > 0) {
+                mask |= 1 << kind;
+            }
+        }
+        this.kindMask = mask;
+    }
+
+    /**
+     * @return all the rules in this table
+     */
+    public List<AbstractRule> getRules() {
+        return rules;
+    }
+
+    /**
+     * @param kind the kind of node
+     *
+     * @return the rules to call when a node of that kind is entered
+     */
+    public AbstractRule[] getEnterRules(int kind) {
+        return enterRules[kind];
+    }
+
+    /**
+     * @param kind the kind of node
+     *
+     * @return the rules to call when a node of that kind is left
+     */
+    public AbstractRule[] getLeaveRules(int kind) {
+        return leaveRules[kind];
+    }
+
+    /**
+     * @param kind the kind of node
+     *
+     * @return true if any rule in this table is interested in nodes of that kind
+     */
+    public boolean isInterestedIn(int kind) {
+        return (kindMask & (1 << kind)) != 0;
+    }
+
+    /**
+     * @param node the node
+     *
+     * @return the kind of the node, one of the constants of this class
+     */
+    public static int kindOf(Node<?> node) {
+        if (node instanceof Field) {
+            return FIELD;
+        } else if (node instanceof SelectionSet) {
+            return SELECTION_SET;
+        } else if (node instanceof Argument) {
+            return ARGUMENT;
+        } else if (node instanceof VariableReference) {
+            return VARIABLE_REFERENCE;
+        } else if (node instanceof Directive) {
+            return DIRECTIVE;
+        } else if (node instanceof TypeName) {
+            return TYPE_NAME;
+        } else if (node instanceof FragmentSpread) {
+            return FRAGMENT_SPREAD;
+        } else if (node instanceof InlineFragment) {
+            return INLINE_FRAGMENT;
+        } else if (node instanceof VariableDefinition) {
+            return VARIABLE_DEFINITION;
+        } else if (node instanceof FragmentDefinition) {
+            return FRAGMENT_DEFINITION;
+        } else if (node instanceof OperationDefinition) {
+            return OPERATION_DEFINITION;
+        } else if (node instanceof Document) {
+            return DOCUMENT;
+        }
+        return OTHER;
+    }
+
+    private static int[] hooksOf(Class<?> ruleClass) {
+        return HOOKS_BY_RULE_CLASS.computeIfAbsent(ruleClass, RuleDispatchTable::findHooks);
+    }
+
+    private static int[] findHooks(Class<?> ruleClass) {
+        int enter = 0;
+        enter |= overrides(ruleClass, DOCUMENT, "checkDocument", Document.class);
+        enter |= overrides(ruleClass, ARGUMENT, "checkArgument", Argument.class);
+        enter |= overrides(ruleClass, TYPE_NAME, "checkTypeName", TypeName.class);
+        enter |= overrides(ruleClass, VARIABLE_DEFINITION, "checkVariableDefinition", VariableDefinition.class);
+        enter |= overrides(ruleClass, FIELD, "checkField", Field.class);
+        enter |= overrides(ruleClass, INLINE_FRAGMENT, "checkInlineFragment", InlineFragment.class);
+        enter |= overrides(ruleClass, DIRECTIVE, "checkDirective", Directive.class, List.class);
+        enter |= overrides(ruleClass, FRAGMENT_SPREAD, "checkFragmentSpread", FragmentSpread.class);
+        enter |= overrides(ruleClass, FRAGMENT_DEFINITION, "checkFragmentDefinition", FragmentDefinition.class);
+        enter |= overrides(ruleClass, OPERATION_DEFINITION, "checkOperationDefinition", OperationDefinition.class);
+        enter |= overrides(ruleClass, VARIABLE_REFERENCE, "checkVariable", VariableReference.class);
+        enter |= overrides(ruleClass, SELECTION_SET, "checkSelectionSet", SelectionSet.class);
+        int leave = 0;
+        leave |= overrides(ruleClass, DOCUMENT, "documentFinished", Document.class);
+        leave |= overrides(ruleClass, OPERATION_DEFINITION, "leaveOperationDefinition", OperationDefinition.class);
+        leave |= overrides(ruleClass, SELECTION_SET, "leaveSelectionSet", SelectionSet.class);
+        return new int[]{enter, leave};
+    }
+
+    private static int overrides(Class<?> ruleClass, int kind, String methodName, Class<?>... parameterTypes) {
+        try {
+            Method method = ruleClass.getMethod(methodName, parameterTypes);
+            return method.getDeclaringClass() == AbstractRule.class ? 0 : 1 << kind;
+        } catch (NoSuchMethodException e) {
+            // can't happen since AbstractRule declares the method but be safe and call the rule anyway
+            return 1 << kind;
+        }
+    }
+}
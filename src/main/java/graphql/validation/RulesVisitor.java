@@ -2,6 +2,7 @@ package graphql.validation;
 
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -24,15 +25,39 @@ import graphql.language.TypeName;
 import graphql.language.VariableDefinition;
 import graphql.language.VariableReference;
 
+import static graphql.validation.RuleDispatchTable.ARGUMENT;
+import static graphql.validation.RuleDispatchTable.DIRECTIVE;
+import static graphql.validation.RuleDispatchTable.DOCUMENT;
+import static graphql.validation.RuleDispatchTable.FIELD;
+import static graphql.validation.RuleDispatchTable.FRAGMENT_DEFINITION;
+import static graphql.validation.RuleDispatchTable.FRAGMENT_SPREAD;
+import static graphql.validation.RuleDispatchTable.INLINE_FRAGMENT;
+import static graphql.validation.RuleDispatchTable.OPERATION_DEFINITION;
+import static graphql.validation.RuleDispatchTable.SELECTION_SET;
+import static graphql.validation.RuleDispatchTable.TYPE_NAME;
+import static graphql.validation.RuleDispatchTable.VARIABLE_DEFINITION;
+import static graphql.validation.RuleDispatchTable.VARIABLE_REFERENCE;
+import static graphql.validation.RuleDispatchTable.kindOf;
+
+/**
+ * Calls the validation rules for each node of a document.  The rules interested in each kind of node are worked out
+ * up front in a {@link RuleDispatchTable} so only they are called.
+ * <p>
+ * Rules that {@link AbstractRule#isVisitFragmentSpreads() visit fragment spreads} are not called inside fragment definitions,
+ * instead the fragment is visited for them at each of its spreads inside an operation.  Which fragments hold anything these
+ * rules are interested in is worked out once per document, and only those parts of a spread fragment are visited.
+ */
 @Internal
 public class RulesVisitor implements DocumentVisitor {
 
-    private final ImmutableList<AbstractRule> rules;
     private final ValidationContext validationContext;
-    private boolean subVisitor;
-    private final List<AbstractRule> rulesVisitingFragmentSpreads = new ArrayList<>();
-    private final Map<Node, List<AbstractRule>> rulesToSkipByUntilNode = new IdentityHashMap<>();
-    private final Set<AbstractRule> rulesToSkip = new LinkedHashSet<>();
+    private final boolean subVisitor;
+    private final RuleDispatchTable allRules;
+    private final RuleDispatchTable rulesNotVisitingFragmentSpreads;
+    private final List<AbstractRule> rulesVisitingFragmentSpreads;
+    private InterestingNodes interestingNodes;
+    private RulesVisitor fragmentSpreadVisitor;
+    private Node fragmentDefinitionBeingVisited;
 
     public RulesVisitor(ValidationContext validationContext, List<AbstractRule> rules) {
         this(validationContext, rules, false);
@@ -41,186 +66,272 @@ public class RulesVisitor implements DocumentVisitor {
     public RulesVisitor(ValidationContext validationContext, List<AbstractRule> rules, boolean subVisitor) {
         this.validationContext = validationContext;
         this.subVisitor = subVisitor;
-        this.rules = ImmutableList.copyOf(rules);
-        this.subVisitor = subVisitor;
-        findRulesVisitingFragmentSpreads();
-    }
-
-    private void findRulesVisitingFragmentSpreads() {
+        this.allRules = new RuleDispatchTable(ImmutableList.copyOf(rules));
+        List<AbstractRule> visiting = new ArrayList<>();
+        List<AbstractRule> notVisiting = new ArrayList<>();
         for (AbstractRule rule : rules) {
             if (rule.isVisitFragmentSpreads()) {
-                rulesVisitingFragmentSpreads.add(rule);
+                visiting.add(rule);
+            } else {
+                notVisiting.add(rule);
             }
         }
+        this.rulesVisitingFragmentSpreads = visiting;
+        this.rulesNotVisitingFragmentSpreads = new RuleDispatchTable(notVisiting);
     }
 
     @Override
     public void enter(Node node, List<Node> ancestors) {
         validationContext.getTraversalContext().enter(node, ancestors);
-        Set<AbstractRule> tmpRulesSet = new LinkedHashSet<>(this.rules);
-        tmpRulesSet.removeAll(rulesToSkip);
-        List<AbstractRule> rulesToConsider = new ArrayList<>(tmpRulesSet);
-        if (node instanceof Document){
-            checkDocument((Document) node, rulesToConsider);
-        } else if (node instanceof Argument) {
-            checkArgument((Argument) node, rulesToConsider);
-        } else if (node instanceof TypeName) {
-            checkTypeName((TypeName) node, rulesToConsider);
-        } else if (node instanceof VariableDefinition) {
-            checkVariableDefinition((VariableDefinition) node, rulesToConsider);
-        } else if (node instanceof Field) {
-            checkField((Field) node, rulesToConsider);
-        } else if (node instanceof InlineFragment) {
-            checkInlineFragment((InlineFragment) node, rulesToConsider);
-        } else if (node instanceof Directive) {
-            checkDirective((Directive) node, ancestors, rulesToConsider);
-        } else if (node instanceof FragmentSpread) {
-            checkFragmentSpread((FragmentSpread) node, rulesToConsider, ancestors);
-        } else if (node instanceof FragmentDefinition) {
-            checkFragmentDefinition((FragmentDefinition) node, rulesToConsider);
-        } else if (node instanceof OperationDefinition) {
-            checkOperationDefinition((OperationDefinition) node, rulesToConsider);
-        } else if (node instanceof VariableReference) {
-            checkVariable((VariableReference) node, rulesToConsider);
-        } else if (node instanceof SelectionSet) {
-            checkSelectionSet((SelectionSet) node, rulesToConsider);
+        // inside a fragment definition the rules visiting fragment spreads are skipped, they see the fragment via its spreads
+        RuleDispatchTable rules = fragmentDefinitionBeingVisited != null ? rulesNotVisitingFragmentSpreads : allRules;
+        int kind = kindOf(node);
+        switch (kind) {
+            case DOCUMENT:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkDocument((Document) node);
+                }
+                break;
+            case ARGUMENT:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkArgument((Argument) node);
+                }
+                break;
+            case TYPE_NAME:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkTypeName((TypeName) node);
+                }
+                break;
+            case VARIABLE_DEFINITION:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkVariableDefinition((VariableDefinition) node);
+                }
+                break;
+            case FIELD:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkField((Field) node);
+                }
+                break;
+            case INLINE_FRAGMENT:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkInlineFragment((InlineFragment) node);
+                }
+                break;
+            case DIRECTIVE:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkDirective((Directive) node, ancestors);
+                }
+                break;
+            case FRAGMENT_SPREAD:
+                checkFragmentSpread((FragmentSpread) node, rules, ancestors);
+                break;
+            case FRAGMENT_DEFINITION:
+                checkFragmentDefinition((FragmentDefinition) node);
+                break;
+            case OPERATION_DEFINITION:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkOperationDefinition((OperationDefinition) node);
+                }
+                break;
+            case VARIABLE_REFERENCE:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkVariable((VariableReference) node);
+                }
+                break;
+            case SELECTION_SET:
+                for (AbstractRule rule : rules.getEnterRules(kind)) {
+                    rule.checkSelectionSet((SelectionSet) node);
+                }
+                break;
+            default:
+                break;
         }
     }
 
-    private void checkDocument(Document node, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkDocument(node);
-        }
-    }
-
-
-    private void checkArgument(Argument node, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkArgument(node);
+    private void checkFragmentSpread(FragmentSpread fragmentSpread, RuleDispatchTable rules, List<Node> ancestors) {
+        for (AbstractRule rule : rules.getEnterRules(FRAGMENT_SPREAD)) {
+            rule.checkFragmentSpread(fragmentSpread);
         }
-    }
-
-    private void checkTypeName(TypeName node, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkTypeName(node);
+        if (rules == rulesNotVisitingFragmentSpreads || rulesVisitingFragmentSpreads.isEmpty()) {
+            return;
         }
-    }
-
-
-    private void checkVariableDefinition(VariableDefinition variableDefinition, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkVariableDefinition(variableDefinition);
+        FragmentDefinition fragment = validationContext.getFragment(fragmentSpread.getName());
+        if (fragment != null && !ancestors.contains(fragment) && getInterestingNodes().isInteresting(fragment)) {
+            getFragmentSpreadVisitor().visitInteresting(fragment, ancestors);
         }
     }
 
-    private void checkField(Field field, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkField(field);
+    private void checkFragmentDefinition(FragmentDefinition fragmentDefinition) {
+        if (subVisitor) {
+            for (AbstractRule rule : allRules.getEnterRules(FRAGMENT_DEFINITION)) {
+                rule.checkFragmentDefinition(fragmentDefinition);
+            }
+            return;
         }
-    }
-
-    private void checkInlineFragment(InlineFragment inlineFragment, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkInlineFragment(inlineFragment);
+        fragmentDefinitionBeingVisited = fragmentDefinition;
+        for (AbstractRule rule : rulesNotVisitingFragmentSpreads.getEnterRules(FRAGMENT_DEFINITION)) {
+            rule.checkFragmentDefinition(fragmentDefinition);
         }
     }
 
-    private void checkDirective(Directive directive, List<Node> ancestors, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkDirective(directive, ancestors);
+    private InterestingNodes getInterestingNodes() {
+        if (interestingNodes == null) {
+            interestingNodes = new InterestingNodes(validationContext, new RuleDispatchTable(rulesVisitingFragmentSpreads));
         }
+        return interestingNodes;
     }
 
-    private void checkFragmentSpread(FragmentSpread fragmentSpread, List<AbstractRule> rules, List<Node> ancestors) {
-        for (AbstractRule rule : rules) {
-            rule.checkFragmentSpread(fragmentSpread);
-        }
-        List<AbstractRule> rulesVisitingFragmentSpreads = getRulesVisitingFragmentSpreads(rules);
-        if (rulesVisitingFragmentSpreads.size() > 0) {
-            FragmentDefinition fragment = validationContext.getFragment(fragmentSpread.getName());
-            if (fragment != null && !ancestors.contains(fragment)) {
-                new LanguageTraversal(ancestors).traverse(fragment, new RulesVisitor(validationContext, rulesVisitingFragmentSpreads, true));
+    private RulesVisitor getFragmentSpreadVisitor() {
+        if (fragmentSpreadVisitor == null) {
+            if (subVisitor && rulesVisitingFragmentSpreads.size() == allRules.getRules().size()) {
+                fragmentSpreadVisitor = this;
+            } else {
+                fragmentSpreadVisitor = new RulesVisitor(validationContext, rulesVisitingFragmentSpreads, true);
+                fragmentSpreadVisitor.interestingNodes = getInterestingNodes();
             }
         }
+        return fragmentSpreadVisitor;
     }
 
-    private List<AbstractRule> getRulesVisitingFragmentSpreads(List<AbstractRule> rules) {
-        List<AbstractRule> result = new ArrayList<>();
-        for (AbstractRule rule : rules) {
-            if (rule.isVisitFragmentSpreads()) result.add(rule);
+    /**
+     * Visits the node and those of its descendants that the rules are interested in, or that lead to them
+     */
+    private void visitInteresting(Node<?> node, List<Node> path) {
+        enter(node, path);
+        path.add(node);
+        for (Node child : node.getChildren()) {
+            if (child != null && interestingNodes.isInteresting(child)) {
+                visitInteresting(child, path);
+            }
         }
-        return result;
+        path.remove(path.size() - 1);
+        leave(node, path);
     }
 
+    @Override
+    public void leave(Node node, List<Node> ancestors) {
+        validationContext.getTraversalContext().leave(node, ancestors);
 
-    private void checkFragmentDefinition(FragmentDefinition fragmentDefinition, List<AbstractRule> rules) {
-        if (!subVisitor) {
-            rulesToSkipByUntilNode.put(fragmentDefinition, new ArrayList<>(rulesVisitingFragmentSpreads));
-            rulesToSkip.addAll(rulesVisitingFragmentSpreads);
-        }
-
-
-        for (AbstractRule rule : rules) {
-            if (!subVisitor && (rule.isVisitFragmentSpreads())) continue;
-            rule.checkFragmentDefinition(fragmentDefinition);
+        int kind = kindOf(node);
+        switch (kind) {
+            case DOCUMENT:
+                for (AbstractRule rule : allRules.getLeaveRules(kind)) {
+                    rule.documentFinished((Document) node);
+                }
+                break;
+            case OPERATION_DEFINITION:
+                for (AbstractRule rule : allRules.getLeaveRules(kind)) {
+                    rule.leaveOperationDefinition((OperationDefinition) node);
+                }
+                break;
+            case SELECTION_SET:
+                for (AbstractRule rule : allRules.getLeaveRules(kind)) {
+                    rule.leaveSelectionSet((SelectionSet) node);
+                }
+                break;
+            default:
+                break;
         }
 
-    }
-
-    private void checkOperationDefinition(OperationDefinition operationDefinition, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkOperationDefinition(operationDefinition);
+        if (node == fragmentDefinitionBeingVisited) {
+            fragmentDefinitionBeingVisited = null;
         }
     }
 
-    private void checkSelectionSet(SelectionSet selectionSet, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkSelectionSet(selectionSet);
+    /**
+     * Works out, at most once per node, whether a node or any of its descendants, following fragment spreads, is of
+     * a kind that the rules visiting fragment spreads are interested in
+     */
+    private static class InterestingNodes {
+        private final ValidationContext validationContext;
+        private final RuleDispatchTable rules;
+        private final Map<Node, Boolean> interestingNodes = new IdentityHashMap<>();
+        private final Map<FragmentDefinition, Boolean> interestingFragments = new IdentityHashMap<>();
+        private final Map<FragmentDefinition, FragmentContents> fragmentContents = new IdentityHashMap<>();
+
+        private InterestingNodes(ValidationContext validationContext, RuleDispatchTable rules) {
+            this.validationContext = validationContext;
+            this.rules = rules;
         }
-    }
 
-    private void checkVariable(VariableReference variableReference, List<AbstractRule> rules) {
-        for (AbstractRule rule : rules) {
-            rule.checkVariable(variableReference);
+        private boolean isInteresting(Node<?> node) {
+            Boolean interesting = interestingNodes.get(node);
+            if (interesting == null) {
+                interesting = computeInteresting(node);
+                interestingNodes.put(node, interesting);
+            }
+            return interesting;
         }
-    }
-
-
-    @Override
-    public void leave(Node node, List<Node> ancestors) {
-        validationContext.getTraversalContext().leave(node, ancestors);
 
-        if (node instanceof Document) {
-            documentFinished((Document) node);
-        } else if (node instanceof OperationDefinition) {
-            leaveOperationDefinition((OperationDefinition) node);
-        } else if (node instanceof SelectionSet) {
-            leaveSelectionSet((SelectionSet) node);
+        private boolean computeInteresting(Node<?> node) {
+            int kind = kindOf(node);
+            if (rules.isInterestedIn(kind)) {
+                return true;
+            }
+            if (kind == FRAGMENT_SPREAD) {
+                FragmentDefinition fragment = validationContext.getFragment(((FragmentSpread) node).getName());
+                return fragment != null && isInterestingFragment(fragment);
+            }
+            for (Node child : node.getChildren()) {
+                if (child != null && isInteresting(child)) {
+                    return true;
+                }
+            }
+            return false;
         }
 
-        if (rulesToSkipByUntilNode.containsKey(node)) {
-            rulesToSkip.removeAll(rulesToSkipByUntilNode.get(node));
-            rulesToSkipByUntilNode.remove(node);
+        private boolean isInterestingFragment(FragmentDefinition fragment) {
+            Boolean interesting = interestingFragments.get(fragment);
+            if (interesting == null) {
+                // fragments can spread each other in cycles so follow the spreads breadth first rather than recursively
+                interesting = false;
+                Set<FragmentDefinition> seen = new HashSet<>();
+                List<FragmentDefinition> toVisit = new ArrayList<>();
+                toVisit.add(fragment);
+                seen.add(fragment);
+                for (int i = 0; i < toVisit.size() && !interesting; i++) {
+                    FragmentContents contents = getFragmentContents(toVisit.get(i));
+                    interesting = contents.containsInterestingKind;
+                    for (String spreadName : contents.fragmentSpreads) {
+                        FragmentDefinition spread = validationContext.getFragment(spreadName);
+                        if (spread != null && seen.add(spread)) {
+                            toVisit.add(spread);
+                        }
+                    }
+                }
+                interestingFragments.put(fragment, interesting);
+            }
+            return interesting;
         }
 
-
-    }
-
-    private void leaveSelectionSet(SelectionSet selectionSet) {
-        for (AbstractRule rule : rules) {
-            rule.leaveSelectionSet(selectionSet);
+        private FragmentContents getFragmentContents(FragmentDefinition fragment) {
+            FragmentContents contents = fragmentContents.get(fragment);
+            if (contents == null) {
+                contents = new FragmentContents();
+                collectContents(fragment, contents);
+                fragmentContents.put(fragment, contents);
+            }
+            return contents;
         }
-    }
 
-    private void leaveOperationDefinition(OperationDefinition operationDefinition) {
-        for (AbstractRule rule : rules) {
-            rule.leaveOperationDefinition(operationDefinition);
+        private void collectContents(Node<?> node, FragmentContents contents) {
+            int kind = kindOf(node);
+            if (rules.isInterestedIn(kind)) {
+                contents.containsInterestingKind = true;
+            }
+            if (kind == FRAGMENT_SPREAD) {
+                contents.fragmentSpreads.add(((FragmentSpread) node).getName());
+            }
+            for (Node child : node.getChildren()) {
+                if (child != null) {
+                    collectContents(child, contents);
+                }
+            }
         }
     }
 
-    private void documentFinished(Document document) {
-        for (AbstractRule rule : rules) {
-            rule.documentFinished(document);
-        }
+    private static class FragmentContents {
+        private boolean containsInterestingKind;
+        private final Set<String> fragmentSpreads = new LinkedHashSet<>();
     }
 }
@@ -21,17 +21,13 @@ import graphql.schema.GraphQLArgument;
 import graphql.schema.GraphQLCompositeType;
 import graphql.schema.GraphQLDirective;
 import graphql.schema.GraphQLFieldDefinition;
-import graphql.schema.GraphQLFieldsContainer;
 import graphql.schema.GraphQLInputObjectField;
 import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLInputType;
-import graphql.schema.GraphQLInterfaceType;
 import graphql.schema.GraphQLNullableType;
-import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
-import graphql.schema.GraphQLUnionType;
 import graphql.schema.GraphQLUnmodifiedType;
 
 import java.util.ArrayList;
@@ -98,7 +94,7 @@ public class TraversalContext implements DocumentVisitor {
         GraphQLCompositeType parentType = getParentType();
         GraphQLFieldDefinition fieldDefinition = null;
         if (parentType != null) {
-            fieldDefinition = getFieldDef(schema, parentType, field);
+            fieldDefinition = schema.getSchemaIndex().getFieldDefinition(parentType, field.getName());
         }
         addFieldDef(fieldDefinition);
         addOutputType(fieldDefinition != null ? fieldDefinition.getType() : null);
@@ -296,26 +292,4 @@ public class TraversalContext implements DocumentVisitor {
     public GraphQLArgument getArgument() {
         return argument;
     }
-
-
-    private GraphQLFieldDefinition getFieldDef(GraphQLSchema schema, GraphQLType parentType, Field field) {
-        if (schema.getQueryType().equals(parentType)) {
-            if (field.getName().equals(schema.getIntrospectionSchemaFieldDefinition().getName())) {
-                return schema.getIntrospectionSchemaFieldDefinition();
-            }
-            if (field.getName().equals(schema.getIntrospectionTypeFieldDefinition().getName())) {
-                return schema.getIntrospectionTypeFieldDefinition();
-            }
-        }
-        if (field.getName().equals(schema.getIntrospectionTypenameFieldDefinition().getName())
-                && (parentType instanceof GraphQLObjectType ||
-                parentType instanceof GraphQLInterfaceType ||
-                parentType instanceof GraphQLUnionType)) {
-            return schema.getIntrospectionTypenameFieldDefinition();
-        }
-        if (parentType instanceof GraphQLFieldsContainer) {
-            return schema.getFieldVisibility().getFieldDefinition((GraphQLFieldsContainer) parentType, field.getName());
-        }
-        return null;
-    }
 }
@@ -0,0 +1,233 @@
+package graphql.validation;
+
+import graphql.PublicApi;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * A bounded cache of the documents that have been found to be valid against a schema, so that validating them again can be skipped.
+ * <p>
+ * Documents are keyed on their compactly printed form, so documents that differ only in white space or comments share an
+ * entry.  The key is worked out once per document instance, so validating a document that is held on to, for example
+ * in a {@link graphql.execution.preparsed.PreparsedDocumentProvider}, again does not print it again.  Literal values are part of the key
+ * since whether a document is valid can depend on them, for example an argument value of the wrong type, so use variables
+ * rather than literals in queries to make the most of the cache.
+ * <p>
+ * Only valid documents are cached, invalid documents are validated each time so that their errors point at the right places
+ * in the document.  The cache holds entries for one schema instance at a time and is cleared when it is used with a
+ * different schema instance.  The least recently used entries are evicted once the cache is full.
+ * <p>
+ * The cache is safe to share between threads.
+ */
+@PublicApi
+public class ValidationCache {
+
+    /**
+     * The default maximum number of documents that are cached
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    private final int maxEntries;
+    private final Map<String, Boolean> validDocuments;
+    // documents don't override equals so this is keyed on the document instances
+    private final Map<Document, String> documentKeys = Collections.synchronizedMap(new WeakHashMap<>());
+    private GraphQLSchema schema;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long invalidationCount;
+
+    private ValidationCache(int maxEntries) {
+        assertTrue(maxEntries > 0, () -> "maxEntries must be greater than zero");
+        this.maxEntries = maxEntries;
+        this.validDocuments = new LinkedHashMap<String, Boolean>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                if (size() > ValidationCache.this.maxEntries) {
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return a new cache holding at most {@link #DEFAULT_MAX_ENTRIES} documents
+     */
+    public static ValidationCache newValidationCache() {
+        return new ValidationCache(DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param maxEntries the maximum number of documents to cache
+     *
+     * @return a new cache holding at most that many documents
+     */
+    public static ValidationCache newValidationCache(int maxEntries) {
+        return new ValidationCache(maxEntries);
+    }
+
+    /**
+     * Returns no errors if the document is already known to be valid against the schema, otherwise it is validated and
+     * remembered if it is valid.
+     *
+     * @param schema     the schema to validate against
+     * @param document   the document to validate
+     * @param validation the code that validates the document
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validate(GraphQLSchema schema, Document document, Supplier<List<ValidationError>> validation) {
+        return validate(schema, document, ValidationOptions.defaultOptions(), validation);
+    }
+
+    /**
+     * Returns no errors if the document is already known to be valid against the schema with the rules the options enable,
+     * otherwise it is validated and remembered if it is valid.
+     *
+     * @param schema            the schema to validate against
+     * @param document          the document to validate
+     * @param validationOptions the options the document is validated with
+     * @param validation        the code that validates the document
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validate(GraphQLSchema schema, Document document, ValidationOptions validationOptions, Supplier<List<ValidationError>> validation) {
+        assertNotNull(schema, () -> "schema must not be null");
+        assertNotNull(document, () -> "document must not be null");
+        // a document that is valid with some of the rules may not be valid with all of them
+        String key = ruleSelection(validationOptions) + documentKey(document);
+        if (isKnownValid(schema, key)) {
+            return Collections.emptyList();
+        }
+        List<ValidationError> errors = validation.get();
+        if (errors.isEmpty()) {
+            rememberValid(schema, key);
+        }
+        return errors;
+    }
+
+    private String documentKey(Document document) {
+        String key = documentKeys.get(document);
+        if (key == null) {
+            // printed outside of the lock so that other threads are not held up by a large document
+            key = AstPrinter.printAstCompact(document);
+            documentKeys.put(document, key);
+        }
+        return key;
+    }
+
+    private static String ruleSelection(ValidationOptions validationOptions) {
+        if (validationOptions.isEveryRuleEnabled()) {
+            return "";
+        }
+        return "allow" + ruleNames(validationOptions.getAllowedRules()) + "deny" + ruleNames(validationOptions.getDeniedRules()) + ":";
+    }
+
+    private static List<String> ruleNames(Set<Class<? extends AbstractRule>> ruleClasses) {
+        List<String> names = new ArrayList<>();
+        for (Class<? extends AbstractRule> ruleClass : ruleClasses) {
+            names.add(ruleClass.getName());
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private synchronized boolean isKnownValid(GraphQLSchema schema, String key) {
+        if (this.schema != schema) {
+            if (this.schema != null) {
+                invalidate();
+            }
+            this.schema = schema;
+        }
+        if (validDocuments.get(key) != null) {
+            hitCount++;
+            return true;
+        }
+        missCount++;
+        return false;
+    }
+
+    private synchronized void rememberValid(GraphQLSchema schema, String key) {
+        // the schema may have changed while the document was being validated
+        if (this.schema == schema) {
+            validDocuments.put(key, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Removes all the documents from the cache
+     */
+    public synchronized void invalidate() {
+        validDocuments.clear();
+        invalidationCount++;
+    }
+
+    /**
+     * @return the maximum number of documents this cache holds
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of documents in the cache
+     */
+    public synchronized int size() {
+        return validDocuments.size();
+    }
+
+    /**
+     * @return the number of times validation was skipped because the document was in the cache
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of times a document was validated because it was not in the cache
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of documents removed to make room for others
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return the number of times the cache was cleared, either by calling {@link #invalidate()} or because a different schema was used
+     */
+    public synchronized long getInvalidationCount() {
+        return invalidationCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "ValidationCache{" +
+                "size=" + validDocuments.size() +
+                ", maxEntries=" + maxEntries +
+                ", hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", invalidationCount=" + invalidationCount +
+                '}';
+    }
+}
@@ -24,16 +24,31 @@ public class ValidationContext {
     private final Document document;
 
     private final TraversalContext traversalContext;
-    private final Map<String, FragmentDefinition> fragmentDefinitionMap = new LinkedHashMap<>();
+    private final Map<String, FragmentDefinition> fragmentDefinitionMap;
 
 
     public ValidationContext(GraphQLSchema schema, Document document) {
         this.schema = schema;
         this.document = document;
         this.traversalContext = new TraversalContext(schema);
+        this.fragmentDefinitionMap = new LinkedHashMap<>();
         buildFragmentMap();
     }
 
+    /**
+     * A fresh context over the same document as another, sharing its fragments, so that part of
+     * the document can be traversed on its own
+     *
+     * @param validationContext the context to take the schema, document and fragments from
+     */
+    @Internal
+    public ValidationContext(ValidationContext validationContext) {
+        this.schema = validationContext.schema;
+        this.document = validationContext.document;
+        this.traversalContext = new TraversalContext(schema);
+        this.fragmentDefinitionMap = validationContext.fragmentDefinitionMap;
+    }
+
     private void buildFragmentMap() {
         for (Definition definition : document.getDefinitions()) {
             if (!(definition instanceof FragmentDefinition)) continue;
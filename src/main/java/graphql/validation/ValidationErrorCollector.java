@@ -10,9 +10,24 @@ import java.util.List;
 public class ValidationErrorCollector {
 
     private final List<ValidationError> errors = new ArrayList<>();
+    private final int maxErrors;
+
+    public ValidationErrorCollector() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxErrors the number of errors after which {@link MaxValidationErrorsReached} is thrown to stop validation
+     */
+    public ValidationErrorCollector(int maxErrors) {
+        this.maxErrors = maxErrors;
+    }
 
     public void addError(ValidationError validationError) {
         this.errors.add(validationError);
+        if (errors.size() >= maxErrors) {
+            throw new MaxValidationErrorsReached();
+        }
     }
 
     public List<ValidationError> getErrors() {
@@ -32,6 +47,16 @@ public class ValidationErrorCollector {
         return false;
     }
 
+    /**
+     * Thrown out of the rules and the traversal once the maximum number of errors has been collected
+     */
+    @Internal
+    public static class MaxValidationErrorsReached extends RuntimeException {
+        MaxValidationErrorsReached() {
+            super("The maximum number of validation errors has been reached", null, false, false);
+        }
+    }
+
     @Override
     public String toString() {
         return "ValidationErrorCollector{" +
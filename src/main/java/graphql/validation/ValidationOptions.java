@@ -0,0 +1,132 @@
+package graphql.validation;
+
+import com.google.common.collect.ImmutableSet;
+import graphql.PublicApi;
+
+import java.util.Collection;
+import java.util.Set;
+
+import static graphql.Assert.assertNotNull;
+import static graphql.Assert.assertTrue;
+
+/**
+ * Options that control how much work the {@link Validator} does on a document.
+ * <p>
+ * By default every rule is run over the whole document and every error is reported.  A hostile document can be made to
+ * have a huge number of errors, so the number of errors can be capped, and validation stops as soon as the cap is reached.
+ * Documents from a trusted source, such as persisted queries that were fully validated when they were stored, can be
+ * validated with a cheaper subset of the rules by allowing or denying rules.
+ */
+@PublicApi
+public class ValidationOptions {
+
+    private static final ValidationOptions DEFAULT_OPTIONS = new ValidationOptions(Integer.MAX_VALUE, false, ImmutableSet.of(), ImmutableSet.of());
+
+    private final int maxErrors;
+    private final boolean abortOnFirstError;
+    private final Set<Class<? extends AbstractRule>> allowedRules;
+    private final Set<Class<? extends AbstractRule>> deniedRules;
+
+    private ValidationOptions(int maxErrors, boolean abortOnFirstError, Set<Class<? extends AbstractRule>> allowedRules, Set<Class<? extends AbstractRule>> deniedRules) {
+        this.maxErrors = maxErrors;
+        this.abortOnFirstError = abortOnFirstError;
+        this.allowedRules = allowedRules;
+        this.deniedRules = deniedRules;
+    }
+
+    /**
+     * @return options that run every rule and report every error
+     */
+    public static ValidationOptions defaultOptions() {
+        return DEFAULT_OPTIONS;
+    }
+
+    public int getMaxErrors() {
+        return maxErrors;
+    }
+
+    public boolean isAbortOnFirstError() {
+        return abortOnFirstError;
+    }
+
+    public Set<Class<? extends AbstractRule>> getAllowedRules() {
+        return allowedRules;
+    }
+
+    public Set<Class<? extends AbstractRule>> getDeniedRules() {
+        return deniedRules;
+    }
+
+    /**
+     * @return true if every rule is run, that is when no rules are explicitly allowed or denied
+     */
+    public boolean isEveryRuleEnabled() {
+        return allowedRules.isEmpty() && deniedRules.isEmpty();
+    }
+
+    /**
+     * @param ruleClass the class of a validation rule
+     *
+     * @return true if the rule is to be run, that is when it is allowed, or no rules are explicitly allowed, and it is not denied
+     */
+    public boolean isRuleEnabled(Class<? extends AbstractRule> ruleClass) {
+        return (allowedRules.isEmpty() || allowedRules.contains(ruleClass)) && !deniedRules.contains(ruleClass);
+    }
+
+    /**
+     * This controls the maximum number of errors reported, validation stops as soon as this many errors have been found
+     *
+     * @param maxErrors the maximum number of errors
+     *
+     * @return a new options object
+     */
+    public ValidationOptions maxErrors(int maxErrors) {
+        assertTrue(maxErrors > 0, () -> "maxErrors must be greater than zero");
+        return new ValidationOptions(maxErrors, abortOnFirstError, allowedRules, deniedRules);
+    }
+
+    /**
+     * This controls whether validation stops as soon as the first error is found, whatever the maximum number of errors
+     *
+     * @param flag the switch to follow
+     *
+     * @return a new options object
+     */
+    public ValidationOptions abortOnFirstError(boolean flag) {
+        return new ValidationOptions(maxErrors, flag, allowedRules, deniedRules);
+    }
+
+    /**
+     * This controls which rules are run, when any rules are allowed then only they are run
+     *
+     * @param ruleClasses the classes of the rules to run
+     *
+     * @return a new options object
+     */
+    public ValidationOptions allowRules(Collection<Class<? extends AbstractRule>> ruleClasses) {
+        assertNotNull(ruleClasses, () -> "ruleClasses must not be null");
+        return new ValidationOptions(maxErrors, abortOnFirstError, ImmutableSet.copyOf(ruleClasses), deniedRules);
+    }
+
+    /**
+     * This controls which rules are not run
+     *
+     * @param ruleClasses the classes of the rules not to run
+     *
+     * @return a new options object
+     */
+    public ValidationOptions denyRules(Collection<Class<? extends AbstractRule>> ruleClasses) {
+        assertNotNull(ruleClasses, () -> "ruleClasses must not be null");
+        return new ValidationOptions(maxErrors, abortOnFirstError, allowedRules, ImmutableSet.copyOf(ruleClasses));
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationOptions{" +
+                "maxErrors=" + maxErrors +
+                ", abortOnFirstError=" + abortOnFirstError +
+                ", allowedRules=" + allowedRules +
+                ", deniedRules=" + deniedRules +
+                '}';
+    }
+}
@@ -1,10 +1,14 @@
 package graphql.validation;
 
 
+import com.google.common.collect.ImmutableSet;
 import graphql.Internal;
+import graphql.language.Definition;
 import graphql.language.Document;
+import graphql.language.Node;
 import graphql.schema.GraphQLSchema;
 import graphql.validation.rules.ArgumentsOfCorrectType;
+import graphql.validation.rules.DeferAndStreamDirectivesOnValidNodes;
 import graphql.validation.rules.ExecutableDefinitions;
 import graphql.validation.rules.FieldsOnCorrectType;
 import graphql.validation.rules.FragmentsOnCompositeType;
@@ -32,90 +36,211 @@ import graphql.validation.rules.VariablesAreInputTypes;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static graphql.collect.ImmutableKit.map;
 
 @Internal
 public class Validator {
 
+    /**
+     * These rules check things across the definitions of a document, such as names being unique or fragments being used,
+     * and so have to see the whole document in one traversal
+     */
+    private static final Set<Class<? extends AbstractRule>> DOCUMENT_RULES = ImmutableSet.of(
+            ExecutableDefinitions.class,
+            LoneAnonymousOperation.class,
+            NoFragmentCycles.class,
+            NoUnusedFragments.class,
+            OverlappingFieldsCanBeMerged.class,
+            UniqueOperationNames.class,
+            UniqueFragmentNames.class
+    );
+
     public List<ValidationError> validateDocument(GraphQLSchema schema, Document document) {
+        return validateDocument(schema, document, ValidationOptions.defaultOptions());
+    }
+
+    /**
+     * Validates the document with the rules and up to the number of errors that the options allow
+     *
+     * @param schema            the schema to validate against
+     * @param document          the document to validate
+     * @param validationOptions the options that control the validation
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, ValidationOptions validationOptions) {
         ValidationContext validationContext = new ValidationContext(schema, document);
 
 
-        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector();
-        List<AbstractRule> rules = createRules(validationContext, validationErrorCollector);
-        LanguageTraversal languageTraversal = new LanguageTraversal();
-        languageTraversal.traverse(document, new RulesVisitor(validationContext, rules));
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector(maxErrors(validationOptions));
+        List<AbstractRule> rules = createRules(validationContext, validationErrorCollector, validationOptions::isRuleEnabled);
+        traverse(new LanguageTraversal(), document, new RulesVisitor(validationContext, rules));
+
+        return validationErrorCollector.getErrors();
+    }
+
+    /**
+     * Validates the document with the operation and fragment definitions validated in parallel on the given executor.
+     * <p>
+     * The rules that need to see the whole document are run in one traversal of it while the other rules are run on each
+     * definition on its own.  The same errors are found as by {@link #validateDocument(GraphQLSchema, Document)} but they
+     * are always in this order: the errors of each definition in document order and then the errors found across the
+     * whole document.
+     *
+     * @param schema   the schema to validate against
+     * @param document the document to validate
+     * @param executor the executor to validate the definitions on
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, Executor executor) {
+        return validateDocument(schema, document, ValidationOptions.defaultOptions(), executor);
+    }
+
+    /**
+     * Validates the document in parallel like {@link #validateDocument(GraphQLSchema, Document, Executor)} with the rules and up to the
+     * number of errors that the options allow.  When errors are capped it is the first of the errors in the order described there
+     * that are returned.
+     *
+     * @param schema            the schema to validate against
+     * @param document          the document to validate
+     * @param validationOptions the options that control the validation
+     * @param executor          the executor to validate the definitions on
+     *
+     * @return the validation errors
+     */
+    public List<ValidationError> validateDocument(GraphQLSchema schema, Document document, ValidationOptions validationOptions, Executor executor) {
+        ValidationContext documentContext = new ValidationContext(schema, document);
+        int maxErrors = maxErrors(validationOptions);
+
+        CompletableFuture<List<ValidationError>> documentErrors = CompletableFuture.supplyAsync(() -> {
+            ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector(maxErrors);
+            List<AbstractRule> rules = createRules(documentContext, validationErrorCollector,
+                    ruleClass -> validationOptions.isRuleEnabled(ruleClass) && DOCUMENT_RULES.contains(ruleClass));
+            traverse(new LanguageTraversal(), document, new RulesVisitor(documentContext, rules));
+            return validationErrorCollector.getErrors();
+        }, executor);
+
+        List<CompletableFuture<List<ValidationError>>> definitionErrors = map(document.getDefinitions(),
+                definition -> CompletableFuture.supplyAsync(() -> validateDefinition(documentContext, definition, validationOptions, maxErrors), executor));
+
+        List<ValidationError> errors = new ArrayList<>();
+        for (CompletableFuture<List<ValidationError>> future : definitionErrors) {
+            errors.addAll(join(future));
+        }
+        errors.addAll(join(documentErrors));
+        return errors.size() > maxErrors ? new ArrayList<>(errors.subList(0, maxErrors)) : errors;
+    }
 
+    private List<ValidationError> validateDefinition(ValidationContext documentContext, Definition<?> definition, ValidationOptions validationOptions, int maxErrors) {
+        ValidationContext validationContext = new ValidationContext(documentContext);
+        ValidationErrorCollector validationErrorCollector = new ValidationErrorCollector(maxErrors);
+        List<AbstractRule> rules = createRules(validationContext, validationErrorCollector,
+                ruleClass -> validationOptions.isRuleEnabled(ruleClass) && !DOCUMENT_RULES.contains(ruleClass));
+        List<Node> documentPath = new ArrayList<>();
+        documentPath.add(documentContext.getDocument());
+        traverse(new LanguageTraversal(documentPath), definition, new RulesVisitor(validationContext, rules));
         return validationErrorCollector.getErrors();
     }
 
+    private static void traverse(LanguageTraversal languageTraversal, Node<?> root, RulesVisitor rulesVisitor) {
+        try {
+            languageTraversal.traverse(root, rulesVisitor);
+        } catch (ValidationErrorCollector.MaxValidationErrorsReached e) {
+            // enough errors have been found so the rest of the document is not validated
+        }
+    }
+
+    private static int maxErrors(ValidationOptions validationOptions) {
+        return validationOptions.isAbortOnFirstError() ? 1 : validationOptions.getMaxErrors();
+    }
+
+    private static List<ValidationError> join(CompletableFuture<List<ValidationError>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
     public List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
+        return createRules(validationContext, validationErrorCollector, ruleClass -> true);
+    }
+
+    /**
+     * Creates the rules that the options enable, rules that are not enabled are not created at all
+     *
+     * @param validationContext        the context the rules validate in
+     * @param validationErrorCollector the collector the rules report errors to
+     * @param validationOptions        the options that enable rules
+     *
+     * @return the rules to validate with
+     */
+    public List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector, ValidationOptions validationOptions) {
+        return createRules(validationContext, validationErrorCollector, validationOptions::isRuleEnabled);
+    }
+
+    private List<AbstractRule> createRules(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector, Predicate<Class<? extends AbstractRule>> ruleFilter) {
         List<AbstractRule> rules = new ArrayList<>();
 
-        ExecutableDefinitions executableDefinitions = new ExecutableDefinitions(validationContext, validationErrorCollector);
-        rules.add(executableDefinitions);
+        addRule(rules, ruleFilter, ExecutableDefinitions.class, () -> new ExecutableDefinitions(validationContext, validationErrorCollector));
 
-        ArgumentsOfCorrectType argumentsOfCorrectType = new ArgumentsOfCorrectType(validationContext, validationErrorCollector);
-        rules.add(argumentsOfCorrectType);
+        addRule(rules, ruleFilter, ArgumentsOfCorrectType.class, () -> new ArgumentsOfCorrectType(validationContext, validationErrorCollector));
 
-        FieldsOnCorrectType fieldsOnCorrectType = new FieldsOnCorrectType(validationContext, validationErrorCollector);
-        rules.add(fieldsOnCorrectType);
-        FragmentsOnCompositeType fragmentsOnCompositeType = new FragmentsOnCompositeType(validationContext, validationErrorCollector);
-        rules.add(fragmentsOnCompositeType);
+        addRule(rules, ruleFilter, FieldsOnCorrectType.class, () -> new FieldsOnCorrectType(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, FragmentsOnCompositeType.class, () -> new FragmentsOnCompositeType(validationContext, validationErrorCollector));
 
-        KnownArgumentNames knownArgumentNames = new KnownArgumentNames(validationContext, validationErrorCollector);
-        rules.add(knownArgumentNames);
-        KnownDirectives knownDirectives = new KnownDirectives(validationContext, validationErrorCollector);
-        rules.add(knownDirectives);
-        KnownFragmentNames knownFragmentNames = new KnownFragmentNames(validationContext, validationErrorCollector);
-        rules.add(knownFragmentNames);
-        KnownTypeNames knownTypeNames = new KnownTypeNames(validationContext, validationErrorCollector);
-        rules.add(knownTypeNames);
+        addRule(rules, ruleFilter, KnownArgumentNames.class, () -> new KnownArgumentNames(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, KnownDirectives.class, () -> new KnownDirectives(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, KnownFragmentNames.class, () -> new KnownFragmentNames(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, KnownTypeNames.class, () -> new KnownTypeNames(validationContext, validationErrorCollector));
 
-        NoFragmentCycles noFragmentCycles = new NoFragmentCycles(validationContext, validationErrorCollector);
-        rules.add(noFragmentCycles);
-        NoUndefinedVariables noUndefinedVariables = new NoUndefinedVariables(validationContext, validationErrorCollector);
-        rules.add(noUndefinedVariables);
-        NoUnusedFragments noUnusedFragments = new NoUnusedFragments(validationContext, validationErrorCollector);
-        rules.add(noUnusedFragments);
-        NoUnusedVariables noUnusedVariables = new NoUnusedVariables(validationContext, validationErrorCollector);
-        rules.add(noUnusedVariables);
+        addRule(rules, ruleFilter, NoFragmentCycles.class, () -> new NoFragmentCycles(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, NoUndefinedVariables.class, () -> new NoUndefinedVariables(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, NoUnusedFragments.class, () -> new NoUnusedFragments(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, NoUnusedVariables.class, () -> new NoUnusedVariables(validationContext, validationErrorCollector));
 
-        OverlappingFieldsCanBeMerged overlappingFieldsCanBeMerged = new OverlappingFieldsCanBeMerged(validationContext, validationErrorCollector);
-        rules.add(overlappingFieldsCanBeMerged);
+        addRule(rules, ruleFilter, OverlappingFieldsCanBeMerged.class, () -> new OverlappingFieldsCanBeMerged(validationContext, validationErrorCollector));
 
-        PossibleFragmentSpreads possibleFragmentSpreads = new PossibleFragmentSpreads(validationContext, validationErrorCollector);
-        rules.add(possibleFragmentSpreads);
-        ProvidedNonNullArguments providedNonNullArguments = new ProvidedNonNullArguments(validationContext, validationErrorCollector);
-        rules.add(providedNonNullArguments);
+        addRule(rules, ruleFilter, PossibleFragmentSpreads.class, () -> new PossibleFragmentSpreads(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, ProvidedNonNullArguments.class, () -> new ProvidedNonNullArguments(validationContext, validationErrorCollector));
 
-        ScalarLeafs scalarLeafs = new ScalarLeafs(validationContext, validationErrorCollector);
-        rules.add(scalarLeafs);
+        addRule(rules, ruleFilter, ScalarLeafs.class, () -> new ScalarLeafs(validationContext, validationErrorCollector));
 
-        VariableDefaultValuesOfCorrectType variableDefaultValuesOfCorrectType = new VariableDefaultValuesOfCorrectType(validationContext, validationErrorCollector);
-        rules.add(variableDefaultValuesOfCorrectType);
-        VariablesAreInputTypes variablesAreInputTypes = new VariablesAreInputTypes(validationContext, validationErrorCollector);
-        rules.add(variablesAreInputTypes);
-        VariableTypesMatchRule variableTypesMatchRule = new VariableTypesMatchRule(validationContext, validationErrorCollector);
-        rules.add(variableTypesMatchRule);
+        addRule(rules, ruleFilter, VariableDefaultValuesOfCorrectType.class, () -> new VariableDefaultValuesOfCorrectType(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, VariablesAreInputTypes.class, () -> new VariablesAreInputTypes(validationContext, validationErrorCollector));
+        addRule(rules, ruleFilter, VariableTypesMatchRule.class, () -> new VariableTypesMatchRule(validationContext, validationErrorCollector));
 
-        LoneAnonymousOperation loneAnonymousOperation = new LoneAnonymousOperation(validationContext, validationErrorCollector);
-        rules.add(loneAnonymousOperation);
+        addRule(rules, ruleFilter, LoneAnonymousOperation.class, () -> new LoneAnonymousOperation(validationContext, validationErrorCollector));
 
-        UniqueOperationNames uniqueOperationNames = new UniqueOperationNames(validationContext, validationErrorCollector);
-        rules.add(uniqueOperationNames);
+        addRule(rules, ruleFilter, UniqueOperationNames.class, () -> new UniqueOperationNames(validationContext, validationErrorCollector));
 
-        UniqueFragmentNames uniqueFragmentNames = new UniqueFragmentNames(validationContext, validationErrorCollector);
-        rules.add(uniqueFragmentNames);
+        addRule(rules, ruleFilter, UniqueFragmentNames.class, () -> new UniqueFragmentNames(validationContext, validationErrorCollector));
 
-        UniqueDirectiveNamesPerLocation uniqueDirectiveNamesPerLocation = new UniqueDirectiveNamesPerLocation(validationContext, validationErrorCollector);
-        rules.add(uniqueDirectiveNamesPerLocation);
+        addRule(rules, ruleFilter, UniqueDirectiveNamesPerLocation.class, () -> new UniqueDirectiveNamesPerLocation(validationContext, validationErrorCollector));
 
-        UniqueArgumentNamesRule uniqueArgumentNamesRule = new UniqueArgumentNamesRule(validationContext, validationErrorCollector);
-        rules.add(uniqueArgumentNamesRule);
+        addRule(rules, ruleFilter, DeferAndStreamDirectivesOnValidNodes.class, () -> new DeferAndStreamDirectivesOnValidNodes(validationContext, validationErrorCollector));
 
-        UniqueVariableNamesRule uniqueVariableNamesRule = new UniqueVariableNamesRule(validationContext, validationErrorCollector);
-        rules.add(uniqueVariableNamesRule);
+        addRule(rules, ruleFilter, UniqueArgumentNamesRule.class, () -> new UniqueArgumentNamesRule(validationContext, validationErrorCollector));
+
+        addRule(rules, ruleFilter, UniqueVariableNamesRule.class, () -> new UniqueVariableNamesRule(validationContext, validationErrorCollector));
 
         return rules;
     }
+
+    private void addRule(List<AbstractRule> rules, Predicate<Class<? extends AbstractRule>> ruleFilter, Class<? extends AbstractRule> ruleClass, Supplier<AbstractRule> ruleCreator) {
+        if (ruleFilter.test(ruleClass)) {
+            rules.add(ruleCreator.get());
+        }
+    }
 }
@@ -0,0 +1,58 @@
+package graphql.validation.rules;
+
+
+import graphql.Internal;
+import graphql.language.Directive;
+import graphql.language.Field;
+import graphql.language.Node;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLSchema;
+import graphql.validation.AbstractRule;
+import graphql.validation.ValidationContext;
+import graphql.validation.ValidationErrorCollector;
+import graphql.validation.ValidationErrorType;
+
+import java.util.List;
+
+import static graphql.Directives.DeferDirective;
+import static graphql.Directives.StreamDirective;
+import static graphql.schema.GraphQLTypeUtil.isList;
+import static graphql.schema.GraphQLTypeUtil.simplePrint;
+import static graphql.schema.GraphQLTypeUtil.unwrapNonNull;
+
+/**
+ * The {@code @defer} and {@code @stream} directives can't be used on the root fields of mutations and subscriptions, and
+ * {@code @stream} can only be used on fields of a list type.
+ */
+@Internal
+public class DeferAndStreamDirectivesOnValidNodes extends AbstractRule {
+
+    public DeferAndStreamDirectivesOnValidNodes(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
+        super(validationContext, validationErrorCollector);
+    }
+
+    @Override
+    public void checkDirective(Directive directive, List<Node> ancestors) {
+        String name = directive.getName();
+        boolean stream = StreamDirective.getName().equals(name);
+        if (!stream && !DeferDirective.getName().equals(name)) {
+            return;
+        }
+        GraphQLSchema schema = getValidationContext().getSchema();
+        GraphQLCompositeType parentType = getValidationContext().getParentType();
+        if (parentType != null && (parentType.equals(schema.getMutationType()) || parentType.equals(schema.getSubscriptionType()))) {
+            String operation = parentType.equals(schema.getMutationType()) ? "mutation" : "subscription";
+            String message = String.format("Directive %s is not allowed on the root fields of a %s", name, operation);
+            addError(ValidationErrorType.MisplacedDirective, directive.getSourceLocation(), message);
+            return;
+        }
+        if (stream && ancestors.get(ancestors.size() - 1) instanceof Field) {
+            GraphQLOutputType type = getValidationContext().getOutputType();
+            if (type != null && !isList(unwrapNonNull(type))) {
+                String message = String.format("Directive %s is not allowed on the field of type %s, which is not a list", name, simplePrint(type));
+                addError(ValidationErrorType.MisplacedDirective, directive.getSourceLocation(), message);
+            }
+        }
+    }
+}
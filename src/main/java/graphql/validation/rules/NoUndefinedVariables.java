@@ -2,7 +2,6 @@ package graphql.validation.rules;
 
 
 import graphql.Internal;
-import graphql.language.FragmentDefinition;
 import graphql.language.OperationDefinition;
 import graphql.language.VariableDefinition;
 import graphql.language.VariableReference;
@@ -29,11 +28,6 @@ public class NoUndefinedVariables extends AbstractRule {
         variableNames.clear();
     }
 
-    @Override
-    public void checkFragmentDefinition(FragmentDefinition fragmentDefinition) {
-        super.checkFragmentDefinition(fragmentDefinition);
-    }
-
     @Override
     public void checkVariable(VariableReference variableReference) {
         if (!variableNames.contains(variableReference.getName())) {
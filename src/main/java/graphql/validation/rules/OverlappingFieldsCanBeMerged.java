@@ -22,8 +22,11 @@ import graphql.validation.ValidationContext;
 import graphql.validation.ValidationErrorCollector;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -47,7 +50,9 @@ import static java.lang.String.format;
 public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
 
-    private final List<FieldPair> alreadyChecked = new ArrayList<>();
+    private final Set<FieldPair> alreadyChecked = new HashSet<>();
+    private final Map<SelectionSet, CollectedFields> fieldsBySelectionSet = new IdentityHashMap<>();
+    private final Map<String, Map<String, List<FieldAndType>>> fieldsByFragmentName = new HashMap<>();
 
     public OverlappingFieldsCanBeMerged(ValidationContext validationContext, ValidationErrorCollector validationErrorCollector) {
         super(validationContext, validationErrorCollector);
@@ -55,9 +60,7 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
     @Override
     public void leaveSelectionSet(SelectionSet selectionSet) {
-        Map<String, List<FieldAndType>> fieldMap = new LinkedHashMap<>();
-        Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
-        collectFields(fieldMap, selectionSet, getValidationContext().getOutputType(), visitedFragmentSpreads);
+        Map<String, List<FieldAndType>> fieldMap = getFields(selectionSet, getValidationContext().getOutputType());
         List<Conflict> conflicts = findConflicts(fieldMap);
         for (Conflict conflict : conflicts) {
             addError(FieldsConflict, conflict.fields, conflict.reason);
@@ -66,8 +69,9 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
 
     private List<Conflict> findConflicts(Map<String, List<FieldAndType>> fieldMap) {
         List<Conflict> result = new ArrayList<>();
-        for (String name : fieldMap.keySet()) {
-            List<FieldAndType> fieldAndTypes = fieldMap.get(name);
+        for (Map.Entry<String, List<FieldAndType>> entry : fieldMap.entrySet()) {
+            String name = entry.getKey();
+            List<FieldAndType> fieldAndTypes = entry.getValue();
             for (int i = 0; i < fieldAndTypes.size(); i++) {
                 for (int j = i + 1; j < fieldAndTypes.size(); j++) {
                     Conflict conflict = findConflict(name, fieldAndTypes.get(i), fieldAndTypes.get(j));
@@ -80,28 +84,15 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return result;
     }
 
-    private boolean isAlreadyChecked(Field field1, Field field2) {
-        for (FieldPair fieldPair : alreadyChecked) {
-            if (fieldPair.field1 == field1 && fieldPair.field2 == field2) {
-                return true;
-            }
-            if (fieldPair.field1 == field2 && fieldPair.field2 == field1) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @SuppressWarnings("ConstantConditions")
     private Conflict findConflict(String responseName, FieldAndType fieldAndTypeA, FieldAndType fieldAndTypeB) {
 
         Field fieldA = fieldAndTypeA.field;
         Field fieldB = fieldAndTypeB.field;
 
-        if (isAlreadyChecked(fieldA, fieldB)) {
+        if (!alreadyChecked.add(new FieldPair(fieldA, fieldB))) {
             return null;
         }
-        alreadyChecked.add(new FieldPair(fieldA, fieldB));
 
         String fieldNameA = fieldA.getName();
         String fieldNameB = fieldB.getName();
@@ -151,10 +142,10 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         SelectionSet selectionSet1 = fieldA.getSelectionSet();
         SelectionSet selectionSet2 = fieldB.getSelectionSet();
         if (selectionSet1 != null && selectionSet2 != null) {
-            Set<String> visitedFragmentSpreads = new LinkedHashSet<>();
             Map<String, List<FieldAndType>> subFieldMap = new LinkedHashMap<>();
-            collectFields(subFieldMap, selectionSet1, typeA, visitedFragmentSpreads);
-            collectFields(subFieldMap, selectionSet2, typeB, visitedFragmentSpreads);
+            Set<Field> collectedFields = newIdentitySet();
+            addFields(subFieldMap, getFields(selectionSet1, typeA), collectedFields);
+            addFields(subFieldMap, getFields(selectionSet2, typeB), collectedFields);
             List<Conflict> subConflicts = findConflicts(subFieldMap);
             if (subConflicts.size() > 0) {
                 String reason = format("%s: %s", responseName, joinReasons(subConflicts));
@@ -270,46 +261,81 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
         return null;
     }
 
-    private void collectFields(Map<String, List<FieldAndType>> fieldMap, SelectionSet selectionSet, GraphQLType parentType, Set<String> visitedFragmentSpreads) {
+    /**
+     * The fields of a selection set, with fragments spread into it, are collected once and then reused by every comparison
+     * that involves that selection set.
+     */
+    private Map<String, List<FieldAndType>> getFields(SelectionSet selectionSet, GraphQLType parentType) {
+        CollectedFields collected = fieldsBySelectionSet.get(selectionSet);
+        if (collected == null || collected.parentType != parentType) {
+            Map<String, List<FieldAndType>> fieldMap = new LinkedHashMap<>();
+            collectFields(fieldMap, selectionSet, parentType, new HashSet<>(), newIdentitySet(), true);
+            collected = new CollectedFields(parentType, fieldMap);
+            fieldsBySelectionSet.put(selectionSet, collected);
+        }
+        return collected.fieldMap;
+    }
+
+    /**
+     * A fragment always collects to the same fields, so that is done once per fragment however often it is spread.
+     */
+    private Map<String, List<FieldAndType>> getFragmentFields(FragmentDefinition fragment) {
+        Map<String, List<FieldAndType>> fieldMap = fieldsByFragmentName.get(fragment.getName());
+        if (fieldMap == null) {
+            fieldMap = new LinkedHashMap<>();
+            Set<String> visitedFragmentSpreads = new HashSet<>();
+            visitedFragmentSpreads.add(fragment.getName());
+            GraphQLType graphQLType = TypeFromAST.getTypeFromAST(getValidationContext().getSchema(),
+                    fragment.getTypeCondition());
+            // nested spreads are expanded in place here so that fragment cycles can't make the result depend on where the fragment was first spread
+            collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads, newIdentitySet(), false);
+            fieldsByFragmentName.put(fragment.getName(), fieldMap);
+        }
+        return fieldMap;
+    }
+
+    private void collectFields(Map<String, List<FieldAndType>> fieldMap, SelectionSet selectionSet, GraphQLType parentType, Set<String> visitedFragmentSpreads, Set<Field> collectedFields, boolean useFragmentFields) {
 
         for (Selection selection : selectionSet.getSelections()) {
             if (selection instanceof Field) {
-                collectFieldsForField(fieldMap, parentType, (Field) selection);
+                collectFieldsForField(fieldMap, parentType, (Field) selection, collectedFields);
 
             } else if (selection instanceof InlineFragment) {
-                collectFieldsForInlineFragment(fieldMap, visitedFragmentSpreads, parentType, (InlineFragment) selection);
+                collectFieldsForInlineFragment(fieldMap, visitedFragmentSpreads, collectedFields, useFragmentFields, parentType, (InlineFragment) selection);
 
             } else if (selection instanceof FragmentSpread) {
-                collectFieldsForFragmentSpread(fieldMap, visitedFragmentSpreads, (FragmentSpread) selection);
+                collectFieldsForFragmentSpread(fieldMap, visitedFragmentSpreads, collectedFields, useFragmentFields, (FragmentSpread) selection);
             }
         }
     }
 
-    private void collectFieldsForFragmentSpread(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, FragmentSpread fragmentSpread) {
+    private void collectFieldsForFragmentSpread(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, Set<Field> collectedFields, boolean useFragmentFields, FragmentSpread fragmentSpread) {
         FragmentDefinition fragment = getValidationContext().getFragment(fragmentSpread.getName());
         if (fragment == null) {
             return;
         }
-        if (visitedFragmentSpreads.contains(fragment.getName())) {
+        if (!visitedFragmentSpreads.add(fragment.getName())) {
             return;
         }
-        visitedFragmentSpreads.add(fragment.getName());
-        GraphQLType graphQLType = TypeFromAST.getTypeFromAST(getValidationContext().getSchema(),
-                fragment.getTypeCondition());
-        collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        if (useFragmentFields) {
+            addFields(fieldMap, getFragmentFields(fragment), collectedFields);
+        } else {
+            GraphQLType graphQLType = TypeFromAST.getTypeFromAST(getValidationContext().getSchema(),
+                    fragment.getTypeCondition());
+            collectFields(fieldMap, fragment.getSelectionSet(), graphQLType, visitedFragmentSpreads, collectedFields, false);
+        }
     }
 
-    private void collectFieldsForInlineFragment(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, GraphQLType parentType, InlineFragment inlineFragment) {
+    private void collectFieldsForInlineFragment(Map<String, List<FieldAndType>> fieldMap, Set<String> visitedFragmentSpreads, Set<Field> collectedFields, boolean useFragmentFields, GraphQLType parentType, InlineFragment inlineFragment) {
         GraphQLType graphQLType = inlineFragment.getTypeCondition() != null
                 ? TypeFromAST.getTypeFromAST(getValidationContext().getSchema(), inlineFragment.getTypeCondition())
                 : parentType;
-        collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragmentSpreads);
+        collectFields(fieldMap, inlineFragment.getSelectionSet(), graphQLType, visitedFragmentSpreads, collectedFields, useFragmentFields);
     }
 
-    private void collectFieldsForField(Map<String, List<FieldAndType>> fieldMap, GraphQLType parentType, Field field) {
-        String responseName = field.getResultKey();
-        if (!fieldMap.containsKey(responseName)) {
-            fieldMap.put(responseName, new ArrayList<>());
+    private void collectFieldsForField(Map<String, List<FieldAndType>> fieldMap, GraphQLType parentType, Field field, Set<Field> collectedFields) {
+        if (!collectedFields.add(field)) {
+            return;
         }
         GraphQLOutputType fieldType = null;
         GraphQLUnmodifiedType unwrappedParent = unwrapAll(parentType);
@@ -318,7 +344,26 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             GraphQLFieldDefinition fieldDefinition = getVisibleFieldDefinition(fieldsContainer, field);
             fieldType = fieldDefinition != null ? fieldDefinition.getType() : null;
         }
-        fieldMap.get(responseName).add(new FieldAndType(field, fieldType, parentType));
+        fieldMap.computeIfAbsent(field.getResultKey(), k -> new ArrayList<>()).add(new FieldAndType(field, fieldType, parentType));
+    }
+
+    /**
+     * A fragment may be reached more than once, say when two fields being compared both spread it, but like a directly
+     * repeated fragment spread its fields are only counted once.
+     */
+    private void addFields(Map<String, List<FieldAndType>> fieldMap, Map<String, List<FieldAndType>> fieldsToAdd, Set<Field> collectedFields) {
+        for (Map.Entry<String, List<FieldAndType>> entry : fieldsToAdd.entrySet()) {
+            List<FieldAndType> fieldAndTypes = fieldMap.computeIfAbsent(entry.getKey(), k -> new ArrayList<>());
+            for (FieldAndType fieldAndType : entry.getValue()) {
+                if (collectedFields.add(fieldAndType.field)) {
+                    fieldAndTypes.add(fieldAndType);
+                }
+            }
+        }
+    }
+
+    private static Set<Field> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
     }
 
     private GraphQLFieldDefinition getVisibleFieldDefinition(GraphQLFieldsContainer fieldsContainer, Field field) {
@@ -333,6 +378,34 @@ public class OverlappingFieldsCanBeMerged extends AbstractRule {
             this.field1 = field1;
             this.field2 = field2;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FieldPair)) {
+                return false;
+            }
+            FieldPair that = (FieldPair) o;
+            return (field1 == that.field1 && field2 == that.field2) || (field1 == that.field2 && field2 == that.field1);
+        }
+
+        @Override
+        public int hashCode() {
+            // the same whichever way round the fields are
+            return System.identityHashCode(field1) + System.identityHashCode(field2);
+        }
+    }
+
+    private static class CollectedFields {
+        final GraphQLType parentType;
+        final Map<String, List<FieldAndType>> fieldMap;
+
+        public CollectedFields(GraphQLType parentType, Map<String, List<FieldAndType>> fieldMap) {
+            this.parentType = parentType;
+            this.fieldMap = fieldMap;
+        }
     }
 
     private static class Conflict {
@@ -1,26 +1,19 @@
 package graphql.validation.rules;
 
 
-import graphql.Assert;
 import graphql.Internal;
 import graphql.execution.TypeFromAST;
 import graphql.language.FragmentDefinition;
 import graphql.language.FragmentSpread;
 import graphql.language.InlineFragment;
 import graphql.schema.GraphQLCompositeType;
-import graphql.schema.GraphQLInterfaceType;
-import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
 import graphql.schema.GraphQLType;
-import graphql.schema.GraphQLUnionType;
 import graphql.validation.AbstractRule;
 import graphql.validation.ValidationContext;
 import graphql.validation.ValidationErrorCollector;
 import graphql.validation.ValidationErrorType;
 
-import java.util.Collections;
-import java.util.List;
-
 import static graphql.schema.GraphQLTypeUtil.simplePrint;
 
 @Internal
@@ -60,29 +53,7 @@ public class PossibleFragmentSpreads extends AbstractRule {
     }
 
     private boolean doTypesOverlap(GraphQLType type, GraphQLCompositeType parent) {
-        if (type == parent) {
-            return true;
-        }
-
-        List<? extends GraphQLType> possibleParentTypes = getPossibleType(parent);
-        List<? extends GraphQLType> possibleConditionTypes = getPossibleType(type);
-
-        return !Collections.disjoint(possibleParentTypes, possibleConditionTypes);
-
-    }
-
-    private List<? extends GraphQLType> getPossibleType(GraphQLType type) {
-        List<? extends GraphQLType> possibleConditionTypes = null;
-        if (type instanceof GraphQLObjectType) {
-            possibleConditionTypes = Collections.singletonList(type);
-        } else if (type instanceof GraphQLInterfaceType) {
-            possibleConditionTypes = getValidationContext().getSchema().getImplementations((GraphQLInterfaceType) type);
-        } else if (type instanceof GraphQLUnionType) {
-            possibleConditionTypes = ((GraphQLUnionType) type).getTypes();
-        } else {
-            Assert.assertShouldNeverHappen();
-        }
-        return possibleConditionTypes;
+        return getValidationContext().getSchema().getSchemaIndex().doTypesOverlap((GraphQLCompositeType) type, parent);
     }
 
     /**
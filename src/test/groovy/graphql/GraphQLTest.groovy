@@ -17,6 +17,7 @@ import graphql.execution.instrumentation.Instrumentation
 import graphql.execution.instrumentation.SimpleInstrumentation
 import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation
 import graphql.language.SourceLocation
+import graphql.parser.ParserOptions
 import graphql.schema.DataFetcher
 import graphql.schema.DataFetchingEnvironment
 import graphql.schema.GraphQLDirective
@@ -30,8 +31,10 @@ import graphql.schema.StaticDataFetcher
 import graphql.schema.idl.SchemaGenerator
 import graphql.schema.idl.errors.SchemaProblem
 import graphql.schema.validation.InvalidSchemaException
+import graphql.validation.ValidationCache
 import graphql.validation.ValidationError
 import graphql.validation.ValidationErrorType
+import graphql.validation.ValidationOptions
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -1357,4 +1360,60 @@ many lines''']
         def e = thrown(InvalidSchemaException)
         e.message.contains("Invalid argument 'arg' for applied directive of name 'cached'")
     }
+
+    def "parser options are used to parse queries"() {
+        given:
+        def parserOptions = ParserOptions.defaultOptions().captureSourceLocation(false)
+        def graphQL = GraphQL.newGraphQL(simpleSchema()).parserOptions(parserOptions).build()
+
+        when:
+        def result = graphQL.execute("{ hello unknownField }")
+
+        then:
+        result.errors.size() == 1
+        result.errors[0].errorType == ErrorType.ValidationError
+        result.errors[0].locations.isEmpty()
+
+        when: "it is kept when transformed"
+        result = graphQL.transform({ builder -> builder.queryExecutionStrategy(new AsyncExecutionStrategy()) }).execute("{ hello unknownField }")
+
+        then:
+        result.errors[0].locations.isEmpty()
+    }
+
+    def "a validation cache skips validating queries known to be valid"() {
+        given:
+        def validationCache = ValidationCache.newValidationCache()
+        def graphQL = GraphQL.newGraphQL(simpleSchema()).validationCache(validationCache).build()
+
+        when:
+        def result1 = graphQL.execute("{ hello }")
+        def result2 = graphQL.execute("{\n  hello\n}")
+        def result3 = graphQL.transform({ builder -> builder.queryExecutionStrategy(new AsyncExecutionStrategy()) }).execute("{ hello }")
+
+        then:
+        result1.errors.isEmpty()
+        result2.errors.isEmpty()
+        result3.errors.isEmpty()
+        validationCache.missCount == 1
+        validationCache.hitCount == 2
+    }
+
+    def "validation options are used to validate queries"() {
+        given:
+        def graphQL = GraphQL.newGraphQL(simpleSchema()).validationOptions(ValidationOptions.defaultOptions().maxErrors(2)).build()
+
+        when:
+        def result = graphQL.execute("{ a b c d }")
+
+        then:
+        result.errors.size() == 2
+        result.errors.every { it.errorType == ErrorType.ValidationError }
+
+        when: "they are kept when transformed"
+        result = graphQL.transform({ builder -> builder.queryExecutionStrategy(new AsyncExecutionStrategy()) }).execute("{ a b c d }")
+
+        then:
+        result.errors.size() == 2
+    }
 }
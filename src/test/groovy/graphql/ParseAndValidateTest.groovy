@@ -1,10 +1,14 @@
 package graphql
 
+import graphql.language.AstPrinter
 import graphql.parser.InvalidSyntaxException
+import graphql.parser.ParserOptions
 import graphql.validation.ValidationError
 import graphql.validation.ValidationErrorType
 import spock.lang.Specification
 
+import java.util.concurrent.Executors
+
 /**
  * We trust that other unit tests of the parser and validation catch ALL of the combinations.  These tests
  * just show the combination of parsing and validation.
@@ -39,6 +43,20 @@ class ParseAndValidateTest extends Specification {
         result.syntaxException instanceof InvalidSyntaxException
     }
 
+    def "can parse with the executable document parser"() {
+        def options = ParserOptions.defaultOptions().useExecutableDocumentParser(true)
+
+        when:
+        def result = ParseAndValidate.parse(ExecutionInput.newExecutionInput('query q($v: Int) { hi(a: $v) { ...f } }').build(), options)
+        def invalid = ParseAndValidate.parse(ExecutionInput.newExecutionInput("query { hi( ").build(), options)
+
+        then:
+        options.isUseExecutableDocumentParser()
+        !ParserOptions.defaultOptions().isUseExecutableDocumentParser()
+        AstPrinter.printAstCompact(result.document) == 'query q($v:Int) {hi(a:$v) {...f}}'
+        invalid.syntaxException.message == ParseAndValidate.parse(ExecutionInput.newExecutionInput("query { hi( ").build()).syntaxException.message
+    }
+
     def "will validate documents with no problems"() {
 
         def input = ExecutionInput.newExecutionInput("query { hero { name }}").variables([var1: 1]).build()
@@ -109,4 +127,29 @@ class ParseAndValidateTest extends Specification {
 
         (result.errors[0] as InvalidSyntaxError).message.contains("Invalid Syntax")
     }
+
+    def "can validate operations and fragments in parallel"() {
+        def query = """
+            query A(\$unused: String, \$id: String!) { hero { ...HeroFields name(foo: 1) } human(id: \$id) { name } }
+            query A { hero { ...Missing } }
+            query C(\$id: Int) { human(id: \$id) { ...HeroFields } droid(id: \$undefined) { name } }
+            fragment HeroFields on Character { name friends { namex } }
+            fragment Unused on Droid { primaryFunction }
+            { hero }
+        """
+        def document = ParseAndValidate.parse(ExecutionInput.newExecutionInput(query).build()).getDocument()
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def sequentialErrors = ParseAndValidate.validate(StarWarsSchema.starWarsSchema, document)
+        def parallelErrors = (1..10).collect { ParseAndValidate.validate(StarWarsSchema.starWarsSchema, document, executor) }
+
+        then:
+        sequentialErrors.size() > 5
+        parallelErrors.every { it.collect { it.toString() } == parallelErrors[0].collect { it.toString() } }
+        parallelErrors[0].collect { it.toString() }.sort() == sequentialErrors.collect { it.toString() }.sort()
+
+        cleanup:
+        executor.shutdown()
+    }
 }
@@ -141,4 +141,30 @@ class AsyncTest extends Specification {
         result.isDone()
         result.get() == ['x', 'y', 'z']
     }
+
+    def "each waits for futures that are not yet completed"() {
+        given:
+        def pending = new CompletableFuture()
+
+        when:
+        def result = Async.each([completedFuture('x'), pending, completedFuture('z')])
+
+        then:
+        !result.isDone()
+
+        when:
+        pending.complete('y')
+
+        then:
+        result.isDone()
+        result.get() == ['x', 'y', 'z']
+    }
+
+    def "isCompletedNormally is only true for futures that completed with a value"() {
+        expect:
+        Async.isCompletedNormally(completedFuture('x'))
+        Async.isCompletedNormally(completedFuture(null))
+        !Async.isCompletedNormally(new CompletableFuture())
+        !Async.isCompletedNormally(Async.exceptionallyCompletedFuture(new RuntimeException()))
+    }
 }
@@ -1,5 +1,6 @@
 package graphql.execution
 
+import graphql.GraphqlErrorBuilder
 import graphql.cachecontrol.CacheControl
 import graphql.execution.instrumentation.Instrumentation
 import graphql.language.Document
@@ -77,4 +78,52 @@ class ExecutionContextBuilderTest extends Specification {
         executionContext.dataLoaderRegistry == dataLoaderRegistry
         executionContext.cacheControl == cacheControl
     }
+
+    def "the errors are shared until another error is added"() {
+        given:
+        def executionContext = ExecutionContextBuilder.newExecutionContextBuilder()
+                .executionId(ExecutionId.from("1"))
+                .build()
+        def error = GraphqlErrorBuilder.newError().message("first").build()
+
+        when:
+        executionContext.addError(error)
+        def errors = executionContext.getErrors()
+
+        then:
+        errors == [error]
+        executionContext.getErrors().is(errors)
+
+        when:
+        def secondError = GraphqlErrorBuilder.newError().message("second").build()
+        executionContext.addError(secondError)
+
+        then:
+        executionContext.getErrors() == [error, secondError]
+        errors == [error]
+    }
+
+    def "transformed contexts keep the caches of the execution unless what they depend on changes"() {
+        given:
+        def executionContext = ExecutionContextBuilder.newExecutionContextBuilder()
+                .executionId(ExecutionId.from("1"))
+                .build()
+
+        when:
+        def deferredContext = executionContext.transform({ it.resetErrors() })
+
+        then:
+        deferredContext.mergedSelectionSetCache.is(executionContext.mergedSelectionSetCache)
+        deferredContext.argumentCoercionPlans.is(executionContext.argumentCoercionPlans)
+
+        when:
+        def otherVariables = executionContext.transform({ it.variables([var: "other"]) })
+        def otherSchema = executionContext.transform({ it.graphQLSchema(Mock(GraphQLSchema)) })
+
+        then:
+        !otherVariables.mergedSelectionSetCache.is(executionContext.mergedSelectionSetCache)
+        otherVariables.argumentCoercionPlans.is(executionContext.argumentCoercionPlans)
+        !otherSchema.mergedSelectionSetCache.is(executionContext.mergedSelectionSetCache)
+        !otherSchema.argumentCoercionPlans.is(executionContext.argumentCoercionPlans)
+    }
 }
@@ -138,6 +138,7 @@ class ExecutionStrategyEquivalenceTest extends Specification {
         "breadthFirst"    | new BreadthFirstExecutionTestStrategy() | standardQueriesAndResults()
         "executorService" | executorServiceStrategy()               | standardQueriesAndResults()
         "breadthFirst"    | new BreadthFirstTestStrategy()          | standardQueriesAndResults()
+        "planned"         | new PlannedExecutionStrategy()          | standardQueriesAndResults()
 
     }
 
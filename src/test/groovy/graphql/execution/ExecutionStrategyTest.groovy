@@ -151,6 +151,64 @@ class ExecutionStrategyTest extends Specification {
         executionResult.data == result
     }
 
+    def "scalars and lists of them are completed straight away without a future around each value"() {
+        given:
+        ExecutionContext executionContext = buildContext()
+        def fieldType = list(GraphQLString)
+        def fldDef = newFieldDefinition().name("test").type(fieldType).build()
+        def executionStepInfo = ExecutionStepInfo.newExecutionStepInfo().type(fieldType).path(ResultPath.rootPath()).fieldDefinition(fldDef).build()
+        def parameters = newParameters()
+                .executionStepInfo(executionStepInfo)
+                .source(["a", "b"])
+                .nonNullFieldValidator(new NonNullableFieldValidator(executionContext, executionStepInfo))
+                .fields(mergedSelectionSet(["fld": []]))
+                .field(mergedField(new Field("someField")))
+                .build()
+
+        when:
+        def fieldValueInfo = executionStrategy.completeValue(executionContext, parameters)
+
+        then:
+        fieldValueInfo.hasCompletedValue()
+        fieldValueInfo.completedValue == ["a", "b"]
+        fieldValueInfo.fieldValueInfos.every { it.hasCompletedValue() }
+        fieldValueInfo.fieldValueInfos*.completedValue == ["a", "b"]
+        fieldValueInfo.fieldValue.join().data == ["a", "b"]
+    }
+
+    def "a strategy that completes scalars itself is still asked to complete them"() {
+        given:
+        def completedScalars = []
+        executionStrategy = new ExecutionStrategy(dataFetcherExceptionHandler) {
+            @Override
+            CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+                return Assert.assertShouldNeverHappen("should not be called")
+            }
+
+            @Override
+            protected CompletableFuture<ExecutionResult> completeValueForScalar(ExecutionContext executionContext, ExecutionStrategyParameters parameters, GraphQLScalarType scalarType, Object result) {
+                completedScalars << result
+                return super.completeValueForScalar(executionContext, parameters, scalarType, result)
+            }
+        }
+        ExecutionContext executionContext = buildContext()
+        def typeInfo = ExecutionStepInfo.newExecutionStepInfo().type(GraphQLString).build()
+        def parameters = newParameters()
+                .executionStepInfo(typeInfo)
+                .source("value")
+                .nonNullFieldValidator(new NonNullableFieldValidator(executionContext, typeInfo))
+                .fields(mergedSelectionSet(["dummy": []]))
+                .build()
+
+        when:
+        def fieldValueInfo = executionStrategy.completeValue(executionContext, parameters)
+
+        then:
+        completedScalars == ["value"]
+        !fieldValueInfo.hasCompletedValue()
+        fieldValueInfo.fieldValue.join().data == "value"
+    }
+
     def "completes value for java.util.Optional"() {
         given:
         ExecutionContext executionContext = buildContext()
@@ -528,6 +586,79 @@ class ExecutionStrategyTest extends Specification {
         environment.executionId == ExecutionId.from("executionId123")
     }
 
+    def singleFieldFixture(DataFetcher dataFetcher) {
+        def fieldDefinition = newFieldDefinition().name("someField").type(GraphQLString).dataFetcher(dataFetcher).build()
+        def objectType = newObject()
+                .name("Test")
+                .field(fieldDefinition)
+                .build()
+        def schema = GraphQLSchema.newSchema().query(objectType).build()
+        ExecutionContext executionContext = buildContext(schema)
+        def typeInfo = ExecutionStepInfo.newExecutionStepInfo().type(objectType).build()
+        Field field = new Field("someField")
+        def parameters = newParameters()
+                .executionStepInfo(typeInfo)
+                .source("source")
+                .fields(mergedSelectionSet(["someField": [field]]))
+                .field(mergedField(field))
+                .path(ResultPath.rootPath().segment("someField"))
+                .nonNullFieldValidator(new NonNullableFieldValidator(executionContext, typeInfo))
+                .build()
+        [executionContext, parameters]
+    }
+
+    def "resolveFieldWithInfo completes a synchronously fetched value straight away"() {
+        given:
+        def (ExecutionContext executionContext, ExecutionStrategyParameters parameters) = singleFieldFixture({ env -> "value" } as DataFetcher)
+
+        when:
+        def fetchedValue = executionStrategy.fetchField(executionContext, parameters)
+        def fieldValueInfo = executionStrategy.resolveFieldWithInfo(executionContext, parameters)
+        def executionResult = executionStrategy.resolveField(executionContext, parameters)
+
+        then:
+        fetchedValue.isDone()
+        fetchedValue.join().fetchedValue == "value"
+        fieldValueInfo.isDone()
+        fieldValueInfo.join().fieldValue.isDone()
+        fieldValueInfo.join().fieldValue.join().data == "value"
+        executionResult.isDone()
+        executionResult.join().data == "value"
+    }
+
+    def "resolveFieldWithInfo waits for a value that is fetched asynchronously"() {
+        given:
+        def future = new CompletableFuture()
+        def (ExecutionContext executionContext, ExecutionStrategyParameters parameters) = singleFieldFixture({ env -> future } as DataFetcher)
+
+        when:
+        def executionResult = executionStrategy.resolveField(executionContext, parameters)
+
+        then:
+        !executionResult.isDone()
+
+        when:
+        future.complete("value")
+
+        then:
+        executionResult.isDone()
+        executionResult.join().data == "value"
+    }
+
+    def "a synchronous data fetcher that throws completes the field as null with an error"() {
+        given:
+        def (ExecutionContext executionContext, ExecutionStrategyParameters parameters) = singleFieldFixture({ env -> throw new RuntimeException("bang") } as DataFetcher)
+
+        when:
+        def executionResult = executionStrategy.resolveField(executionContext, parameters)
+
+        then:
+        executionResult.isDone()
+        executionResult.join().data == null
+        executionContext.errors.size() == 1
+        executionContext.errors[0] instanceof ExceptionWhileDataFetching
+    }
+
     def exceptionSetupFixture(expectedException) {
         def dataFetcher = new DataFetcher() {
             @Override
@@ -871,4 +1002,28 @@ class ExecutionStrategyTest extends Specification {
         executionContext.errors.size() == 1
         executionContext.errors[0] instanceof TypeMismatchError
     }
+
+    def "sub fields are collected once per object type for the values of a list"() {
+        given:
+        def collected = []
+        def strategy = new AsyncExecutionStrategy() {
+            @Override
+            protected MergedSelectionSet collectSubFields(ExecutionContext executionContext, graphql.schema.GraphQLObjectType resolvedObjectType, MergedField field) {
+                def subFields = super.collectSubFields(executionContext, resolvedObjectType, field)
+                collected.add(subFields)
+                subFields
+            }
+        }
+        def graphQL = graphql.GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).queryExecutionStrategy(strategy).build()
+
+        when:
+        def result = graphQL.execute("{ hero { friends { name friends { name } } } }")
+
+        then:
+        result.errors.isEmpty()
+        // the hero, its three friends and their eleven friends
+        collected.size() == 15
+        // one set for the hero, one for its friends who are all humans and one for each of humans and droids among their friends
+        collected.unique(false) { System.identityHashCode(it) }.size() == 4
+    }
 }
@@ -0,0 +1,148 @@
+package graphql.execution
+
+import graphql.ExceptionWhileDataFetching
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.schema.DataFetcher
+import graphql.schema.FieldCoordinates
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.CompletableFuture
+
+import static graphql.schema.idl.RuntimeWiring.newRuntimeWiring
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class FieldDeadlinesTest extends Specification {
+
+    def spec = '''
+        type Query {
+            fast : String
+            hung : String
+            remaining : Boolean
+        }
+    '''
+
+    def hungFuture = new CompletableFuture<String>()
+    def fastCalled = false
+
+    def wiring = newRuntimeWiring().type(newTypeWiring("Query")
+            .dataFetcher("fast", { env -> fastCalled = true; "fast" } as DataFetcher)
+            .dataFetcher("hung", { env -> hungFuture } as DataFetcher)
+            .dataFetcher("remaining", { env ->
+                env.remainingTime != null && !env.remainingTime.isNegative() && env.remainingTime <= Duration.ofSeconds(10)
+            } as DataFetcher))
+            .build()
+
+    def schema = TestUtil.schema(spec, wiring)
+
+    def "late fetches are completed with a timeout error and their futures are left alone"() {
+        given:
+        def graphQL = GraphQL.newGraphQL(schema).build()
+        def input = ExecutionInput.newExecutionInput("{ fast hung }").deadline(Instant.now().plusSeconds(1)).build()
+
+        when:
+        def result = graphQL.execute(input)
+
+        then:
+        result.data == [fast: "fast", hung: null]
+        result.errors.size() == 1
+        result.errors[0] instanceof ExceptionWhileDataFetching
+        result.errors[0].path == ["hung"]
+        (result.errors[0] as ExceptionWhileDataFetching).exception instanceof FieldTimeoutException
+        !hungFuture.isDone()
+    }
+
+    def "field timeouts of the code registry bound single fields"() {
+        given:
+        def timedSchema = schema.transform({
+            it.codeRegistry(schema.codeRegistry.transform({
+                it.fieldTimeout(FieldCoordinates.coordinates("Query", "hung"), Duration.ofMillis(200))
+            }))
+        })
+        def graphQL = GraphQL.newGraphQL(timedSchema).build()
+
+        when:
+        def result = graphQL.execute("{ fast hung }")
+
+        then:
+        result.data == [fast: "fast", hung: null]
+        (result.errors[0] as ExceptionWhileDataFetching).exception instanceof FieldTimeoutException
+        !hungFuture.isDone()
+    }
+
+    def "data fetchers are not called once the deadline has passed"() {
+        given:
+        def graphQL = GraphQL.newGraphQL(schema).build()
+        def input = ExecutionInput.newExecutionInput("{ fast }").deadline(Instant.now().minusSeconds(1)).build()
+
+        when:
+        def result = graphQL.execute(input)
+
+        then:
+        !fastCalled
+        result.data == [fast: null]
+        (result.errors[0] as ExceptionWhileDataFetching).exception instanceof FieldTimeoutException
+    }
+
+    def "the remaining time is on the data fetching environment"() {
+        given:
+        def graphQL = GraphQL.newGraphQL(schema).build()
+
+        when:
+        def withDeadline = graphQL.execute(ExecutionInput.newExecutionInput("{ remaining }").deadline(Instant.now().plusSeconds(10)).build())
+        def withoutDeadline = graphQL.execute("{ remaining }")
+
+        then:
+        withDeadline.data == [remaining: true]
+        withoutDeadline.data == [remaining: false]
+    }
+
+    def "values that are there in time are not affected"() {
+        given:
+        def future = new CompletableFuture<String>()
+
+        when:
+        def bounded = FieldDeadlines.within(future, Instant.now().plusSeconds(10))
+        future.complete("value")
+
+        then:
+        bounded.join() == "value"
+        !future.isCancelled()
+    }
+
+    def "fields that time out are not completed on the thread that watches the deadlines"() {
+        given:
+        def future = new CompletableFuture<String>()
+
+        when:
+        def completingThread = FieldDeadlines.within(future, Instant.now().plusMillis(100))
+                .handle({ value, exception -> exception instanceof FieldTimeoutException ? Thread.currentThread().name : null })
+                .join()
+
+        then:
+        completingThread != null
+        completingThread != "graphql-java-field-deadlines"
+        !future.isDone()
+    }
+
+    def "a future shared with other users still gets its value after a field timed out on it"() {
+        given:
+        def shared = new CompletableFuture<String>()
+        def otherUser = shared.thenApply({ it.toUpperCase() })
+
+        when:
+        def bounded = FieldDeadlines.within(shared, Instant.now().minusSeconds(1))
+        def late = FieldDeadlines.within(shared, Instant.now().plusMillis(50))
+        def lateError = late.handle({ value, exception -> exception }).join()
+        shared.complete("value")
+
+        then:
+        bounded.isCompletedExceptionally()
+        lateError instanceof FieldTimeoutException
+        late.isCompletedExceptionally()
+        otherUser.join() == "VALUE"
+    }
+}
@@ -0,0 +1,168 @@
+package graphql.execution
+
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import spock.lang.Specification
+
+class FlatResultMapTest extends Specification {
+
+    def "behaves like an ordered map"() {
+        when:
+        def map = new FlatResultMap(["b", "a", "c"], ["B", null, "C"] as Object[])
+
+        then:
+        map.size() == 3
+        map.get("b") == "B"
+        map.get("a") == null
+        map.containsKey("a")
+        !map.containsKey("d")
+        map.get("d") == null
+        map.keySet().toList() == ["b", "a", "c"]
+        map.values().toList() == ["B", null, "C"]
+        map == [b: "B", a: null, c: "C"]
+        [b: "B", a: null, c: "C"] == map
+        map.hashCode() == [b: "B", a: null, c: "C"].hashCode()
+        map.entrySet()*.toString() == ["b=B", "a=null", "c=C"]
+    }
+
+    def "values of existing keys can be changed"() {
+        given:
+        def map = new FlatResultMap(["a", "b"], ["A", "B"] as Object[])
+
+        when:
+        def previous = map.put("a", "X")
+        map.entrySet().find { it.key == "b" }.setValue("Y")
+
+        then:
+        previous == "A"
+        map == [a: "X", b: "Y"]
+    }
+
+    def "keys can be added and removed"() {
+        given:
+        def map = new FlatResultMap(["a", "b", "c"], ["A", "B", "C"] as Object[])
+
+        when:
+        map.put("d", "D")
+        map.remove("a")
+
+        then:
+        map.keySet().toList() == ["b", "c", "d"]
+        map == [b: "B", c: "C", d: "D"]
+
+        when:
+        map.clear()
+
+        then:
+        map.isEmpty()
+    }
+
+    def "entries can be removed while iterating"() {
+        given:
+        def map = new FlatResultMap(["a", "b", "c"], ["A", "B", "C"] as Object[])
+
+        when:
+        map.keySet().removeIf { it == "b" }
+
+        then:
+        map.keySet().toList() == ["a", "c"]
+        map == [a: "A", c: "C"]
+    }
+
+    def "entries read their values without looking up their keys"() {
+        given:
+        def lookups = 0
+        def keys = new ArrayList<String>(["a", "b", "c"]) {
+            @Override
+            int indexOf(Object o) {
+                lookups++
+                super.indexOf(o)
+            }
+        }
+        def map = new FlatResultMap(keys, ["A", "B", "C"] as Object[])
+
+        when:
+        def values = map.entrySet().collect { it.value }
+        map.entrySet().each { it.value = it.value + "!" }
+
+        then:
+        values == ["A", "B", "C"]
+        lookups == 0
+        map == [a: "A!", b: "B!", c: "C!"]
+
+        when:
+        def entries = map.entrySet().toList()
+        map.put("d", "D")
+        entries[0].value = "changed"
+
+        then:
+        entries[1].value == "B!"
+        map == [a: "changed", b: "B!", c: "C!", d: "D"]
+    }
+
+    def "the keys of wide objects are looked up through an index"() {
+        given:
+        def lookups = 0
+        def names = (0..<20).collect { "f" + it }
+        def keys = new ArrayList<String>(names) {
+            @Override
+            int indexOf(Object o) {
+                lookups++
+                super.indexOf(o)
+            }
+        }
+        def map = new FlatResultMap(keys, names.collect { it.toUpperCase() } as Object[])
+
+        when:
+        def found = names.collect { map.get(it) }
+        map.put("f19", "changed")
+
+        then:
+        found == names.collect { it.toUpperCase() }
+        map.containsKey("f0")
+        !map.containsKey("other")
+        map.get("f19") == "changed"
+        lookups == 0
+    }
+
+    def "the first of duplicate keys wins whether or not the object is wide"() {
+        given:
+        def narrow = new FlatResultMap(["a", "a"], ["first", "second"] as Object[])
+        def names = (0..<20).collect { "a" }
+        def wide = new FlatResultMap(names, (0..<20).toList() as Object[])
+
+        expect:
+        narrow.get("a") == "first"
+        wide.get("a") == 0
+    }
+
+    def "is serialised as an ordered map"() {
+        given:
+        def map = new FlatResultMap(["b", "a"], ["B", [1, 2]] as Object[])
+
+        when:
+        def bytes = new ByteArrayOutputStream()
+        new ObjectOutputStream(bytes).withCloseable { it.writeObject(map) }
+        def copy = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray())).withCloseable { it.readObject() }
+
+        then:
+        copy instanceof LinkedHashMap
+        copy == map
+        copy.keySet().toList() == ["b", "a"]
+    }
+
+    def "the data of objects in an execution result is flat"() {
+        given:
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).build()
+
+        when:
+        def result = graphQL.execute("{ hero { name friends { name } } }")
+
+        then:
+        result.errors.isEmpty()
+        result.data instanceof FlatResultMap
+        result.data.hero instanceof FlatResultMap
+        result.data.hero.friends[0] instanceof FlatResultMap
+        result.data == [hero: [name: "R2-D2", friends: [[name: "Luke Skywalker"], [name: "Han Solo"], [name: "Leia Organa"]]]]
+    }
+}
@@ -0,0 +1,276 @@
+package graphql.execution
+
+import graphql.Directives
+import graphql.ErrorType
+import graphql.ExecutionInput
+import graphql.ExecutionResult
+import graphql.ExecutionResultImpl
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.instrumentation.SimpleInstrumentation
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
+import graphql.execution.pubsub.CapturingSubscriber
+import org.reactivestreams.Publisher
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class IncrementalExecutionStrategyTest extends Specification {
+
+    def spec = '''
+        type Query {
+            hero : Character
+        }
+        type Character {
+            name : String
+            age : Int
+            friends : [Character]
+            mandatory : String!
+        }
+    '''
+
+    def hero = [name   : "Luke", age: 19,
+                friends: [[name: "Leia", age: 19], [name: "Han", age: 29], [name: "Chewie", age: 200]]]
+
+    def graphQL = GraphQL.newGraphQL(TestUtil.schema(spec).transform({
+        it.additionalDirective(Directives.DeferDirective).additionalDirective(Directives.StreamDirective)
+    })).queryExecutionStrategy(new IncrementalExecutionStrategy()).build()
+
+    def execute(String query, Map<String, Object> variables = [:]) {
+        graphQL.execute(ExecutionInput.newExecutionInput(query).root([hero: hero]).variables(variables))
+    }
+
+    static List<IncrementalPayload> payloads(Publisher<IncrementalPayload> publisher) {
+        def subscriber = new CapturingSubscriber<IncrementalPayload>()
+        publisher.subscribe(subscriber)
+        assert subscriber.isDone().get()
+        assert subscriber.throwable == null
+        subscriber.events
+    }
+
+    def "deferred fragments are left out of the initial result and delivered later"() {
+        when:
+        def result = execute('''
+            {
+                hero {
+                    name
+                    ... on Character @defer(label: "details") { age }
+                    ... Friends @defer
+                }
+            }
+            fragment Friends on Character { friends { name } }
+        ''')
+
+        then:
+        result instanceof IncrementalExecutionResult
+        result.errors.isEmpty()
+        result.data == [hero: [name: "Luke"]]
+        result.toSpecification() == [data: [hero: [name: "Luke"]], hasNext: true]
+
+        when:
+        def payloads = payloads((result as IncrementalExecutionResult).incrementalPayloads)
+
+        then:
+        payloads.size() == 2
+        payloads*.hasNext() == [true, false]
+        payloads*.toSpecification().collect { it.findAll { it.key != "hasNext" } } as Set == [
+                [data: [age: 19], path: ["hero"], label: "details"],
+                [data: [friends: [[name: "Leia"], [name: "Han"], [name: "Chewie"]]], path: ["hero"]]
+        ] as Set
+    }
+
+    def "nested deferred fragments are delivered after the fragment they are in"() {
+        when:
+        def result = execute('''
+            {
+                hero {
+                    name
+                    ... @defer(label: "outer") {
+                        friends {
+                            name
+                            ... @defer(label: "inner") { age }
+                        }
+                    }
+                }
+            }
+        ''')
+        def payloads = payloads((result as IncrementalExecutionResult).incrementalPayloads)
+
+        then:
+        result.data == [hero: [name: "Luke"]]
+        payloads.size() == 4
+        payloads*.hasNext() == [true, true, true, false]
+        payloads[0].label == "outer"
+        payloads[0].data == [friends: [[name: "Leia"], [name: "Han"], [name: "Chewie"]]]
+        payloads.subList(1, 4).collect { [it.path, it.data] } as Set == [
+                [["hero", "friends", 0], [age: 19]],
+                [["hero", "friends", 1], [age: 29]],
+                [["hero", "friends", 2], [age: 200]]
+        ] as Set
+    }
+
+    def "streamed list items after the initial count are delivered in order"() {
+        when:
+        def result = execute('''
+            {
+                hero {
+                    friends @stream(initialCount: 1, label: "friends") { name }
+                }
+            }
+        ''')
+        def payloads = payloads((result as IncrementalExecutionResult).incrementalPayloads)
+
+        then:
+        result.data == [hero: [friends: [[name: "Leia"]]]]
+        payloads*.toSpecification() == [
+                [items: [[name: "Han"]], path: ["hero", "friends", 1], label: "friends", hasNext: true],
+                [items: [[name: "Chewie"]], path: ["hero", "friends", 2], label: "friends", hasNext: false]
+        ]
+    }
+
+    def "a negative initial count is a field error"() {
+        when:
+        def result = execute('''
+            query($count : Int!) {
+                hero {
+                    name
+                    friends @stream(initialCount: $count) { name }
+                }
+            }
+        ''', [count: -1])
+
+        then:
+        !(result instanceof IncrementalExecutionResult)
+        result.data == [hero: [name: "Luke", friends: null]]
+        result.errors.size() == 1
+        result.errors[0].path == ["hero", "friends"]
+        result.errors[0].message == "The initialCount of @stream must be zero or more but was -1"
+    }
+
+    def "a null initial count is invalid"() {
+        when:
+        def result = execute('''
+            {
+                hero {
+                    friends @stream(initialCount: null) { name }
+                }
+            }
+        ''')
+
+        then:
+        result.data == null
+        result.errors.size() == 1
+        result.errors[0].errorType == ErrorType.ValidationError
+    }
+
+    def "the arguments of the directives are coerced with the declarations of the schema"() {
+        given:
+        def declared = GraphQL.newGraphQL(TestUtil.schema(spec + '''
+            directive @defer(if: Boolean! = true, label: String) on FRAGMENT_SPREAD | INLINE_FRAGMENT
+            directive @stream(if: Boolean! = true, label: String, initialCount: Int! = 2) on FIELD
+        ''')).queryExecutionStrategy(new IncrementalExecutionStrategy()).build()
+
+        when:
+        def result = declared.execute(ExecutionInput.newExecutionInput('{ hero { friends @stream { name } } }').root([hero: hero]))
+
+        then:
+        result.data == [hero: [friends: [[name: "Leia"], [name: "Han"]]]]
+        payloads((result as IncrementalExecutionResult).incrementalPayloads)*.items == [[[name: "Chewie"]]]
+    }
+
+    def "stream is only allowed on list fields"() {
+        when:
+        def result = execute('{ hero { name @stream } }')
+
+        then:
+        result.data == null
+        result.errors.size() == 1
+        result.errors[0].errorType == ErrorType.ValidationError
+        result.errors[0].message.contains("Directive stream is not allowed on the field of type String, which is not a list")
+    }
+
+    def "defer and stream are not allowed on the root fields of mutations and subscriptions"() {
+        given:
+        def rootSchema = TestUtil.schema(spec + '''
+            type Mutation {
+                rename(name : String) : Character
+                renameAll : [Character]
+            }
+            type Subscription {
+                heroes : Character
+            }
+        ''').transform({ it.additionalDirective(Directives.DeferDirective).additionalDirective(Directives.StreamDirective) })
+        def rootGraphQL = GraphQL.newGraphQL(rootSchema).build()
+
+        when:
+        def deferred = rootGraphQL.execute('mutation { ... @defer { rename(name: "Luke") { name } } }')
+        def streamed = rootGraphQL.execute('mutation { renameAll @stream { name } }')
+        def subscribed = rootGraphQL.execute('subscription { ... @defer { heroes { name } } }')
+        def nested = rootGraphQL.execute('mutation { rename(name: "Luke") { name ... @defer { age } friends @stream { name } } }')
+
+        then:
+        deferred.errors*.message == ["Validation error of type MisplacedDirective: Directive defer is not allowed on the root fields of a mutation"]
+        streamed.errors*.message == ["Validation error of type MisplacedDirective: Directive stream is not allowed on the root fields of a mutation @ 'renameAll'"]
+        subscribed.errors*.message == ["Validation error of type MisplacedDirective: Directive defer is not allowed on the root fields of a subscription"]
+        nested.errors.every { it.errorType != ErrorType.ValidationError }
+    }
+
+    def "the payloads are kept when instrumentation replaces the initial result"() {
+        given:
+        def instrumentation = new SimpleInstrumentation() {
+            @Override
+            CompletableFuture<ExecutionResult> instrumentExecutionResult(ExecutionResult executionResult, InstrumentationExecutionParameters parameters) {
+                CompletableFuture.completedFuture(new ExecutionResultImpl(executionResult.data, executionResult.errors, [instrumented: true]))
+            }
+        }
+        def instrumented = graphQL.transform({ it.instrumentation(instrumentation) })
+
+        when:
+        def result = instrumented.execute(ExecutionInput.newExecutionInput('{ hero { name ... @defer { age } } }').root([hero: hero]))
+
+        then:
+        result.toSpecification() == [data: [hero: [name: "Luke"]], extensions: [instrumented: true], hasNext: true]
+        payloads((result as IncrementalExecutionResult).incrementalPayloads)*.toSpecification() == [[data: [age: 19], path: ["hero"], hasNext: false]]
+    }
+
+    def "errors are delivered with the payload they happened in"() {
+        when:
+        def result = execute('''
+            {
+                hero {
+                    name
+                    ... @defer { name mandatory }
+                }
+            }
+        ''')
+        def payloads = payloads((result as IncrementalExecutionResult).incrementalPayloads)
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "Luke"]]
+        payloads.size() == 1
+        payloads[0].data == null
+        payloads[0].path == ["hero"]
+        payloads[0].errors.size() == 1
+        payloads[0].errors[0].path == ["hero", "mandatory"]
+    }
+
+    def "disabled directives and queries without them give the same result as the async strategy"() {
+        when:
+        def result = execute('''
+            query($defer : Boolean!) {
+                hero {
+                    name
+                    ... @defer(if: $defer) { age }
+                    friends @stream(if: false) { name }
+                }
+            }
+        ''', [defer: false])
+
+        then:
+        result.errors.isEmpty()
+        result.data == [hero: [name: "Luke", age: 19, friends: [[name: "Leia"], [name: "Han"], [name: "Chewie"]]]]
+        !(result instanceof IncrementalExecutionResult)
+        result.toSpecification() == [data: result.data]
+    }
+}
@@ -0,0 +1,46 @@
+package graphql.execution
+
+import graphql.language.Field
+import graphql.schema.GraphQLObjectType
+import spock.lang.Specification
+
+import static graphql.Scalars.GraphQLString
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition
+
+class MergedSelectionSetCacheTest extends Specification {
+
+    def objectType = GraphQLObjectType.newObject().name("Pet").field(newFieldDefinition().name("name").type(GraphQLString)).build()
+    def field = MergedField.newMergedField(new Field("pet")).build()
+
+    def "the sub fields are collected once per object type and field"() {
+        def cache = new MergedSelectionSetCache()
+        def calls = 0
+        def collect = { calls++; MergedSelectionSet.newMergedSelectionSet().build() }
+
+        when:
+        def first = cache.get(objectType, field, collect)
+        def second = cache.get(objectType, field, collect)
+
+        then:
+        first.is(second)
+        calls == 1
+        cache.size() == 1
+    }
+
+    def "the sub fields of whoever got there first are shared"() {
+        def cache = new MergedSelectionSetCache()
+        def first = MergedSelectionSet.newMergedSelectionSet().build()
+        def lost = MergedSelectionSet.newMergedSelectionSet().build()
+
+        when:
+        // the fields are put in the cache by someone else while they are being collected
+        def subFields = cache.get(objectType, field, {
+            cache.get(objectType, field, { first })
+            lost
+        })
+
+        then:
+        subFields.is(first)
+        cache.get(objectType, field, { lost }).is(first)
+    }
+}
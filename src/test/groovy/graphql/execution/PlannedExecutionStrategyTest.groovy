@@ -0,0 +1,198 @@
+package graphql.execution
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.TestUtil
+import graphql.execution.preparsed.CachingPreparsedDocumentProvider
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.schema.GraphQLSchema
+import graphql.schema.DataFetcher
+import graphql.schema.DataFetcherFactory
+import graphql.schema.DataFetcherFactoryEnvironment
+import graphql.schema.PropertyDataFetcher
+import graphql.schema.idl.FieldWiringEnvironment
+import graphql.schema.idl.RuntimeWiring
+import graphql.schema.idl.WiringFactory
+import spock.lang.Specification
+
+import java.util.function.Function
+
+import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring
+
+class PlannedExecutionStrategyTest extends Specification {
+
+    def sdl = """
+        type Query { pets(first: Int): [Pet] }
+        interface Pet { name: String }
+        type Dog implements Pet { name: String barks: Boolean }
+        type Cat implements Pet { name: String meows: Boolean }
+    """
+
+    def pets = [
+            [name: "Fido", barks: true],
+            [name: "Tom", meows: true],
+            [name: "Rex", barks: false],
+    ]
+
+    def dataFetcherFactoryCalls = 0
+
+    def schema() {
+        def typeResolver = { env -> env.schema.getObjectType(env.getObject().containsKey("barks") ? "Dog" : "Cat") }
+        def factory = new DataFetcherFactory<Object>() {
+            @Override
+            DataFetcher<Object> get(DataFetcherFactoryEnvironment environment) {
+                dataFetcherFactoryCalls++
+                def name = environment.fieldDefinition.name
+                if (name == "pets") {
+                    return { env -> pets.take(env.getArgument("first") ?: pets.size()) }
+                }
+                return new PropertyDataFetcher<Object>(name)
+            }
+        }
+        def wiringFactory = new WiringFactory() {
+            @Override
+            boolean providesDataFetcherFactory(FieldWiringEnvironment environment) {
+                true
+            }
+
+            @Override
+            <T> DataFetcherFactory<T> getDataFetcherFactory(FieldWiringEnvironment environment) {
+                factory
+            }
+        }
+        TestUtil.schema(sdl, RuntimeWiring.newRuntimeWiring()
+                .wiringFactory(wiringFactory)
+                .type(newTypeWiring("Pet").typeResolver(typeResolver)))
+    }
+
+    def query = """
+        query Q(\$withSounds: Boolean!) {
+            pets(first: 3) {
+                name
+                ... on Dog @include(if: \$withSounds) { barks }
+                ...CatSounds
+            }
+        }
+        fragment CatSounds on Cat { meows @include(if: \$withSounds) }
+    """
+
+    def graphQL(strategy) {
+        GraphQL.newGraphQL(schema())
+                .queryExecutionStrategy(strategy)
+                .preparsedDocumentProvider(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build())
+                .build()
+    }
+
+    def execute(GraphQL graphQL, boolean withSounds) {
+        graphQL.execute(ExecutionInput.newExecutionInput(query).variables([withSounds: withSounds]).build())
+    }
+
+    def "executes the same as the async strategy"() {
+        def planned = graphQL(new PlannedExecutionStrategy())
+        def async = graphQL(new AsyncExecutionStrategy())
+
+        expect:
+        execute(planned, withSounds).toSpecification() == execute(async, withSounds).toSpecification()
+        execute(planned, withSounds).data == [pets: expected]
+
+        where:
+        withSounds | expected
+        true       | [[name: "Fido", barks: true], [name: "Tom", meows: true], [name: "Rex", barks: false]]
+        false      | [[name: "Fido"], [name: "Tom"], [name: "Rex"]]
+    }
+
+    def "the plan is shared by executions with different conditions"() {
+        def planned = graphQL(new PlannedExecutionStrategy())
+
+        when:
+        def withSounds = execute(planned, true)
+        def withoutSounds = execute(planned, false)
+        def withSoundsAgain = execute(planned, true)
+
+        then:
+        withSounds.data == withSoundsAgain.data
+        withoutSounds.data == [pets: [[name: "Fido"], [name: "Tom"], [name: "Rex"]]]
+        // pets, Dog.name, Dog.barks, Cat.name and Cat.meows once each for every execution
+        dataFetcherFactoryCalls == 5
+    }
+
+    def "data fetchers are looked up for every field without a plan"() {
+        def async = graphQL(new AsyncExecutionStrategy())
+
+        when:
+        execute(async, true)
+
+        then:
+        dataFetcherFactoryCalls == 7
+    }
+
+    static PreparsedDocumentProvider planCapturingProvider(List<ExecutionPlan> plans) {
+        def entry = null
+        new PreparsedDocumentProvider() {
+            @Override
+            PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                if (entry == null) {
+                    entry = new PreparsedDocumentEntry(parseAndValidateFunction.apply(executionInput).document) {
+                        @Override
+                        ExecutionPlan getExecutionPlan(GraphQLSchema schema, String operationName) {
+                            def plan = super.getExecutionPlan(schema, operationName)
+                            plans.add(plan)
+                            plan
+                        }
+                    }
+                }
+                entry
+            }
+        }
+    }
+
+    def "plans are only made for planned strategies"() {
+        def plans = []
+        def schema = schema()
+        def build = { strategy -> GraphQL.newGraphQL(schema).queryExecutionStrategy(strategy).preparsedDocumentProvider(planCapturingProvider(plans)).build() }
+
+        when:
+        execute(build(new AsyncExecutionStrategy()), true)
+
+        then:
+        plans.isEmpty()
+
+        when:
+        def planned = build(new PlannedExecutionStrategy())
+        execute(planned, true)
+        execute(planned, false)
+
+        then:
+        plans.size() == 2
+        plans[0].is(plans[1])
+    }
+
+    def "the fields of only so many condition combinations are kept in a plan"() {
+        def names = (0..<6).collect { "v$it".toString() }
+        def conditionQuery = "query Q(" + names.collect { "\$$it: Boolean!" }.join(", ") + ") { pets { " +
+                names.collect { "... on Pet @include(if: \$$it) { name }" }.join(" ") + " } }"
+        def plans = []
+        def planned = GraphQL.newGraphQL(schema())
+                .queryExecutionStrategy(new PlannedExecutionStrategy())
+                .preparsedDocumentProvider(planCapturingProvider(plans))
+                .build()
+        def results = []
+
+        when:
+        (0..<128).each { run ->
+            def bits = run % 64
+            def variables = names.indices.collectEntries { i -> [(names[i]): ((bits >> i) & 1) == 1] }
+            results.add(planned.execute(ExecutionInput.newExecutionInput(conditionQuery).variables(variables).build()))
+        }
+
+        then:
+        results.every { it.errors.isEmpty() }
+        results[0].data == [pets: [[:], [:], [:]]]
+        results[1].data == [pets: [[name: "Fido"], [name: "Tom"], [name: "Rex"]]]
+        results[63].data == results[127].data
+        results[64].data == results[0].data
+        // the root fields and the fields of the pets for each kept combination
+        plans[0].selectionSets.size() == 1 + ExecutionPlan.MAX_CONDITION_COMBINATIONS
+    }
+}
@@ -17,7 +17,10 @@ import graphql.language.TypeName
 import graphql.language.Value
 import graphql.language.VariableDefinition
 import graphql.language.VariableReference
+import graphql.schema.Coercing
 import graphql.schema.CoercingParseValueException
+import graphql.schema.GraphQLCodeRegistry
+import graphql.schema.GraphQLScalarType
 import spock.lang.Specification
 import spock.lang.Unroll
 
@@ -508,4 +511,110 @@ class ValuesResolverTest extends Specification {
         then:
         values['arg'] == null
     }
+
+    def "createArgumentCoercionPlan: arguments without variables are coerced once"() {
+        given:
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry().build()
+        def stringArgument = newArgument().name("str").type(GraphQLString).build()
+        def intArgument = newArgument().name("int").type(GraphQLInt).defaultValue(42).build()
+        def listArgument = newArgument().name("list").type(list(GraphQLString)).build()
+        def arguments = [new Argument("str", new StringValue("hello")),
+                         new Argument("list", new ArrayValue([new StringValue("a"), new StringValue("b")]))]
+
+        when:
+        def plan = resolver.createArgumentCoercionPlan(codeRegistry, [stringArgument, intArgument, listArgument], arguments)
+        def values = plan.getArgumentValues([:])
+
+        then:
+        plan.isConstant()
+        values == [str: "hello", int: 42, list: ["a", "b"]]
+        values.keySet().toList() == ["str", "int", "list"]
+        plan.getArgumentValues([other: "value"]) == values
+        !plan.getArgumentValues([other: "value"]).is(values)
+    }
+
+    def "createArgumentCoercionPlan: arguments with variables are coerced each time"() {
+        given:
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry().build()
+        def constantArgument = newArgument().name("constant").type(GraphQLString).build()
+        def variableArgument = newArgument().name("variable").type(GraphQLString).defaultValue("default").build()
+        def nestedArgument = newArgument().name("nested").type(list(GraphQLString)).build()
+        def arguments = [new Argument("constant", new StringValue("fixed")),
+                         new Argument("variable", new VariableReference("var")),
+                         new Argument("nested", new ArrayValue([new StringValue("a"), new VariableReference("item")]))]
+
+        when:
+        def plan = resolver.createArgumentCoercionPlan(codeRegistry, [constantArgument, variableArgument, nestedArgument], arguments)
+
+        then:
+        !plan.isConstant()
+        plan.getArgumentValues([var: "one", item: "b"]) == [constant: "fixed", variable: "one", nested: ["a", "b"]]
+        plan.getArgumentValues([item: "c"]) == [constant: "fixed", variable: "default", nested: ["a", "c"]]
+        plan.getArgumentValues([var: "two", item: "b"]).keySet().toList() == ["constant", "variable", "nested"]
+    }
+
+    def "createArgumentCoercionPlan: the maps and lists of values coerced once are copied for every call"() {
+        given:
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry().build()
+        def inputType = newInputObject().name("Input")
+                .field(newInputObjectField().name("names").type(list(GraphQLString)))
+                .build()
+        def inputArgument = newArgument().name("input").type(inputType).build()
+        def variableArgument = newArgument().name("variable").type(GraphQLString).build()
+        def arguments = [new Argument("input", new ObjectValue([new ObjectField("names", new ArrayValue([new StringValue("a"), NullValue.newNullValue().build()]))])),
+                         new Argument("variable", new VariableReference("var"))]
+
+        when:
+        def plan = resolver.createArgumentCoercionPlan(codeRegistry, [inputArgument, variableArgument], arguments)
+        def values = plan.getArgumentValues([var: "one"])
+        values.input.put("other", "value")
+        values.input.names.add("b")
+        values.put("added", true)
+
+        then:
+        values == [input: [names: ["a", null, "b"], other: "value"], variable: "one", added: true]
+        plan.getArgumentValues([var: "two"]) == [input: [names: ["a", null]], variable: "two"]
+    }
+
+    def "createArgumentCoercionPlan: the values of custom scalars coerced once are shared as they are"() {
+        given:
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry().build()
+        def scalarValue = Collections.unmodifiableMap([x: 1])
+        def mapScalar = GraphQLScalarType.newScalar().name("MapScalar").coercing(new Coercing() {
+            @Override
+            Object serialize(Object dataFetcherResult) { dataFetcherResult }
+
+            @Override
+            Object parseValue(Object input) { input }
+
+            @Override
+            Object parseLiteral(Object input) { scalarValue }
+        }).build()
+        def scalarArgument = newArgument().name("scalar").type(mapScalar).build()
+
+        when:
+        def plan = resolver.createArgumentCoercionPlan(codeRegistry, [scalarArgument], [new Argument("scalar", new StringValue("any"))])
+
+        then:
+        plan.isConstant()
+        plan.getArgumentValues([:]).scalar.is(scalarValue)
+    }
+
+    def "createArgumentCoercionPlan: a missing non null argument fails when the values are asked for"() {
+        given:
+        def codeRegistry = GraphQLCodeRegistry.newCodeRegistry().build()
+        def fieldArgument = newArgument().name("arg").type(nonNull(GraphQLString)).build()
+
+        when:
+        def plan = resolver.createArgumentCoercionPlan(codeRegistry, [fieldArgument], [])
+
+        then:
+        !plan.isConstant()
+
+        when:
+        plan.getArgumentValues([:])
+
+        then:
+        thrown(RuntimeException)
+    }
 }
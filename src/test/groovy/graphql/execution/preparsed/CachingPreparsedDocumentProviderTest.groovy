@@ -0,0 +1,225 @@
+package graphql.execution.preparsed
+
+import graphql.AssertException
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.execution.instrumentation.TestingInstrumentation
+import graphql.parser.Parser
+import graphql.validation.ValidationOptions
+import graphql.validation.rules.NoUnusedFragments
+import spock.lang.Specification
+
+import java.util.function.Function
+
+class CachingPreparsedDocumentProviderTest extends Specification {
+
+    def parseCount = 0
+
+    Function<ExecutionInput, PreparsedDocumentEntry> engineParser = {
+        ExecutionInput ei ->
+            parseCount++
+            return new PreparsedDocumentEntry(new Parser().parseDocument(ei.getQuery()))
+    }
+
+    def ei(String query) {
+        ExecutionInput.newExecutionInput(query).build()
+    }
+
+    def "documents are cached and counted"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+
+        when:
+        def entry1 = provider.getDocument(ei("{ a }"), engineParser)
+        def entry2 = provider.getDocument(ei("{ a }"), engineParser)
+        def entry3 = provider.getDocument(ei("{ b }"), engineParser)
+        def stats = provider.getStats()
+
+        then:
+        entry1.is(entry2)
+        !entry1.is(entry3)
+        parseCount == 2
+        stats.hitCount == 1
+        stats.missCount == 2
+        stats.requestCount == 3
+        stats.evictionCount == 0
+        stats.size == 2
+        stats.totalLoadTimeNanos > 0
+    }
+
+    def "operation name and schema are part of the key"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def schemaA = TestUtil.schema("type Query { a : String }")
+        def schemaB = TestUtil.schema("type Query { a : String }")
+        def query = "query X { a } query Y { a }"
+
+        when:
+        provider.getDocument(ei(query), schemaA, engineParser)
+        provider.getDocument(ei(query), schemaA, engineParser)
+        provider.getDocument(ei(query), schemaB, engineParser)
+        provider.getDocument(ExecutionInput.newExecutionInput(query).operationName("X").build(), schemaA, engineParser)
+
+        then:
+        parseCount == 3
+        provider.getStats().hitCount == 1
+    }
+
+    def "documents validated with only some of the rules are not cached"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def partialGraphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(provider)
+                .validationOptions(ValidationOptions.defaultOptions().denyRules([NoUnusedFragments]))
+                .build()
+        def fullGraphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).preparsedDocumentProvider(provider).build()
+        def query = "{ hero { id } } fragment unused on Character { name }"
+
+        when:
+        def partialResult = partialGraphQL.execute(query)
+        def fullResult = fullGraphQL.execute(query)
+
+        then:
+        partialResult.errors.isEmpty()
+        partialResult.data == [hero: [id: "2001"]]
+        fullResult.errors.size() == 1
+        fullResult.errors[0].message.contains("Unused fragment")
+        provider.getStats().size == 1
+    }
+
+    def "least recently used entries are evicted when the size is exceeded"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumSize(2).build()
+
+        when:
+        provider.getDocument(ei("{ a }"), engineParser)
+        provider.getDocument(ei("{ b }"), engineParser)
+        provider.getDocument(ei("{ a }"), engineParser)
+        provider.getDocument(ei("{ c }"), engineParser)
+
+        then:
+        parseCount == 3
+        provider.getStats().evictionCount == 1
+        provider.getStats().size == 2
+
+        when: "a was used more recently than b so b was evicted"
+        provider.getDocument(ei("{ a }"), engineParser)
+
+        then:
+        parseCount == 3
+
+        when:
+        provider.getDocument(ei("{ b }"), engineParser)
+
+        then:
+        parseCount == 4
+    }
+
+    def "entries can be bounded by weight"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumWeight(12).build()
+
+        when:
+        provider.getDocument(ei("{ a b c }"), engineParser)
+        provider.getDocument(ei("{ d e f }"), engineParser)
+        def stats = provider.getStats()
+
+        then: "each document has 6 nodes - document, operation, selection set and 3 fields"
+        stats.size == 2
+        stats.weight == 12
+
+        when:
+        provider.getDocument(ei("{ g }"), engineParser)
+        stats = provider.getStats()
+
+        then:
+        stats.size == 2
+        stats.weight == 10
+        stats.evictionCount == 1
+
+        when: "entries heavier than the whole cache are never cached"
+        provider.getDocument(ei("{ a b c d e f g h i j k }"), engineParser)
+        stats = provider.getStats()
+
+        then:
+        stats.size == 2
+        stats.evictionCount == 1
+    }
+
+    def "the weigher is kept whatever the order of the builder calls"() {
+        def weigher = { query, entry -> 5 } as PreparsedDocumentWeigher
+
+        when:
+        def weigherFirst = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().weigher(weigher).maximumWeight(12).build()
+        def weigherLast = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().maximumWeight(12).weigher(weigher).build()
+        [weigherFirst, weigherLast].each { it.getDocument(ei("{ a b c }"), engineParser) }
+
+        then:
+        weigherFirst.getStats().weight == 5
+        weigherLast.getStats().weight == 5
+    }
+
+    def "a size bound can't be combined with a weight bound or a weigher"() {
+        when:
+        builder.call(CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()).build()
+
+        then:
+        thrown(AssertException)
+
+        where:
+        builder << [
+                { it.maximumSize(10).maximumWeight(10) },
+                { it.maximumWeight(10).maximumSize(10) },
+                { it.maximumSize(10).weigher(PreparsedDocumentWeigher.AST_NODE_COUNT) },
+                { it.weigher(PreparsedDocumentWeigher.AST_NODE_COUNT).maximumSize(10) },
+        ]
+    }
+
+    def "negative weights are rejected"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider()
+                .maximumWeight(12)
+                .weigher({ query, entry -> -1 } as PreparsedDocumentWeigher)
+                .build()
+
+        when:
+        provider.getDocument(ei("{ a }"), engineParser)
+
+        then:
+        thrown(AssertException)
+        provider.getStats().size == 0
+    }
+
+    def "can be invalidated"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+
+        when:
+        provider.getDocument(ei("{ a }"), engineParser)
+        provider.invalidateAll()
+        provider.getDocument(ei("{ a }"), engineParser)
+
+        then:
+        parseCount == 2
+        provider.getStats().size == 1
+    }
+
+    def "works with the graphql engine"() {
+        def provider = CachingPreparsedDocumentProvider.newCachingPreparsedDocumentProvider().build()
+        def instrumentation = new TestingInstrumentation()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .instrumentation(instrumentation)
+                .preparsedDocumentProvider(provider)
+                .build()
+
+        when:
+        def result1 = graphQL.execute("{ hero { id } }")
+        def result2 = graphQL.execute("{ hero { id } }")
+        def invalidResult1 = graphQL.execute("{ heroXXX { id } }")
+        def invalidResult2 = graphQL.execute("{ heroXXX { id } }")
+
+        then:
+        result1.data == [hero: [id: "2001"]]
+        result2.data == result1.data
+        invalidResult1.errors.size() == 1
+        invalidResult1.errors == invalidResult2.errors
+        instrumentation.executionList.count { it == "start:parse" } == 2
+        provider.getStats().hitCount == 2
+        provider.getStats().missCount == 2
+    }
+}
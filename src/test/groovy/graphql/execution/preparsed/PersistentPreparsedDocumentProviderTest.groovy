@@ -0,0 +1,275 @@
+package graphql.execution.preparsed
+
+import graphql.ExecutionInput
+import graphql.GraphQL
+import graphql.InvalidSyntaxError
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.language.SourceLocation
+import graphql.parser.Parser
+import graphql.validation.ValidationOptions
+import graphql.validation.rules.NoUnusedFragments
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.function.Function
+
+import static graphql.language.AstPrinter.printAstCompact
+
+class PersistentPreparsedDocumentProviderTest extends Specification {
+
+    Path storePath
+    def parseCount = 0
+
+    Function<ExecutionInput, PreparsedDocumentEntry> engineParser = {
+        ExecutionInput ei ->
+            parseCount++
+            return new PreparsedDocumentEntry(new Parser().parseDocument(ei.getQuery()))
+    }
+
+    void setup() {
+        storePath = Files.createTempFile("graphql-documents", ".bin")
+        Files.delete(storePath)
+    }
+
+    void cleanup() {
+        Files.deleteIfExists(storePath)
+    }
+
+    def open() {
+        PersistentPreparsedDocumentProvider.newPersistentPreparsedDocumentProvider().storePath(storePath).build()
+    }
+
+    def ei(String query) {
+        ExecutionInput.newExecutionInput(query).build()
+    }
+
+    def "documents survive a restart"() {
+        def schema = TestUtil.schema("type Query { a : String b : String }")
+
+        when:
+        def provider = open()
+        provider.getDocument(ei("{ a }"), schema, engineParser)
+        provider.getDocument(ei("{ b }"), schema, engineParser)
+        provider.getDocument(ei("{ a }"), schema, engineParser)
+        provider.close()
+
+        then:
+        parseCount == 2
+
+        when:
+        provider = open()
+        def entryA = provider.getDocument(ei("{ a }"), schema, engineParser)
+        def entryB = provider.getDocument(ei("{ b }"), schema, engineParser)
+
+        then:
+        parseCount == 2
+        provider.size() == 2
+        printAstCompact(entryA.getDocument()) == "query {a}"
+        printAstCompact(entryB.getDocument()) == "query {b}"
+
+        cleanup:
+        provider.close()
+    }
+
+    def "documents are keyed by schema content"() {
+        def schemaA = TestUtil.schema("type Query { a : String }")
+        def sameAsSchemaA = TestUtil.schema("type Query { a : String }")
+        def schemaB = TestUtil.schema("type Query { a : String b : String }")
+
+        when:
+        def provider = open()
+        provider.getDocument(ei("{ a }"), schemaA, engineParser)
+        provider.getDocument(ei("{ a }"), sameAsSchemaA, engineParser)
+        provider.getDocument(ei("{ a }"), schemaB, engineParser)
+        provider.close()
+
+        then:
+        parseCount == 2
+    }
+
+    def "documents with errors are not stored"() {
+        def error = new InvalidSyntaxError(new SourceLocation(1, 1), "bang")
+
+        when:
+        def provider = open()
+        def entry = provider.getDocument(ei("{ a "), { new PreparsedDocumentEntry(error) } as Function)
+
+        then:
+        entry.hasErrors()
+        provider.size() == 0
+
+        cleanup:
+        provider.close()
+    }
+
+    def "documents validated with only some of the rules are not stored"() {
+        def query = "{ hero { id } } fragment unused on Character { name }"
+
+        when:
+        def provider = open()
+        def partialGraphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(provider)
+                .validationOptions(ValidationOptions.defaultOptions().denyRules([NoUnusedFragments]))
+                .build()
+        def partialResult = partialGraphQL.execute(query)
+        provider.close()
+
+        provider = open()
+        def fullResult = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).preparsedDocumentProvider(provider).build().execute(query)
+
+        then:
+        partialResult.errors.isEmpty()
+        fullResult.errors.size() == 1
+        fullResult.errors[0].message.contains("Unused fragment")
+        provider.size() == 0
+
+        cleanup:
+        provider.close()
+    }
+
+    def "partially written records are discarded"() {
+        when:
+        def provider = open()
+        provider.getDocument(ei("{ a }"), engineParser)
+        provider.getDocument(ei("{ b }"), engineParser)
+        provider.close()
+        def bytes = Files.readAllBytes(storePath)
+        Files.write(storePath, Arrays.copyOf(bytes, bytes.length - 10))
+
+        provider = open()
+        provider.getDocument(ei("{ a }"), engineParser)
+        provider.getDocument(ei("{ b }"), engineParser)
+
+        then:
+        parseCount == 3
+        provider.size() == 2
+
+        cleanup:
+        provider.close()
+    }
+
+    def "unrecognised store files are reset"() {
+        when:
+        Files.write(storePath, "not a document store".getBytes())
+        def provider = open()
+        provider.getDocument(ei("{ a }"), engineParser)
+        provider.close()
+        provider = open()
+        provider.getDocument(ei("{ a }"), engineParser)
+
+        then:
+        parseCount == 1
+
+        cleanup:
+        provider.close()
+    }
+
+    def "corrupt stored documents are parsed again"() {
+        when:
+        def provider = open()
+        provider.getDocument(ei("{ a { b c } }"), engineParser)
+        provider.close()
+        def bytes = Files.readAllBytes(storePath)
+        // scramble the end of the document, past the header of the binary AST
+        for (int i = bytes.length - 12; i < bytes.length; i++) {
+            bytes[i] = (byte) 0xFF
+        }
+        Files.write(storePath, bytes)
+
+        provider = open()
+        def entry = provider.getDocument(ei("{ a { b c } }"), engineParser)
+
+        then:
+        parseCount == 2
+        printAstCompact(entry.getDocument()) == "query {a {b c}}"
+
+        cleanup:
+        provider.close()
+    }
+
+    def "huge record lengths are treated as a partially written record"() {
+        when:
+        def provider = open()
+        provider.close()
+        def header = Files.readAllBytes(storePath)
+        Files.write(storePath, ((header as List) + [0x7F, -1, -1, -1, 1, 2, 3, 4]) as byte[])
+
+        provider = open()
+        provider.getDocument(ei("{ a }"), engineParser)
+
+        then:
+        provider.size() == 1
+        Files.size(storePath) > header.length
+
+        cleanup:
+        provider.close()
+    }
+
+    def "a second provider on a store that is already open does not change it"() {
+        when:
+        def first = open()
+        first.getDocument(ei("{ a }"), engineParser)
+        def second = open()
+        def entryA = second.getDocument(ei("{ a }"), engineParser)
+        second.getDocument(ei("{ b }"), engineParser)
+        second.getDocument(ei("{ b }"), engineParser)
+        first.getDocument(ei("{ c }"), engineParser)
+        second.close()
+        first.close()
+
+        then:
+        printAstCompact(entryA.getDocument()) == "query {a}"
+        parseCount == 3
+
+        when:
+        def reopened = open()
+        reopened.getDocument(ei("{ a }"), engineParser)
+        reopened.getDocument(ei("{ b }"), engineParser)
+        reopened.getDocument(ei("{ c }"), engineParser)
+
+        then:
+        parseCount == 4
+        reopened.size() == 3
+
+        cleanup:
+        reopened.close()
+    }
+
+    def "stops storing at the maximum number of entries"() {
+        when:
+        def provider = PersistentPreparsedDocumentProvider.newPersistentPreparsedDocumentProvider()
+                .storePath(storePath).maximumEntries(1).build()
+        provider.getDocument(ei("{ a }"), engineParser)
+        provider.getDocument(ei("{ b }"), engineParser)
+        provider.getDocument(ei("{ b }"), engineParser)
+
+        then:
+        parseCount == 3
+        provider.size() == 1
+
+        cleanup:
+        provider.close()
+    }
+
+    def "works with the graphql engine"() {
+        when:
+        def provider = open()
+        def graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).preparsedDocumentProvider(provider).build()
+        def result1 = graphQL.execute("{ hero { id } }")
+        provider.close()
+
+        provider = open()
+        graphQL = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).preparsedDocumentProvider(provider).build()
+        def result2 = graphQL.execute("{ hero { id } }")
+
+        then:
+        result1.data == [hero: [id: "2001"]]
+        result2.data == result1.data
+        provider.size() == 1
+
+        cleanup:
+        provider.close()
+    }
+}
@@ -2,16 +2,23 @@ package graphql.execution.preparsed
 
 import graphql.ErrorType
 import graphql.ExecutionInput
+import graphql.ExecutionResult
 import graphql.GraphQL
 import graphql.StarWarsSchema
+import graphql.execution.AbortExecutionException
 import graphql.execution.AsyncExecutionStrategy
+import graphql.execution.ExecutionContext
+import graphql.execution.ExecutionStrategyParameters
 import graphql.execution.instrumentation.InstrumentationContext
 import graphql.execution.instrumentation.SimpleInstrumentation
 import graphql.execution.instrumentation.TestingInstrumentation
 import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters
 import graphql.language.Document
+import graphql.schema.GraphQLSchema
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CompletionException
 import java.util.function.Function
 
 class PreparsedDocumentProviderTest extends Specification {
@@ -220,4 +227,110 @@ class PreparsedDocumentProviderTest extends Specification {
         resultB.data == [hero: [name: "R2-D2"]]
         instrumentationB.capturedInput.getQuery() == queryB
     }
+
+    def "async pre-parsers can complete on another thread"() {
+        def query = """
+              query A {
+                  hero {
+                      id
+                  }
+              }
+              """
+        def lookupThreads = []
+        def documentProvider = new PreparsedDocumentProvider() {
+
+            @Override
+            PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                throw new UnsupportedOperationException("async only")
+            }
+
+            @Override
+            CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                return CompletableFuture.supplyAsync({
+                    lookupThreads.add(Thread.currentThread())
+                    return parseAndValidateFunction.apply(executionInput)
+                })
+            }
+        }
+
+        def instrumentation = new InputCapturingInstrumentation()
+        def result = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(documentProvider)
+                .instrumentation(instrumentation)
+                .build()
+                .executeAsync(ExecutionInput.newExecutionInput().query(query).build())
+                .join()
+
+        expect:
+        result.data == [hero: [id: "2001"]]
+        instrumentation.capturedInput.getQuery() == query
+        lookupThreads.size() == 1
+        lookupThreads[0] != Thread.currentThread()
+    }
+
+    def "an asynchronous abort of the document provider is turned into a result"() {
+        given:
+        def documentProvider = new PreparsedDocumentProvider() {
+            @Override
+            PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                throw new UnsupportedOperationException("async only")
+            }
+
+            @Override
+            CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                return CompletableFuture.supplyAsync({ throw new AbortExecutionException("rejected") })
+            }
+        }
+
+        when:
+        def result = GraphQL.newGraphQL(StarWarsSchema.starWarsSchema)
+                .preparsedDocumentProvider(documentProvider)
+                .build()
+                .executeAsync(ExecutionInput.newExecutionInput().query("{ hero { id } }").build())
+                .join()
+
+        then:
+        result.data == null
+        result.errors.size() == 1
+        result.errors[0].message == "rejected"
+    }
+
+    def "exceptions of the execution are thrown when the document is there straight away and complete the result otherwise"() {
+        given:
+        def failingStrategy = new AsyncExecutionStrategy() {
+            @Override
+            CompletableFuture<ExecutionResult> execute(ExecutionContext executionContext, ExecutionStrategyParameters parameters) {
+                throw new IllegalStateException("broken")
+            }
+        }
+        def asyncProvider = new PreparsedDocumentProvider() {
+            @Override
+            PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                throw new UnsupportedOperationException("async only")
+            }
+
+            @Override
+            CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput, GraphQLSchema graphQLSchema, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+                return CompletableFuture.supplyAsync({ parseAndValidateFunction.apply(executionInput) })
+            }
+        }
+        def build = { provider -> GraphQL.newGraphQL(StarWarsSchema.starWarsSchema).queryExecutionStrategy(failingStrategy).preparsedDocumentProvider(provider).build() }
+        def input = ExecutionInput.newExecutionInput().query("{ hero { id } }").build()
+
+        when:
+        build(NoOpPreparsedDocumentProvider.INSTANCE).executeAsync(input)
+
+        then:
+        def thrownException = thrown(IllegalStateException)
+        thrownException.message == "broken"
+
+        when:
+        def result = build(asyncProvider).executeAsync(input)
+        result.join()
+
+        then:
+        def completionException = thrown(CompletionException)
+        completionException.cause instanceof IllegalStateException
+        result.isCompletedExceptionally()
+    }
 }
@@ -1,7 +1,21 @@
 package graphql.execution.preparsed.persisted
 
+import graphql.ExecutionInput
+import graphql.TestUtil
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.parser.Parser
 import spock.lang.Specification
 
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+import static graphql.execution.preparsed.persisted.PersistedQuerySupport.PERSISTED_QUERY_MARKER
+import static graphql.language.AstPrinter.printAstCompact
+
 class InMemoryPersistedQueryCacheTest extends Specification {
 
     def "can be build as expected"() {
@@ -15,4 +29,116 @@ class InMemoryPersistedQueryCacheTest extends Specification {
         then:
         knownQueries == [hash123: "query { oneTwoThree }", hash456: "query { fourFiveSix }"]
     }
+
+    def mkEI(String query) {
+        ExecutionInput.newExecutionInput(query).build()
+    }
+
+    def "concurrent misses on the same id only parse once"() {
+        def cache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+                .addQuery("hash123", "query { oneTwoThree }")
+                .build()
+        def parseCount = new AtomicInteger()
+        def startLatch = new CountDownLatch(1)
+        PersistedQueryCacheMiss onCacheMiss = { String queryText ->
+            parseCount.incrementAndGet()
+            startLatch.await()
+            return new PreparsedDocumentEntry(new Parser().parseDocument(queryText))
+        }
+
+        when:
+        def executor = Executors.newFixedThreadPool(4)
+        def futures = (1..4).collect {
+            CompletableFuture.supplyAsync({ cache.getPersistedQueryDocument("hash123", mkEI(PERSISTED_QUERY_MARKER), onCacheMiss) }, executor)
+        }
+        Thread.sleep(100)
+        startLatch.countDown()
+        def entries = futures.collect { it.join() }
+        executor.shutdown()
+
+        then:
+        parseCount.get() == 1
+        entries.every { it.is(entries[0]) }
+        printAstCompact(entries[0].getDocument()) == "query {oneTwoThree}"
+    }
+
+    def "threads waiting on a load that fails with an error are woken up"() {
+        def cache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+                .addQuery("hash123", "query { oneTwoThree }")
+                .build()
+        def startLatch = new CountDownLatch(1)
+        PersistedQueryCacheMiss onCacheMiss = { String queryText ->
+            startLatch.await()
+            throw new AssertionError("bad")
+        }
+
+        when:
+        def executor = Executors.newFixedThreadPool(2)
+        def futures = (1..2).collect {
+            CompletableFuture.supplyAsync({ cache.getPersistedQueryDocument("hash123", mkEI(PERSISTED_QUERY_MARKER), onCacheMiss) }, executor)
+        }
+        Thread.sleep(100)
+        startLatch.countDown()
+        def failures = futures.collect {
+            try {
+                it.get(5, TimeUnit.SECONDS)
+                return null
+            } catch (ExecutionException e) {
+                return e.cause
+            }
+        }
+        executor.shutdown()
+
+        then:
+        failures.every { it instanceof AssertionError }
+    }
+
+    def "unknown ids are not found"() {
+        def cache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache().build()
+
+        when:
+        cache.getPersistedQueryDocument("hash123", mkEI(PERSISTED_QUERY_MARKER), { null })
+
+        then:
+        thrown(PersistedQueryNotFound)
+    }
+
+    def "can be bounded in size"() {
+        def cache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+                .addQueries([hash123: "query { oneTwoThree }", hash456: "query { fourFiveSix }"])
+                .maximumSize(1)
+                .build()
+        def parseCount = 0
+        PersistedQueryCacheMiss onCacheMiss = { String queryText ->
+            parseCount++
+            return new PreparsedDocumentEntry(new Parser().parseDocument(queryText))
+        }
+
+        when:
+        cache.getPersistedQueryDocument("hash123", mkEI(PERSISTED_QUERY_MARKER), onCacheMiss)
+        cache.getPersistedQueryDocument("hash123", mkEI(PERSISTED_QUERY_MARKER), onCacheMiss)
+        cache.getPersistedQueryDocument("hash456", mkEI(PERSISTED_QUERY_MARKER), onCacheMiss)
+        cache.getPersistedQueryDocument("hash123", mkEI(PERSISTED_QUERY_MARKER), onCacheMiss)
+
+        then:
+        parseCount == 3
+    }
+
+    def "can be warmed up from the known queries"() {
+        def schema = TestUtil.schema("type Query { oneTwoThree : String }")
+        def cache = InMemoryPersistedQueryCache.newInMemoryPersistedQueryCache()
+                .addQuery("hash123", "query { oneTwoThree }")
+                .addQuery("hash456", "query { fourFiveSix }")
+                .build()
+
+        when:
+        cache.warmUp(schema)
+        def validEntry = cache.getPersistedQueryDocument("hash123", mkEI(PERSISTED_QUERY_MARKER), { assert false, "should be warm" })
+        def invalidEntry = cache.getPersistedQueryDocument("hash456", mkEI(PERSISTED_QUERY_MARKER), { assert false, "should be warm" })
+
+        then:
+        printAstCompact(validEntry.getDocument()) == "query {oneTwoThree}"
+        invalidEntry.hasErrors()
+        invalidEntry.errors[0].message.contains("fourFiveSix")
+    }
 }
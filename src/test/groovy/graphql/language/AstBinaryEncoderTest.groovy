@@ -0,0 +1,261 @@
+package graphql.language
+
+import graphql.GraphQLException
+import graphql.TestUtil
+import graphql.util.TraversalControl
+import graphql.util.TraverserContext
+import spock.lang.Specification
+
+class AstBinaryEncoderTest extends Specification {
+
+    def query = '''
+        # the hero query
+        query HeroForEpisode($ep: Episode! = JEDI, $first: Int = 10) @cached(ttl: 60) {
+          hero(episode: $ep, first: $first) {
+            name
+            ... on Droid {
+              primaryFunction
+            }
+            ...comparisonFields @include(if: true)
+          }
+          alias: differentArgObjects(s: "s", i: 1, f: 1.5e3, b: true, n: null, list: [{a: "s"}, 1, "s"], obj: {x: "s", y: ENUM})
+        }
+
+        mutation { doIt }
+
+        fragment comparisonFields on Character {
+          name
+          friends {
+            name
+          }
+        }
+    '''
+
+    def sdl = '''
+        """
+        The schema description
+        """
+        schema @foo {
+          query: Query
+        }
+
+        extend schema {
+          mutation: Mutation
+        }
+
+        "A scalar"
+        scalar DateTime @specifiedBy(url: "https://example.com")
+
+        extend scalar DateTime @bar
+
+        type Query implements Node & Named @key(fields: "id") {
+          "the id"
+          id: ID!
+          items(first: Int = 10 @deprecated, after: String): [Item!]! @deprecated(reason: "no")
+        }
+
+        extend type Query {
+          more: String
+        }
+
+        interface Node implements Named {
+          id: ID!
+        }
+
+        extend interface Node {
+          other: String
+        }
+
+        union Item = Query | Other
+
+        extend union Item = More
+
+        enum Color {
+          "red" RED
+          GREEN @deprecated
+        }
+
+        extend enum Color {
+          BLUE
+        }
+
+        input Filter {
+          name: String = "x"
+          colors: [Color!] = [RED, GREEN]
+        }
+
+        extend input Filter {
+          more: Int
+        }
+
+        directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+    '''
+
+    def encoder = new AstBinaryEncoder()
+    def decoder = new AstBinaryDecoder()
+
+    def "executable documents round trip"() {
+        def document = TestUtil.parseQuery(query)
+
+        when:
+        def decoded = decoder.decodeDocument(encoder.encode(document))
+
+        then:
+        AstComparator.isEqual(document, decoded)
+        AstPrinter.printAst(decoded) == AstPrinter.printAst(document)
+        sourceLocations(decoded) == sourceLocations(document)
+        comments(decoded) == comments(document)
+        ignoredChars(decoded) == ignoredChars(document)
+    }
+
+    def "sdl documents round trip"() {
+        def document = TestUtil.parseQuery(sdl)
+
+        when:
+        def decoded = decoder.decodeDocument(encoder.encode(document))
+
+        then:
+        AstComparator.isEqual(document, decoded)
+        AstPrinter.printAst(decoded) == AstPrinter.printAst(document)
+        sourceLocations(decoded) == sourceLocations(document)
+        descriptions(decoded) == descriptions(document)
+    }
+
+    def "a single node can be round tripped"() {
+        def value = new ObjectValue([new ObjectField("a", new ArrayValue([new IntValue(1G), new FloatValue(2.5G), NullValue.newNullValue().build()]))])
+
+        when:
+        def decoded = decoder.decode(encoder.encode(value))
+
+        then:
+        decoded instanceof ObjectValue
+        AstComparator.isEqual(value, decoded)
+    }
+
+    def "additional data round trips"() {
+        def field = Field.newField("f").additionalData("key", "value").build()
+
+        when:
+        def decoded = decoder.decode(encoder.encode(field)) as Field
+
+        then:
+        decoded.getAdditionalData() == [key: "value"]
+    }
+
+    def "source locations, comments and ignored chars can be left out"() {
+        def document = TestUtil.parseQuery(query)
+        def options = AstBinaryEncoder.Options.defaultOptions()
+                .includeSourceLocations(false)
+                .includeComments(false)
+                .includeIgnoredChars(false)
+
+        when:
+        def bytes = new AstBinaryEncoder(options).encode(document)
+        def decoded = decoder.decodeDocument(bytes)
+
+        then:
+        bytes.length < encoder.encode(document).length
+        AstComparator.isEqual(document, decoded)
+        sourceLocations(decoded).every { it == null }
+        comments(decoded).every { it.isEmpty() }
+        ignoredChars(decoded).every { it[0].isEmpty() && it[1].isEmpty() }
+    }
+
+    def "repeated names are only encoded once"() {
+        def document = TestUtil.parseQuery("{ " + (1..100).collect { "aVeryLongFieldName" }.join(" ") + " }")
+        def options = AstBinaryEncoder.Options.defaultOptions().includeSourceLocations(false).includeIgnoredChars(false)
+
+        when:
+        def bytes = new AstBinaryEncoder(options).encode(document)
+
+        then:
+        bytes.length < 100 * "aVeryLongFieldName".length()
+    }
+
+    def "invalid bytes are rejected"() {
+        when:
+        decoder.decode(bytes as byte[])
+
+        then:
+        thrown(GraphQLException)
+
+        where:
+        bytes << [[], [1, 2, 3, 4, 5, 6], Arrays.copyOf(new AstBinaryEncoder().encode(TestUtil.parseQuery("{ hello }")), 12)]
+    }
+
+    def "corrupt bytes are rejected with a GraphQLException"() {
+        given:
+        def bytes = encoder.encode(TestUtil.parseQuery(query))
+        def otherExceptions = []
+
+        when:
+        for (int i = 6; i < bytes.length; i++) {
+            for (int value : [0x00, 0x01, 0x7F, 0x80, 0xFF]) {
+                def corrupt = Arrays.copyOf(bytes, bytes.length)
+                corrupt[i] = (byte) value
+                try {
+                    decoder.decode(corrupt)
+                } catch (GraphQLException ignored) {
+                } catch (Throwable e) {
+                    otherExceptions.add(e)
+                }
+            }
+        }
+
+        then:
+        otherExceptions.isEmpty()
+    }
+
+    def "counts larger than the remaining bytes are rejected before allocating"() {
+        given:
+        // a document whose definition count is the largest var int
+        def header = Arrays.copyOf(encoder.encode(TestUtil.parseQuery("{ a }")), 7) as List
+        def bytes = (header + [-1, -1, -1, -1, 7]) as byte[]
+
+        when:
+        decoder.decode(bytes)
+
+        then:
+        def e = thrown(GraphQLException)
+        e.message.contains("invalid count")
+    }
+
+    def "a node that is not a document is rejected by decodeDocument"() {
+        when:
+        decoder.decodeDocument(encoder.encode(new Field("f")))
+
+        then:
+        thrown(GraphQLException)
+    }
+
+    static List<Node> allNodes(Node root) {
+        def nodes = []
+        new NodeTraverser().depthFirst(new NodeVisitorStub() {
+            @Override
+            protected TraversalControl visitNode(Node node, TraverserContext<Node> context) {
+                nodes.add(node)
+                return TraversalControl.CONTINUE
+            }
+        }, root)
+        return nodes
+    }
+
+    static List<SourceLocation> sourceLocations(Node root) {
+        allNodes(root).collect { it.getSourceLocation() }
+    }
+
+    static List<List<String>> comments(Node root) {
+        allNodes(root).collect { node -> node.getComments().collect { it.content + "@" + it.sourceLocation } }
+    }
+
+    static List<List<List<IgnoredChar>>> ignoredChars(Node root) {
+        allNodes(root).collect { [it.getIgnoredChars().left, it.getIgnoredChars().right] }
+    }
+
+    static List<String> descriptions(Node root) {
+        allNodes(root).findAll { it instanceof AbstractDescribedNode }.collect {
+            def description = (it as AbstractDescribedNode).getDescription()
+            description == null ? null : description.content + "|" + description.multiLine + "|" + description.sourceLocation
+        }
+    }
+}
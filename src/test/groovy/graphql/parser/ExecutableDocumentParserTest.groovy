@@ -0,0 +1,327 @@
+package graphql.parser
+
+import graphql.language.AbstractDescribedNode
+import graphql.language.AstComparator
+import graphql.language.AstPrinter
+import graphql.language.Document
+import graphql.language.Node
+import graphql.language.NodeTraverser
+import graphql.language.NodeVisitorStub
+import graphql.util.TraversalControl
+import graphql.util.TraverserContext
+import org.antlr.v4.runtime.CodePointCharStream
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ExecutableDocumentParserTest extends Specification {
+
+    static String kitchenSink = '''
+        # the first comment
+        # and the second
+        query queryName($foo: ComplexType, $site: Site = MOBILE, $list: [Int!]! = [1, 2] @dir) @onQuery {
+          whoever123is: node(id: [123, 456]) {
+            id ,
+            ... on User @defer {
+              field2 {
+                id ,
+                alias: field1(first:10, after:$foo,) @include(if: $foo) {
+                  id,
+                  ...frag
+                }
+              }
+            }
+            ... @skip(unless: $foo) {
+              id
+            }
+            ... {
+              id
+            }
+          }
+        }
+
+        mutation likeStory @onMutation {
+          like(story: 123) @onField {
+            story {
+              id @onField
+            }
+          }
+        }
+
+        subscription StoryLikeSubscription($input: StoryLikeSubscribeInput @onVariableDefinition) @onSubscription {
+          storyLikeSubscribe(input: $input) {
+            story {
+              likers {
+                count
+              }
+            }
+          }
+        }
+
+        fragment frag on Friend @onFragmentDefinition {
+          foo(size: $size, bar: $b, obj: {key: "value", block: """
+              block string uses \\"""
+          """, nested: {list: [true, false, null, ENUM_VALUE, on, 1.5e10, -0, -12.25E-3]}})
+        }
+
+        {
+          unnamed(truthy: true, falsey: false, nullish: null),
+          query
+        }
+
+        query { __typename }
+    '''
+
+    static List<String> validDocuments = [
+            kitchenSink,
+            "{ hello }",
+            "{hello}",
+            "﻿{ hello }",
+            "{ a(s: \"escaped \\\" \\\\ \\/ \\b \\f \\n \\r \\t \\u00e9 chars\") }",
+            "{ a(s: \"\") b(s: \"unicode 😀 then more\") }",
+            "{ a(s: \"😀\") b }",
+            "#comment with 😀\r\n{ a }\r\n# trailing comment",
+            "query q(\$a: Int = 1, \$b: [[String!]]! = [[\"x\"]]) { f(a: \$a, b: \$b) }",
+            "query on { on: on(on: on) @on(on: on) { ...query ... on on { on } } } fragment query on on { on }",
+            "{ a(f: 1.0, e: 1e3, g: 0.5E+3, n: -1) }",
+            "{\n\ta\n\tb {\n\t\tc\n\t}\n}",
+            "{ a(o: {}, l: []) }",
+            "query \n  # comment before name\n  Name { a }",
+            "{ a }\n\n\n{ b }",
+    ]
+
+    static List<String> invalidDocuments = [
+            "",
+            "   ",
+            "{",
+            "{ }",
+            "{ a(b: ) }",
+            "{ a() }",
+            "{ a } }",
+            "{ a } garbage",
+            "{ a ^ }",
+            "{ a(s: \"unterminated) }",
+            "{ a(s: \"bad \\q escape\") }",
+            "{ a(i: 0123) }",
+            "{ a(i: 1.) }",
+            "{ a(i: 12abc) }",
+            "query q(\$a: Int = \$b) { a }",
+            "query q() { a }",
+            "fragment on on Foo { a }",
+            "fragment X Foo { a }",
+            "{ ... on { a } }",
+            "{ ... Foo { a } }",
+            "query q(\$a: Int!!) { a }",
+            "{ a(o: {a}) }",
+            "{ a.b }",
+            "{ a(s: \"\"\"unterminated) }",
+            "mutation",
+            "query X {\n  field1\n  field2(syntaxErrorHere\n  field3\n}",
+    ]
+
+    static List<String> sdlDocuments = [
+            "type Query { a: String }",
+            "\"description\" scalar Foo",
+            "{ a } type Query { a: String }",
+            "extend type Query { b: Int }",
+    ]
+
+    @Unroll
+    def "produces the same document as the ANTLR parser for #index"() {
+        when:
+        def expected = new Parser().parseDocument(document)
+        def actual = noFallbackParser().parseDocument(document)
+
+        then:
+        assertSameDocument(actual, expected)
+
+        where:
+        document << validDocuments
+        index << (0..<validDocuments.size())
+    }
+
+    @Unroll
+    def "produces the same syntax error as the ANTLR parser for '#document'"() {
+        when:
+        def expected = null
+        try {
+            new Parser().parseDocument(document)
+        } catch (InvalidSyntaxException e) {
+            expected = e
+        }
+        new ExecutableDocumentParser().parseDocument(document)
+
+        then:
+        expected != null
+        def actual = thrown(InvalidSyntaxException)
+        actual.message == expected.message
+        actual.location == expected.location
+        actual.sourcePreview == expected.sourcePreview
+        actual.offendingToken == expected.offendingToken
+
+        where:
+        document << invalidDocuments
+    }
+
+    @Unroll
+    def "hands type system documents to the ANTLR parser '#document'"() {
+        when:
+        def expected = new Parser().parseDocument(document)
+        def actual = new ExecutableDocumentParser().parseDocument(document)
+
+        then:
+        assertSameDocument(actual, expected)
+
+        where:
+        document << sdlDocuments
+    }
+
+    @Unroll
+    def "honours parser options the same way as the ANTLR parser #parserOptions"() {
+        when:
+        def expected = new Parser().parseDocument(kitchenSink, null, parserOptions)
+        def actual = noFallbackParser().parseDocument(kitchenSink, null, parserOptions)
+
+        then:
+        assertSameDocument(actual, expected)
+
+        where:
+        parserOptions << [
+                ParserOptions.defaultOptions().captureSourceLocation(false),
+                ParserOptions.defaultOptions().captureLineComments(false),
+                ParserOptions.defaultOptions().captureIgnoredChars(false),
+                ParserOptions.defaultOptions().captureSourceLocation(false).captureLineComments(false).captureIgnoredChars(false),
+        ]
+    }
+
+    @Unroll
+    def "limits are the same as the ANTLR parser with #parserOptions.maxTokens tokens and #parserOptions.maxRuleDepth deep"() {
+        def documents = [
+                "{ " + (1..20).collect { "f$it" }.join(" ") + " }",
+                ("{ f " * 30) + ("}" * 30),
+                "{ f(a: " + ("[" * 30) + ("]" * 30) + ") }",
+                "{ f(a: " + ("{a: " * 30) + ("}" * 30) + ") }",
+                "query q(\$a: " + ("[" * 30) + "Int" + ("]" * 30) + ") { f }",
+        ]
+
+        expect:
+        documents.each { document ->
+            def expected = null
+            def expectedException = null
+            try {
+                expected = new Parser().parseDocument(document, null, parserOptions)
+            } catch (InvalidSyntaxException e) {
+                expectedException = e
+            }
+            try {
+                def actual = new ExecutableDocumentParser().parseDocument(document, null, parserOptions)
+                assert expected != null
+                assertSameDocument(actual, expected)
+            } catch (InvalidSyntaxException e) {
+                assert expectedException != null
+                assert e.message == expectedException.message
+            }
+        }
+
+        where:
+        parserOptions << [
+                ParserOptions.defaultOptions(),
+                ParserOptions.defaultOptions().maxTokens(19),
+                ParserOptions.defaultOptions().maxTokens(90),
+                ParserOptions.defaultOptions().maxRuleDepth(60),
+                ParserOptions.defaultOptions().maxRuleDepth(95),
+                ParserOptions.defaultOptions().maxRuleDepth(100),
+                ParserOptions.defaultOptions().maxRuleDepth(120),
+        ]
+    }
+
+    def "documents well within the limits are not handed to the ANTLR parser"() {
+        when:
+        def document = noFallbackParser().parseDocument(("{ f " * 30) + ("}" * 30), null, ParserOptions.defaultOptions().maxRuleDepth(120))
+
+        then:
+        document.definitions.size() == 1
+    }
+
+    def "the number of characters is limited"() {
+        when:
+        new ExecutableDocumentParser().parseDocument("{ " + ("a" * 100) + " }", null, ParserOptions.defaultOptions().maxCharacters(50))
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.message == "Invalid Syntax : More than 50 characters have been presented. To prevent Denial Of Service attacks, parsing has been cancelled."
+    }
+
+    def "source names and lines follow multi source input"() {
+        def reader = { ->
+            MultiSourceReader.newMultiSourceReader()
+                    .string("query A {\n  a\n}\n", "part1")
+                    .string("# the fragment\nfragment F on T {\n  b\n}\n", "part2")
+                    .build()
+        }
+
+        when:
+        def expected = new Parser().parseDocument(reader())
+        def actual = new ExecutableDocumentParser().parseDocument(reader())
+
+        then:
+        assertSameDocument(actual, expected)
+        actual.definitions[1].sourceLocation.sourceName == "part2"
+        actual.definitions[1].sourceLocation.line == 2
+    }
+
+    def "syntax errors in multi source input are the same as the ANTLR parser"() {
+        def reader = { ->
+            MultiSourceReader.newMultiSourceReader()
+                    .string("query A {\n  a\n}\n", "part1")
+                    .string("fragment F on T {\n  b(\n}\n", "part2")
+                    .build()
+        }
+
+        when:
+        new ExecutableDocumentParser().parseDocument(reader())
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.location.sourceName == "part2"
+        e.location.line == 3
+    }
+
+    static Parser noFallbackParser() {
+        new ExecutableDocumentParser() {
+            @Override
+            protected Document parseDocumentImpl(CodePointCharStream charStream, MultiSourceReader multiSourceReader, ParserOptions parserOptions) {
+                throw new AssertionError("the document should not be handed to the ANTLR parser")
+            }
+        }
+    }
+
+    static void assertSameDocument(Node actual, Node expected) {
+        assert AstPrinter.printAst(actual) == AstPrinter.printAst(expected)
+        assert AstComparator.isEqual(actual, expected)
+        def actualNodes = allNodes(actual)
+        def expectedNodes = allNodes(expected)
+        assert actualNodes.collect { it.class } == expectedNodes.collect { it.class }
+        assert actualNodes.collect { it.sourceLocation } == expectedNodes.collect { it.sourceLocation }
+        assert actualNodes.collect { comments(it) } == expectedNodes.collect { comments(it) }
+        assert actualNodes.collect { it.ignoredChars.left } == expectedNodes.collect { it.ignoredChars.left }
+        assert actualNodes.collect { it.ignoredChars.right } == expectedNodes.collect { it.ignoredChars.right }
+        assert actualNodes.findAll { it instanceof AbstractDescribedNode }.collect { it.description?.content } ==
+                expectedNodes.findAll { it instanceof AbstractDescribedNode }.collect { it.description?.content }
+    }
+
+    static List<String> comments(Node node) {
+        node.comments.collect { it.content + "@" + it.sourceLocation }
+    }
+
+    static List<Node> allNodes(Node root) {
+        def nodes = []
+        new NodeTraverser().depthFirst(new NodeVisitorStub() {
+            @Override
+            protected TraversalControl visitNode(Node node, TraverserContext<Node> context) {
+                nodes.add(node)
+                return TraversalControl.CONTINUE
+            }
+        }, root)
+        return nodes
+    }
+}
@@ -171,6 +171,30 @@ B5*******X
         multiSource.getOverallLineNumber() == 1
     }
 
+    def "can limit the tracked data to the last characters read"() {
+        def allLines = (0..<200).collect { "line $it" }
+        def input = allLines.withIndex().collect { line, i -> line + ["\n", "\r\n", "\r"][i % 3] }.join("")
+        multiSource = MultiSourceReader.newMultiSourceReader()
+                .string(input, null)
+                .trackedDataLimit(20)
+                .build()
+
+        when:
+        char[] buffer = new char[3]
+        def maxTracked = 0
+        while (multiSource.read(buffer, 0, buffer.length) != -1) {
+            maxTracked = Math.max(maxTracked, multiSource.getData().join("\n").length())
+        }
+        def data = multiSource.getData()
+        def start = multiSource.getDataStartLine()
+
+        then:
+        maxTracked <= 40
+        start > 150
+        allLines[start].endsWith(data[0])
+        data.subList(1, data.size()) == allLines.subList(start + 1, allLines.size())
+    }
+
     def "can work out relative lines from overall lines"() {
         when:
         multiSource = MultiSourceReader.newMultiSourceReader()
@@ -844,6 +844,32 @@ triple3 : """edge cases \\""" "" " \\"" \\" edge cases"""
 
     }
 
+    def "the overridden antlr to ast hook is used with any parser options"() {
+        given:
+        def overridden = new Parser() {
+            @Override
+            protected GraphqlAntlrToLanguage getAntlrToLanguage(CommonTokenStream tokens, MultiSourceReader multiSourceReader) {
+                return new GraphqlAntlrToLanguage(tokens, multiSourceReader) {
+                    @Override
+                    protected void addCommonData(NodeBuilder nodeBuilder, ParserRuleContext parserRuleContext) {
+                        super.addCommonData(nodeBuilder, parserRuleContext)
+                        nodeBuilder.additionalData("key", "value")
+                    }
+                }
+            }
+        }
+        def options = ParserOptions.defaultOptions().captureSourceLocation(false)
+
+        when:
+        def document = overridden.parseDocument(new StringReader("{ field }"), options)
+        def notOverridden = new Parser().parseDocument(new StringReader("{ field }"), options)
+
+        then:
+        document.getAdditionalData().get("key") == "value"
+        notOverridden.getAdditionalData().isEmpty()
+        notOverridden.children[0].sourceLocation == null
+    }
+
     def "parse integer"() {
         given:
         def input = '''{foo(arg: 11)}'''
@@ -913,4 +939,254 @@ triple3 : """edge cases \\""" "" " \\"" \\" edge cases"""
         '{string : "s", integer : 1, boolean : true}' | ObjectValue.class
     }
 
+
+    def "parser options can turn off capturing source locations, comments and ignored chars"() {
+        def input = '''
+            # a comment
+            query Foo($arg: Int = 1) {
+              field(arg: $arg) {
+                subField
+              }
+            }
+
+            "a description"
+            type Query {
+              field: String
+            }
+        '''
+        def parserOptions = ParserOptions.defaultOptions()
+                .captureSourceLocation(false)
+                .captureLineComments(false)
+                .captureIgnoredChars(false)
+
+        when:
+        def document = new Parser().parseDocument(input, null, parserOptions)
+        def operation = document.definitions[0] as OperationDefinition
+        def field = operation.selectionSet.selections[0] as Field
+        def type = document.definitions[1] as ObjectTypeDefinition
+
+        then:
+        AstComparator.isEqual(document, new Parser().parseDocument(input))
+        [document, operation, field, field.arguments[0], field.selectionSet, type].every {
+            it.sourceLocation == null && it.comments.isEmpty() && it.ignoredChars.left.isEmpty() && it.ignoredChars.right.isEmpty()
+        }
+        type.description.content == "a description"
+        type.description.sourceLocation == null
+    }
+
+    def "parser options can be turned off individually"() {
+        def input = '''
+            # a comment
+            { field }
+        '''
+
+        when:
+        def document = new Parser().parseDocument(input, null, ParserOptions.defaultOptions().captureIgnoredChars(false))
+        def operation = document.definitions[0] as OperationDefinition
+
+        then:
+        operation.sourceLocation == new SourceLocation(3, 13)
+        operation.comments[0].content == " a comment"
+        operation.ignoredChars.left.isEmpty()
+    }
+
+    def "a query with more than the maximum number of characters is rejected"() {
+        def input = "{ " + ("a" * 100) + " }"
+
+        when:
+        new Parser().parseDocument(input, null, ParserOptions.defaultOptions().maxCharacters(50))
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.message == "Invalid Syntax : More than 50 characters have been presented. To prevent Denial Of Service attacks, parsing has been cancelled."
+
+        when:
+        def document = new Parser().parseDocument(new StringReader(input), ParserOptions.defaultOptions().maxCharacters(104))
+
+        then:
+        document.definitions.size() == 1
+    }
+
+    def "a query with more than the maximum number of tokens is rejected"() {
+        def input = "{ " + (1..20).collect { "f$it" }.join(" ") + " }"
+
+        when:
+        new Parser().parseDocument(input, null, ParserOptions.defaultOptions().maxTokens(15))
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.message == "Invalid Syntax : More than 15 tokens have been presented. To prevent Denial Of Service attacks, parsing has been cancelled. offending token 'f15' at line 1 column 50"
+        e.location == new SourceLocation(1, 50)
+
+        when: "comments and ignored chars are not counted"
+        def document = new Parser().parseDocument("# comment\n{ a , b , c }", null, ParserOptions.defaultOptions().maxTokens(5))
+
+        then:
+        document.definitions.size() == 1
+    }
+
+    def "a query that nests deeper than the maximum rule depth is rejected"() {
+        def input = ("{ f " * 50) + ("}" * 50)
+
+        when:
+        new Parser().parseDocument(input, null, ParserOptions.defaultOptions().maxRuleDepth(100))
+
+        then:
+        def e = thrown(InvalidSyntaxException)
+        e.message.startsWith("Invalid Syntax : More than 100 deep grammar rules have been entered. To prevent Denial Of Service attacks, parsing has been cancelled.")
+
+        when:
+        def document = new Parser().parseDocument(input, null, ParserOptions.defaultOptions().maxRuleDepth(200))
+
+        then:
+        document.definitions.size() == 1
+    }
+
+    def "default options limit queries but sdl options do not"() {
+        expect:
+        ParserOptions.defaultOptions().maxTokens == ParserOptions.MAX_QUERY_TOKENS
+        ParserOptions.defaultOptions().maxCharacters == ParserOptions.MAX_QUERY_CHARACTERS
+        ParserOptions.defaultOptions().maxRuleDepth == ParserOptions.MAX_RULE_DEPTH
+        ParserOptions.defaultSdlOptions().maxTokens == Integer.MAX_VALUE
+        ParserOptions.defaultSdlOptions().maxCharacters == Integer.MAX_VALUE
+        ParserOptions.defaultSdlOptions().maxRuleDepth == Integer.MAX_VALUE
+    }
+
+    def "parsing definitions one at a time gives the same definitions as parsing the document"() {
+        def sdl = '''
+            # the schema
+            schema { query: Query }
+
+            "the query 😀"
+            type Query implements Node @key(fields: "id") {
+              # the id
+              id: ID!
+              items(first: Int = 10, filter: Filter = {names: ["a", "b"]}): [Item!]!
+            }
+
+            """
+            a block description
+            """
+            input Filter { names: [String!] }
+
+            union Item = Query | Other
+            scalar Date
+            extend type Query { more: Date }
+            directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+            query { items { id } }
+            fragment F on Query { id }
+        '''
+
+        when:
+        def expected = new Parser().parseDocument(sdl).definitions
+        def actual = []
+        new Parser().parseDefinitions(new StringReader(sdl), ParserOptions.defaultSdlOptions(), { actual.add(it) })
+
+        then:
+        actual.size() == expected.size()
+        actual.eachWithIndex { definition, i -> ExecutableDocumentParserTest.assertSameDocument(definition, expected[i]) }
+    }
+
+    def "parsing definitions one at a time follows multi source input"() {
+        def reader = { ->
+            MultiSourceReader.newMultiSourceReader()
+                    .string("type Query {\n  a: A\n}\n", "part1")
+                    .string("# the type\ntype A {\n  b: String\n}", "part2")
+                    .string("\n\nscalar B\n", "part3")
+                    .build()
+        }
+
+        when:
+        def expected = new Parser().parseDocument(reader()).definitions
+        def actual = []
+        new Parser().parseDefinitions(reader(), ParserOptions.defaultSdlOptions(), { actual.add(it) })
+
+        then:
+        actual.size() == 3
+        actual.eachWithIndex { definition, i -> ExecutableDocumentParserTest.assertSameDocument(definition, expected[i]) }
+        actual[1].sourceLocation == new SourceLocation(2, 1, "part2")
+        actual[2].sourceLocation == new SourceLocation(3, 1, "part3")
+    }
+
+    def "parsing definitions one at a time does not read all of the input up front"() {
+        def sdl = (1..10000).collect { "type T$it { f: String }" }.join("\n")
+        def charsRead = 0
+        def reader = new FilterReader(new StringReader(sdl)) {
+            @Override
+            int read(char[] buffer, int offset, int length) throws IOException {
+                def read = super.read(buffer, offset, length)
+                charsRead += Math.max(read, 0)
+                return read
+            }
+        }
+        def charsReadAtFirstDefinition = -1
+        def names = []
+
+        when:
+        new Parser().parseDefinitions(reader, ParserOptions.defaultSdlOptions(), {
+            if (charsReadAtFirstDefinition < 0) {
+                charsReadAtFirstDefinition = charsRead
+            }
+            names.add((it as ObjectTypeDefinition).name)
+        })
+
+        then:
+        names.size() == 10000
+        names[9999] == "T10000"
+        charsReadAtFirstDefinition < sdl.length() / 10
+    }
+
+    def "parsing definitions one at a time keeps a bounded amount of the input for previews"() {
+        def sdl = (1..10000).collect { "type T$it { f: String }" }.join("\n") + "\ntype Broken {\n  f(: String\n}"
+        def reader = MultiSourceReader.newMultiSourceReader()
+                .string(sdl, null)
+                .trackedDataLimit(1000)
+                .build()
+        def maxTracked = 0
+
+        when:
+        def expected = null
+        try {
+            new Parser().parseDocument(new StringReader(sdl), ParserOptions.defaultSdlOptions())
+        } catch (InvalidSyntaxException e) {
+            expected = e
+        }
+        new Parser().parseDefinitions(reader, ParserOptions.defaultSdlOptions(), {
+            maxTracked = Math.max(maxTracked, reader.getData().join("\n").length())
+        })
+
+        then:
+        def actual = thrown(InvalidSyntaxException)
+        maxTracked <= 2000
+        actual.message == expected.message
+        actual.sourcePreview == expected.sourcePreview
+        actual.sourcePreview.contains("type Broken {")
+
+        when:
+        new Parser().parseDefinitions(new StringReader(sdl), ParserOptions.defaultSdlOptions(), {})
+
+        then:
+        def fromReader = thrown(InvalidSyntaxException)
+        fromReader.sourcePreview == expected.sourcePreview
+    }
+
+    @Unroll
+    def "parsing definitions one at a time gives the same syntax errors as parsing the document '#sdl'"() {
+        when:
+        def expected = null
+        try {
+            new Parser().parseDocument(sdl)
+        } catch (InvalidSyntaxException e) {
+            expected = e
+        }
+        new Parser().parseDefinitions(new StringReader(sdl), ParserOptions.defaultSdlOptions(), {})
+
+        then:
+        expected != null
+        def actual = thrown(InvalidSyntaxException)
+        actual.message == expected.message
+
+        where:
+        sdl << ["", "   ", "type Query { a: String } type", "type Query { a: String } }", "scalar A\ntype Query {\n  a(: String\n}"]
+    }
 }
@@ -0,0 +1,116 @@
+package graphql.schema
+
+import graphql.TestUtil
+import graphql.schema.visibility.BlockedFields
+import spock.lang.Specification
+
+class SchemaIndexTest extends Specification {
+
+    def sdl = """
+        type Query { pet: Pet search: SearchResult }
+        interface Pet { name: String }
+        type Dog implements Pet { name: String barks: Boolean }
+        type Cat implements Pet { name: String meows: Boolean }
+        type Fish { name: String }
+        union SearchResult = Dog | Fish
+        union Dry = Dog | Cat
+    """
+
+    def schema = TestUtil.schema(sdl)
+    def index = schema.getSchemaIndex()
+
+    def type(String name) {
+        schema.getType(name)
+    }
+
+    def "the index is built once per schema"() {
+        expect:
+        schema.getSchemaIndex().is(index)
+    }
+
+    def "object types have dense ordinals"() {
+        def objectTypes = schema.allTypesAsList.findAll { it instanceof GraphQLObjectType }
+
+        expect:
+        objectTypes.collect { index.getOrdinal(it) }.sort() == (0..<objectTypes.size()).toList()
+        index.objectTypeCount == objectTypes.size()
+        index.getOrdinal(GraphQLObjectType.newObject().name("NotInSchema").build()) == -1
+    }
+
+    def "possible types of interfaces, unions and objects"() {
+        expect:
+        index.isPossibleType(type("Pet"), type("Dog"))
+        index.isPossibleType(type("Pet"), type("Cat"))
+        !index.isPossibleType(type("Pet"), type("Fish"))
+        index.isPossibleType(type("SearchResult"), type("Fish"))
+        !index.isPossibleType(type("SearchResult"), type("Cat"))
+        index.isPossibleType(type("Dog"), type("Dog"))
+        !index.isPossibleType(type("Dog"), type("Cat"))
+    }
+
+    def "object types that are not part of the schema are matched by name"() {
+        def fish = GraphQLObjectType.newObject().name("Fish").build()
+        def notInSchema = GraphQLObjectType.newObject().name("NotInSchema").build()
+        def union = GraphQLUnionType.newUnionType().name("Other").possibleType(notInSchema).build()
+
+        expect:
+        index.isPossibleType(type("SearchResult"), fish)
+        index.isPossibleType(union, notInSchema)
+        !index.isPossibleType(type("Pet"), notInSchema)
+        !index.isPossibleType(type("SearchResult"), notInSchema)
+        index.isPossibleType(notInSchema, notInSchema)
+    }
+
+    def "object types that are not part of the schema do not implement its interfaces"() {
+        def namedLikeTheInterface = GraphQLObjectType.newObject().name("Pet").build()
+
+        expect:
+        !index.isPossibleType(type("Pet"), namedLikeTheInterface)
+        !schema.isPossibleType(type("Pet"), namedLikeTheInterface)
+    }
+
+    def "the schema checks possible types with the index"() {
+        expect:
+        schema.isPossibleType(type("Pet"), type("Cat"))
+        !schema.isPossibleType(type("Pet"), type("Fish"))
+        schema.isPossibleType(type("SearchResult"), type("Dog"))
+        !schema.isPossibleType(type("SearchResult"), type("Cat"))
+    }
+
+    def "types overlap when they share a possible type"() {
+        expect:
+        index.doTypesOverlap(type(type1), type(type2)) == overlap
+
+        where:
+        type1          | type2          | overlap
+        "Pet"          | "SearchResult" | true
+        "Pet"          | "Dry"          | true
+        "Pet"          | "Fish"         | false
+        "Cat"          | "SearchResult" | false
+        "Dog"          | "SearchResult" | true
+        "Dog"          | "Dog"          | true
+        "Dog"          | "Cat"          | false
+    }
+
+    def "fields include the introspection fields"() {
+        expect:
+        index.getFieldDefinition(type("Dog"), "barks") == type("Dog").getFieldDefinition("barks")
+        index.getFieldDefinition(type("Dog"), "__typename") == schema.introspectionTypenameFieldDefinition
+        index.getFieldDefinition(type("SearchResult"), "__typename") == schema.introspectionTypenameFieldDefinition
+        index.getFieldDefinition(type("Query"), "__schema") == schema.introspectionSchemaFieldDefinition
+        index.getFieldDefinition(type("Query"), "__type") == schema.introspectionTypeFieldDefinition
+        index.getFieldDefinition(type("Dog"), "__schema") == null
+        index.getFieldDefinition(type("SearchResult"), "name") == null
+        index.getFieldDefinition(type("Dog"), "unknown") == null
+    }
+
+    def "field visibility is honoured"() {
+        def blocked = schema.transform({
+            it.codeRegistry(schema.codeRegistry.transform({ it.fieldVisibility(BlockedFields.newBlock().addPattern("Dog.barks").build()) }))
+        })
+
+        expect:
+        blocked.schemaIndex.getFieldDefinition(blocked.getType("Dog") as GraphQLCompositeType, "barks") == null
+        blocked.schemaIndex.getFieldDefinition(blocked.getType("Dog") as GraphQLCompositeType, "name") != null
+    }
+}
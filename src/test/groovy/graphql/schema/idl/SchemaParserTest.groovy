@@ -1,5 +1,6 @@
 package graphql.schema.idl
 
+import graphql.ErrorType
 import graphql.language.EnumTypeDefinition
 import graphql.language.InterfaceTypeDefinition
 import graphql.language.ObjectTypeDefinition
@@ -8,6 +9,11 @@ import graphql.schema.idl.errors.SchemaProblem
 import spock.lang.Specification
 import spock.lang.Unroll
 
+import java.nio.file.Files
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.ForkJoinPool
+
 /**
  * We don't want to retest the base GraphQL parser since it has its own testing
  * but we do want to test our aspects of it
@@ -339,4 +345,73 @@ class SchemaParserTest extends Specification {
     }
 
 
+
+    def "many sources can be parsed in parallel and are merged in order"() {
+        def sources = (1..50).collect { "type T$it { f: String }\nextend type Query { t$it: T$it }" }
+        sources.add(0, "type Query { a: String }")
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        def registry = new SchemaParser().parse(sources.collect { new StringReader(it) as Reader }, executor)
+        def sequential = new SchemaParser().parse(sources.join("\n"))
+
+        then:
+        registry.types().keySet().toList() == sequential.types().keySet().toList()
+        registry.objectTypeExtensions()["Query"].collect { it.fieldDefinitions[0].name } == (1..50).collect { "t$it" }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "errors from sources parsed in parallel are reported in source order"() {
+        def sources = [
+                "type Query { a: String }",
+                "type A { a: String ",
+                "query { a }",
+                "type B { b: String",
+        ]
+        def executor = Executors.newFixedThreadPool(4)
+
+        when:
+        new SchemaParser().parse(sources.collect { new StringReader(it) as Reader }, executor)
+
+        then:
+        def schemaProblem = thrown(SchemaProblem)
+        schemaProblem.errors.size() == 3
+        schemaProblem.errors[0].errorType == ErrorType.InvalidSyntax
+        schemaProblem.errors[1].message.contains("OperationDefinition")
+        schemaProblem.errors[2].errorType == ErrorType.InvalidSyntax
+        schemaProblem.errors[2].message.contains("line 1 column 19")
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "types defined in more than one source are reported when merging"() {
+        when:
+        new SchemaParser().parse([new StringReader("type Query { a: String }"), new StringReader("type Query { b: String }")] as List<Reader>, { it.run() } as Executor)
+
+        then:
+        def schemaProblem = thrown(SchemaProblem)
+        schemaProblem.errors[0].message.contains("tried to redefine existing 'Query' type")
+    }
+
+    def "files can be parsed in parallel"() {
+        def dir = Files.createTempDirectory("sdl")
+        def query = dir.resolve("query.graphqls")
+        def types = dir.resolve("types.graphqls")
+        query.toFile().text = "type Query { user: User }"
+        types.toFile().text = "\n\ntype User { name: String }"
+
+        when:
+        def registry = new SchemaParser().parseFiles([query.toFile(), types.toFile()], ForkJoinPool.commonPool())
+
+        then:
+        registry.getType("Query").isPresent()
+        registry.getType("User").get().sourceLocation.sourceName == types.toFile().path
+        registry.getType("User").get().sourceLocation.line == 3
+
+        cleanup:
+        dir.toFile().deleteDir()
+    }
 }
@@ -2,6 +2,8 @@ package graphql.validation
 
 import graphql.TestUtil
 import graphql.language.Document
+import graphql.language.Field
+import graphql.language.VariableReference
 import graphql.parser.Parser
 import graphql.validation.rules.NoUnusedVariables
 import spock.lang.Specification
@@ -71,4 +73,79 @@ class RulesVisitorTest extends Specification {
         notThrown(StackOverflowError)
     }
 
+    def "RulesVisitor only calls the rules that check a kind of node"() {
+        given:
+        def query = """
+        query q(\$id: String) {
+            field(id: \$id) @include(if: true) {
+                subField
+            }
+        }
+        """
+        Document document = new Parser().parseDocument(query)
+        ValidationContext validationContext = new ValidationContext(TestUtil.dummySchema, document)
+        def fieldNames = []
+        def fieldRule = new AbstractRule(validationContext, errorCollector) {
+            @Override
+            void checkField(Field field) {
+                fieldNames.add(field.name)
+            }
+        }
+        def dispatchTable = new RuleDispatchTable([fieldRule])
+
+        when:
+        new LanguageTraversal().traverse(document, new RulesVisitor(validationContext, [fieldRule]))
+
+        then:
+        fieldNames == ["field", "subField"]
+        dispatchTable.getEnterRules(RuleDispatchTable.FIELD).toList() == [fieldRule]
+        dispatchTable.getEnterRules(RuleDispatchTable.ARGUMENT).length == 0
+        dispatchTable.getEnterRules(RuleDispatchTable.DIRECTIVE).length == 0
+        !dispatchTable.isInterestedIn(RuleDispatchTable.SELECTION_SET)
+    }
+
+    def "RulesVisitor visits the variables of fragments spread from each operation"() {
+        given:
+        def query = """
+        query A(\$a: String) {
+            ...WithVariable
+            ...WithoutVariables
+        }
+
+        query B(\$a: String) {
+            ...Nested
+        }
+
+        fragment Nested on Query {
+            ...WithVariable
+        }
+
+        fragment WithVariable on Query {
+            field(id: \$a)
+        }
+
+        fragment WithoutVariables on Query {
+            field {
+                subField
+            }
+        }
+        """
+        Document document = new Parser().parseDocument(query)
+        ValidationContext validationContext = new ValidationContext(TestUtil.dummySchema, document)
+        def variables = []
+        def variableRule = new AbstractRule(validationContext, errorCollector) {
+            @Override
+            void checkVariable(VariableReference variableReference) {
+                variables.add(variableReference.name + "@" + validationContext.getQueryPath())
+            }
+        }
+        variableRule.setVisitFragmentSpreads(true)
+
+        when:
+        new LanguageTraversal().traverse(document, new RulesVisitor(validationContext, [variableRule]))
+
+        then:
+        variables == ["a@[WithVariable, field]", "a@[Nested, WithVariable, field]"]
+    }
+
 }
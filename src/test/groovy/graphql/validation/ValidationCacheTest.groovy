@@ -0,0 +1,124 @@
+package graphql.validation
+
+import graphql.AssertException
+import graphql.ParseAndValidate
+import graphql.StarWarsSchema
+import graphql.TestUtil
+import graphql.parser.Parser
+import spock.lang.Specification
+
+class ValidationCacheTest extends Specification {
+
+    def schema = StarWarsSchema.starWarsSchema
+
+    def validate(ValidationCache cache, String query) {
+        ParseAndValidate.validate(schema, new Parser().parseDocument(query), cache)
+    }
+
+    def "valid documents differing in white space and comments are only validated once"() {
+        def cache = ValidationCache.newValidationCache()
+
+        when:
+        def errors1 = validate(cache, "query Q(\$id: String!) { human(id: \$id) { name id } }")
+        def errors2 = validate(cache, "# a comment\nquery Q(\$id: String!) {\n  human(id: \$id) {\n    name\n    id\n  }\n}")
+
+        then:
+        errors1.isEmpty()
+        errors2.isEmpty()
+        cache.missCount == 1
+        cache.hitCount == 1
+        cache.size() == 1
+    }
+
+    def "the same document instance is looked up by its key again"() {
+        def cache = ValidationCache.newValidationCache()
+        def document = new Parser().parseDocument("{ hero { name } }")
+
+        when:
+        def errors1 = ParseAndValidate.validate(schema, document, cache)
+        def errors2 = ParseAndValidate.validate(schema, document, cache)
+        def errors3 = validate(cache, "{ hero { name } }")
+
+        then:
+        errors1.isEmpty()
+        errors2.isEmpty()
+        errors3.isEmpty()
+        cache.missCount == 1
+        cache.hitCount == 2
+    }
+
+    def "literal values are part of the key"() {
+        def cache = ValidationCache.newValidationCache()
+
+        when:
+        def validErrors = validate(cache, '{ human(id: "1000") { name } }')
+        def invalidErrors = validate(cache, '{ human(id: {a: 1}) { name } }')
+
+        then:
+        validErrors.isEmpty()
+        invalidErrors.size() == 1
+        invalidErrors[0].validationErrorType == ValidationErrorType.WrongType
+        cache.hitCount == 0
+    }
+
+    def "invalid documents are validated every time"() {
+        def cache = ValidationCache.newValidationCache()
+
+        when:
+        def errors1 = validate(cache, "{ hero { unknown } }")
+        def errors2 = validate(cache, "{ hero { unknown } }")
+
+        then:
+        errors1.size() == 1
+        errors2.size() == 1
+        cache.missCount == 2
+        cache.hitCount == 0
+        cache.size() == 0
+    }
+
+    def "the least recently used documents are evicted"() {
+        def cache = ValidationCache.newValidationCache(2)
+
+        when:
+        validate(cache, "{ hero { name } }")
+        validate(cache, "{ hero { id } }")
+        validate(cache, "{ hero { name } }")
+        validate(cache, "{ hero { friends { name } } }")
+        validate(cache, "{ hero { name } }")
+        validate(cache, "{ hero { id } }")
+
+        then:
+        cache.size() == 2
+        cache.hitCount == 2
+        cache.missCount == 4
+        cache.evictionCount == 2
+    }
+
+    def "the cache is cleared when used with a different schema"() {
+        def cache = ValidationCache.newValidationCache()
+        def otherSchema = TestUtil.schema("type Query { hero : String }")
+        def document = new Parser().parseDocument("{ hero { name } }")
+
+        when:
+        def errors1 = ParseAndValidate.validate(schema, document, cache)
+        def errors2 = ParseAndValidate.validate(otherSchema, document, cache)
+        def errors3 = ParseAndValidate.validate(schema, document, cache)
+
+        then:
+        errors1.isEmpty()
+        errors2.size() == 1
+        errors3.isEmpty()
+        cache.hitCount == 0
+        cache.missCount == 3
+        cache.invalidationCount == 2
+        cache.size() == 1
+    }
+
+    def "max entries must be positive"() {
+        when:
+        ValidationCache.newValidationCache(0)
+
+        then:
+        thrown(AssertException)
+    }
+}
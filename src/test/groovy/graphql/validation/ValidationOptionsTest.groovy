@@ -0,0 +1,118 @@
+package graphql.validation
+
+import graphql.AssertException
+import graphql.ParseAndValidate
+import graphql.StarWarsSchema
+import graphql.parser.Parser
+import graphql.validation.rules.FieldsOnCorrectType
+import graphql.validation.rules.NoUnusedFragments
+import graphql.validation.rules.ScalarLeafs
+import spock.lang.Specification
+
+import java.util.concurrent.Executors
+
+class ValidationOptionsTest extends Specification {
+
+    def schema = StarWarsSchema.starWarsSchema
+
+    // 3 unknown fields, a missing sub selection and an unused fragment
+    def document = new Parser().parseDocument("""
+        query A { hero { unknown1 unknown2 friends } }
+        query Q { droid(id: "1") { unknown3 } }
+        fragment Unused on Droid { name }
+    """)
+
+    def "all the errors are reported by default"() {
+        when:
+        def errors = ParseAndValidate.validate(schema, document, ValidationOptions.defaultOptions())
+
+        then:
+        errors.collect { it.validationErrorType }.sort() == [
+                ValidationErrorType.FieldUndefined, ValidationErrorType.FieldUndefined, ValidationErrorType.FieldUndefined,
+                ValidationErrorType.SubSelectionRequired, ValidationErrorType.UnusedFragment,
+        ].sort()
+    }
+
+    def "validation stops at the maximum number of errors"() {
+        when:
+        def allErrors = ParseAndValidate.validate(schema, document)
+        def errors = ParseAndValidate.validate(schema, document, ValidationOptions.defaultOptions().maxErrors(2))
+
+        then:
+        errors.size() == 2
+        errors == allErrors.subList(0, 2)
+    }
+
+    def "validation stops at the first error"() {
+        when:
+        def errors = ParseAndValidate.validate(schema, document, ValidationOptions.defaultOptions().maxErrors(10).abortOnFirstError(true))
+
+        then:
+        errors.size() == 1
+        errors[0].validationErrorType == ValidationErrorType.FieldUndefined
+    }
+
+    def "only allowed rules are run"() {
+        def validationOptions = ValidationOptions.defaultOptions().allowRules([ScalarLeafs, NoUnusedFragments])
+
+        when:
+        def errors = ParseAndValidate.validate(schema, document, validationOptions)
+        def rules = new Validator().createRules(new ValidationContext(schema, document), new ValidationErrorCollector(), validationOptions)
+
+        then:
+        errors.collect { it.validationErrorType } == [ValidationErrorType.SubSelectionRequired, ValidationErrorType.UnusedFragment]
+        rules.collect { it.class } == [NoUnusedFragments, ScalarLeafs]
+    }
+
+    def "denied rules are not run"() {
+        def validationOptions = ValidationOptions.defaultOptions().denyRules([FieldsOnCorrectType])
+
+        when:
+        def errors = ParseAndValidate.validate(schema, document, validationOptions)
+
+        then:
+        errors.collect { it.validationErrorType } == [ValidationErrorType.SubSelectionRequired, ValidationErrorType.UnusedFragment]
+    }
+
+    def "parallel validation keeps the first errors in its order"() {
+        def executor = Executors.newFixedThreadPool(2)
+
+        when:
+        def allErrors = ParseAndValidate.validate(schema, document, executor)
+        def errors = ParseAndValidate.validate(schema, document, ValidationOptions.defaultOptions().maxErrors(3), executor)
+        def firstError = ParseAndValidate.validate(schema, document, ValidationOptions.defaultOptions().abortOnFirstError(true), executor)
+
+        then:
+        allErrors.size() == 5
+        errors == allErrors.subList(0, 3)
+        firstError == allErrors.subList(0, 1)
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def "a document valid with some rules is not cached as valid for all of them"() {
+        def cache = ValidationCache.newValidationCache()
+        def subset = ValidationOptions.defaultOptions().allowRules([ScalarLeafs])
+        def document = new Parser().parseDocument("{ hero { unknown } }")
+
+        when:
+        def subsetErrors = ParseAndValidate.validate(schema, document, subset, cache)
+        def allErrors = ParseAndValidate.validate(schema, document, ValidationOptions.defaultOptions(), cache)
+        def subsetErrorsAgain = ParseAndValidate.validate(schema, document, subset, cache)
+
+        then:
+        subsetErrors.isEmpty()
+        allErrors.size() == 1
+        subsetErrorsAgain.isEmpty()
+        cache.hitCount == 1
+    }
+
+    def "max errors must be positive"() {
+        when:
+        ValidationOptions.defaultOptions().maxErrors(0)
+
+        then:
+        thrown(AssertException)
+    }
+}
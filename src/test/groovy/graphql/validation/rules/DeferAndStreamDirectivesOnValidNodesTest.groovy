@@ -0,0 +1,68 @@
+package graphql.validation.rules
+
+import graphql.Directives
+import graphql.TestUtil
+import graphql.parser.Parser
+import graphql.validation.ValidationError
+import graphql.validation.ValidationErrorType
+import graphql.validation.Validator
+import spock.lang.Specification
+
+class DeferAndStreamDirectivesOnValidNodesTest extends Specification {
+
+    def schema = TestUtil.schema('''
+        type Query {
+            dog : Dog
+            dogs : [Dog]
+        }
+        type Mutation {
+            adopt : Dog
+        }
+        type Dog {
+            name : String
+            nicknames : [String!]!
+        }
+    ''').transform({ it.additionalDirective(Directives.DeferDirective).additionalDirective(Directives.StreamDirective) })
+
+    List<ValidationError> validate(String query) {
+        new Validator().validateDocument(schema, new Parser().parseDocument(query))
+    }
+
+    def "defer and stream are allowed on the fields and fragments of queries"() {
+        expect:
+        validate('''
+            {
+                ... @defer { dog { name } }
+                dogs @stream(initialCount: 1) { ... on Dog @defer { nicknames @stream } }
+            }
+        ''').isEmpty()
+    }
+
+    def "stream is not allowed on fields that are not lists"() {
+        when:
+        def errors = validate('{ dog @stream { name } }')
+
+        then:
+        errors.size() == 1
+        errors[0].validationErrorType == ValidationErrorType.MisplacedDirective
+        errors[0].message == "Validation error of type MisplacedDirective: Directive stream is not allowed on the field of type Dog, which is not a list @ 'dog'"
+    }
+
+    def "defer is not allowed on the root fields of a mutation, even through a fragment"() {
+        when:
+        def errors = validate('''
+            mutation { ...Adoption }
+            fragment Adoption on Mutation { ... @defer { adopt { name } } }
+        ''')
+
+        then:
+        errors.size() == 1
+        errors[0].validationErrorType == ValidationErrorType.MisplacedDirective
+        errors[0].message.contains("Directive defer is not allowed on the root fields of a mutation")
+    }
+
+    def "defer is allowed below the root fields of a mutation"() {
+        expect:
+        validate('mutation { adopt { ... @defer { name } } }').isEmpty()
+    }
+}
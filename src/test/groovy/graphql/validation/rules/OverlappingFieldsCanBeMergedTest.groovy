@@ -7,6 +7,7 @@ import graphql.language.SourceLocation
 import graphql.parser.Parser
 import graphql.schema.GraphQLObjectType
 import graphql.schema.GraphQLSchema
+import graphql.schema.GraphQLTypeReference
 import graphql.schema.TypeResolver
 import graphql.validation.LanguageTraversal
 import graphql.validation.RulesVisitor
@@ -626,5 +627,60 @@ class OverlappingFieldsCanBeMergedTest extends Specification {
 
     }
 
+    def "a conflict in a fragment spread many times is reported once"() {
+        given:
+        def spreads = (1..200).collect { "...f" }.join("\n")
+        def query = """
+            {
+                ${spreads}
+                name
+            }
+
+            fragment f on Test {
+                myName : name
+                myName : nickname
+            }
+        """
+        when:
+        traverse(query, null)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error of type FieldsConflict: myName: name and nickname are different fields"
+    }
+
+    def "fields from fragments spread by both of two compared fields are only compared once"() {
+        given:
+        def query = """
+            {
+                a : nested { ...f }
+                a : nested { ...f ...g }
+            }
+
+            fragment f on Test {
+                myName : name
+            }
+
+            fragment g on Test {
+                ...f
+                myName : nickname
+            }
+        """
+        def objectType = newObject()
+                .name("Test")
+                .field(newFieldDefinition().name("name").type(GraphQLString))
+                .field(newFieldDefinition().name("nickname").type(GraphQLString))
+                .field(newFieldDefinition().name("nested").type(GraphQLTypeReference.typeRef("Test")))
+                .build()
+        def schema = GraphQLSchema.newSchema().query(objectType).build()
+
+        when:
+        traverse(query, schema)
+
+        then:
+        errorCollector.getErrors().size() == 1
+        errorCollector.getErrors()[0].message == "Validation error of type FieldsConflict: myName: name and nickname are different fields @ 'nested'"
+        errorCollector.getErrors()[0].locations == [new SourceLocation(8, 17), new SourceLocation(13, 17)]
+    }
 
 }
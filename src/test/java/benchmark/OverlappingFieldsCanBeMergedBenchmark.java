@@ -0,0 +1,92 @@
+package benchmark;
+
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.validation.Validator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates documents that make the overlapping fields rule do a lot of comparisons: many aliases of the same field,
+ * many fragments spread many times and deeply nested repeated fields.
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class OverlappingFieldsCanBeMergedBenchmark {
+
+    private static final int SIZE = 100;
+
+    GraphQLSchema schema;
+    Document repeatedFields;
+    Document repeatedFragments;
+    Document nestedFragments;
+
+    @Setup
+    public void setup() {
+        schema = SchemaGenerator.createdMockedSchema("type Query { viewer: User }\n" +
+                "type User { id: ID name: String friends(first: Int): [User] }");
+
+        StringBuilder query = new StringBuilder("{ viewer {");
+        for (int i = 0; i < SIZE; i++) {
+            query.append(" friends(first: 10) { id name }");
+        }
+        repeatedFields = Parser.parse(query.append(" } }").toString());
+
+        query = new StringBuilder("{ viewer {");
+        for (int i = 0; i < SIZE; i++) {
+            query.append(" ...F").append(i).append(" ...F").append(i);
+        }
+        query.append(" } }");
+        for (int i = 0; i < SIZE; i++) {
+            query.append(" fragment F").append(i).append(" on User { a").append(i % 10).append(": friends { id name } id }");
+        }
+        repeatedFragments = Parser.parse(query.toString());
+
+        query = new StringBuilder("{ viewer { ...N0 } }");
+        for (int i = 0; i < SIZE; i++) {
+            query.append(" fragment N").append(i).append(" on User { friends { id ")
+                    .append(i + 1 < SIZE ? "...N" + (i + 1) : "name")
+                    .append(" } friends { name } }");
+        }
+        nestedFragments = Parser.parse(query.toString());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchMarkRepeatedFields(Blackhole blackhole) {
+        blackhole.consume(new Validator().validateDocument(schema, repeatedFields));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchMarkRepeatedFragments(Blackhole blackhole) {
+        blackhole.consume(new Validator().validateDocument(schema, repeatedFragments));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void benchMarkNestedFragments(Blackhole blackhole) {
+        blackhole.consume(new Validator().validateDocument(schema, nestedFragments));
+    }
+}
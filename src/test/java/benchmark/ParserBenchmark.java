@@ -0,0 +1,74 @@
+package benchmark;
+
+import graphql.parser.ExecutableDocumentParser;
+import graphql.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the ANTLR based {@link Parser} with the hand written {@link ExecutableDocumentParser}
+ * <p>
+ * See https://github.com/openjdk/jmh/tree/master/jmh-samples/src/main/java/org/openjdk/jmh/samples/ for more samples
+ * on what you can do with JMH
+ */
+@Warmup(iterations = 2, time = 5, batchSize = 3)
+@Measurement(iterations = 3, time = 10, batchSize = 4)
+public class ParserBenchmark {
+
+    private static final String query = "query fang($slip: dinner!, $first: Int = 10) {\n" +
+            "  instinctive(thin: $slip, first: $first) {\n" +
+            "    annoy {\n" +
+            "      ...account\n" +
+            "    }\n" +
+            "    distinct(sedate: [disarm], options: {deep: true, limit: 5, name: \"value\"}) @include(if: true) {\n" +
+            "      ... on lamp {\n" +
+            "        innocent\n" +
+            "        decorate\n" +
+            "      }\n" +
+            "    }\n" +
+            "    talk {\n" +
+            "      house\n" +
+            "      womanly\n" +
+            "      gray\n" +
+            "      normal\n" +
+            "      billowy {\n" +
+            "        frogs\n" +
+            "        abstracted\n" +
+            "        market\n" +
+            "        corn\n" +
+            "      }\n" +
+            "    }\n" +
+            "  }\n" +
+            "}\n" +
+            "\n" +
+            "fragment account on bath {\n" +
+            "  purpose\n" +
+            "  festive\n" +
+            "  ruddy\n" +
+            "  reply {\n" +
+            "    sticks\n" +
+            "    unbecoming\n" +
+            "  }\n" +
+            "}";
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkAntlrParserThroughput(Blackhole blackhole) {
+        blackhole.consume(new Parser().parseDocument(query));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void benchMarkExecutableDocumentParserThroughput(Blackhole blackhole) {
+        blackhole.consume(new ExecutableDocumentParser().parseDocument(query));
+    }
+}